@@ -0,0 +1,28 @@
+package org.example.benchmark;
+
+import java.lang.reflect.Field;
+
+/**
+ * 在没有Spring容器的基准测试中为组件注入依赖（组件使用字段注入）
+ */
+public final class Beans {
+
+    private Beans() {
+    }
+
+    public static <T> T inject(T target, String fieldName, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return target;
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("无法注入字段: " + fieldName, e);
+            }
+        }
+        throw new IllegalArgumentException(target.getClass().getName() + " 没有字段: " + fieldName);
+    }
+}
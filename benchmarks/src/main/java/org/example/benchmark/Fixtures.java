@@ -0,0 +1,166 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基准测试数据：取自资源库常见形态的中文标题、描述和搜索词
+ * 标题包含年份、清晰度、更新进度等后缀，描述为几百字的剧情简介，便于覆盖相似度、清理、分词和高亮的真实输入长度
+ */
+public final class Fixtures {
+
+    public static final List<String> TITLES = Collections.unmodifiableList(Arrays.asList(
+            "斗罗大陆 (2018) 4K【更至260集】",
+            "斗罗大陆2绝世唐门 (2023) 1080P 更新至第52集",
+            "完美世界 (2021) 4K 高码率【更至190集】",
+            "凡人修仙传 年番 (2020) 4K 60帧 更新至110集",
+            "仙逆 (2023) 4K【更至70集】国语中字",
+            "吞噬星空 (2020) 1080P 全集+剧场版",
+            "青川入梦 (2025) 4K【更至06集】",
+            "庆余年 第二季 (2024) 4K 杜比视界 全36集",
+            "繁花 (2023) 4K 沪语版+普通话版 全30集",
+            "漫长的季节 (2023) 4K HDR 全12集",
+            "流浪地球2 (2023) 4K 杜比视界 国语中字",
+            "封神第一部：朝歌风云 (2023) 4K HDR",
+            "三体 (2023) 4K 电视剧 全30集",
+            "狂飙 (2023) 4K 全39集 未删减版",
+            "长安三万里 (2023) 4K 动画电影",
+            "鬼灭之刃 锻刀村篇 (2023) 1080P 简繁日双语",
+            "进击的巨人 最终季 完结篇 (2023) 4K",
+            "葬送的芙莉莲 (2023) 1080P 全28集 简日双语",
+            "黑神话：悟空 (2024) 豪华版 v1.0.8 全DLC 中文",
+            "艾尔登法环 黄金树幽影 (2024) v1.12 中文 学习版",
+            "赛博朋克2077 往日之影 终极版 v2.12 中文",
+            "博德之门3 (2023) v4.1.1 豪华版 中文",
+            "Python编程：从入门到实践（第3版）PDF+源码",
+            "深入理解Java虚拟机（第3版）高清PDF"));
+
+    public static final List<String> DESCRIPTIONS = Collections.unmodifiableList(Arrays.asList(
+            "唐门外门弟子唐三，因偷学内门绝学为唐门所不容，跳崖明志时却发现没有死，反而以另外一个身份来到了另一个世界，"
+                    + "一个属于武魂的世界，名叫斗罗大陆。这里没有魔法，没有斗气，没有武术，却有神奇的武魂。"
+                    + "这里的每个人，在自己六岁的时候，都会在武魂殿中令武魂觉醒。武魂有动物，有植物，有器物，"
+                    + "武魂可以辅助人们的日常生活。而其中一些特别出色的武魂却可以用来修炼并进行战斗，这个职业，"
+                    + "是斗罗大陆上最为强大也是最荣耀的职业“魂师”。",
+            "一粒尘可填海，一根草斩尽日月星辰，弹指间天翻地覆。群雄并起，万族林立，诸圣争霸，乱天动地。"
+                    + "问苍茫大地，谁主沉浮？！一个少年从大荒中走出，一切从这里开始……"
+                    + "石村少年石昊自幼体弱，却天生至尊骨被挖，在村中长辈的庇护下成长，踏上了一条前所未有的修行之路。",
+            "看机智的凡人小子韩立如何稳健发展、步步为营，战魔道、夺至宝、驰骋星海、快意恩仇，成为纵横三界的强者。"
+                    + "他日仙界重相逢，一声道友尽沧桑。本片改编自忘语同名小说，年番每周更新，4K 60帧修复版本。",
+            "章和十年，南衡国与北齐战事再起，青川城中暗流涌动。少女沈青川为查明家族旧案，隐姓埋名入宫为女官，"
+                    + "却在一场场权谋与阴谋中逐渐看清真相。\\n更新时间：每周三、四 20:00\\n画质：4K 高码率",
+            "2023年国产悬疑剧，讲述了一个发生在东北小城桦林的故事。出租车司机王响与妹夫龚彪、前刑警马德胜，"
+                    + "因为一张照片重新调查二十年前的碎尸案，在追寻真相的过程中，也回望了自己漫长的一生。"
+                    + "豆瓣评分9.4，年度最佳国产剧之一。",
+            "太阳即将毁灭，人类在地球表面建造出巨大的推进器，寻找新的家园。然而宇宙之路危机四伏，"
+                    + "为了拯救地球，流浪地球时代的年轻人再次挺身而出，展开争分夺秒的生死之战。"
+                    + "本资源为4K杜比视界版本，国语音轨，内嵌简体中文字幕，文件大小约25GB。",
+            "游戏简介：《黑神话：悟空》是一款以中国神话为背景的动作角色扮演游戏。故事取材于中国古典小说“四大名著”之一的《西游记》。"
+                    + "你将扮演一位“天命人”，为了探寻昔日传说的真相，踏上一条充满危险与惊奇的西游之路。\\r\\n"
+                    + "安装说明：解压后运行 b1\\\\Binaries\\\\Win64\\\\b1-Win64-Shipping.exe 即可游玩。",
+            "本书是一本针对所有层次Python读者而作的Python入门书。全书分两部分：第一部分介绍用Python编程所必须了解的基本概念，"
+                    + "包括Matplotlib等强大的Python库和工具，以及列表、字典、if语句、类、文件与异常、代码测试等内容；"
+                    + "第二部分将理论付诸实践，讲解如何开发三个项目。附赠全部示例源码。"));
+
+    /**
+     * 搜索词：原始输入（用于分词）和分词后的搜索词组合（用于高亮）
+     */
+    public static final List<String> QUERIES = Collections.unmodifiableList(Arrays.asList(
+            "斗罗大陆", "斗罗大陆2绝世唐门", "完美世界4K", "凡人修仙传年番", "流浪地球2 杜比视界",
+            "黑神话悟空 豪华版", "漫长的季节", "Python编程从入门到实践"));
+
+    /**
+     * titlePairs() 返回的标题对数量（JMH 的 @OperationsPerInvocation 需要常量）
+     */
+    public static final int TITLE_PAIR_COUNT = 279;
+
+    private Fixtures() {
+    }
+
+    /**
+     * 标题两两组合，包含大量仅后缀不同的近似重复（去重时的典型输入）
+     */
+    public static List<String[]> titlePairs() {
+        List<String[]> pairs = new ArrayList<>();
+        for (int i = 0; i < TITLES.size(); i++) {
+            for (int j = i + 1; j < TITLES.size(); j++) {
+                pairs.add(new String[]{TITLES.get(i), TITLES.get(j)});
+            }
+        }
+        // 同一资源的不同写法
+        pairs.add(new String[]{"斗罗大陆 (2018) 4K【更至260集】", "斗罗大陆 2018 4K 更新至260集"});
+        pairs.add(new String[]{"完美世界 (2021) 4K 高码率【更至190集】", "完美世界（2021）4K【更新至191集】"});
+        pairs.add(new String[]{"黑神话：悟空 (2024) 豪华版 v1.0.8 全DLC 中文", "黑神话悟空 豪华版 v1.0.9 中文版"});
+        if (pairs.size() != TITLE_PAIR_COUNT) {
+            throw new IllegalStateException("标题对数量与 TITLE_PAIR_COUNT 不一致: " + pairs.size());
+        }
+        return pairs;
+    }
+
+    /**
+     * descriptionPairs() 返回的描述对数量
+     */
+    public static final int DESCRIPTION_PAIR_COUNT = 30;
+
+    /**
+     * 描述两两组合，另加两对只改动个别句子的近似重复（去重时内容相似度的典型输入）
+     */
+    public static List<String[]> descriptionPairs() {
+        List<String[]> pairs = new ArrayList<>();
+        for (int i = 0; i < DESCRIPTIONS.size(); i++) {
+            for (int j = i + 1; j < DESCRIPTIONS.size(); j++) {
+                pairs.add(new String[]{DESCRIPTIONS.get(i), DESCRIPTIONS.get(j)});
+            }
+        }
+        pairs.add(new String[]{DESCRIPTIONS.get(0), DESCRIPTIONS.get(0) + "全集打包，失效请留言补档。"});
+        pairs.add(new String[]{DESCRIPTIONS.get(5), DESCRIPTIONS.get(5).replace("4K杜比视界", "1080P")});
+        if (pairs.size() != DESCRIPTION_PAIR_COUNT) {
+            throw new IllegalStateException("描述对数量与 DESCRIPTION_PAIR_COUNT 不一致: " + pairs.size());
+        }
+        return pairs;
+    }
+
+    /**
+     * 一页搜索结果：名称、描述取自上面的数据，内容为搜索结果读取的摘要窗口长度
+     */
+    public static List<Resource> resources(int count, int contentLength) {
+        List<Resource> resources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder content = new StringBuilder(contentLength);
+            for (int j = i; content.length() < contentLength; j++) {
+                content.append(DESCRIPTIONS.get(j % DESCRIPTIONS.size()));
+            }
+            Resource resource = new Resource(TITLES.get(i % TITLES.size()), content.substring(0, contentLength),
+                                             "https://pan.quark.cn/s/" + Integer.toHexString(0x5f3759df + i),
+                                             null, 1 + i % 3, i % 2 == 0 ? "anime" : "movie");
+            resource.setId(i + 1);
+            resource.setResourceTime(1_700_000_000 + i);
+            resources.add(resource);
+        }
+        return resources;
+    }
+
+    /**
+     * QQ频道帖子文本：与爬虫相同，每个帖子为 feed.toPrettyString()（来自 src/main/resources/qqData.json）
+     */
+    public static List<String> channelFeeds() throws IOException {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/qqData.json")) {
+            if (in == null) {
+                throw new IOException("classpath中找不到 qqData.json");
+            }
+            JsonNode feeds = new ObjectMapper().readTree(in).path("data").path("vecFeed");
+            List<String> texts = new ArrayList<>();
+            for (JsonNode feed : feeds) {
+                texts.add(feed.toPrettyString());
+            }
+            return texts;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.benchmark.load;
+
+/**
+ * H2 中没有的 MySQL 函数（通过 CREATE ALIAS 注册），供 ResourceMapper.xml 中的 SQL 在嵌入式数据库上执行
+ */
+public final class H2Functions {
+
+    private H2Functions() {
+    }
+
+    /**
+     * MySQL FIELD(value, v1, v2, ...)：返回 value 在后续参数中的位置（从1开始），不存在时返回0
+     */
+    public static int field(Integer value, Integer... candidates) {
+        if (value == null) {
+            return 0;
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            if (value.equals(candidates[i])) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.benchmark.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 压测查询序列：从合成资源库的词汇中生成若干不同的搜索词（完整作品名、作品名片段、带季数/清晰度的写法、
+ * 只出现在描述中的人物和地名、多词组合以及无结果的搜索词），按 Zipf 分布抽取（少数热门搜索词占大部分请求），
+ * 每个请求再独立抽取搜索模式、层级和类型过滤条件；同一随机种子生成的序列完全相同，各后端回放同一序列
+ */
+public final class QueryMix {
+
+    /**
+     * 一个搜索请求的参数（对应 SearchRequest 的同名字段，level/type 为 null 时不过滤）
+     */
+    public static final class Query {
+        private final String searchTerm;
+        private final String searchMode;
+        private final Integer level;
+        private final String type;
+
+        Query(String searchTerm, String searchMode, Integer level, String type) {
+            this.searchTerm = searchTerm;
+            this.searchMode = searchMode;
+            this.level = level;
+            this.type = type;
+        }
+
+        public String getSearchTerm() {
+            return searchTerm;
+        }
+
+        public String getSearchMode() {
+            return searchMode;
+        }
+
+        public Integer getLevel() {
+            return level;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * 请求体（page/size/backend 由压测程序补充）
+         */
+        public Map<String, Object> toRequestBody() {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("searchTerm", searchTerm);
+            body.put("searchMode", searchMode);
+            if (level != null) {
+                body.put("level", String.valueOf(level));
+            }
+            if (type != null) {
+                body.put("type", type);
+            }
+            return body;
+        }
+    }
+
+    private final List<String> terms;
+    private final ZipfSampler termSampler;
+    private final double nameModeRatio;
+    private final double levelFilterRatio;
+    private final double typeFilterRatio;
+
+    public QueryMix(long seed, int distinctTerms, double zipfExponent,
+                    double nameModeRatio, double levelFilterRatio, double typeFilterRatio) {
+        this.terms = generateTerms(new Random(seed), distinctTerms);
+        this.termSampler = new ZipfSampler(terms.size(), zipfExponent);
+        this.nameModeRatio = nameModeRatio;
+        this.levelFilterRatio = levelFilterRatio;
+        this.typeFilterRatio = typeFilterRatio;
+    }
+
+    /**
+     * 不同搜索词，按热度从高到低排列
+     */
+    public List<String> getTerms() {
+        return Collections.unmodifiableList(terms);
+    }
+
+    /**
+     * 生成 count 个请求
+     */
+    public List<Query> generate(long seed, int count) {
+        Random random = new Random(seed);
+        List<Query> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String term = terms.get(termSampler.next(random));
+            String searchMode = random.nextDouble() < nameModeRatio ? "name" : "multi";
+            Integer level = random.nextDouble() < levelFilterRatio ? 1 + random.nextInt(3) : null;
+            String type = random.nextDouble() < typeFilterRatio
+                    ? SyntheticCorpus.TYPES.get(random.nextInt(SyntheticCorpus.TYPES.size())) : null;
+            queries.add(new Query(term, searchMode, level, type));
+        }
+        return queries;
+    }
+
+    private static List<String> generateTerms(Random random, int count) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (int attempt = 0; terms.size() < count && attempt < count * 20; attempt++) {
+            terms.add(nextTerm(random));
+        }
+        List<String> ranked = new ArrayList<>(terms);
+        Collections.shuffle(ranked, random);
+        return ranked;
+    }
+
+    private static String nextTerm(Random random) {
+        String head = pick(random, SyntheticCorpus.NAME_HEADS);
+        String tail = pick(random, SyntheticCorpus.NAME_TAILS);
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            // 完整作品名
+            return head + tail;
+        } else if (roll < 55) {
+            // 作品名片段
+            return head;
+        } else if (roll < 65) {
+            return head + tail + " " + pick(random, SyntheticCorpus.SEASONS);
+        } else if (roll < 72) {
+            return head + tail + pick(random, SyntheticCorpus.QUALITIES).split(" ")[0];
+        } else if (roll < 82) {
+            // 只出现在描述中的人物和地名
+            return random.nextBoolean() ? pick(random, SyntheticCorpus.HEROES) : pick(random, SyntheticCorpus.PLACES);
+        } else if (roll < 95) {
+            // 多词组合
+            return head + tail + " " + pick(random, SyntheticCorpus.HEROES);
+        } else {
+            // 无结果
+            return "不存在的资源" + Integer.toString(random.nextInt(1 << 20), 36);
+        }
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
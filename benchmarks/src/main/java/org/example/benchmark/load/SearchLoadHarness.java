@@ -0,0 +1,508 @@
+package org.example.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.Main;
+import org.example.service.LuceneSearchService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 搜索接口离线压测：生成合成资源库写入嵌入式数据库（H2 MySQL 兼容模式），在同一进程内启动应用，
+ * 按 Zipf 分布的查询序列并发请求 POST /api/resources/search，分别统计每个搜索后端的吞吐量和 p50/p95/p99 延迟
+ * 各后端回放同一查询序列；默认关闭搜索结果缓存，测量的是每次请求实际执行搜索的耗时
+ *
+ * 用法：java -cp target/benchmarks.jar org.example.benchmark.load.SearchLoadHarness [--name=value ...]
+ * 参数见 Options，--help 打印默认值
+ */
+public final class SearchLoadHarness {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * 压测参数
+     */
+    static final class Options {
+        /** 资源数量 */
+        int docs = 100_000;
+        /** 随机种子（资源库和查询序列） */
+        long seed = 42;
+        /** 作品名热度的 Zipf 指数 */
+        double corpusZipf = 0.8;
+        /** 不同搜索词的数量 */
+        int distinctQueries = 1000;
+        /** 搜索词热度的 Zipf 指数 */
+        double queryZipf = 1.1;
+        /** 每个后端预热的请求数（不计入统计） */
+        int warmup = 200;
+        /** 每个后端统计的请求数 */
+        int requests = 2000;
+        /** 并发请求数 */
+        int concurrency = 8;
+        /** 依次压测的搜索后端（mysql_fulltext 和依赖全文索引的 term_fanout 不支持：H2 没有 MATCH ... AGAINST） */
+        List<String> backends = Arrays.asList("lucene_index", "ik_tokenized");
+        /** 每页结果数 */
+        int pageSize = 10;
+        /** 只搜索名称（searchMode=name）的请求占比 */
+        double nameModeRatio = 0.3;
+        /** 带层级过滤的请求占比 */
+        double levelFilterRatio = 0.3;
+        /** 带类型过滤的请求占比 */
+        double typeFilterRatio = 0.5;
+        /** 是否启用搜索结果缓存 */
+        boolean cache = false;
+        /** 数据库：mem（内存）或 file（写入工作目录，资源数量不变时下次直接复用，适合百万级资源） */
+        String db = "mem";
+        /** 工作目录（文件数据库、Lucene索引） */
+        String workDir = "target/load-harness";
+        /** JSON报告输出路径，为空时只打印到控制台 */
+        String report;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if ("--help".equals(arg)) {
+                    printUsage(options);
+                    System.exit(0);
+                }
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("参数格式应为 --name=value: " + arg);
+                }
+                String name = arg.substring(2, eq);
+                String value = arg.substring(eq + 1);
+                switch (name) {
+                    case "docs": options.docs = Integer.parseInt(value); break;
+                    case "seed": options.seed = Long.parseLong(value); break;
+                    case "corpus-zipf": options.corpusZipf = Double.parseDouble(value); break;
+                    case "distinct-queries": options.distinctQueries = Integer.parseInt(value); break;
+                    case "query-zipf": options.queryZipf = Double.parseDouble(value); break;
+                    case "warmup": options.warmup = Integer.parseInt(value); break;
+                    case "requests": options.requests = Integer.parseInt(value); break;
+                    case "concurrency": options.concurrency = Integer.parseInt(value); break;
+                    case "backends": options.backends = Arrays.asList(value.split(",")); break;
+                    case "page-size": options.pageSize = Integer.parseInt(value); break;
+                    case "name-mode-ratio": options.nameModeRatio = Double.parseDouble(value); break;
+                    case "level-filter-ratio": options.levelFilterRatio = Double.parseDouble(value); break;
+                    case "type-filter-ratio": options.typeFilterRatio = Double.parseDouble(value); break;
+                    case "cache": options.cache = Boolean.parseBoolean(value); break;
+                    case "db": options.db = value; break;
+                    case "work-dir": options.workDir = value; break;
+                    case "report": options.report = value; break;
+                    default: throw new IllegalArgumentException("未知参数: --" + name);
+                }
+            }
+            if (!"mem".equals(options.db) && !"file".equals(options.db)) {
+                throw new IllegalArgumentException("--db 只能为 mem 或 file: " + options.db);
+            }
+            return options;
+        }
+
+        private static void printUsage(Options defaults) {
+            System.out.println("java -cp target/benchmarks.jar " + SearchLoadHarness.class.getName() + " [--name=value ...]");
+            System.out.println("  --docs=" + defaults.docs + "  --seed=" + defaults.seed + "  --corpus-zipf=" + defaults.corpusZipf);
+            System.out.println("  --distinct-queries=" + defaults.distinctQueries + "  --query-zipf=" + defaults.queryZipf);
+            System.out.println("  --warmup=" + defaults.warmup + "  --requests=" + defaults.requests
+                               + "  --concurrency=" + defaults.concurrency);
+            System.out.println("  --backends=" + String.join(",", defaults.backends) + "  --page-size=" + defaults.pageSize);
+            System.out.println("  --name-mode-ratio=" + defaults.nameModeRatio + "  --level-filter-ratio="
+                               + defaults.levelFilterRatio + "  --type-filter-ratio=" + defaults.typeFilterRatio);
+            System.out.println("  --cache=" + defaults.cache + "  --db=mem|file  --work-dir=" + defaults.workDir
+                               + "  --report=<path.json>");
+        }
+    }
+
+    /**
+     * 一个后端的压测结果
+     */
+    static final class BackendResult {
+        final String backend;
+        final Map<String, Integer> servedBy;
+        final int requests;
+        final int errors;
+        final double elapsedSeconds;
+        final long[] sortedLatencies;
+
+        BackendResult(String backend, Map<String, AtomicInteger> servedBy, int errors, long elapsedNanos,
+                      long[] latencies) {
+            this.backend = backend;
+            this.servedBy = new TreeMap<>();
+            servedBy.forEach((strategy, count) -> this.servedBy.put(strategy, count.get()));
+            this.requests = latencies.length;
+            this.errors = errors;
+            this.elapsedSeconds = elapsedNanos / 1e9;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+        }
+
+        /**
+         * 由所选后端执行的请求占比
+         */
+        double servedRatio() {
+            return requests > 0 ? servedBy.getOrDefault(backend, 0) / (double) requests : 0;
+        }
+
+        double throughput() {
+            return elapsedSeconds > 0 ? requests / elapsedSeconds : 0;
+        }
+
+        /**
+         * 分位数（最近秩法），单位毫秒
+         */
+        double percentileMs(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length);
+            return sortedLatencies[Math.min(Math.max(rank, 1), sortedLatencies.length) - 1] / 1e6;
+        }
+
+        double meanMs() {
+            return Arrays.stream(sortedLatencies).average().orElse(0) / 1e6;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("backend", backend);
+            map.put("servedBy", servedBy);
+            map.put("requests", requests);
+            map.put("errors", errors);
+            map.put("elapsedSeconds", round(elapsedSeconds));
+            map.put("throughput", round(throughput()));
+            map.put("meanMs", round(meanMs()));
+            map.put("p50Ms", round(percentileMs(50)));
+            map.put("p95Ms", round(percentileMs(95)));
+            map.put("p99Ms", round(percentileMs(99)));
+            map.put("maxMs", round(percentileMs(100)));
+            return map;
+        }
+    }
+
+    private SearchLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Path workDir = Paths.get(options.workDir).toAbsolutePath();
+        Files.createDirectories(workDir);
+        Path indexDir = workDir.resolve("lucene-index");
+
+        // 文件数据库使用 async 文件系统：取消查询时会中断线程，默认的 NIO 文件通道被中断后会关闭
+        String jdbcUrl = "mem".equals(options.db)
+                ? "jdbc:h2:mem:search-load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+                : "jdbc:h2:async:" + workDir.resolve("db").resolve("resource") + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        // 内存数据库在整个压测期间保持此连接，避免最后一个连接关闭时被删除
+        Connection keepAlive = DriverManager.getConnection(jdbcUrl, "sa", "");
+        try {
+            prepareCorpus(keepAlive, options, indexDir);
+
+            ConfigurableApplicationContext context = startApplication(options, jdbcUrl, indexDir);
+            try {
+                waitForIndex(context.getBean(LuceneSearchService.class), options);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URL searchUrl = new URL("http://127.0.0.1:" + port + "/api/resources/search");
+
+                QueryMix mix = new QueryMix(options.seed, options.distinctQueries, options.queryZipf,
+                                            options.nameModeRatio, options.levelFilterRatio, options.typeFilterRatio);
+                List<QueryMix.Query> warmup = mix.generate(options.seed + 1, options.warmup);
+                List<QueryMix.Query> measured = mix.generate(options.seed + 2, options.requests);
+
+                List<BackendResult> results = new ArrayList<>();
+                for (String backend : options.backends) {
+                    results.add(runBackend(searchUrl, backend, warmup, measured, options));
+                }
+                printReport(options, results);
+                if (options.report != null) {
+                    writeReport(options, mix, results);
+                }
+            } finally {
+                context.close();
+            }
+        } finally {
+            keepAlive.close();
+        }
+    }
+
+    /**
+     * 生成并写入资源库；文件数据库中已有相同数量的资源时直接复用（连同Lucene索引）
+     */
+    private static void prepareCorpus(Connection connection, Options options, Path indexDir)
+            throws SQLException, IOException {
+        SyntheticCorpus.createFunctions(connection);
+        if ("file".equals(options.db) && countResources(connection) == options.docs) {
+            log("复用已有资源库: %,d 条", options.docs);
+            return;
+        }
+
+        deleteRecursively(indexDir);
+        long startTime = System.nanoTime();
+        SyntheticCorpus.createSchema(connection);
+        new SyntheticCorpus(options.seed, options.corpusZipf).load(connection, options.docs, 1000);
+        log("已生成资源库: %,d 条，耗时 %.1f s", options.docs, (System.nanoTime() - startTime) / 1e9);
+    }
+
+    private static long countResources(Connection connection) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM resource")) {
+            return rs.next() ? rs.getLong(1) : -1;
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 在同一进程内启动应用：命令行参数的优先级高于 application.yml，用于切换到嵌入式数据库、随机端口，
+     * 并关闭定时任务、初始化脚本、搜索联想、影子对比、SQL日志和逐条慢搜索日志（慢搜索仍记录在 /admin/search/slow）
+     */
+    private static ConfigurableApplicationContext startApplication(Options options, String jdbcUrl, Path indexDir) {
+        List<String> properties = new ArrayList<>(Arrays.asList(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.hikari.maximum-pool-size=" + Math.max(20, options.concurrency * 2),
+                "--spring.sql.init.mode=never",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--scheduling.enabled=false",
+                "--search.index.path=" + indexDir,
+                "--search.cache.enabled=" + options.cache,
+                "--search.suggest.enabled=false",
+                "--search.backend.shadow-enabled=false",
+                "--search.slow-log.file-enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.example.mapper=WARN",
+                "--logging.level.org.mybatis=WARN",
+                "--logging.level.com.github.pagehelper=WARN",
+                "--logging.level.org.apache.catalina.loader=ERROR",
+                "--logging.level.org.example.service.SlowSearchLog=ERROR",
+                "--mybatis.configuration.log-impl=org.apache.ibatis.logging.slf4j.Slf4jImpl"));
+        long startTime = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Main.class)
+                .run(properties.toArray(new String[0]));
+        log("应用已启动，耗时 %.1f s", (System.nanoTime() - startTime) / 1e9);
+        return context;
+    }
+
+    /**
+     * 等待Lucene索引构建完成（启动后在后台线程从数据库重建）
+     */
+    private static void waitForIndex(LuceneSearchService luceneSearchService, Options options)
+            throws InterruptedException {
+        if (!options.backends.contains("lucene_index")) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        while (!luceneSearchService.isIndexReady()) {
+            Thread.sleep(500);
+        }
+        log("Lucene索引已就绪，等待 %.1f s", (System.nanoTime() - startTime) / 1e9);
+    }
+
+    /**
+     * 预热后统计；按响应中的 searchStrategy 统计实际执行搜索的后端（后端不可用、失败或超时时路由会回退到数据库搜索）
+     */
+    private static BackendResult runBackend(URL searchUrl, String backend, List<QueryMix.Query> warmup,
+                                            List<QueryMix.Query> measured, Options options) throws Exception {
+        List<byte[]> warmupBodies = requestBodies(warmup, backend, options);
+        List<byte[]> measuredBodies = requestBodies(measured, backend, options);
+
+        log("[%s] 预热 %,d 个请求...", backend, warmupBodies.size());
+        replay(searchUrl, warmupBodies, options.concurrency, new long[warmupBodies.size()], new ConcurrentHashMap<>());
+
+        log("[%s] 压测 %,d 个请求，并发 %d...", backend, measuredBodies.size(), options.concurrency);
+        long[] latencies = new long[measuredBodies.size()];
+        Map<String, AtomicInteger> servedBy = new ConcurrentHashMap<>();
+        long startTime = System.nanoTime();
+        int errors = replay(searchUrl, measuredBodies, options.concurrency, latencies, servedBy);
+        return new BackendResult(backend, servedBy, errors, System.nanoTime() - startTime, latencies);
+    }
+
+    private static List<byte[]> requestBodies(List<QueryMix.Query> queries, String backend, Options options)
+            throws IOException {
+        List<byte[]> bodies = new ArrayList<>(queries.size());
+        for (QueryMix.Query query : queries) {
+            Map<String, Object> body = query.toRequestBody();
+            body.put("page", 0);
+            body.put("size", options.pageSize);
+            body.put("backend", backend);
+            bodies.add(JSON.writeValueAsBytes(body));
+        }
+        return bodies;
+    }
+
+    /**
+     * 并发回放请求：各线程依次领取下一个请求，记录每个请求的耗时（纳秒）和实际执行搜索的后端，返回失败的请求数
+     */
+    private static int replay(URL searchUrl, List<byte[]> bodies, int concurrency, long[] latencies,
+                              Map<String, AtomicInteger> servedBy) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int t = 0; t < concurrency; t++) {
+            Thread worker = new Thread(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < bodies.size()) {
+                    long startTime = System.nanoTime();
+                    String strategy = send(searchUrl, bodies.get(i));
+                    latencies[i] = System.nanoTime() - startTime;
+                    if (strategy == null) {
+                        errors.incrementAndGet();
+                    } else {
+                        servedBy.computeIfAbsent(strategy, key -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+            }, "search-load-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return errors.get();
+    }
+
+    /**
+     * 发送请求并读完响应（保持连接复用），返回响应中的 searchStrategy，失败时返回null
+     */
+    private static String send(URL searchUrl, byte[] body) {
+        try {
+            HttpURLConnection connection = post(searchUrl, body);
+            int status = connection.getResponseCode();
+            if (status != 200) {
+                try (InputStream in = connection.getErrorStream()) {
+                    drain(in);
+                }
+                return null;
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return JSON.readTree(in).path("searchStrategy").asText("unknown");
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        if (in == null) {
+            return;
+        }
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) >= 0) {
+            // 丢弃响应内容
+        }
+    }
+
+    private static HttpURLConnection post(URL url, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setConnectTimeout(10_000);
+        connection.setReadTimeout(120_000);
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        return connection;
+    }
+
+    private static void printReport(Options options, List<BackendResult> results) {
+        System.out.println();
+        System.out.printf("资源 %,d 条，不同搜索词 %,d 个（Zipf s=%.2f），每个后端 %,d 个请求，并发 %d，结果缓存 %s%n",
+                          options.docs, options.distinctQueries, options.queryZipf, options.requests,
+                          options.concurrency, options.cache ? "开启" : "关闭");
+        System.out.printf("%-14s %7s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                          "backend", "served", "requests", "errors", "req/s", "mean_ms", "p50_ms", "p95_ms",
+                          "p99_ms", "max_ms");
+        for (BackendResult result : results) {
+            System.out.printf("%-14s %6.1f%% %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                              result.backend, result.servedRatio() * 100, result.requests, result.errors, result.throughput(),
+                              result.meanMs(), result.percentileMs(50), result.percentileMs(95),
+                              result.percentileMs(99), result.percentileMs(100));
+        }
+        for (BackendResult result : results) {
+            if (result.servedRatio() < 1) {
+                System.out.printf("%s 的请求实际执行的后端: %s%n", result.backend, result.servedBy);
+            }
+        }
+    }
+
+    private static void writeReport(Options options, QueryMix mix, List<BackendResult> results) throws IOException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("docs", options.docs);
+        config.put("seed", options.seed);
+        config.put("corpusZipf", options.corpusZipf);
+        config.put("distinctQueries", mix.getTerms().size());
+        config.put("queryZipf", options.queryZipf);
+        config.put("warmup", options.warmup);
+        config.put("requests", options.requests);
+        config.put("concurrency", options.concurrency);
+        config.put("pageSize", options.pageSize);
+        config.put("nameModeRatio", options.nameModeRatio);
+        config.put("levelFilterRatio", options.levelFilterRatio);
+        config.put("typeFilterRatio", options.typeFilterRatio);
+        config.put("cache", options.cache);
+        config.put("db", options.db);
+
+        List<Map<String, Object>> backends = new ArrayList<>();
+        for (BackendResult result : results) {
+            backends.add(result.toMap());
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("backends", backends);
+
+        File file = new File(options.report);
+        if (file.getAbsoluteFile().getParentFile() != null) {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        }
+        JSON.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        log("报告已写入: %s", file.getAbsolutePath());
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.println("[search-load] " + String.format(format, args));
+    }
+}
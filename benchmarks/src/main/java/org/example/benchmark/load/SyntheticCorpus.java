@@ -0,0 +1,219 @@
+package org.example.benchmark.load;
+
+import org.example.util.SimHash;
+import org.example.util.StringCleanupUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 合成资源库：按固定随机种子生成贴近真实形态的中文资源（名称为作品名 + 季数/年份/清晰度/更新进度等后缀，
+ * 描述为若干句剧情简介和资源说明），写入嵌入式数据库（H2 MySQL 兼容模式）的 resource 表
+ * 作品名由前后两段组合而成，按 Zipf 分布抽取，热门作品会以不同写法重复出现多次，与线上重复资源的分布相近
+ */
+public final class SyntheticCorpus {
+
+    /**
+     * 资源类型（与 SearchRequest.type 的取值一致）
+     */
+    public static final List<String> TYPES = Collections.unmodifiableList(Arrays.asList(
+            "movie", "anime", "novel", "shortdrama"));
+
+    static final List<String> NAME_HEADS = Collections.unmodifiableList(Arrays.asList(
+            "斗罗", "完美", "凡人", "仙逆", "吞噬", "青川", "庆余", "繁花", "漫长", "流浪", "封神", "三体", "狂飙", "长安",
+            "鬼灭", "进击", "葬送", "黑神", "星辰", "苍穹", "万古", "武动", "遮天", "雪中", "剑来", "诡秘", "大奉", "赘婿",
+            "琅琊", "山河", "人世", "去有", "莲花", "云襄", "与凤", "墨雨", "玫瑰", "追风", "白夜", "隐秘", "沉默", "大江",
+            "觉醒", "重生", "穿越", "神医", "战神", "总裁", "闪婚", "千金", "归来", "天才", "逆天", "无敌", "绝世", "至尊"));
+
+    static final List<String> NAME_TAILS = Collections.unmodifiableList(Arrays.asList(
+            "大陆", "世界", "修仙传", "星空", "入梦", "年", "的季节", "地球", "三万里", "之刃", "的巨人", "悟空", "变",
+            "神帝", "乾坤", "天下", "风云", "传说", "之主", "剑神", "归来", "物语", "时代", "江湖", "长歌", "天官",
+            "之路", "风华", "令", "迷局", "行者", "之王", "奇缘", "传奇", "密码", "追凶", "往事", "之夜", "少年", "侠客行"));
+
+    static final List<String> SEASONS = Collections.unmodifiableList(Arrays.asList(
+            "第二季", "第三季", "第四季", "年番", "剧场版", "特别篇", "完结篇", "番外"));
+
+    static final List<String> QUALITIES = Collections.unmodifiableList(Arrays.asList(
+            "4K", "1080P", "4K HDR", "4K 杜比视界", "1080P 高码率", "4K 60帧", "720P", "蓝光原盘"));
+
+    static final List<String> HEROES = Collections.unmodifiableList(Arrays.asList(
+            "唐三", "石昊", "韩立", "王林", "罗峰", "沈青川", "范闲", "阿宝", "王响", "刘培强", "姬发", "汪淼", "高启强", "李白",
+            "林动", "叶凡", "徐凤年", "陈平安", "克莱恩", "许七安", "宁毅", "梅长苏", "李莲花", "苏念", "顾北辰", "林婉儿"));
+
+    static final List<String> PLACES = Collections.unmodifiableList(Arrays.asList(
+            "斗罗大陆", "大荒", "天南", "赵国", "青川城", "京都", "上海", "桦林", "朝歌", "长安城", "东域", "北凉", "骊珠洞天",
+            "廷根市", "京城", "江宁", "金陵", "云隐山", "海城", "帝都"));
+
+    private static final List<String> PLOT_SENTENCES = Arrays.asList(
+            "{hero}自幼体弱，却在{place}中得到奇遇，踏上了一条前所未有的修行之路。",
+            "{hero}为查明家族旧案，隐姓埋名来到{place}，在一场场权谋与阴谋中逐渐看清真相。",
+            "一个少年从{place}中走出，一切从这里开始，群雄并起，万族林立，诸圣争霸。",
+            "{hero}本是普通人，一次意外让他觉醒了神秘的能力，从此在{place}掀起风云。",
+            "{place}二十年前的一桩悬案再次浮出水面，{hero}与昔日的搭档重新展开调查。",
+            "为了拯救{place}，{hero}挺身而出，展开争分夺秒的生死之战。",
+            "{hero}被退婚后隐忍三年，终于在{place}的宗门大比上一鸣惊人。",
+            "豪门千金{hero}遭人陷害流落{place}，五年后携萌宝强势归来。",
+            "{hero}穿越到{place}成为落魄皇子，凭借现代知识一步步逆袭。",
+            "看{hero}如何稳健发展、步步为营，战魔道、夺至宝，成为纵横{place}的强者。");
+
+    private static final List<String> NOTE_SENTENCES = Arrays.asList(
+            "本资源为{quality}版本，国语音轨，内嵌简体中文字幕。",
+            "更新时间：每周三、四 20:00，画质：{quality}。",
+            "豆瓣评分{score}，年度最受欢迎作品之一。",
+            "全集打包，支持在线观看和下载，失效请留言补档。",
+            "改编自同名网络小说，原著累计阅读量超过十亿。",
+            "文件大小约{size}GB，建议使用播放器打开。",
+            "TXT全本精校版，章节完整无删减，附番外。",
+            "短剧合集，每集两分钟，剧情紧凑无尿点。");
+
+    private final Random random;
+    private final ZipfSampler headSampler;
+    private final ZipfSampler tailSampler;
+    private final int nowSeconds;
+
+    public SyntheticCorpus(long seed, double zipfExponent) {
+        this.random = new Random(seed);
+        this.headSampler = new ZipfSampler(NAME_HEADS.size(), zipfExponent);
+        this.tailSampler = new ZipfSampler(NAME_TAILS.size(), zipfExponent);
+        this.nowSeconds = 1_760_000_000;
+    }
+
+    /**
+     * 注册 MySQL 中有而 H2 中没有的函数（函数定义保存在数据库中，复用文件数据库时同样需要执行）
+     */
+    public static void createFunctions(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE ALIAS IF NOT EXISTS FIELD FOR \"" + H2Functions.class.getName() + ".field\"");
+        }
+    }
+
+    /**
+     * 创建 resource 表（与 README 中的 MySQL 表结构一致）
+     */
+    public static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS resource");
+            statement.execute("CREATE TABLE resource ("
+                    + "id INT PRIMARY KEY AUTO_INCREMENT, "
+                    + "name VARCHAR(100) NOT NULL, "
+                    + "name_norm VARCHAR(255), "
+                    + "content TEXT, "
+                    + "simhash BIGINT, "
+                    + "url VARCHAR(255), "
+                    + "pig VARCHAR(50), "
+                    + "level TINYINT NOT NULL DEFAULT 1, "
+                    + "type VARCHAR(50), "
+                    + "source INT, "
+                    + "resource_time INT, "
+                    + "create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_resource_type_level_time_id ON resource (type, level, resource_time, id)");
+            statement.execute("CREATE INDEX idx_resource_name_norm ON resource (name_norm)");
+            statement.execute("CREATE INDEX idx_resource_simhash ON resource (simhash)");
+        }
+    }
+
+    /**
+     * 批量写入 count 条资源
+     */
+    public void load(Connection connection, int count, int batchSize) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        String sql = "INSERT INTO resource (name, name_norm, content, simhash, url, level, type, source, resource_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                String type = TYPES.get(random.nextInt(TYPES.size()));
+                String name = nextName(type);
+                statement.setString(1, name);
+                statement.setString(2, StringCleanupUtil.normalizeName(name));
+                String content = nextDescription(type);
+                statement.setString(3, content);
+                statement.setObject(4, SimHash.fingerprint(name, content), Types.BIGINT);
+                statement.setString(5, "https://pan.quark.cn/s/" + Long.toHexString(random.nextLong() & 0xffffffffffffL));
+                statement.setInt(6, nextLevel());
+                statement.setString(7, type);
+                statement.setObject(8, random.nextInt(10) == 0 ? null : 1 + random.nextInt(3), Types.INTEGER);
+                // 最近两年内的资源时间，少量历史数据没有资源时间
+                statement.setObject(9, random.nextInt(50) == 0 ? null : nowSeconds - random.nextInt(2 * 365 * 86400),
+                                    Types.INTEGER);
+                statement.addBatch();
+                if (i % batchSize == 0 || i == count) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * 作品名：热门前后段组合出现得更频繁；按类型追加季数、年份、清晰度、更新进度等后缀
+     */
+    String nextName(String type) {
+        StringBuilder name = new StringBuilder(48);
+        name.append(NAME_HEADS.get(headSampler.next(random))).append(NAME_TAILS.get(tailSampler.next(random)));
+        if (random.nextInt(4) == 0) {
+            name.append(' ').append(SEASONS.get(random.nextInt(SEASONS.size())));
+        }
+        if (random.nextInt(3) != 0) {
+            name.append(" (").append(2015 + random.nextInt(11)).append(')');
+        }
+        switch (type) {
+            case "novel":
+                name.append(random.nextBoolean() ? " TXT全本" : " 精校版 完结");
+                break;
+            case "shortdrama":
+                name.append(" 全").append(30 + random.nextInt(71)).append("集 短剧");
+                break;
+            default:
+                name.append(' ').append(QUALITIES.get(random.nextInt(QUALITIES.size())));
+                if (random.nextBoolean()) {
+                    name.append("【更至").append(1 + random.nextInt(260)).append("集】");
+                }
+                break;
+        }
+        return name.length() > 100 ? name.substring(0, 100) : name.toString();
+    }
+
+    /**
+     * 描述：2~6 句剧情简介 + 1~3 句资源说明，约 80~500 字
+     */
+    String nextDescription(String type) {
+        StringBuilder content = new StringBuilder(512);
+        if (!"shortdrama".equals(type) || random.nextBoolean()) {
+            content.append(type.equals("novel") ? "小说简介：" : "剧情简介：");
+        }
+        int plots = 2 + random.nextInt(5);
+        for (int i = 0; i < plots; i++) {
+            content.append(fill(PLOT_SENTENCES.get(random.nextInt(PLOT_SENTENCES.size()))));
+        }
+        int notes = 1 + random.nextInt(3);
+        for (int i = 0; i < notes; i++) {
+            content.append(fill(NOTE_SENTENCES.get(random.nextInt(NOTE_SENTENCES.size()))));
+        }
+        return content.toString();
+    }
+
+    private String fill(String template) {
+        return template
+                .replace("{hero}", HEROES.get(random.nextInt(HEROES.size())))
+                .replace("{place}", PLACES.get(random.nextInt(PLACES.size())))
+                .replace("{quality}", QUALITIES.get(random.nextInt(QUALITIES.size())))
+                .replace("{score}", (6 + random.nextInt(4)) + "." + random.nextInt(10))
+                .replace("{size}", String.valueOf(1 + random.nextInt(60)));
+    }
+
+    private int nextLevel() {
+        int roll = random.nextInt(10);
+        return roll < 6 ? 1 : roll < 9 ? 2 : 3;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.service;
+
+import org.example.benchmark.Beans;
+import org.example.benchmark.Fixtures;
+import org.example.config.SearchIndexConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IK分词基准：每次搜索都会先对搜索词分词（不打开本地索引）
+ * 每次调用对全部搜索词各分词一次，结果按单个搜索词折算
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LuceneAnalyzeBenchmark {
+
+    private static final int QUERY_COUNT = 8;
+
+    private LuceneSearchService luceneSearchService;
+
+    private String[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SearchIndexConfig searchIndexConfig = new SearchIndexConfig();
+        searchIndexConfig.setEnabled(false);
+        luceneSearchService = Beans.inject(new LuceneSearchService(), "searchIndexConfig", searchIndexConfig);
+        luceneSearchService.init();
+
+        queries = Fixtures.QUERIES.toArray(new String[0]);
+        if (queries.length != QUERY_COUNT) {
+            throw new IllegalStateException("搜索词数量与 QUERY_COUNT 不一致: " + queries.length);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        luceneSearchService.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public void analyzeText(Blackhole blackhole) throws IOException {
+        for (String query : queries) {
+            blackhole.consume(luceneSearchService.analyzeText(query));
+        }
+    }
+}
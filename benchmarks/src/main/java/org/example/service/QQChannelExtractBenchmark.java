@@ -0,0 +1,47 @@
+package org.example.service;
+
+import org.example.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QQ频道帖子解析基准：爬虫对每个帖子的完整JSON文本做正则提取（名称、最长的描述、夸克链接）
+ * 每次调用解析 qqData.json 中的全部帖子
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QQChannelExtractBenchmark {
+
+    private QQChannelCrawlerService crawlerService;
+
+    private String[] feeds;
+
+    @Setup
+    public void setUp() throws IOException {
+        crawlerService = new QQChannelCrawlerService();
+        feeds = Fixtures.channelFeeds().toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void extractInfoFromText(Blackhole blackhole) {
+        for (String feed : feeds) {
+            blackhole.consume(crawlerService.extractInfoFromText(feed, ""));
+        }
+    }
+}
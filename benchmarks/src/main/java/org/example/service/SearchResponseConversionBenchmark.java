@@ -0,0 +1,61 @@
+package org.example.service;
+
+import org.example.benchmark.Beans;
+import org.example.benchmark.Fixtures;
+import org.example.config.SearchHighlightConfig;
+import org.example.entity.Resource;
+import org.example.search.SearchHighlighter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索结果转换基准：一页资源转换为响应DTO（截取摘要、高亮名称和摘要），每次搜索都会执行
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResponseConversionBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ResourceService resourceService;
+
+    private List<Resource> resources;
+
+    private List<String> searchTerms;
+
+    @Setup
+    public void setUp() {
+        SearchHighlightConfig searchHighlightConfig = new SearchHighlightConfig();
+        SearchHighlighter searchHighlighter = Beans.inject(new SearchHighlighter(), "searchHighlightConfig",
+                                                           searchHighlightConfig);
+        resourceService = Beans.inject(new ResourceService(), "searchHighlighter", searchHighlighter);
+
+        // 与搜索回表一致：内容只读取摘要窗口长度
+        resources = Fixtures.resources(pageSize, searchHighlightConfig.getContentWindow());
+        // “斗罗大陆”的IK分词结果
+        searchTerms = Arrays.asList("斗罗大陆", "斗罗", "大陆");
+    }
+
+    @Benchmark
+    public Object convertToPageInfo() {
+        return resourceService.convertToPageInfo(resources, searchTerms, "exact", false);
+    }
+}
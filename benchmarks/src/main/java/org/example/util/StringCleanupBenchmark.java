@@ -0,0 +1,58 @@
+package org.example.util;
+
+import org.example.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 资源字段清理基准：爬虫和Excel导入写入每条资源前都会清理名称、内容和URL
+ * 每次调用清理 RESOURCE_COUNT 条资源，结果按单条资源折算
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringCleanupBenchmark {
+
+    private static final int RESOURCE_COUNT = 16;
+
+    private String[] names;
+    private String[] contents;
+    private String[] urls;
+
+    @Setup
+    public void setUp() {
+        names = new String[RESOURCE_COUNT];
+        contents = new String[RESOURCE_COUNT];
+        urls = new String[RESOURCE_COUNT];
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            // 爬取的文本中常见转义残留的反斜杠
+            String title = Fixtures.TITLES.get(i % Fixtures.TITLES.size());
+            names[i] = i % 2 == 0 ? title : title.replace(" ", "\\ ");
+            contents[i] = Fixtures.DESCRIPTIONS.get(i % Fixtures.DESCRIPTIONS.size());
+            urls[i] = " https://pan.quark.cn/s/" + Integer.toHexString(0x5f3759df + i) + (i % 3 == 0 ? "\\n" : "") + " ";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESOURCE_COUNT)
+    public void cleanResourceFields(Blackhole blackhole) {
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            blackhole.consume(StringCleanupUtil.cleanResourceFields(names[i], contents[i], urls[i]));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.util;
+
+import org.example.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 名称相似度基准：去重时对资源名称两两计算综合相似度，是去重任务的主要耗时
+ * 每次调用遍历全部标题对，结果按单个标题对折算
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextSimilarityBenchmark {
+
+    private String[][] pairs;
+
+    private String[][] descriptionPairs;
+
+    @Setup
+    public void setUp() {
+        pairs = Fixtures.titlePairs().toArray(new String[0][]);
+        descriptionPairs = Fixtures.descriptionPairs().toArray(new String[0][]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.TITLE_PAIR_COUNT)
+    public void comprehensiveSimilarity(Blackhole blackhole) {
+        for (String[] pair : pairs) {
+            blackhole.consume(TextSimilarityUtil.calculateComprehensiveSimilarity(pair[0], pair[1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.TITLE_PAIR_COUNT)
+    public void isSimilar(Blackhole blackhole) {
+        for (String[] pair : pairs) {
+            blackhole.consume(TextSimilarityUtil.isSimilar(pair[0], pair[1], 0.8));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.DESCRIPTION_PAIR_COUNT)
+    public void contentComprehensiveSimilarity(Blackhole blackhole) {
+        for (String[] pair : descriptionPairs) {
+            blackhole.consume(TextSimilarityUtil.calculateComprehensiveSimilarity(pair[0], pair[1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.DESCRIPTION_PAIR_COUNT)
+    public void contentIsSimilarAtLeast(Blackhole blackhole) {
+        // 去重时内容相似度的判断方式：严格大于 0.5
+        for (String[] pair : descriptionPairs) {
+            blackhole.consume(TextSimilarityUtil.isSimilarAtLeast(pair[0], pair[1], Math.nextUp(0.5)));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 资源去重配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "dedup")
+public class DeduplicationConfig {
+
+    /**
+     * 是否执行相似度去重（名称或内容相似度超过阈值的资源只保留最新的一条）
+     * 会删除名称不同的资源，默认关闭，确认阈值适用于当前数据后再开启
+     */
+    private boolean similarityEnabled = false;
+
+    /**
+     * 相似度去重按ID分批读取资源，每批的数量
+     */
+    private int similarityBatchSize = 1000;
+
+    /**
+     * 相似度去重只读取并比较内容的前若干个字符，限制全表检测时的内存占用
+     */
+    private int similarityContentLength = 500;
+
+    /**
+     * 名称综合相似度阈值（超过该值视为重复）
+     */
+    private double nameThreshold = 0.9;
+
+    /**
+     * 内容综合相似度阈值（超过该值视为重复）
+     */
+    private double contentThreshold = 0.5;
+
+    /**
+     * 参与内容相似度比较的最短内容长度（字符，去除首尾空白后）
+     */
+    private int minContentLength = 10;
+
+    /**
+     * 名称 MinHash 的分段数和每段的哈希数：Jaccard 相似度为 J 的名称成为候选对的概率为 1 - (1 - J^rows)^bands
+     * 名称综合相似度超过 0.9 时 Jaccard 相似度不低于 0.857，默认 30×10 时成为候选对的概率超过 99.9%，
+     * 而同一作品不同集数等 Jaccard 相似度约 0.6 的名称只有约 17% 成为候选对
+     */
+    private int nameBands = 30;
+
+    private int nameRows = 10;
+
+    /**
+     * 内容 MinHash 的分段数和每段的哈希数：内容综合相似度超过 0.5 时 Jaccard 相似度不低于 0.286，
+     * 默认 40×2 时成为候选对的概率约 97%
+     */
+    private int contentBands = 40;
+
+    private int contentRows = 2;
+
+    /**
+     * 同一分段键下的资源数超过该值时不生成候选对（避免模板化文本退化为两两比较）
+     */
+    private int maxBucketSize = 200;
+
+    /**
+     * 是否在入库时检查近似重复（爬虫和Excel导入写入前按 SimHash 指纹查找近似资源，再按上述阈值确认）
+     */
+    private boolean ingestCheckEnabled = true;
+
+    /**
+     * 入库时发现近似重复的处理方式：true 按resource_time保留较新的一条（新资源不比已有资源新时跳过写入，
+     * 否则写入并删除较旧的已有资源），false 仍写入并记录日志，留给定时去重任务处理
+     */
+    private boolean ingestRejectDuplicates = true;
+
+    /**
+     * SimHash 指纹的汉明距离不超过该值的资源作为近似重复候选（索引按该值分为 maxDistance + 1 段）
+     */
+    private int simhashMaxDistance = 3;
+
+    /**
+     * 定时增量去重每批检查的新资源数量（每批处理完成后保存一次水位）
+     */
+    private int incrementalBatchSize = 500;
+
+    // Getters and Setters
+    public boolean isSimilarityEnabled() {
+        return similarityEnabled;
+    }
+
+    public void setSimilarityEnabled(boolean similarityEnabled) {
+        this.similarityEnabled = similarityEnabled;
+    }
+
+    public int getSimilarityBatchSize() {
+        return similarityBatchSize;
+    }
+
+    public void setSimilarityBatchSize(int similarityBatchSize) {
+        this.similarityBatchSize = similarityBatchSize;
+    }
+
+    public int getSimilarityContentLength() {
+        return similarityContentLength;
+    }
+
+    public void setSimilarityContentLength(int similarityContentLength) {
+        this.similarityContentLength = similarityContentLength;
+    }
+
+    public double getNameThreshold() {
+        return nameThreshold;
+    }
+
+    public void setNameThreshold(double nameThreshold) {
+        this.nameThreshold = nameThreshold;
+    }
+
+    public double getContentThreshold() {
+        return contentThreshold;
+    }
+
+    public void setContentThreshold(double contentThreshold) {
+        this.contentThreshold = contentThreshold;
+    }
+
+    public int getMinContentLength() {
+        return minContentLength;
+    }
+
+    public void setMinContentLength(int minContentLength) {
+        this.minContentLength = minContentLength;
+    }
+
+    public int getNameBands() {
+        return nameBands;
+    }
+
+    public void setNameBands(int nameBands) {
+        this.nameBands = nameBands;
+    }
+
+    public int getNameRows() {
+        return nameRows;
+    }
+
+    public void setNameRows(int nameRows) {
+        this.nameRows = nameRows;
+    }
+
+    public int getContentBands() {
+        return contentBands;
+    }
+
+    public void setContentBands(int contentBands) {
+        this.contentBands = contentBands;
+    }
+
+    public int getContentRows() {
+        return contentRows;
+    }
+
+    public void setContentRows(int contentRows) {
+        this.contentRows = contentRows;
+    }
+
+    public int getMaxBucketSize() {
+        return maxBucketSize;
+    }
+
+    public void setMaxBucketSize(int maxBucketSize) {
+        this.maxBucketSize = maxBucketSize;
+    }
+
+    public boolean isIngestCheckEnabled() {
+        return ingestCheckEnabled;
+    }
+
+    public void setIngestCheckEnabled(boolean ingestCheckEnabled) {
+        this.ingestCheckEnabled = ingestCheckEnabled;
+    }
+
+    public boolean isIngestRejectDuplicates() {
+        return ingestRejectDuplicates;
+    }
+
+    public void setIngestRejectDuplicates(boolean ingestRejectDuplicates) {
+        this.ingestRejectDuplicates = ingestRejectDuplicates;
+    }
+
+    public int getSimhashMaxDistance() {
+        return simhashMaxDistance;
+    }
+
+    public void setSimhashMaxDistance(int simhashMaxDistance) {
+        this.simhashMaxDistance = simhashMaxDistance;
+    }
+
+    public int getIncrementalBatchSize() {
+        return incrementalBatchSize;
+    }
+
+    public void setIncrementalBatchSize(int incrementalBatchSize) {
+        this.incrementalBatchSize = incrementalBatchSize;
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.config;
 
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.example.search.SearchSqlRecorder;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,9 @@ public class MyBatisConfig {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private SearchSqlRecorder searchSqlRecorder;
+
     @Bean
     public SqlSessionFactory sqlSessionFactory() throws Exception {
         SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
@@ -41,6 +45,9 @@ public class MyBatisConfig {
         configuration.setAutoMappingBehavior(org.apache.ibatis.session.AutoMappingBehavior.PARTIAL);
         
         factoryBean.setConfiguration(configuration);
+
+        // 记录搜索请求执行的SQL（慢搜索记录使用）
+        factoryBean.setPlugins(searchSqlRecorder);
         
         return factoryBean.getObject();
     }
@@ -1,13 +1,16 @@
 package org.example.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 定时任务配置
+ * scheduling.enabled 为 false 时不执行任何定时任务（离线压测等场景，避免启动后立即去重、爬取）
  */
 @Configuration
 @EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
 public class SchedulingConfig {
     // 启用Spring的定时任务功能
 }
@@ -0,0 +1,169 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索后端配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.backend")
+public class SearchBackendConfig {
+
+    /**
+     * 默认使用的搜索后端（请求未指定时），不可用时回退到数据库搜索
+     */
+    private String primary = "lucene_index";
+
+    /**
+     * 是否启用MySQL全文检索后端（需要先执行 sql/add_resource_fulltext_index.sql 创建ngram全文索引）
+     */
+    private boolean fulltextEnabled = false;
+
+    /**
+     * 是否启用影子对比：按采样率在后台异步执行候选后端，记录耗时和结果重合度
+     */
+    private boolean shadowEnabled = false;
+
+    /**
+     * 影子对比的候选后端
+     */
+    private String shadowCandidate = "ik_tokenized";
+
+    /**
+     * 影子对比采样率（0~1）
+     */
+    private double shadowSampleRate = 0.05;
+
+    /**
+     * 计算结果重合度时比较的前K条结果
+     */
+    private int shadowTopK = 10;
+
+    /**
+     * 影子对比线程数
+     */
+    private int shadowThreads = 1;
+
+    /**
+     * 影子对比等待队列长度，队列已满时直接丢弃，不影响主搜索
+     */
+    private int shadowQueueCapacity = 100;
+
+    /**
+     * 是否启用按搜索词并行查询的数据库搜索后端（term_fanout），依赖ngram全文索引，需同时开启 fulltextEnabled
+     */
+    private boolean fanoutEnabled = true;
+
+    /**
+     * 按搜索词并行查询的线程数
+     */
+    private int fanoutThreads = 4;
+
+    /**
+     * 按搜索词并行查询的等待队列长度，队列已满时由请求线程直接执行
+     */
+    private int fanoutQueueCapacity = 64;
+
+    /**
+     * 单次搜索等待全部搜索词查询完成的超时时间（毫秒），超时后回退到数据库搜索
+     */
+    private long fanoutTimeoutMs = 5000;
+
+    // Getters and Setters
+    public String getPrimary() {
+        return primary;
+    }
+
+    public void setPrimary(String primary) {
+        this.primary = primary;
+    }
+
+    public boolean isFulltextEnabled() {
+        return fulltextEnabled;
+    }
+
+    public void setFulltextEnabled(boolean fulltextEnabled) {
+        this.fulltextEnabled = fulltextEnabled;
+    }
+
+    public boolean isShadowEnabled() {
+        return shadowEnabled;
+    }
+
+    public void setShadowEnabled(boolean shadowEnabled) {
+        this.shadowEnabled = shadowEnabled;
+    }
+
+    public String getShadowCandidate() {
+        return shadowCandidate;
+    }
+
+    public void setShadowCandidate(String shadowCandidate) {
+        this.shadowCandidate = shadowCandidate;
+    }
+
+    public double getShadowSampleRate() {
+        return shadowSampleRate;
+    }
+
+    public void setShadowSampleRate(double shadowSampleRate) {
+        this.shadowSampleRate = shadowSampleRate;
+    }
+
+    public int getShadowTopK() {
+        return shadowTopK;
+    }
+
+    public void setShadowTopK(int shadowTopK) {
+        this.shadowTopK = shadowTopK;
+    }
+
+    public int getShadowThreads() {
+        return shadowThreads;
+    }
+
+    public void setShadowThreads(int shadowThreads) {
+        this.shadowThreads = shadowThreads;
+    }
+
+    public int getShadowQueueCapacity() {
+        return shadowQueueCapacity;
+    }
+
+    public void setShadowQueueCapacity(int shadowQueueCapacity) {
+        this.shadowQueueCapacity = shadowQueueCapacity;
+    }
+
+    public boolean isFanoutEnabled() {
+        return fanoutEnabled;
+    }
+
+    public void setFanoutEnabled(boolean fanoutEnabled) {
+        this.fanoutEnabled = fanoutEnabled;
+    }
+
+    public int getFanoutThreads() {
+        return fanoutThreads;
+    }
+
+    public void setFanoutThreads(int fanoutThreads) {
+        this.fanoutThreads = fanoutThreads;
+    }
+
+    public int getFanoutQueueCapacity() {
+        return fanoutQueueCapacity;
+    }
+
+    public void setFanoutQueueCapacity(int fanoutQueueCapacity) {
+        this.fanoutQueueCapacity = fanoutQueueCapacity;
+    }
+
+    public long getFanoutTimeoutMs() {
+        return fanoutTimeoutMs;
+    }
+
+    public void setFanoutTimeoutMs(long fanoutTimeoutMs) {
+        this.fanoutTimeoutMs = fanoutTimeoutMs;
+    }
+}
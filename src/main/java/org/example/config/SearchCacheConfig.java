@@ -0,0 +1,78 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索结果缓存配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.cache")
+public class SearchCacheConfig {
+
+    /**
+     * 是否启用搜索结果缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存条目数
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 写入后过期时间（秒）
+     */
+    private long expireAfterWriteSeconds = 300;
+
+    /**
+     * 每个查询缓存的排序ID数量上限，超出部分的深度翻页直接查询
+     */
+    private int rankedIdsLimit = 1000;
+
+    /**
+     * 排序ID缓存的最大查询数
+     */
+    private long rankedIdsMaximumSize = 2000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getExpireAfterWriteSeconds() {
+        return expireAfterWriteSeconds;
+    }
+
+    public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds) {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+
+    public int getRankedIdsLimit() {
+        return rankedIdsLimit;
+    }
+
+    public void setRankedIdsLimit(int rankedIdsLimit) {
+        this.rankedIdsLimit = rankedIdsLimit;
+    }
+
+    public long getRankedIdsMaximumSize() {
+        return rankedIdsMaximumSize;
+    }
+
+    public void setRankedIdsMaximumSize(long rankedIdsMaximumSize) {
+        this.rankedIdsMaximumSize = rankedIdsMaximumSize;
+    }
+}
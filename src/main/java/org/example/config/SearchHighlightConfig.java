@@ -0,0 +1,78 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索结果摘要与高亮配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.highlight")
+public class SearchHighlightConfig {
+
+    /**
+     * 搜索结果回表时读取的内容长度（字符），完整内容通过资源详情接口获取
+     */
+    private int contentWindow = 1000;
+
+    /**
+     * 摘要长度（字符）
+     */
+    private int snippetLength = 120;
+
+    /**
+     * 摘要中命中词之前保留的上下文长度（字符）
+     */
+    private int snippetLeadLength = 20;
+
+    /**
+     * 命中词的开始标记
+     */
+    private String preTag = "<em>";
+
+    /**
+     * 命中词的结束标记
+     */
+    private String postTag = "</em>";
+
+    // Getters and Setters
+    public int getContentWindow() {
+        return contentWindow;
+    }
+
+    public void setContentWindow(int contentWindow) {
+        this.contentWindow = contentWindow;
+    }
+
+    public int getSnippetLength() {
+        return snippetLength;
+    }
+
+    public void setSnippetLength(int snippetLength) {
+        this.snippetLength = snippetLength;
+    }
+
+    public int getSnippetLeadLength() {
+        return snippetLeadLength;
+    }
+
+    public void setSnippetLeadLength(int snippetLeadLength) {
+        this.snippetLeadLength = snippetLeadLength;
+    }
+
+    public String getPreTag() {
+        return preTag;
+    }
+
+    public void setPreTag(String preTag) {
+        this.preTag = preTag;
+    }
+
+    public String getPostTag() {
+        return postTag;
+    }
+
+    public void setPostTag(String postTag) {
+        this.postTag = postTag;
+    }
+}
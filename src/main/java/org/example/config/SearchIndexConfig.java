@@ -0,0 +1,78 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索索引配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.index")
+public class SearchIndexConfig {
+
+    /**
+     * 是否启用本地Lucene索引（关闭时搜索回退到数据库查询）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 索引目录
+     */
+    private String path = "./data/lucene-index";
+
+    /**
+     * 重建索引时每批从数据库读取的资源数量
+     */
+    private int rebuildBatchSize = 1000;
+
+    /**
+     * 近实时刷新间隔（毫秒），写入的资源最迟在该时间内可被搜索到
+     */
+    private long refreshIntervalMs = 1000;
+
+    /**
+     * 索引变更提交到磁盘的间隔（毫秒），异常退出时最多丢失该间隔内的变更，下次启动会重建索引
+     */
+    private long commitIntervalMs = 60000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getRebuildBatchSize() {
+        return rebuildBatchSize;
+    }
+
+    public void setRebuildBatchSize(int rebuildBatchSize) {
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    public void setRefreshIntervalMs(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    public long getCommitIntervalMs() {
+        return commitIntervalMs;
+    }
+
+    public void setCommitIntervalMs(long commitIntervalMs) {
+        this.commitIntervalMs = commitIntervalMs;
+    }
+}
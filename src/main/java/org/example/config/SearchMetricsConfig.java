@@ -0,0 +1,39 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索耗时指标配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.metrics")
+public class SearchMetricsConfig {
+
+    /**
+     * 是否记录搜索各阶段耗时的计时器
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否发布直方图桶，用于在Prometheus中计算分位数
+     */
+    private boolean percentileHistogram = true;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isPercentileHistogram() {
+        return percentileHistogram;
+    }
+
+    public void setPercentileHistogram(boolean percentileHistogram) {
+        this.percentileHistogram = percentileHistogram;
+    }
+}
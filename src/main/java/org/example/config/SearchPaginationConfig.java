@@ -0,0 +1,39 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索分页配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.pagination")
+public class SearchPaginationConfig {
+
+    /**
+     * 每页最多返回的资源数量，请求的 size 超出时按该值返回
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * 页码分页（exact/cached/none）允许的最大偏移量（(page - 1) × size），超出时请求无效，深度翻页请使用游标分页
+     */
+    private long maxOffset = 10000;
+
+    // Getters and Setters
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public long getMaxOffset() {
+        return maxOffset;
+    }
+
+    public void setMaxOffset(long maxOffset) {
+        this.maxOffset = maxOffset;
+    }
+}
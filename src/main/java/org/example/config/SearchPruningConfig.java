@@ -0,0 +1,91 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索词裁剪配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.pruning")
+public class SearchPruningConfig {
+
+    /**
+     * 是否启用搜索词裁剪（按文档频率丢弃过于常见的IK分词结果，并限制搜索词数量）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 文档频率比例上限：分词结果匹配的资源数占资源总数的比例超过该值时丢弃
+     */
+    private double maxDfRatio = 0.2;
+
+    /**
+     * 单次搜索最多使用的搜索词数量（含原始搜索词）
+     */
+    private int maxTerms = 6;
+
+    /**
+     * 资源总数低于该值时不按文档频率裁剪（资源较少时比例不具有代表性）
+     */
+    private int minDocs = 1000;
+
+    /**
+     * 搜索词文档频率统计的缓存时间（秒）
+     */
+    private long statsExpireSeconds = 600;
+
+    /**
+     * 缓存文档频率统计的最大搜索词数
+     */
+    private long statsMaximumSize = 20000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getMaxDfRatio() {
+        return maxDfRatio;
+    }
+
+    public void setMaxDfRatio(double maxDfRatio) {
+        this.maxDfRatio = maxDfRatio;
+    }
+
+    public int getMaxTerms() {
+        return maxTerms;
+    }
+
+    public void setMaxTerms(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    public int getMinDocs() {
+        return minDocs;
+    }
+
+    public void setMinDocs(int minDocs) {
+        this.minDocs = minDocs;
+    }
+
+    public long getStatsExpireSeconds() {
+        return statsExpireSeconds;
+    }
+
+    public void setStatsExpireSeconds(long statsExpireSeconds) {
+        this.statsExpireSeconds = statsExpireSeconds;
+    }
+
+    public long getStatsMaximumSize() {
+        return statsMaximumSize;
+    }
+
+    public void setStatsMaximumSize(long statsMaximumSize) {
+        this.statsMaximumSize = statsMaximumSize;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索相关性评分配置类
+ * 本地索引和数据库搜索使用同一组权重：完全匹配 > 前缀匹配 > 名称包含 > 内容包含
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.scoring")
+public class SearchScoringConfig {
+
+    /**
+     * 名称完全匹配的权重
+     */
+    private float exactWeight = 8f;
+
+    /**
+     * 名称前缀匹配的权重
+     */
+    private float prefixWeight = 4f;
+
+    /**
+     * 名称包含的权重
+     */
+    private float nameContainsWeight = 2f;
+
+    /**
+     * 内容包含的权重
+     */
+    private float contentContainsWeight = 1f;
+
+    /**
+     * 原始搜索词（第一个搜索词）的权重倍数，使其高于IK分词结果
+     */
+    private float originalTermBoost = 4f;
+
+    /**
+     * 数据库搜索评分时读取的内容长度（字符），只在该范围内判断内容是否包含搜索词
+     */
+    private int candidateContentLength = 1000;
+
+    /**
+     * 名称前缀快速路径最多读取的候选行数，前缀匹配的资源超过该数量时改为完整评分
+     */
+    private int prefixCandidateLimit = 2000;
+
+    // Getters and Setters
+    public float getExactWeight() {
+        return exactWeight;
+    }
+
+    public void setExactWeight(float exactWeight) {
+        this.exactWeight = exactWeight;
+    }
+
+    public float getPrefixWeight() {
+        return prefixWeight;
+    }
+
+    public void setPrefixWeight(float prefixWeight) {
+        this.prefixWeight = prefixWeight;
+    }
+
+    public float getNameContainsWeight() {
+        return nameContainsWeight;
+    }
+
+    public void setNameContainsWeight(float nameContainsWeight) {
+        this.nameContainsWeight = nameContainsWeight;
+    }
+
+    public float getContentContainsWeight() {
+        return contentContainsWeight;
+    }
+
+    public void setContentContainsWeight(float contentContainsWeight) {
+        this.contentContainsWeight = contentContainsWeight;
+    }
+
+    public float getOriginalTermBoost() {
+        return originalTermBoost;
+    }
+
+    public void setOriginalTermBoost(float originalTermBoost) {
+        this.originalTermBoost = originalTermBoost;
+    }
+
+    public int getCandidateContentLength() {
+        return candidateContentLength;
+    }
+
+    public void setCandidateContentLength(int candidateContentLength) {
+        this.candidateContentLength = candidateContentLength;
+    }
+
+    public int getPrefixCandidateLimit() {
+        return prefixCandidateLimit;
+    }
+
+    public void setPrefixCandidateLimit(int prefixCandidateLimit) {
+        this.prefixCandidateLimit = prefixCandidateLimit;
+    }
+}
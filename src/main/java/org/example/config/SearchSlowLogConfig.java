@@ -0,0 +1,130 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 慢搜索记录配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.slow-log")
+public class SearchSlowLogConfig {
+
+    /**
+     * 是否记录慢搜索
+     */
+    private boolean enabled = true;
+
+    /**
+     * 慢搜索阈值（毫秒），整次搜索耗时达到该值时记录
+     */
+    private long thresholdMs = 500;
+
+    /**
+     * 内存中保留的最近慢搜索数量，超出时覆盖最早的记录
+     */
+    private int capacity = 200;
+
+    /**
+     * 是否同时写入本地文件（每行一条JSON）
+     */
+    private boolean fileEnabled = false;
+
+    /**
+     * 慢搜索文件路径，滚动后的文件依次加上 .1 .2 ... 后缀
+     */
+    private String filePath = "./logs/search-slow.ndjson";
+
+    /**
+     * 单个文件的最大字节数，超出时滚动
+     */
+    private long fileMaxBytes = 10 * 1024 * 1024;
+
+    /**
+     * 保留的滚动文件数量
+     */
+    private int fileMaxHistory = 5;
+
+    /**
+     * 写入文件的间隔（毫秒），由定时任务读取
+     */
+    private long flushIntervalMs = 5000;
+
+    /**
+     * 每条记录保留的SQL语句数量上限
+     */
+    private int maxSqlStatements = 20;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    public void setThresholdMs(long thresholdMs) {
+        this.thresholdMs = thresholdMs;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public boolean isFileEnabled() {
+        return fileEnabled;
+    }
+
+    public void setFileEnabled(boolean fileEnabled) {
+        this.fileEnabled = fileEnabled;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getFileMaxBytes() {
+        return fileMaxBytes;
+    }
+
+    public void setFileMaxBytes(long fileMaxBytes) {
+        this.fileMaxBytes = fileMaxBytes;
+    }
+
+    public int getFileMaxHistory() {
+        return fileMaxHistory;
+    }
+
+    public void setFileMaxHistory(int fileMaxHistory) {
+        this.fileMaxHistory = fileMaxHistory;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public int getMaxSqlStatements() {
+        return maxSqlStatements;
+    }
+
+    public void setMaxSqlStatements(int maxSqlStatements) {
+        this.maxSqlStatements = maxSqlStatements;
+    }
+}
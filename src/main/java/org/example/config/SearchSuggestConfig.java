@@ -0,0 +1,78 @@
+package org.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索联想配置类
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.suggest")
+public class SearchSuggestConfig {
+
+    /**
+     * 是否启用搜索联想（内存中的资源名称前缀索引）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 预先切分的前缀最大长度（字符），不超过该长度的前缀直接按词项查找，更长的前缀按规范化名称前缀查询
+     */
+    private int maxGramLength = 4;
+
+    /**
+     * 默认返回的联想词数量
+     */
+    private int defaultSize = 10;
+
+    /**
+     * 单次请求最多返回的联想词数量
+     */
+    private int maxSize = 20;
+
+    /**
+     * 统计耗时分位数时保留的最近查询数量
+     */
+    private int latencySampleSize = 1024;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxGramLength() {
+        return maxGramLength;
+    }
+
+    public void setMaxGramLength(int maxGramLength) {
+        this.maxGramLength = maxGramLength;
+    }
+
+    public int getDefaultSize() {
+        return defaultSize;
+    }
+
+    public void setDefaultSize(int defaultSize) {
+        this.defaultSize = defaultSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getLatencySampleSize() {
+        return latencySampleSize;
+    }
+
+    public void setLatencySampleSize(int latencySampleSize) {
+        this.latencySampleSize = latencySampleSize;
+    }
+}
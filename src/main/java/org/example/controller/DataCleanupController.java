@@ -118,6 +118,82 @@ public class DataCleanupController {
         return result;
     }
     
+    /**
+     * 回填资源规范化名称（name_norm 列）
+     */
+    @PostMapping("/name-norm")
+    public Map<String, Object> backfillNameNorm() {
+        Map<String, Object> result = new HashMap<>();
+        
+        try {
+            logger.info("手动触发规范化名称回填");
+            
+            int updatedCount = dataCleanupService.backfillNameNorm();
+            
+            result.put("success", true);
+            result.put("updatedCount", updatedCount);
+            result.put("message", String.format("回填完成，共更新了 %d 条记录", updatedCount));
+            
+        } catch (Exception e) {
+            logger.error("回填规范化名称失败", e);
+            result.put("success", false);
+            result.put("message", "回填失败: " + e.getMessage());
+        }
+        
+        return result;
+    }
+    
+    /**
+     * 回填资源SimHash指纹（simhash 列）
+     */
+    @PostMapping("/simhash")
+    public Map<String, Object> backfillSimhash() {
+        Map<String, Object> result = new HashMap<>();
+        
+        try {
+            logger.info("手动触发SimHash指纹回填");
+            
+            int updatedCount = dataCleanupService.backfillSimhash();
+            
+            result.put("success", true);
+            result.put("updatedCount", updatedCount);
+            result.put("message", String.format("回填完成，共更新了 %d 条记录", updatedCount));
+            
+        } catch (Exception e) {
+            logger.error("回填SimHash指纹失败", e);
+            result.put("success", false);
+            result.put("message", "回填失败: " + e.getMessage());
+        }
+        
+        return result;
+    }
+    
+    /**
+     * 回填资源去重键（canonical_url、canonical_url_hash、name_hash 列）并删除规范化URL重复的资源
+     */
+    @PostMapping("/dedup-keys")
+    public Map<String, Object> backfillDedupKeys() {
+        Map<String, Object> result = new HashMap<>();
+        
+        try {
+            logger.info("手动触发去重键回填");
+            
+            Map<String, Integer> counts = dataCleanupService.backfillDedupKeys();
+            
+            result.put("success", true);
+            result.putAll(counts);
+            result.put("message", String.format("回填完成，共更新了 %d 条记录，删除重复资源 %d 条",
+                counts.get("updatedCount"), counts.get("deletedCount")));
+            
+        } catch (Exception e) {
+            logger.error("回填去重键失败", e);
+            result.put("success", false);
+            result.put("message", "回填失败: " + e.getMessage());
+        }
+        
+        return result;
+    }
+    
     /**
      * 检查是否需要清理
      */
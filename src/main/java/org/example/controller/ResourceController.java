@@ -5,8 +5,10 @@ import org.example.dto.ResourceRequest;
 import org.example.dto.ResourceResponse;
 import org.example.dto.SearchRequest;
 import org.example.dto.SearchResponse;
+import org.example.dto.SuggestResponse;
 import org.example.service.ResourceService;
 import org.example.service.ResourceDeduplicationService;
+import org.example.service.SuggestService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +17,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -32,6 +37,9 @@ public class ResourceController {
     @Autowired
     private ResourceDeduplicationService deduplicationService;
 
+    @Autowired
+    private SuggestService suggestService;
+
     /**
      * 创建新资源
      */
@@ -78,6 +86,9 @@ public class ResourceController {
             Optional<ResourceResponse> response = resourceService.updateResource(id, request);
             return response.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("更新资源被拒绝: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             logger.error("更新资源失败: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -108,25 +119,77 @@ public class ResourceController {
      * 支持多字段搜索、模糊匹配、分词搜索和类型过滤
      * 支持按名称和内容搜索（分词搜索仅搜索名称字段）
      * 支持按层级和内容类型过滤
+     * 支持页码分页和游标分页（请求携带上一页返回的nextCursor，搜索词为空时即为按层级/类型过滤的列表）
      * 返回包含实际搜索词信息的SearchResponse
      */
     @PostMapping("/search")
     public ResponseEntity<SearchResponse> searchResources(@Valid @RequestBody SearchRequest searchRequest) {
-        logger.info("API调用：Lucene + IK高级搜索，搜索词: {}, 页码: {}, 大小: {}, 层级: {}, 类型: {}",
+        logger.debug("API调用：Lucene + IK高级搜索，搜索词: {}, 页码: {}, 大小: {}, 层级: {}, 类型: {}",
                    searchRequest.getSearchTerm(), searchRequest.getPage(), searchRequest.getSize(),
                    searchRequest.getLevel(), searchRequest.getType());
 
         try {
             SearchResponse results = resourceService.searchResourcesWithSearchInfo(searchRequest);
-            logger.info("搜索完成，实际搜索词: {}, 搜索策略: {}",
+            logger.debug("搜索完成，实际搜索词: {}, 搜索策略: {}",
                        results.getActualSearchTerms(), results.getSearchStrategy());
             return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            logger.warn("搜索参数无效: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("搜索资源失败: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * 导出搜索结果接口：以NDJSON（每行一个资源，包含URL和完整内容）流式返回全部匹配结果，用于审计、批量链接检查等
+     * 匹配条件与搜索接口相同，按ID降序输出，不做相关性排序
+     */
+    @GetMapping("/search/export")
+    public void exportSearchResults(@RequestParam(value = "term", required = false) String term,
+                                    @RequestParam(value = "level", required = false) String level,
+                                    @RequestParam(value = "type", required = false) String type,
+                                    @RequestParam(value = "searchMode", defaultValue = "multi") String searchMode,
+                                    @RequestParam(value = "limit", required = false) Integer limit,
+                                    HttpServletResponse response) throws IOException {
+        logger.info("API调用：导出搜索结果，搜索词: {}, 层级: {}, 类型: {}, 搜索模式: {}, 数量上限: {}",
+                   term, level, type, searchMode, limit);
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"search-export.ndjson\"");
+        try {
+            resourceService.exportSearchResults(term, level, type, searchMode, limit, response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("导出搜索结果失败: {}", e.getMessage(), e);
+            // 已开始输出时无法再修改状态码，客户端会收到不完整的结果
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    /**
+     * 搜索联想接口：按名称前缀返回资源名称（按资源时间降序），供输入框自动补全使用
+     * 从内存前缀索引中查询，不访问数据库
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponse> suggest(@RequestParam(value = "prefix", required = false) String prefix,
+                                                   @RequestParam(value = "type", required = false) String type,
+                                                   @RequestParam(value = "size", required = false) Integer size) {
+        logger.debug("API调用：搜索联想，前缀: {}, 类型: {}, 数量: {}", prefix, type, size);
+
+        try {
+            List<String> suggestions = suggestService.suggest(prefix, type, size);
+            return ResponseEntity.ok(new SuggestResponse(prefix, type, suggestions));
+        } catch (Exception e) {
+            logger.error("搜索联想失败: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * 手动触发资源去重
      */
@@ -135,22 +198,15 @@ public class ResourceController {
         logger.info("API调用：手动触发资源去重");
 
         try {
-            // 先获取统计信息
-            ResourceDeduplicationService.DeduplicationStats stats =
-                deduplicationService.getDeduplicationStats();
+            // 直接执行去重操作，不再先单独统计一遍
+            ResourceDeduplicationService.DeduplicationStats removed = deduplicationService.deduplicateResources();
 
-            if (stats.getTotalDuplicateCount() == 0) {
+            if (removed.getTotalDuplicateCount() == 0) {
                 logger.info("未发现重复资源");
                 return ResponseEntity.ok("未发现重复资源，无需去重");
             }
 
-            logger.info("发现重复资源 - URL重复: {} 条, 名称重复: {} 条, 相似度重复: {} 条",
-                       stats.getUrlDuplicateCount(), stats.getNameDuplicateCount(), stats.getSimilarityDuplicateCount());
-
-            // 执行去重操作
-            deduplicationService.deduplicateResources();
-
-            String message = String.format("去重操作完成，删除了 %d 条重复资源", stats.getTotalDuplicateCount());
+            String message = String.format("去重操作完成，删除了 %d 条重复资源", removed.getTotalDuplicateCount());
             logger.info(message);
             return ResponseEntity.ok(message);
 
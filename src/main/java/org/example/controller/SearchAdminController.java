@@ -0,0 +1,229 @@
+package org.example.controller;
+
+import org.example.search.SearchBackend;
+import org.example.search.SearchBackendRouter;
+import org.example.search.SearchShadowRunner;
+import org.example.service.LuceneSearchService;
+import org.example.service.SearchCacheService;
+import org.example.service.SlowSearchLog;
+import org.example.service.SuggestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索管理控制器
+ * 提供搜索索引状态查询、手动重建、搜索缓存统计、搜索后端影子对比统计、搜索联想索引以及慢搜索记录的API接口
+ */
+@RestController
+@RequestMapping("/admin/search")
+public class SearchAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchAdminController.class);
+
+    @Autowired
+    private LuceneSearchService luceneSearchService;
+
+    @Autowired
+    private SearchCacheService searchCacheService;
+
+    @Autowired
+    private SearchBackendRouter searchBackendRouter;
+
+    @Autowired
+    private SearchShadowRunner searchShadowRunner;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private SlowSearchLog slowSearchLog;
+
+    /**
+     * 获取索引状态
+     */
+    @GetMapping("/index")
+    public Map<String, Object> getIndexStatus() {
+        Map<String, Object> result = new HashMap<>();
+
+        result.put("success", true);
+        result.put("ready", luceneSearchService.isIndexReady());
+        result.put("docCount", luceneSearchService.getIndexedDocCount());
+        result.put("message", "索引状态获取成功");
+
+        return result;
+    }
+
+    /**
+     * 从数据库全量重建索引
+     */
+    @PostMapping("/index/rebuild")
+    public Map<String, Object> rebuildIndex() {
+        Map<String, Object> result = new HashMap<>();
+
+        try {
+            long startTime = System.currentTimeMillis();
+            int count = luceneSearchService.rebuildIndex();
+            long duration = System.currentTimeMillis() - startTime;
+
+            result.put("success", true);
+            result.put("count", count);
+            result.put("duration", duration + "ms");
+            result.put("message", "索引重建完成");
+
+            logger.info("手动重建索引完成，共 {} 条资源，耗时 {} ms", count, duration);
+
+        } catch (Exception e) {
+            logger.error("重建索引失败", e);
+            result.put("success", false);
+            result.put("message", "重建索引失败: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * 获取搜索缓存统计信息（命中/未命中/淘汰次数）
+     */
+    @GetMapping("/cache")
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> result = new HashMap<>();
+
+        result.put("success", true);
+        result.put("statistics", searchCacheService.getStatistics());
+        result.put("message", "缓存统计信息获取成功");
+
+        return result;
+    }
+
+    /**
+     * 清空搜索缓存
+     */
+    @DeleteMapping("/cache")
+    public Map<String, Object> clearCache() {
+        Map<String, Object> result = new HashMap<>();
+
+        searchCacheService.invalidateAll();
+
+        result.put("success", true);
+        result.put("message", "搜索缓存已清空");
+
+        return result;
+    }
+
+    /**
+     * 获取已注册的搜索后端及其可用状态
+     */
+    @GetMapping("/backends")
+    public Map<String, Object> getBackends() {
+        Map<String, Object> result = new HashMap<>();
+
+        List<Map<String, Object>> backends = new ArrayList<>();
+        for (SearchBackend backend : searchBackendRouter.getBackends()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", backend.getName());
+            item.put("available", backend.isAvailable());
+            backends.add(item);
+        }
+
+        result.put("success", true);
+        result.put("backends", backends);
+        result.put("primary", searchBackendRouter.resolveName(null));
+        result.put("message", "搜索后端获取成功");
+
+        return result;
+    }
+
+    /**
+     * 获取影子对比统计信息（候选后端耗时、前K条结果重合度）
+     */
+    @GetMapping("/shadow")
+    public Map<String, Object> getShadowStatistics() {
+        Map<String, Object> result = new HashMap<>();
+
+        result.put("success", true);
+        result.put("statistics", searchShadowRunner.getStatistics());
+        result.put("message", "影子对比统计信息获取成功");
+
+        return result;
+    }
+
+    /**
+     * 获取搜索联想统计信息（索引文档数、最近查询的耗时分位数）
+     */
+    @GetMapping("/suggest")
+    public Map<String, Object> getSuggestStatistics() {
+        Map<String, Object> result = new HashMap<>();
+
+        result.put("success", true);
+        result.put("statistics", suggestService.getStatistics());
+        result.put("message", "搜索联想统计信息获取成功");
+
+        return result;
+    }
+
+    /**
+     * 从数据库全量重建搜索联想索引
+     */
+    @PostMapping("/suggest/rebuild")
+    public Map<String, Object> rebuildSuggestIndex() {
+        Map<String, Object> result = new HashMap<>();
+
+        try {
+            long startTime = System.currentTimeMillis();
+            int count = suggestService.rebuild();
+            long duration = System.currentTimeMillis() - startTime;
+
+            result.put("success", true);
+            result.put("count", count);
+            result.put("duration", duration + "ms");
+            result.put("message", "搜索联想索引重建完成");
+
+            logger.info("手动重建搜索联想索引完成，共 {} 条资源，耗时 {} ms", count, duration);
+
+        } catch (Exception e) {
+            logger.error("重建搜索联想索引失败", e);
+            result.put("success", false);
+            result.put("message", "重建搜索联想索引失败: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * 获取最近的慢搜索记录（按时间倒序）：请求、实际搜索词、后端、各阶段耗时、行数和执行的SQL
+     */
+    @GetMapping("/slow")
+    public Map<String, Object> getSlowSearches(@RequestParam(value = "limit", defaultValue = "50") int limit) {
+        Map<String, Object> result = new HashMap<>();
+
+        result.put("success", true);
+        result.put("statistics", slowSearchLog.getStatistics());
+        result.put("entries", slowSearchLog.getEntries(limit));
+        result.put("message", "慢搜索记录获取成功");
+
+        return result;
+    }
+
+    /**
+     * 清空内存中的慢搜索记录
+     */
+    @DeleteMapping("/slow")
+    public Map<String, Object> clearSlowSearches() {
+        Map<String, Object> result = new HashMap<>();
+
+        slowSearchLog.clear();
+
+        result.put("success", true);
+        result.put("message", "慢搜索记录已清空");
+
+        return result;
+    }
+}
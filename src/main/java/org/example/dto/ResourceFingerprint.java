@@ -0,0 +1,46 @@
+package org.example.dto;
+
+/**
+ * 资源的 SimHash 指纹（构建近似重复索引时只读取ID、数据来源和指纹列）
+ */
+public class ResourceFingerprint {
+
+    private Integer id;
+
+    private Integer source;
+
+    private Long simhash; // 尚未回填的旧数据为null
+
+    public ResourceFingerprint() {}
+
+    public ResourceFingerprint(Integer id, Integer source, Long simhash) {
+        this.id = id;
+        this.source = source;
+        this.simhash = simhash;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getSource() {
+        return source;
+    }
+
+    public void setSource(Integer source) {
+        this.source = source;
+    }
+
+    public Long getSimhash() {
+        return simhash;
+    }
+
+    public void setSimhash(Long simhash) {
+        this.simhash = simhash;
+    }
+}
@@ -17,6 +17,8 @@ public class ResourceResponse {
     private Integer source;
     private Integer resourceTime;
     private List<String> words;
+    private String highlightedName;
+    private String highlightedSnippet;
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createTime;
@@ -132,6 +134,22 @@ public class ResourceResponse {
         this.updateTime = updateTime;
     }
 
+    public String getHighlightedName() {
+        return highlightedName;
+    }
+
+    public void setHighlightedName(String highlightedName) {
+        this.highlightedName = highlightedName;
+    }
+
+    public String getHighlightedSnippet() {
+        return highlightedSnippet;
+    }
+
+    public void setHighlightedSnippet(String highlightedSnippet) {
+        this.highlightedSnippet = highlightedSnippet;
+    }
+
     @Override
     public String toString() {
         return "ResourceResponse{" +
@@ -0,0 +1,92 @@
+package org.example.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 搜索游标：记录上一页最后一条结果的排序键（相关性分档, resource_time, id）
+ * 下一页以该排序键为起点查询，不再使用 LIMIT offset
+ * 对外以不透明的Base64字符串传递
+ */
+public class SearchCursor {
+
+    private final String source; // 产生游标的搜索后端名称，各后端的相关性分档不可互换
+
+    private final String bucket; // 相关性分档：Lucene索引为文档得分，数据库搜索为 RelevanceScorer 计算的相关性得分，全文检索为 MATCH 得分
+
+    private final Long resourceTime;
+
+    private final int id;
+
+    public SearchCursor(String source, String bucket, Long resourceTime, int id) {
+        this.source = source != null ? source : "";
+        this.bucket = bucket != null ? bucket : "";
+        this.resourceTime = resourceTime;
+        this.id = id;
+    }
+
+    // 未指定来源的构造函数（数据库结果映射、索引搜索使用），参数顺序同上，来源由搜索后端通过 withSource 设置
+    public SearchCursor(String bucket, Long resourceTime, Integer id) {
+        this("", bucket, resourceTime, id);
+    }
+
+    /**
+     * 返回指定来源的游标副本
+     */
+    public SearchCursor withSource(String source) {
+        return new SearchCursor(source, bucket, resourceTime, id);
+    }
+
+    /**
+     * 编码为不透明的游标字符串
+     */
+    public String encode() {
+        String raw = source + "|" + bucket + "|" + (resourceTime != null ? resourceTime : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @throws IllegalArgumentException 游标格式无效
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("无效的分页游标: " + token);
+            }
+            Long resourceTime = parts[2].isEmpty() ? null : Long.parseLong(parts[2]);
+            return new SearchCursor(parts[0], parts[1], resourceTime, Integer.parseInt(parts[3]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 也是 IllegalArgumentException
+            throw new IllegalArgumentException("无效的分页游标: " + token, e);
+        }
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public Long getResourceTime() {
+        return resourceTime;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCursor{" +
+                "source='" + source + '\'' +
+                ", bucket='" + bucket + '\'' +
+                ", resourceTime=" + resourceTime +
+                ", id=" + id +
+                '}';
+    }
+}
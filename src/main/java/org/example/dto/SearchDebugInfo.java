@@ -0,0 +1,48 @@
+package org.example.dto;
+
+import java.util.Map;
+
+/**
+ * 搜索调试信息DTO：本次请求各阶段的耗时（毫秒），仅在请求debug时返回
+ * 排序结果命中缓存时不包含 analyze/query/facets 阶段
+ */
+public class SearchDebugInfo {
+
+    private Map<String, Double> phases; // 阶段 -> 耗时（毫秒），按执行顺序
+
+    private double totalMs; // 整次搜索耗时（毫秒）
+
+    // 默认构造函数
+    public SearchDebugInfo() {}
+
+    // 带参构造函数
+    public SearchDebugInfo(Map<String, Double> phases, double totalMs) {
+        this.phases = phases;
+        this.totalMs = totalMs;
+    }
+
+    // Getters and Setters
+    public Map<String, Double> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(Map<String, Double> phases) {
+        this.phases = phases;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(double totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchDebugInfo{" +
+                "phases=" + phases +
+                ", totalMs=" + totalMs +
+                '}';
+    }
+}
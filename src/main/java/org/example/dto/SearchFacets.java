@@ -0,0 +1,47 @@
+package org.example.dto;
+
+import java.util.Map;
+
+/**
+ * 搜索结果分面统计DTO：当前结果按类型和层级的资源数量（按数量降序）
+ */
+public class SearchFacets {
+
+    private Map<String, Long> type; // 类型 -> 资源数量
+
+    private Map<Integer, Long> level; // 层级 -> 资源数量
+
+    // 默认构造函数
+    public SearchFacets() {}
+
+    // 带参构造函数
+    public SearchFacets(Map<String, Long> type, Map<Integer, Long> level) {
+        this.type = type;
+        this.level = level;
+    }
+
+    // Getters and Setters
+    public Map<String, Long> getType() {
+        return type;
+    }
+
+    public void setType(Map<String, Long> type) {
+        this.type = type;
+    }
+
+    public Map<Integer, Long> getLevel() {
+        return level;
+    }
+
+    public void setLevel(Map<Integer, Long> level) {
+        this.level = level;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchFacets{" +
+                "type=" + type +
+                ", level=" + level +
+                '}';
+    }
+}
@@ -19,6 +19,16 @@ public class SearchRequest {
 
     private String searchMode = "multi"; // Search mode: "multi" (name+content) or "name" (name only)
 
+    private String paginationMode = "exact"; // Pagination mode: "exact" (count every request), "cached" (memoized total), "none" (hasNextPage only) or "cursor" (keyset)
+
+    private String backend; // Optional search backend: "lucene_index", "mysql_fulltext", "term_fanout" or "ik_tokenized"; defaults to the configured primary
+
+    private String cursor; // Opaque cursor returned as nextCursor by the previous page (implies "cursor" mode)
+
+    private boolean facets = false; // Whether to return per-type and per-level counts of the matched resources
+
+    private boolean debug = false; // Whether to return per-phase timings (bypasses the response cache)
+
     // Default constructor
     public SearchRequest() {}
 
@@ -103,6 +113,46 @@ public class SearchRequest {
         this.searchMode = searchMode;
     }
 
+    public String getPaginationMode() {
+        return paginationMode;
+    }
+
+    public void setPaginationMode(String paginationMode) {
+        this.paginationMode = paginationMode;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isFacets() {
+        return facets;
+    }
+
+    public void setFacets(boolean facets) {
+        this.facets = facets;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
     @Override
     public String toString() {
         return "SearchRequest{" +
@@ -112,6 +162,11 @@ public class SearchRequest {
                 ", level='" + level + '\'' +
                 ", type='" + type + '\'' +
                 ", searchMode='" + searchMode + '\'' +
+                ", paginationMode='" + paginationMode + '\'' +
+                ", backend='" + backend + '\'' +
+                ", cursor='" + cursor + '\'' +
+                ", facets=" + facets +
+                ", debug=" + debug +
                 '}';
     }
 }
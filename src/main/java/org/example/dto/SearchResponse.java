@@ -3,6 +3,7 @@ package org.example.dto;
 import com.github.pagehelper.PageInfo;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 搜索响应DTO，包含搜索结果和实际执行的搜索关键词
@@ -16,8 +17,10 @@ public class SearchResponse {
     private List<String> actualSearchTerms; // 实际执行搜索的关键词列表
     
     private List<String> words; // 实际搜索词（前端使用的字段名）
+
+    private List<String> prunedSearchTerms; // 因过于常见或超出数量上限而未参与搜索的分词结果
     
-    private String searchStrategy; // 搜索策略：complete/tokenized/chinese_tokenized
+    private String searchStrategy; // 搜索策略：实际执行搜索的后端（lucene_index/mysql_fulltext/term_fanout/ik_tokenized）
     
     private String searchMode; // 搜索模式：multi/name
     
@@ -25,6 +28,16 @@ public class SearchResponse {
     
     private String type; // 类型过滤
 
+    private String paginationMode; // 分页模式：exact/cached/none/cursor
+
+    private String nextCursor; // 游标分页时下一页的游标，没有下一页时为null
+
+    private SearchFacets facets; // 按类型和层级的匹配数量，仅在请求facets时返回
+
+    private Map<String, Double> termTimings; // 各搜索词的查询耗时（毫秒），仅 term_fanout 后端返回
+
+    private SearchDebugInfo debug; // 各阶段耗时，仅在请求debug时返回
+
     // 默认构造函数
     public SearchResponse() {}
 
@@ -77,6 +90,14 @@ public class SearchResponse {
         this.actualSearchTerms = words; // 同步更新actualSearchTerms字段
     }
 
+    public List<String> getPrunedSearchTerms() {
+        return prunedSearchTerms;
+    }
+
+    public void setPrunedSearchTerms(List<String> prunedSearchTerms) {
+        this.prunedSearchTerms = prunedSearchTerms;
+    }
+
     public String getSearchStrategy() {
         return searchStrategy;
     }
@@ -109,6 +130,46 @@ public class SearchResponse {
         this.type = type;
     }
 
+    public String getPaginationMode() {
+        return paginationMode;
+    }
+
+    public void setPaginationMode(String paginationMode) {
+        this.paginationMode = paginationMode;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public SearchFacets getFacets() {
+        return facets;
+    }
+
+    public void setFacets(SearchFacets facets) {
+        this.facets = facets;
+    }
+
+    public Map<String, Double> getTermTimings() {
+        return termTimings;
+    }
+
+    public void setTermTimings(Map<String, Double> termTimings) {
+        this.termTimings = termTimings;
+    }
+
+    public SearchDebugInfo getDebug() {
+        return debug;
+    }
+
+    public void setDebug(SearchDebugInfo debug) {
+        this.debug = debug;
+    }
+
     @Override
     public String toString() {
         return "SearchResponse{" +
@@ -116,10 +177,16 @@ public class SearchResponse {
                 ", originalSearchTerm='" + originalSearchTerm + '\'' +
                 ", actualSearchTerms=" + actualSearchTerms +
                 ", words=" + words +
+                ", prunedSearchTerms=" + prunedSearchTerms +
                 ", searchStrategy='" + searchStrategy + '\'' +
                 ", searchMode='" + searchMode + '\'' +
                 ", level=" + level +
                 ", type='" + type + '\'' +
+                ", paginationMode='" + paginationMode + '\'' +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", facets=" + facets +
+                ", termTimings=" + termTimings +
+                ", debug=" + debug +
                 '}';
     }
 }
@@ -0,0 +1,172 @@
+package org.example.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 慢搜索记录DTO：一次耗时超过阈值的搜索请求及其执行细节
+ */
+public class SlowSearchEntry {
+
+    private long timestamp; // 搜索完成时间（毫秒时间戳）
+
+    private SearchRequest request; // 原始搜索请求
+
+    private List<String> actualSearchTerms; // 实际执行搜索的关键词列表
+
+    private String backend; // 实际执行搜索的后端
+
+    private boolean cached; // 是否命中搜索结果缓存
+
+    private Map<String, Double> phases; // 各阶段耗时（毫秒）
+
+    private double totalMs; // 整次搜索耗时（毫秒）
+
+    private long total; // 匹配总数，未统计时为-1
+
+    private int rows; // 当前页返回的资源数量
+
+    private List<SqlStatement> sql; // 本次搜索在请求线程中执行的SQL（并行查询线程中执行的SQL不记录）
+
+    // 默认构造函数
+    public SlowSearchEntry() {}
+
+    // Getters and Setters
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public SearchRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(SearchRequest request) {
+        this.request = request;
+    }
+
+    public List<String> getActualSearchTerms() {
+        return actualSearchTerms;
+    }
+
+    public void setActualSearchTerms(List<String> actualSearchTerms) {
+        this.actualSearchTerms = actualSearchTerms;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    public Map<String, Double> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(Map<String, Double> phases) {
+        this.phases = phases;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(double totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public List<SqlStatement> getSql() {
+        return sql;
+    }
+
+    public void setSql(List<SqlStatement> sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * 一条执行的SQL语句
+     */
+    public static class SqlStatement {
+
+        private String sql; // 预编译SQL（连续空白已合并）
+
+        private List<String> parameters; // 按占位符顺序的参数值
+
+        private int rows; // 返回的行数，通过ResultHandler流式处理时为-1
+
+        private double elapsedMs; // 执行耗时（毫秒）
+
+        // 默认构造函数
+        public SqlStatement() {}
+
+        // 带参构造函数
+        public SqlStatement(String sql, List<String> parameters, int rows, double elapsedMs) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.rows = rows;
+            this.elapsedMs = elapsedMs;
+        }
+
+        // Getters and Setters
+        public String getSql() {
+            return sql;
+        }
+
+        public void setSql(String sql) {
+            this.sql = sql;
+        }
+
+        public List<String> getParameters() {
+            return parameters;
+        }
+
+        public void setParameters(List<String> parameters) {
+            this.parameters = parameters;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public void setRows(int rows) {
+            this.rows = rows;
+        }
+
+        public double getElapsedMs() {
+            return elapsedMs;
+        }
+
+        public void setElapsedMs(double elapsedMs) {
+            this.elapsedMs = elapsedMs;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * 搜索联想响应DTO
+ */
+public class SuggestResponse {
+
+    private String prefix; // 用户输入的前缀
+
+    private String type; // 类型过滤
+
+    private List<String> suggestions; // 联想的资源名称，按资源时间降序
+
+    // 默认构造函数
+    public SuggestResponse() {}
+
+    // 带参构造函数
+    public SuggestResponse(String prefix, String type, List<String> suggestions) {
+        this.prefix = prefix;
+        this.type = type;
+        this.suggestions = suggestions;
+    }
+
+    // Getters and Setters
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
+    @Override
+    public String toString() {
+        return "SuggestResponse{" +
+                "prefix='" + prefix + '\'' +
+                ", type='" + type + '\'' +
+                ", suggestions=" + suggestions +
+                '}';
+    }
+}
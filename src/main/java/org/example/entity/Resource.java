@@ -1,6 +1,9 @@
 package org.example.entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.example.util.SimHash;
+import org.example.util.StringCleanupUtil;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -35,6 +38,17 @@ public class Resource {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updateTime;
 
+    // 由名称、URL和内容派生的列，首次读取时计算一次，对应字段修改后重新计算
+    private transient String nameNorm;
+
+    private transient String canonicalUrl;
+
+    private transient String canonicalUrlHash;
+
+    private transient String nameHash;
+
+    private transient Long simhash;
+
     // 默认构造函数
     public Resource() {}
 
@@ -74,6 +88,9 @@ public class Resource {
 
     public void setName(String name) {
         this.name = name;
+        this.nameNorm = null;
+        this.nameHash = null;
+        this.simhash = null;
     }
 
     public String getContent() {
@@ -82,6 +99,7 @@ public class Resource {
 
     public void setContent(String content) {
         this.content = content;
+        this.simhash = null;
     }
 
     public String getUrl() {
@@ -90,6 +108,8 @@ public class Resource {
 
     public void setUrl(String url) {
         this.url = url;
+        this.canonicalUrl = null;
+        this.canonicalUrlHash = null;
     }
 
     public String getPig() {
@@ -132,6 +152,51 @@ public class Resource {
         this.resourceTime = resourceTime;
     }
 
+    // 规范化名称（写入 name_norm 列），由名称派生，写入资源时与名称保持同步
+    @JsonIgnore
+    public String getNameNorm() {
+        if (nameNorm == null) {
+            nameNorm = StringCleanupUtil.normalizeName(name);
+        }
+        return nameNorm;
+    }
+
+    // 规范化URL（写入 canonical_url 列），由URL派生
+    @JsonIgnore
+    public String getCanonicalUrl() {
+        if (canonicalUrl == null) {
+            canonicalUrl = StringCleanupUtil.canonicalizeUrl(url);
+        }
+        return canonicalUrl;
+    }
+
+    // 完整规范化URL的哈希（写入 canonical_url_hash 列，唯一索引），由URL派生
+    @JsonIgnore
+    public String getCanonicalUrlHash() {
+        if (canonicalUrlHash == null) {
+            canonicalUrlHash = StringCleanupUtil.canonicalUrlHash(url);
+        }
+        return canonicalUrlHash;
+    }
+
+    // 规范化名称的哈希（写入 name_hash 列，普通索引），由名称派生
+    @JsonIgnore
+    public String getNameHash() {
+        if (nameHash == null) {
+            nameHash = StringCleanupUtil.nameHash(name);
+        }
+        return nameHash;
+    }
+
+    // 名称和内容的 SimHash 指纹（写入 simhash 列），由名称和内容派生，用于入库时的近似重复检查
+    @JsonIgnore
+    public Long getSimhash() {
+        if (simhash == null) {
+            simhash = SimHash.fingerprint(name, content);
+        }
+        return simhash;
+    }
+
     public LocalDateTime getCreateTime() {
         return createTime;
     }
@@ -0,0 +1,73 @@
+package org.example.event;
+
+import org.example.entity.Resource;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 资源变更事件
+ * 所有写入resource表的路径在写入成功后发布该事件，
+ * 由搜索索引等组件监听并增量更新，无需重新扫描全表
+ */
+public class ResourceChangeEvent {
+
+    /**
+     * 变更类型
+     */
+    public enum Type {
+        UPSERTED,       // 新增或更新
+        DELETED,        // 按ID删除
+        SOURCE_DELETED  // 按数据来源删除
+    }
+
+    private final Type type;
+    private final List<Resource> resources;
+    private final List<Integer> ids;
+    private final Integer source;
+
+    private ResourceChangeEvent(Type type, List<Resource> resources, List<Integer> ids, Integer source) {
+        this.type = type;
+        this.resources = resources != null ? resources : Collections.<Resource>emptyList();
+        this.ids = ids != null ? ids : Collections.<Integer>emptyList();
+        this.source = source;
+    }
+
+    public static ResourceChangeEvent upserted(List<Resource> resources) {
+        return new ResourceChangeEvent(Type.UPSERTED, resources, null, null);
+    }
+
+    public static ResourceChangeEvent deleted(List<Integer> ids) {
+        return new ResourceChangeEvent(Type.DELETED, null, ids, null);
+    }
+
+    public static ResourceChangeEvent sourceDeleted(Integer source) {
+        return new ResourceChangeEvent(Type.SOURCE_DELETED, null, null, source);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public Integer getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceChangeEvent{" +
+                "type=" + type +
+                ", resources=" + resources.size() +
+                ", ids=" + ids +
+                ", source=" + source +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.event;
+
+import org.example.entity.Resource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 资源变更事件发布器
+ * 监听方使用 @TransactionalEventListener，在事务提交后才处理事件；无事务时立即处理
+ */
+@Component
+public class ResourceChangePublisher {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 发布资源新增/更新事件（资源需已包含ID）
+     */
+    public void publishUpserted(Resource resource) {
+        publishUpserted(Collections.singletonList(resource));
+    }
+
+    /**
+     * 批量发布资源新增/更新事件（资源需已包含ID）
+     */
+    public void publishUpserted(List<Resource> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(ResourceChangeEvent.upserted(new ArrayList<>(resources)));
+    }
+
+    /**
+     * 发布资源删除事件
+     */
+    public void publishDeleted(Integer id) {
+        publishDeleted(Collections.singletonList(id));
+    }
+
+    /**
+     * 批量发布资源删除事件
+     */
+    public void publishDeleted(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(ResourceChangeEvent.deleted(new ArrayList<>(ids)));
+    }
+
+    /**
+     * 发布按数据来源删除事件
+     */
+    public void publishSourceDeleted(Integer source) {
+        eventPublisher.publishEvent(ResourceChangeEvent.sourceDeleted(source));
+    }
+}
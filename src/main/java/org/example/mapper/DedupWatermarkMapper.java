@@ -0,0 +1,18 @@
+package org.example.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface DedupWatermarkMapper {
+
+    /**
+     * 查询任务已处理到的最大资源ID，尚未处理过时返回null
+     */
+    Integer selectLastId(@Param("name") String name);
+
+    /**
+     * 保存任务已处理到的最大资源ID
+     */
+    int upsertLastId(@Param("name") String name, @Param("lastId") int lastId);
+}
@@ -3,7 +3,13 @@ package org.example.mapper;
 import com.github.pagehelper.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.dto.ResourceFingerprint;
+import org.example.dto.SearchCursor;
 import org.example.entity.Resource;
+import org.example.search.MatchTerm;
+import org.example.search.ScoringCandidate;
 
 import java.util.List;
 
@@ -81,7 +87,8 @@ public interface ResourceMapper {
                                                 @Param("term3") String term3);
 
     /**
-     * 插入资源
+     * 插入资源：规范化URL与已有资源相同时，resource_time 不比已有资源旧则覆盖已有资源，否则保留已有资源
+     * 回填的ID为实际保存的资源ID（新资源或被合并的已有资源）
      */
     int insert(Resource resource);
 
@@ -141,7 +148,8 @@ public interface ResourceMapper {
     int deleteBySource(@Param("source") Integer source);
 
     /**
-     * 批量插入资源
+     * 批量插入资源（合并规则同 insert；有资源被合并时自增ID无法与资源一一对应，因此不回填ID，
+     * 实际保存的资源ID通过 selectIdsByCanonicalUrlHashes 取回）
      */
     int insertBatch(@Param("resources") List<Resource> resources);
 
@@ -151,13 +159,122 @@ public interface ResourceMapper {
     List<Resource> selectByIds(@Param("ids") List<Integer> ids);
 
     /**
-     * 组合搜索：使用多个搜索词进行查询（原词+分词结果）
-     * 支持层级和类型过滤，支持搜索模式选择
+     * 根据ID列表批量查询搜索结果投影（按ID列表顺序返回）
+     * 只读取搜索结果展示需要的列，内容只读取前 contentLength 个字符，不读取URL和完整内容
      */
-    List<Resource> selectByCombinedTermsSearch(@Param("searchTerms") List<String> searchTerms,
-                                              @Param("level") Integer level,
-                                              @Param("type") String type,
-                                              @Param("searchMode") String searchMode);
+    List<Resource> selectSearchProjectionByIds(@Param("ids") List<Integer> ids,
+                                               @Param("contentLength") int contentLength);
+
+    /**
+     * 按名称重新计算并批量更新规范化名称（name_norm 列）
+     */
+    int updateNameNormBatch(@Param("resources") List<Resource> resources);
+
+    /**
+     * 组合搜索：逐行返回匹配的评分候选行（id、名称、规范化名称、内容片段、资源时间），不排序
+     * 支持层级和类型过滤，支持搜索模式选择，相关性排序由调用方完成
+     * @param contentLength 读取的内容长度
+     */
+    void selectScoringCandidates(@Param("searchTerms") List<MatchTerm> searchTerms,
+                                 @Param("level") Integer level,
+                                 @Param("type") String type,
+                                 @Param("searchMode") String searchMode,
+                                 @Param("contentLength") int contentLength,
+                                 ResultHandler<ScoringCandidate> handler);
+
+    /**
+     * 名称前缀匹配：按 name_norm 索引范围扫描，逐行返回评分候选行，最多返回 limit 行
+     * @param prefix 规范化后的搜索词
+     */
+    void selectNamePrefixCandidates(@Param("prefix") String prefix,
+                                    @Param("level") Integer level,
+                                    @Param("type") String type,
+                                    @Param("searchMode") String searchMode,
+                                    @Param("contentLength") int contentLength,
+                                    @Param("limit") int limit,
+                                    ResultHandler<ScoringCandidate> handler);
+
+    /**
+     * 仅按层级/类型过滤，按资源时间降序返回资源ID
+     */
+    List<Integer> selectRankedIdsByFilter(@Param("level") Integer level,
+                                          @Param("type") String type,
+                                          @Param("offset") int offset,
+                                          @Param("limit") int limit);
+
+    /**
+     * 仅按层级/类型过滤（游标分页）：从游标位置开始返回下一页结果的排序键
+     * @param cursor 上一页最后一条结果的排序键，为null时从第一页开始
+     */
+    List<SearchCursor> selectCursorPageByFilter(@Param("level") Integer level,
+                                                @Param("type") String type,
+                                                @Param("cursor") SearchCursor cursor,
+                                                @Param("limit") int limit);
+
+    /**
+     * 组合搜索：流式读取全部匹配的资源（按ID降序），用于导出
+     * 调用方需在事务内遍历游标，遍历结束前数据库连接不会释放
+     */
+    Cursor<Resource> selectCursorByCombinedTermsSearch(@Param("searchTerms") List<MatchTerm> searchTerms,
+                                                       @Param("level") Integer level,
+                                                       @Param("type") String type,
+                                                       @Param("searchMode") String searchMode);
+
+    /**
+     * 组合搜索：统计匹配的资源数量
+     */
+    Long countByCombinedTermsSearch(@Param("searchTerms") List<MatchTerm> searchTerms,
+                                    @Param("level") Integer level,
+                                    @Param("type") String type,
+                                    @Param("searchMode") String searchMode);
+
+    /**
+     * 全文检索：使用ngram全文索引匹配，按相关性、资源时间降序返回资源ID
+     * @param against BOOLEAN MODE 检索表达式，为空时仅按层级/类型过滤
+     */
+    List<Integer> selectRankedIdsByFulltextSearch(@Param("against") String against,
+                                                  @Param("level") Integer level,
+                                                  @Param("type") String type,
+                                                  @Param("searchMode") String searchMode,
+                                                  @Param("offset") int offset,
+                                                  @Param("limit") int limit);
+
+    /**
+     * 单个搜索词的全文检索（term_fanout 后端）：按ngram全文索引逐行返回匹配的评分候选行，不读取内容，不排序
+     * @param against 单个搜索词的 BOOLEAN MODE 短语表达式
+     */
+    void selectTermCandidatesByFulltext(@Param("against") String against,
+                                        @Param("level") Integer level,
+                                        @Param("type") String type,
+                                        @Param("searchMode") String searchMode,
+                                        ResultHandler<ScoringCandidate> handler);
+
+    /**
+     * 单个搜索词的规范化名称全文检索（term_fanout 后端）：按 name_norm 上的ngram全文索引逐行返回匹配的评分候选行
+     * @param against 规范化搜索词的 BOOLEAN MODE 表达式
+     */
+    void selectTermCandidatesByNameNorm(@Param("against") String against,
+                                        @Param("level") Integer level,
+                                        @Param("type") String type,
+                                        ResultHandler<ScoringCandidate> handler);
+
+    /**
+     * 全文检索：统计匹配的资源数量
+     */
+    Long countByFulltextSearch(@Param("against") String against,
+                               @Param("level") Integer level,
+                               @Param("type") String type,
+                               @Param("searchMode") String searchMode);
+
+    /**
+     * 全文检索（游标分页）：从游标位置开始返回下一页结果的排序键
+     */
+    List<SearchCursor> selectCursorPageByFulltextSearch(@Param("against") String against,
+                                                        @Param("level") Integer level,
+                                                        @Param("type") String type,
+                                                        @Param("searchMode") String searchMode,
+                                                        @Param("cursor") SearchCursor cursor,
+                                                        @Param("limit") int limit);
 
     /**
      * 查找URL重复的资源ID（保留resourceTime最新的）
@@ -175,10 +292,26 @@ public interface ResourceMapper {
     int deleteByIds(@Param("ids") List<Integer> ids);
 
     /**
-     * 获取所有资源用于相似度检测
-     * 按resource_time降序排列
+     * 查找给定URL中重复的资源ID（保留resourceTime最新的），用于增量去重
+     */
+    List<Integer> findDuplicateIdsByUrls(@Param("urls") List<String> urls);
+
+    /**
+     * 查找给定名称中重复的资源ID（保留resourceTime最新的），用于增量去重
      */
-    List<Resource> selectAllForSimilarityCheck();
+    List<Integer> findDuplicateIdsByNames(@Param("names") List<String> names);
+
+    /**
+     * 按ID顺序分批查询相似度检测所需的列：id、name、resource_time 和内容的前 contentLength 个字符
+     */
+    List<Resource> selectSimilarityCandidatesAfterId(@Param("afterId") Integer afterId, @Param("limit") int limit,
+                                                     @Param("contentLength") int contentLength);
+
+    /**
+     * 按resource_time降序查询最近的资源用于估算相似度重复数量，只包含相似度检测所需的列
+     */
+    List<Resource> selectRecentForSimilarityCheck(@Param("limit") int limit,
+                                                  @Param("contentLength") int contentLength);
 
     /**
      * 根据资源时间范围查询资源（用于分批处理相似度检测）
@@ -195,4 +328,49 @@ public interface ResourceMapper {
      * 更新单个资源的name、content、url字段
      */
     int updateResourceFields(Resource resource);
+
+    /**
+     * 按ID顺序分批查询资源（用于重建搜索索引）
+     */
+    List<Resource> selectBatchAfterId(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    /**
+     * 按名称和内容重新计算并批量更新 SimHash 指纹（simhash 列）
+     */
+    int updateSimhashBatch(@Param("resources") List<Resource> resources);
+
+    /**
+     * 按URL和名称重新计算并批量更新规范化URL及其哈希、名称哈希（canonical_url、canonical_url_hash、name_hash 列）
+     */
+    int updateDedupKeysBatch(@Param("resources") List<Resource> resources);
+
+    /**
+     * 查找规范化URL哈希重复的资源ID（每组保留resourceTime最新的）
+     */
+    List<Integer> findDuplicateIdsByCanonicalUrlHash();
+
+    /**
+     * 根据规范化URL哈希查询资源
+     */
+    Resource selectByCanonicalUrlHash(@Param("canonicalUrlHash") String canonicalUrlHash);
+
+    /**
+     * 根据规范化URL哈希批量查询资源ID
+     */
+    List<Integer> selectIdsByCanonicalUrlHashes(@Param("canonicalUrlHashes") List<String> canonicalUrlHashes);
+
+    /**
+     * 根据名称哈希批量查询资源（规范化后同名的去重候选）
+     */
+    List<Resource> selectByNameHashes(@Param("nameHashes") List<String> nameHashes);
+
+    /**
+     * 按ID顺序分批查询资源的ID、类型、层级和数据来源（用于构建分面统计），其余字段为null
+     */
+    List<Resource> selectFacetKeysAfterId(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    /**
+     * 按ID顺序分批查询资源的 SimHash 指纹（用于构建近似重复索引）
+     */
+    List<ResourceFingerprint> selectFingerprintsAfterId(@Param("afterId") Integer afterId, @Param("limit") int limit);
 }
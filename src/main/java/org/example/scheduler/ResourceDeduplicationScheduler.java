@@ -1,5 +1,6 @@
 package org.example.scheduler;
 
+import org.example.service.IncrementalDeduplicationService;
 import org.example.service.ResourceDeduplicationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,33 +18,23 @@ public class ResourceDeduplicationScheduler {
     private static final Logger logger = LoggerFactory.getLogger(ResourceDeduplicationScheduler.class);
 
     @Autowired
-    private ResourceDeduplicationService deduplicationService;
+    private IncrementalDeduplicationService incrementalDeduplicationService;
 
     /**
      * 定时执行资源去重
-     * 每60分钟执行一次
+     * 每60分钟执行一次，只检查上次运行之后新增的资源（全表去重通过 POST /api/resources/deduplicate 手动触发）
      */
     @Scheduled(fixedRate = 3600000) // 5分钟 = 300000毫秒
     public void scheduledDeduplication() {
         logger.info("定时任务开始执行资源去重...");
 
         try {
-            // 先获取统计信息
-            ResourceDeduplicationService.DeduplicationStats stats = 
-                deduplicationService.getDeduplicationStats();
+            ResourceDeduplicationService.DeduplicationStats removed =
+                incrementalDeduplicationService.deduplicateNewResources();
 
-            if (stats.getTotalDuplicateCount() == 0) {
-                logger.info("未发现重复资源，跳过去重操作");
-                return;
-            }
-
-            logger.info("发现重复资源 - URL重复: {} 条, 名称重复: {} 条", 
-                       stats.getUrlDuplicateCount(), stats.getNameDuplicateCount());
-
-            // 执行去重操作
-            deduplicationService.deduplicateResources();
-
-            logger.info("定时去重任务执行完成");
+            logger.info("定时去重任务执行完成 - 删除URL重复: {} 条, 名称重复: {} 条, 相似度重复: {} 条",
+                       removed.getUrlDuplicateCount(), removed.getNameDuplicateCount(),
+                       removed.getSimilarityDuplicateCount());
 
         } catch (Exception e) {
             logger.error("定时去重任务执行过程中发生错误: ", e);
@@ -0,0 +1,143 @@
+package org.example.search;
+
+import org.example.config.SearchScoringConfig;
+import org.example.dto.SearchCursor;
+import org.example.mapper.ResourceMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 数据库搜索后端：多个搜索词以 LIKE '%term%' 组合筛选候选行，由 RelevanceScorer 在Java中评分排序
+ * 名称以原始搜索词开头的结果一定排在最前时，优先通过 name_norm 索引范围扫描取前几页
+ * 不依赖任何额外索引，始终可用，作为其他后端不可用时的兜底
+ */
+@Component
+public class DatabaseSearchBackend implements SearchBackend {
+
+    public static final String NAME = "ik_tokenized";
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    @Autowired
+    private RelevanceScorer relevanceScorer;
+
+    @Autowired
+    private SearchScoringConfig searchScoringConfig;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public SearchHits search(SearchQuery query, int offset, int limit) {
+        if (!hasTerms(query)) {
+            List<Integer> ids = resourceMapper.selectRankedIdsByFilter(query.getLevel(), query.getType(), offset, limit);
+            // 从第一条开始且未取满时即为全部结果，否则总数需另行统计
+            long total = offset == 0 && ids.size() < limit ? ids.size() : -1;
+            return new SearchHits(ids, total);
+        }
+
+        List<MatchTerm> terms = MatchTerm.of(query.getSearchTerms());
+        int k = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+
+        // 前缀快速路径：前缀匹配的资源足够填满请求范围时，不再扫描全表（需要收集全部匹配ID时不适用）
+        if (!query.isCollectMatchedIds()) {
+            RelevanceScorer.TopK prefixTopK = scorePrefix(query, terms, k, null);
+            if (prefixTopK != null && prefixTopK.getMatched() >= k) {
+                return new SearchHits(slice(prefixTopK.getResults(), offset), -1);
+            }
+        }
+
+        BitSet matchedIds = query.isCollectMatchedIds() ? new BitSet() : null;
+        RelevanceScorer.TopK topK = score(query, terms, k, null, matchedIds);
+        // 评分需要读取全部候选行，匹配总数随之确定
+        return new SearchHits(slice(topK.getResults(), offset), topK.getMatched(), null, matchedIds);
+    }
+
+    @Override
+    public long count(SearchQuery query) {
+        Long count = resourceMapper.countByCombinedTermsSearch(MatchTerm.of(query.getSearchTerms()),
+                query.getLevel(), query.getType(), query.getSearchMode());
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public SearchHits searchAfter(SearchQuery query, SearchCursor after, int limit) {
+        List<Integer> ids = new ArrayList<>(limit);
+        SearchCursor nextCursor = null;
+
+        // 多取一条判断是否存在下一页
+        if (!hasTerms(query)) {
+            List<SearchCursor> keys = resourceMapper.selectCursorPageByFilter(query.getLevel(), query.getType(),
+                                                                               after, limit + 1);
+            for (int i = 0; i < keys.size() && i < limit; i++) {
+                ids.add(keys.get(i).getId());
+            }
+            if (keys.size() > limit) {
+                nextCursor = keys.get(limit - 1).withSource(NAME);
+            }
+        } else {
+            List<MatchTerm> terms = MatchTerm.of(query.getSearchTerms());
+            // 游标之后的前缀匹配结果足够填满一页时，整页都来自前缀范围
+            RelevanceScorer.TopK prefixTopK = scorePrefix(query, terms, limit + 1, after);
+            List<RelevanceScorer.ScoredId> results = prefixTopK != null ? prefixTopK.getResults() : null;
+            if (results == null || results.size() <= limit) {
+                results = score(query, terms, limit + 1, after, null).getResults();
+            }
+            for (int i = 0; i < results.size() && i < limit; i++) {
+                ids.add(results.get(i).getId());
+            }
+            if (results.size() > limit) {
+                nextCursor = results.get(limit - 1).toCursor(NAME);
+            }
+        }
+        return new SearchHits(ids, -1, nextCursor);
+    }
+
+    private RelevanceScorer.TopK score(SearchQuery query, List<MatchTerm> terms, int k, SearchCursor after,
+                                       BitSet matchedIds) {
+        RelevanceScorer.TopK topK = relevanceScorer.newTopK(terms, query.getSearchMode(), k, after)
+                .collectMatchedIds(matchedIds);
+        resourceMapper.selectScoringCandidates(terms, query.getLevel(), query.getType(), query.getSearchMode(),
+                searchScoringConfig.getCandidateContentLength(), topK);
+        return topK;
+    }
+
+    /**
+     * 只对名称以原始搜索词开头的资源评分（name_norm 索引范围扫描）
+     * 前缀匹配结果不一定排在最前，或前缀匹配的资源超过读取上限时返回null
+     */
+    private RelevanceScorer.TopK scorePrefix(SearchQuery query, List<MatchTerm> terms, int k, SearchCursor after) {
+        int candidateLimit = searchScoringConfig.getPrefixCandidateLimit();
+        if (k >= candidateLimit || !relevanceScorer.prefixDominates(terms, query.getSearchMode())) {
+            return null;
+        }
+        RelevanceScorer.TopK topK = relevanceScorer.newTopK(terms, query.getSearchMode(), k, after);
+        resourceMapper.selectNamePrefixCandidates(terms.get(0).getNorm(), query.getLevel(), query.getType(),
+                query.getSearchMode(), searchScoringConfig.getCandidateContentLength(), candidateLimit, topK);
+        return topK.getMatched() < candidateLimit ? topK : null;
+    }
+
+    private List<Integer> slice(List<RelevanceScorer.ScoredId> results, int offset) {
+        List<Integer> ids = new ArrayList<>(Math.max(results.size() - offset, 0));
+        for (int i = offset; i < results.size(); i++) {
+            ids.add(results.get(i).getId());
+        }
+        return ids;
+    }
+
+    private boolean hasTerms(SearchQuery query) {
+        return query.getSearchTerms() != null && !query.getSearchTerms().isEmpty();
+    }
+}
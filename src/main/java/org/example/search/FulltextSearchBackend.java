@@ -0,0 +1,109 @@
+package org.example.search;
+
+import org.example.config.SearchBackendConfig;
+import org.example.dto.SearchCursor;
+import org.example.mapper.ResourceMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MySQL全文检索搜索后端：使用 ngram 全文索引（MATCH ... AGAINST BOOLEAN MODE）代替全表 LIKE 扫描
+ * 适用于无法保留本地索引目录的部署，需要先执行 sql/add_resource_fulltext_index.sql 并开启配置
+ */
+@Component
+public class FulltextSearchBackend implements SearchBackend {
+
+    public static final String NAME = "mysql_fulltext";
+
+    // BOOLEAN MODE 短语内只有双引号需要处理
+    private static final String PHRASE_QUOTE = "\"";
+
+    // 与 sql/add_resource_fulltext_index.sql 一致使用 MySQL 默认的 ngram_token_size
+    static final int NGRAM_TOKEN_SIZE = 2;
+
+    @Autowired
+    private SearchBackendConfig searchBackendConfig;
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return searchBackendConfig.isFulltextEnabled();
+    }
+
+    @Override
+    public SearchHits search(SearchQuery query, int offset, int limit) {
+        List<Integer> ids = resourceMapper.selectRankedIdsByFulltextSearch(toBooleanExpression(query.getSearchTerms()),
+                query.getLevel(), query.getType(), query.getSearchMode(), offset, limit);
+        // 从第一条开始且未取满时即为全部结果，否则总数需另行统计
+        long total = offset == 0 && ids.size() < limit ? ids.size() : -1;
+        return new SearchHits(ids, total);
+    }
+
+    @Override
+    public long count(SearchQuery query) {
+        Long count = resourceMapper.countByFulltextSearch(toBooleanExpression(query.getSearchTerms()),
+                query.getLevel(), query.getType(), query.getSearchMode());
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public SearchHits searchAfter(SearchQuery query, SearchCursor after, int limit) {
+        // 多取一条判断是否存在下一页
+        List<SearchCursor> keys = resourceMapper.selectCursorPageByFulltextSearch(
+                toBooleanExpression(query.getSearchTerms()), query.getLevel(), query.getType(),
+                query.getSearchMode(), after, limit + 1);
+
+        List<Integer> ids = new ArrayList<>(Math.min(keys.size(), limit));
+        for (int i = 0; i < keys.size() && i < limit; i++) {
+            ids.add(keys.get(i).getId());
+        }
+        SearchCursor nextCursor = keys.size() > limit ? keys.get(limit - 1).withSource(NAME) : null;
+        return new SearchHits(ids, -1, nextCursor);
+    }
+
+    /**
+     * 将搜索词转换为 BOOLEAN MODE 检索表达式
+     * 每个搜索词作为短语（ngram 解析器会将短语切分为相邻的二元组，等价于子串匹配），搜索词之间为OR关系；
+     * 短于 ngram_token_size 的搜索词（如单个汉字）作为短语不会匹配任何行，改用前缀通配（斗*）匹配以该字符开头的二元组；
+     * 原始搜索词（第一个）使用 > 提高相关性权重
+     * @return 检索表达式，没有有效搜索词时返回null
+     */
+    static String toBooleanExpression(List<String> searchTerms) {
+        StringBuilder expression = new StringBuilder();
+        for (int i = 0; i < searchTerms.size(); i++) {
+            String term = searchTerms.get(i) == null ? "" : searchTerms.get(i).replace(PHRASE_QUOTE, " ").trim();
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (expression.length() > 0) {
+                expression.append(' ');
+            }
+            if (i == 0 && searchTerms.size() > 1) {
+                expression.append('>');
+            }
+            if (term.codePointCount(0, term.length()) < NGRAM_TOKEN_SIZE && isWordTerm(term)) {
+                expression.append(term).append('*');
+            } else {
+                expression.append(PHRASE_QUOTE).append(term).append(PHRASE_QUOTE);
+            }
+        }
+        return expression.length() > 0 ? expression.toString() : null;
+    }
+
+    /**
+     * 只由字母和数字组成的搜索词可以不加引号使用通配符，其余字符可能是 BOOLEAN MODE 的操作符
+     */
+    private static boolean isWordTerm(String term) {
+        return term.codePoints().allMatch(Character::isLetterOrDigit);
+    }
+}
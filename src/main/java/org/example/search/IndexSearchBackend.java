@@ -0,0 +1,66 @@
+package org.example.search;
+
+import org.example.dto.SearchCursor;
+import org.example.service.LuceneSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
+
+/**
+ * 本地索引搜索后端：在进程内的Lucene索引中搜索，索引构建完成后可用
+ */
+@Component
+public class IndexSearchBackend implements SearchBackend {
+
+    public static final String NAME = "lucene_index";
+
+    @Autowired
+    private LuceneSearchService luceneSearchService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return luceneSearchService.isIndexReady();
+    }
+
+    @Override
+    public SearchHits search(SearchQuery query, int offset, int limit) {
+        try {
+            BitSet matchedIds = query.isCollectMatchedIds() ? new BitSet() : null;
+            LuceneSearchService.IndexSearchResult result = luceneSearchService.search(query.getSearchTerms(),
+                    query.getLevel(), query.getType(), query.getSearchMode(), offset, limit, matchedIds);
+            return new SearchHits(result.getIds(), result.getTotalHits(), null, matchedIds);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene索引搜索失败", e);
+        }
+    }
+
+    @Override
+    public long count(SearchQuery query) {
+        try {
+            return luceneSearchService.count(query.getSearchTerms(), query.getLevel(), query.getType(),
+                                             query.getSearchMode());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene索引统计失败", e);
+        }
+    }
+
+    @Override
+    public SearchHits searchAfter(SearchQuery query, SearchCursor after, int limit) {
+        try {
+            LuceneSearchService.IndexSearchResult result = luceneSearchService.searchAfter(query.getSearchTerms(),
+                    query.getLevel(), query.getType(), query.getSearchMode(), after, limit);
+            SearchCursor nextCursor = result.getNextCursor() != null ? result.getNextCursor().withSource(NAME) : null;
+            return new SearchHits(result.getIds(), result.getTotalHits(), nextCursor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene索引搜索失败", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.search;
+
+import org.example.util.StringCleanupUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 数据库搜索使用的搜索词：名称按规范化形式（与 name_norm 列一致）匹配，内容按小写原词匹配
+ */
+public final class MatchTerm {
+
+    private final String text; // 小写原词，用于内容匹配
+
+    private final String norm; // 规范化后的搜索词，用于名称匹配，去除标点后可能为空
+
+    public MatchTerm(String term) {
+        String trimmed = term == null ? "" : term.trim();
+        this.text = trimmed.toLowerCase(Locale.ROOT);
+        this.norm = StringCleanupUtil.normalizeName(trimmed);
+    }
+
+    /**
+     * 转换搜索词列表，保持顺序（第一个为原始搜索词）
+     */
+    public static List<MatchTerm> of(List<String> searchTerms) {
+        List<MatchTerm> terms = new ArrayList<>();
+        if (searchTerms != null) {
+            for (String term : searchTerms) {
+                terms.add(new MatchTerm(term));
+            }
+        }
+        return terms;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getNorm() {
+        return norm;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.search;
+
+import org.example.dto.SearchFacets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一次搜索的完整排序结果：排序后的资源ID（最多缓存上限条）、匹配总数、实际搜索词（及被裁剪的搜索词）、搜索策略，
+ * 以及请求时计算的分面统计和按搜索词并行查询时各搜索词的耗时
+ * 翻页时直接按偏移量截取ID，只回表加载当前页
+ * 结果被截断且搜索后端无法顺带给出总数时，匹配总数为-1（未知），由分页模式决定是否另行统计
+ */
+public class RankedIds {
+
+    private final int[] ids;
+    private final long total;
+    private final List<String> searchTerms;
+    private final List<String> prunedTerms;
+    private final String searchStrategy;
+    private final SearchFacets facets;
+    private final Map<String, Double> termTimings;
+
+    public RankedIds(List<Integer> ids, long total, List<String> searchTerms, String searchStrategy) {
+        this(ids, total, searchTerms, null, searchStrategy, null);
+    }
+
+    public RankedIds(List<Integer> ids, long total, List<String> searchTerms, List<String> prunedTerms,
+                     String searchStrategy, SearchFacets facets) {
+        this(ids, total, searchTerms, prunedTerms, searchStrategy, facets, null);
+    }
+
+    public RankedIds(List<Integer> ids, long total, List<String> searchTerms, List<String> prunedTerms,
+                     String searchStrategy, SearchFacets facets, Map<String, Double> termTimings) {
+        this.ids = new int[ids.size()];
+        for (int i = 0; i < this.ids.length; i++) {
+            this.ids[i] = ids.get(i);
+        }
+        this.total = total;
+        this.searchTerms = searchTerms != null
+                ? Collections.unmodifiableList(new ArrayList<>(searchTerms))
+                : Collections.<String>emptyList();
+        this.prunedTerms = prunedTerms != null
+                ? Collections.unmodifiableList(new ArrayList<>(prunedTerms))
+                : Collections.<String>emptyList();
+        this.searchStrategy = searchStrategy;
+        this.facets = facets;
+        this.termTimings = termTimings != null ? Collections.unmodifiableMap(termTimings) : null;
+    }
+
+    /**
+     * 已缓存的ID数量
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * 是否已知匹配总数
+     */
+    public boolean hasTotal() {
+        return total >= 0;
+    }
+
+    /**
+     * 是否已缓存全部匹配结果
+     */
+    public boolean isComplete() {
+        return hasTotal() && ids.length >= total;
+    }
+
+    /**
+     * 判断指定范围是否在已缓存的ID内（或已超出全部结果）
+     */
+    public boolean covers(int offset, int limit) {
+        return isComplete() || offset + limit <= ids.length;
+    }
+
+    /**
+     * 截取指定范围的ID
+     */
+    public List<Integer> slice(int offset, int limit) {
+        int from = Math.min(Math.max(offset, 0), ids.length);
+        int to = Math.min(from + limit, ids.length);
+        List<Integer> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(ids[i]);
+        }
+        return page;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<String> getSearchTerms() {
+        return searchTerms;
+    }
+
+    public List<String> getPrunedTerms() {
+        return prunedTerms;
+    }
+
+    public String getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    /**
+     * 分面统计，未请求或无法统计时为null
+     */
+    public SearchFacets getFacets() {
+        return facets;
+    }
+
+    /**
+     * 各搜索词的查询耗时（毫秒），仅按搜索词并行查询的后端返回，其他后端为null
+     */
+    public Map<String, Double> getTermTimings() {
+        return termTimings;
+    }
+}
@@ -0,0 +1,278 @@
+package org.example.search;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.config.SearchScoringConfig;
+import org.example.dto.SearchCursor;
+import org.example.util.StringCleanupUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * 数据库搜索的相关性评分
+ * 数据库只按条件筛选候选行（不排序），每行在Java中计算一次得分：
+ * 每个搜索词取最高的匹配层级（完全匹配 > 前缀匹配 > 名称包含 > 内容包含），多个搜索词之间累加，
+ * 与本地索引的评分规则一致；候选行由数据库流式返回、逐行评分，只保留前K条结果，内存占用与候选行数无关
+ */
+@Component
+public class RelevanceScorer {
+
+    // 排序：得分降序 > resource_time 降序（NULL排在最后） > id 降序
+    static final Comparator<ScoredId> RESULT_ORDER = (a, b) -> {
+        int result = Float.compare(b.score, a.score);
+        if (result != 0) {
+            return result;
+        }
+        if (a.resourceTime == null || b.resourceTime == null) {
+            result = a.resourceTime == null ? (b.resourceTime == null ? 0 : 1) : -1;
+        } else {
+            result = Long.compare(b.resourceTime, a.resourceTime);
+        }
+        return result != 0 ? result : Integer.compare(b.id, a.id);
+    };
+
+    @Autowired
+    private SearchScoringConfig searchScoringConfig;
+
+    /**
+     * 创建前K条结果的收集器
+     * @param after 游标分页时上一页最后一条结果，只收集排在其后的结果；为null时从第一条开始
+     */
+    public TopK newTopK(List<MatchTerm> searchTerms, String searchMode, int k, SearchCursor after) {
+        return new TopK(searchTerms.toArray(new MatchTerm[0]), !"name".equals(searchMode), k, afterKey(after));
+    }
+
+    /**
+     * 游标对应的排序键，为null时返回null
+     */
+    static ScoredId afterKey(SearchCursor after) {
+        if (after == null) {
+            return null;
+        }
+        // 游标格式错误时抛出 NumberFormatException（IllegalArgumentException）
+        return new ScoredId(after.getId(), Float.parseFloat(after.getBucket()), after.getResourceTime());
+    }
+
+    /**
+     * 判断名称以原始搜索词开头的结果是否一定排在其他所有结果之前
+     * 比较前缀匹配结果的最低得分与其他结果的最高得分，成立时前几页可以只从 name_norm 前缀范围内取结果
+     */
+    public boolean prefixDominates(List<MatchTerm> searchTerms, String searchMode) {
+        if (searchTerms.isEmpty() || searchTerms.get(0).getNorm().isEmpty()) {
+            return false;
+        }
+
+        float exact = searchScoringConfig.getExactWeight();
+        float prefix = searchScoringConfig.getPrefixWeight();
+        float nameContains = searchScoringConfig.getNameContainsWeight();
+        float content = "name".equals(searchMode) ? 0f : searchScoringConfig.getContentContainsWeight();
+        float boost = searchScoringConfig.getOriginalTermBoost();
+        float anyTier = Math.max(Math.max(exact, prefix), Math.max(nameContains, content));
+
+        String original = searchTerms.get(0).getNorm();
+        // 名称以原始搜索词开头的结果的最低得分
+        float minPrefixRow = Math.min(exact, prefix) * boost;
+        // 名称包含但不以原始搜索词开头的结果的最高得分：包含在原始搜索词中的分词结果不可能完全匹配
+        float maxContainsRow = nameContains * boost;
+        // 名称不包含原始搜索词的结果的最高得分
+        float maxOtherRow = content * boost;
+
+        for (int i = 1; i < searchTerms.size(); i++) {
+            String norm = searchTerms.get(i).getNorm();
+            if (norm.isEmpty()) {
+                maxContainsRow += content;
+                maxOtherRow += content;
+                continue;
+            }
+            if (original.startsWith(norm)) {
+                minPrefixRow += Math.min(exact, prefix);
+            } else if (original.contains(norm)) {
+                minPrefixRow += Math.min(Math.min(exact, prefix), nameContains);
+            }
+            maxContainsRow += original.contains(norm) ? Math.max(prefix, nameContains) : anyTier;
+            maxOtherRow += anyTier;
+        }
+        return minPrefixRow > Math.max(maxContainsRow, maxOtherRow);
+    }
+
+    /**
+     * 计算单行的相关性得分：名称按规范化形式比较，内容按小写原词比较
+     */
+    float score(MatchTerm[] terms, boolean includeContent, ScoringCandidate candidate) {
+        String name = candidate.getNameNorm() != null
+                ? candidate.getNameNorm() : StringCleanupUtil.normalizeName(candidate.getName());
+        if (name == null) {
+            name = "";
+        }
+        String content = includeContent && candidate.getContent() != null
+                ? candidate.getContent().toLowerCase(Locale.ROOT) : "";
+
+        float score = 0f;
+        for (int i = 0; i < terms.length; i++) {
+            String text = terms[i].getText();
+            float weight = nameWeight(terms[i].getNorm(), name);
+            if (weight == 0f) {
+                if (includeContent && !text.isEmpty() && content.contains(text)) {
+                    weight = searchScoringConfig.getContentContainsWeight();
+                } else {
+                    continue;
+                }
+            }
+            score += i == 0 ? weight * searchScoringConfig.getOriginalTermBoost() : weight;
+        }
+
+        // 数据库已确认至少一个搜索词匹配，未在名称和内容片段中找到时说明匹配位于片段之后，按内容包含计分
+        if (score == 0f && terms.length > 0) {
+            score = searchScoringConfig.getContentContainsWeight();
+        }
+        return score;
+    }
+
+    /**
+     * 数据库已确认匹配该搜索词的行中，该搜索词的得分（按搜索词分别查询后在Java中累加，累加结果与 score 一致）
+     * 名称不包含该搜索词时，匹配位于内容中（仅名称模式下按名称包含计分）
+     * @param original 是否为原始搜索词
+     */
+    float scoreMatchedTerm(MatchTerm term, boolean original, String searchMode, ScoringCandidate candidate) {
+        String name = candidate.getNameNorm() != null
+                ? candidate.getNameNorm() : StringCleanupUtil.normalizeName(candidate.getName());
+        float weight = nameWeight(term.getNorm(), name != null ? name : "");
+        if (weight == 0f) {
+            weight = "name".equals(searchMode)
+                    ? searchScoringConfig.getNameContainsWeight() : searchScoringConfig.getContentContainsWeight();
+        }
+        return original ? weight * searchScoringConfig.getOriginalTermBoost() : weight;
+    }
+
+    /**
+     * 名称的匹配层级得分：完全匹配 > 前缀匹配 > 名称包含，不匹配时为0
+     */
+    private float nameWeight(String norm, String name) {
+        if (norm.isEmpty()) {
+            return 0f;
+        }
+        if (name.equals(norm)) {
+            return searchScoringConfig.getExactWeight();
+        }
+        if (name.startsWith(norm)) {
+            return searchScoringConfig.getPrefixWeight();
+        }
+        return name.contains(norm) ? searchScoringConfig.getNameContainsWeight() : 0f;
+    }
+
+    /**
+     * 前K条结果收集器：以最小堆保留得分最高的K条结果，可直接作为MyBatis的流式结果处理器
+     */
+    public final class TopK implements ResultHandler<ScoringCandidate> {
+
+        private final MatchTerm[] terms;
+        private final boolean includeContent;
+        private final int k;
+        private final ScoredId after;
+        // 堆顶为当前K条中排序最靠后的结果
+        private final PriorityQueue<ScoredId> heap;
+        private long matched;
+        private BitSet matchedIds;
+
+        private TopK(MatchTerm[] terms, boolean includeContent, int k, ScoredId after) {
+            this.terms = terms;
+            this.includeContent = includeContent;
+            this.k = Math.max(k, 0);
+            this.after = after;
+            this.heap = new PriorityQueue<>(Math.min(this.k, 1024) + 1, RESULT_ORDER.reversed());
+        }
+
+        @Override
+        public void handleResult(ResultContext<? extends ScoringCandidate> context) {
+            offer(context.getResultObject());
+        }
+
+        /**
+         * 评分的同时把每个候选行的ID记录到位图中（用于分面统计）
+         */
+        public TopK collectMatchedIds(BitSet matchedIds) {
+            this.matchedIds = matchedIds;
+            return this;
+        }
+
+        public void offer(ScoringCandidate candidate) {
+            matched++;
+            if (matchedIds != null) {
+                matchedIds.set(candidate.getId());
+            }
+            if (k == 0) {
+                return;
+            }
+            ScoredId scored = new ScoredId(candidate.getId(),
+                    score(terms, includeContent, candidate),
+                    candidate.getResourceTime());
+            if (after != null && RESULT_ORDER.compare(scored, after) <= 0) {
+                return;
+            }
+            if (heap.size() < k) {
+                heap.add(scored);
+            } else if (RESULT_ORDER.compare(scored, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+
+        /**
+         * 处理过的候选行总数（即匹配总数，不受游标和K的限制）
+         */
+        public long getMatched() {
+            return matched;
+        }
+
+        /**
+         * 按排序规则返回收集到的结果
+         */
+        public List<ScoredId> getResults() {
+            List<ScoredId> results = new ArrayList<>(heap);
+            Collections.sort(results, RESULT_ORDER);
+            return results;
+        }
+    }
+
+    /**
+     * 带得分的资源ID
+     */
+    public static final class ScoredId {
+        private final int id;
+        private final float score;
+        private final Long resourceTime;
+
+        ScoredId(int id, float score, Long resourceTime) {
+            this.id = id;
+            this.score = score;
+            this.resourceTime = resourceTime;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        public Long getResourceTime() {
+            return resourceTime;
+        }
+
+        /**
+         * 以该结果为起点的游标
+         */
+        public SearchCursor toCursor(String source) {
+            return new SearchCursor(source, Float.toString(score), resourceTime, id);
+        }
+    }
+}
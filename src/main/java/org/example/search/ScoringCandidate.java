@@ -0,0 +1,68 @@
+package org.example.search;
+
+/**
+ * 数据库搜索的评分候选行：只包含评分和排序需要的列，内容只读取前一段
+ */
+public class ScoringCandidate {
+
+    private Integer id;
+
+    private String name;
+
+    private String nameNorm; // 规范化名称，尚未回填的旧数据为null
+
+    private String content; // 内容片段（前 candidate-content-length 个字符）
+
+    private Long resourceTime;
+
+    public ScoringCandidate() {
+    }
+
+    public ScoringCandidate(Integer id, String name, String content, Long resourceTime) {
+        this.id = id;
+        this.name = name;
+        this.content = content;
+        this.resourceTime = resourceTime;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNameNorm() {
+        return nameNorm;
+    }
+
+    public void setNameNorm(String nameNorm) {
+        this.nameNorm = nameNorm;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Long getResourceTime() {
+        return resourceTime;
+    }
+
+    public void setResourceTime(Long resourceTime) {
+        this.resourceTime = resourceTime;
+    }
+}
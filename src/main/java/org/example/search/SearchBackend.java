@@ -0,0 +1,37 @@
+package org.example.search;
+
+import org.example.dto.SearchCursor;
+
+/**
+ * 搜索后端：按相关性 > resource_time 降序 > id 降序返回匹配的资源ID
+ * 只负责确定结果及其顺序，资源详情统一由调用方按ID回表加载
+ */
+public interface SearchBackend {
+
+    /**
+     * 后端名称，用于配置/请求选择后端，同时作为SearchResponse中的searchStrategy
+     */
+    String getName();
+
+    /**
+     * 后端当前是否可用（如索引是否已构建完成）
+     */
+    boolean isAvailable();
+
+    /**
+     * 按偏移量返回排序后的资源ID
+     * 后端能顺带给出匹配总数时填入total，否则为-1
+     */
+    SearchHits search(SearchQuery query, int offset, int limit);
+
+    /**
+     * 统计匹配总数
+     */
+    long count(SearchQuery query);
+
+    /**
+     * 游标分页：从游标位置之后返回下一页资源ID及下一页游标
+     * @param after 上一页最后一条结果的游标（由本后端产生），为null时从第一页开始
+     */
+    SearchHits searchAfter(SearchQuery query, SearchCursor after, int limit);
+}
@@ -0,0 +1,86 @@
+package org.example.search;
+
+import org.example.config.SearchBackendConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索后端选择：按请求指定或配置的默认后端选择，后端不可用时回退到数据库搜索
+ */
+@Component
+public class SearchBackendRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchBackendRouter.class);
+
+    @Autowired
+    private SearchBackendConfig searchBackendConfig;
+
+    @Autowired
+    private List<SearchBackend> searchBackends;
+
+    @Autowired
+    private DatabaseSearchBackend databaseSearchBackend;
+
+    private final Map<String, SearchBackend> backendsByName = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (SearchBackend backend : searchBackends) {
+            backendsByName.put(backend.getName(), backend);
+        }
+        if (!backendsByName.containsKey(searchBackendConfig.getPrimary())) {
+            logger.warn("配置的默认搜索后端不存在: {}，使用 {}", searchBackendConfig.getPrimary(), DatabaseSearchBackend.NAME);
+        }
+        logger.info("已注册搜索后端: {}，默认: {}", backendsByName.keySet(), resolveName(null));
+    }
+
+    /**
+     * 解析请求使用的后端名称：请求指定的已知后端，否则为配置的默认后端
+     */
+    public String resolveName(String requested) {
+        if (requested != null && !requested.trim().isEmpty()) {
+            String name = requested.trim().toLowerCase();
+            if (backendsByName.containsKey(name)) {
+                return name;
+            }
+            logger.warn("无效的搜索后端: {}，使用默认后端", requested);
+        }
+        String primary = searchBackendConfig.getPrimary();
+        return backendsByName.containsKey(primary) ? primary : DatabaseSearchBackend.NAME;
+    }
+
+    /**
+     * 选择实际执行搜索的后端：指定后端不可用时回退到数据库搜索
+     */
+    public SearchBackend select(String name) {
+        SearchBackend backend = backendsByName.get(name);
+        return backend != null && backend.isAvailable() ? backend : databaseSearchBackend;
+    }
+
+    /**
+     * 按名称获取后端，不存在时返回null
+     */
+    public SearchBackend get(String name) {
+        return backendsByName.get(name);
+    }
+
+    /**
+     * 兜底的数据库搜索后端
+     */
+    public SearchBackend getFallback() {
+        return databaseSearchBackend;
+    }
+
+    public Collection<SearchBackend> getBackends() {
+        return Collections.unmodifiableCollection(backendsByName.values());
+    }
+}
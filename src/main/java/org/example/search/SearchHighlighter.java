@@ -0,0 +1,133 @@
+package org.example.search;
+
+import org.example.config.SearchHighlightConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 搜索结果高亮：从内容中截取第一个命中词附近的摘要，并标记名称和摘要中的命中词
+ * 与搜索的子串匹配语义一致（不区分大小写）；标记之外的文本做HTML转义，前端可以直接渲染
+ */
+@Component
+public class SearchHighlighter {
+
+    private static final String ELLIPSIS = "…";
+
+    @Autowired
+    private SearchHighlightConfig searchHighlightConfig;
+
+    /**
+     * 截取摘要（纯文本）：连续空白合并为一个空格，从第一个命中词之前保留少量上下文开始截取；
+     * 没有命中词时从开头截取
+     */
+    public String snippet(String content, List<String> searchTerms) {
+        if (content == null) {
+            return null;
+        }
+        String text = content.trim().replaceAll("\\s+", " ");
+        int snippetLength = searchHighlightConfig.getSnippetLength();
+        if (text.length() <= snippetLength) {
+            return text;
+        }
+
+        int first = firstMatch(matchMask(text, searchTerms));
+        int start = first > 0 ? Math.max(0, first - searchHighlightConfig.getSnippetLeadLength()) : 0;
+        int end = Math.min(text.length(), start + snippetLength);
+        start = Math.max(0, end - snippetLength);
+
+        // 不拆分代理对
+        if (start > 0 && Character.isLowSurrogate(text.charAt(start))) {
+            start--;
+        }
+        if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) {
+            end++;
+        }
+
+        return (start > 0 ? ELLIPSIS : "") + text.substring(start, end) + (end < text.length() ? ELLIPSIS : "");
+    }
+
+    /**
+     * 标记文本中的命中词，相邻或重叠的命中合并为一个标记
+     */
+    public String highlight(String text, List<String> searchTerms) {
+        if (text == null) {
+            return null;
+        }
+        boolean[] mask = matchMask(text, searchTerms);
+
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        boolean inMatch = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (mask[i] != inMatch) {
+                result.append(mask[i] ? searchHighlightConfig.getPreTag() : searchHighlightConfig.getPostTag());
+                inMatch = mask[i];
+            }
+            appendEscaped(result, text.charAt(i));
+        }
+        if (inMatch) {
+            result.append(searchHighlightConfig.getPostTag());
+        }
+        return result.toString();
+    }
+
+    /**
+     * 计算每个字符是否属于某个搜索词的命中（不区分大小写）
+     */
+    private boolean[] matchMask(String text, List<String> searchTerms) {
+        boolean[] mask = new boolean[text.length()];
+        if (searchTerms == null) {
+            return mask;
+        }
+        for (String searchTerm : searchTerms) {
+            String term = searchTerm == null ? "" : searchTerm.trim();
+            if (term.isEmpty()) {
+                continue;
+            }
+            int length = term.length();
+            for (int i = 0; i + length <= text.length(); ) {
+                if (text.regionMatches(true, i, term, 0, length)) {
+                    for (int j = i; j < i + length; j++) {
+                        mask[j] = true;
+                    }
+                    i += length;
+                } else {
+                    i++;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private int firstMatch(boolean[] mask) {
+        for (int i = 0; i < mask.length; i++) {
+            if (mask[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void appendEscaped(StringBuilder builder, char c) {
+        switch (c) {
+            case '<':
+                builder.append("&lt;");
+                break;
+            case '>':
+                builder.append("&gt;");
+                break;
+            case '&':
+                builder.append("&amp;");
+                break;
+            case '"':
+                builder.append("&quot;");
+                break;
+            case '\'':
+                builder.append("&#39;");
+                break;
+            default:
+                builder.append(c);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.search;
+
+import org.example.dto.SearchCursor;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索后端返回的一页结果：按相关性排序的资源ID、匹配总数（未知时为-1）和下一页游标，
+ * 查询要求时附带全部匹配的资源ID位图，按搜索词并行查询时附带每个搜索词的耗时
+ */
+public class SearchHits {
+
+    private final List<Integer> ids;
+    private final long total;
+    private final SearchCursor nextCursor;
+    private final BitSet matchedIds;
+    private final Map<String, Double> termTimings;
+
+    public SearchHits(List<Integer> ids, long total) {
+        this(ids, total, null);
+    }
+
+    public SearchHits(List<Integer> ids, long total, SearchCursor nextCursor) {
+        this(ids, total, nextCursor, null);
+    }
+
+    public SearchHits(List<Integer> ids, long total, SearchCursor nextCursor, BitSet matchedIds) {
+        this(ids, total, nextCursor, matchedIds, null);
+    }
+
+    public SearchHits(List<Integer> ids, long total, SearchCursor nextCursor, BitSet matchedIds,
+                      Map<String, Double> termTimings) {
+        this.ids = ids != null ? ids : Collections.<Integer>emptyList();
+        this.total = total;
+        this.nextCursor = nextCursor;
+        this.matchedIds = matchedIds;
+        this.termTimings = termTimings;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * 下一页的游标，没有下一页时为null（仅游标分页返回）
+     */
+    public SearchCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * 全部匹配的资源ID（仅在查询要求收集且后端支持时返回，否则为null）
+     */
+    public BitSet getMatchedIds() {
+        return matchedIds;
+    }
+
+    /**
+     * 每个搜索词的查询耗时（毫秒，按搜索词顺序），仅按搜索词并行查询的后端返回，否则为null
+     */
+    public Map<String, Double> getTermTimings() {
+        return termTimings;
+    }
+}
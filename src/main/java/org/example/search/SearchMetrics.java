@@ -0,0 +1,62 @@
+package org.example.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.example.config.SearchMetricsConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索耗时指标：search.phase（按阶段）和 search.request（整次搜索，含缓存命中）两个 Micrometer 计时器，
+ * 标签为搜索模式、搜索词数量（超过4个的合并为“4+”，避免标签组合过多）和实际执行搜索的后端
+ * 通过 Actuator 以 Prometheus 格式暴露
+ */
+@Component
+public class SearchMetrics {
+
+    public static final String PHASE_TIMER = "search.phase";
+    public static final String REQUEST_TIMER = "search.request";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SearchMetricsConfig searchMetricsConfig;
+
+    /**
+     * 记录一次搜索请求的各阶段耗时和总耗时
+     * @param cached 是否命中搜索结果缓存
+     */
+    public void record(SearchPhaseTimings timings, String searchMode, int termCount, String backend,
+                       boolean cached, long totalNanos) {
+        if (!searchMetricsConfig.isEnabled()) {
+            return;
+        }
+        Tags tags = Tags.of("searchMode", searchMode != null ? searchMode : "unknown",
+                            "terms", termCountTag(termCount),
+                            "backend", backend != null ? backend : "unknown");
+
+        for (Map.Entry<String, Long> entry : timings.getNanos().entrySet()) {
+            timer(PHASE_TIMER, "搜索各阶段耗时", tags.and("phase", entry.getKey()))
+                    .record(entry.getValue(), TimeUnit.NANOSECONDS);
+        }
+        timer(REQUEST_TIMER, "整次搜索耗时", tags.and("cached", String.valueOf(cached)))
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram(searchMetricsConfig.isPercentileHistogram())
+                .register(meterRegistry);
+    }
+
+    static String termCountTag(int termCount) {
+        return termCount >= 4 ? "4+" : String.valueOf(Math.max(termCount, 0));
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.search;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 一次搜索请求中各阶段的耗时，按首次出现的顺序记录，同一阶段多次执行时累加
+ * 阶段：analyze（IK分词与搜索词裁剪）、query（搜索后端查询，含回退）、facets（分面统计）、
+ * count（匹配总数统计）、hydrate（回表加载当前页）、convert（转换为响应DTO，含摘要与高亮）
+ * 命中缓存时对应阶段不会执行，也不会出现在记录中；仅在请求线程中使用，不是线程安全的
+ */
+public class SearchPhaseTimings {
+
+    public static final String ANALYZE = "analyze";
+    public static final String QUERY = "query";
+    public static final String FACETS = "facets";
+    public static final String COUNT = "count";
+    public static final String HYDRATE = "hydrate";
+    public static final String CONVERT = "convert";
+
+    private final Map<String, Long> nanos = new LinkedHashMap<>();
+
+    /**
+     * 执行并记录一个阶段的耗时（执行失败时同样记录）
+     */
+    public <T> T time(String phase, Supplier<T> action) {
+        long startTime = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, System.nanoTime() - startTime);
+        }
+    }
+
+    public void record(String phase, long elapsedNanos) {
+        nanos.merge(phase, elapsedNanos, Long::sum);
+    }
+
+    /**
+     * 各阶段耗时（纳秒）
+     */
+    public Map<String, Long> getNanos() {
+        return Collections.unmodifiableMap(nanos);
+    }
+
+    /**
+     * 各阶段耗时（毫秒，保留三位小数）
+     */
+    public Map<String, Double> toMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : nanos.entrySet()) {
+            millis.put(entry.getKey(), Math.round(entry.getValue() / 1000.0) / 1000.0);
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 交给搜索后端执行的查询：实际搜索词（原始搜索词 + IK分词结果）及层级、类型、搜索模式过滤
+ * 需要分面统计时要求后端在同一次遍历中收集全部匹配的资源ID
+ */
+public class SearchQuery {
+
+    private final List<String> searchTerms;
+    private final Integer level;
+    private final String type;
+    private final String searchMode;
+    private final boolean collectMatchedIds;
+
+    public SearchQuery(List<String> searchTerms, Integer level, String type, String searchMode) {
+        this(searchTerms, level, type, searchMode, false);
+    }
+
+    public SearchQuery(List<String> searchTerms, Integer level, String type, String searchMode,
+                       boolean collectMatchedIds) {
+        this.searchTerms = searchTerms != null
+                ? Collections.unmodifiableList(new ArrayList<>(searchTerms))
+                : Collections.<String>emptyList();
+        this.level = level;
+        this.type = type;
+        this.searchMode = searchMode != null ? searchMode : "multi";
+        this.collectMatchedIds = collectMatchedIds;
+    }
+
+    public List<String> getSearchTerms() {
+        return searchTerms;
+    }
+
+    public Integer getLevel() {
+        return level;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSearchMode() {
+        return searchMode;
+    }
+
+    /**
+     * 是否需要收集全部匹配的资源ID（用于分面统计）
+     */
+    public boolean isCollectMatchedIds() {
+        return collectMatchedIds;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchQuery{" +
+                "searchTerms=" + searchTerms +
+                ", level=" + level +
+                ", type='" + type + '\'' +
+                ", searchMode='" + searchMode + '\'' +
+                ", collectMatchedIds=" + collectMatchedIds +
+                '}';
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.search;
+
+import org.example.config.SearchBackendConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 搜索后端影子对比
+ * 按采样率在后台线程中用候选后端重新执行主搜索的查询，
+ * 记录两者的耗时以及前K条结果的重合度，用于在真实流量下评估新的搜索后端
+ * 候选后端的执行和失败都不影响主搜索的结果和耗时
+ */
+@Component
+public class SearchShadowRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchShadowRunner.class);
+
+    @Autowired
+    private SearchBackendConfig searchBackendConfig;
+
+    @Autowired
+    private SearchBackendRouter searchBackendRouter;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final DoubleAdder overlapSum = new DoubleAdder();
+    private final LongAdder primaryNanos = new LongAdder();
+    private final LongAdder candidateNanos = new LongAdder();
+    private final AtomicLong maxCandidateNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, searchBackendConfig.getShadowThreads());
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, searchBackendConfig.getShadowQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-shadow-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 主搜索完成后调用：命中采样时异步执行候选后端并与主搜索结果比较
+     * @param primary 实际执行主搜索的后端
+     * @param primaryIds 主搜索返回的排序ID
+     * @param primaryElapsedNanos 主搜索耗时
+     */
+    public void maybeCompare(SearchQuery query, SearchBackend primary, List<Integer> primaryIds,
+                             long primaryElapsedNanos) {
+        if (!searchBackendConfig.isShadowEnabled()) {
+            return;
+        }
+        SearchBackend candidate = searchBackendRouter.get(searchBackendConfig.getShadowCandidate());
+        if (candidate == null || candidate == primary || !candidate.isAvailable()) {
+            return;
+        }
+        if (ThreadLocalRandom.current().nextDouble() >= searchBackendConfig.getShadowSampleRate()) {
+            return;
+        }
+
+        int topK = Math.max(1, searchBackendConfig.getShadowTopK());
+        List<Integer> primaryTopK = new ArrayList<>(primaryIds.subList(0, Math.min(topK, primaryIds.size())));
+        try {
+            executor.execute(() -> compare(query, primary, candidate, primaryTopK, primaryElapsedNanos, topK));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void compare(SearchQuery query, SearchBackend primary, SearchBackend candidate,
+                         List<Integer> primaryTopK, long primaryElapsedNanos, int topK) {
+        long startTime = System.nanoTime();
+        try {
+            List<Integer> candidateTopK = candidate.search(query, 0, topK).getIds();
+            long elapsed = System.nanoTime() - startTime;
+            double overlap = overlap(primaryTopK, candidateTopK);
+
+            comparisons.increment();
+            overlapSum.add(overlap);
+            primaryNanos.add(primaryElapsedNanos);
+            candidateNanos.add(elapsed);
+            maxCandidateNanos.accumulateAndGet(elapsed, Math::max);
+
+            logger.debug("影子对比完成，主后端: {} ({} ms)，候选后端: {} ({} ms)，前{}条重合度: {}，查询: {}",
+                        primary.getName(), primaryElapsedNanos / 1000000.0, candidate.getName(),
+                        elapsed / 1000000.0, topK, overlap, query);
+        } catch (Exception e) {
+            errors.increment();
+            logger.warn("影子对比失败，候选后端: {}，错误: {}", candidate.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 前K条结果的重合度：两者前K条中的共同结果数 / 较长一方的结果数，两者都为空时为1
+     */
+    static double overlap(List<Integer> primaryTopK, List<Integer> candidateTopK) {
+        int expected = Math.max(primaryTopK.size(), candidateTopK.size());
+        if (expected == 0) {
+            return 1.0;
+        }
+        Set<Integer> primarySet = new HashSet<>(primaryTopK);
+        int matched = 0;
+        for (Integer id : candidateTopK) {
+            if (primarySet.contains(id)) {
+                matched++;
+            }
+        }
+        return (double) matched / expected;
+    }
+
+    /**
+     * 获取影子对比统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        long count = comparisons.sum();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", searchBackendConfig.isShadowEnabled());
+        statistics.put("candidate", searchBackendConfig.getShadowCandidate());
+        statistics.put("sampleRate", searchBackendConfig.getShadowSampleRate());
+        statistics.put("topK", searchBackendConfig.getShadowTopK());
+        statistics.put("comparisons", count);
+        statistics.put("errors", errors.sum());
+        statistics.put("dropped", dropped.sum());
+        statistics.put("averageOverlap", count > 0 ? overlapSum.sum() / count : null);
+        statistics.put("averagePrimaryMs", count > 0 ? primaryNanos.sum() / 1000000.0 / count : null);
+        statistics.put("averageCandidateMs", count > 0 ? candidateNanos.sum() / 1000000.0 / count : null);
+        statistics.put("maxCandidateMs", maxCandidateNanos.get() / 1000000.0);
+        return statistics;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.search;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.config.SearchSlowLogConfig;
+import org.example.dto.SlowSearchEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 记录搜索请求执行的SQL（MyBatis插件）
+ * 只在请求线程调用 begin() 与 end() 之间记录，其他查询直接放行；
+ * 记录预编译SQL、参数值、返回行数和执行耗时，供慢搜索记录使用
+ */
+@Component
+@Intercepts({@Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class})})
+public class SearchSqlRecorder implements Interceptor {
+
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    @Autowired
+    private SearchSlowLogConfig searchSlowLogConfig;
+
+    private final ThreadLocal<List<SlowSearchEntry.SqlStatement>> recording = new ThreadLocal<>();
+
+    /**
+     * 开始记录当前线程执行的SQL
+     */
+    public void begin() {
+        if (searchSlowLogConfig.isEnabled()) {
+            recording.set(new ArrayList<>());
+        }
+    }
+
+    /**
+     * 结束记录，返回期间执行的SQL
+     */
+    public List<SlowSearchEntry.SqlStatement> end() {
+        List<SlowSearchEntry.SqlStatement> statements = recording.get();
+        recording.remove();
+        return statements != null ? statements : Collections.<SlowSearchEntry.SqlStatement>emptyList();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        List<SlowSearchEntry.SqlStatement> statements = recording.get();
+        if (statements == null) {
+            return invocation.proceed();
+        }
+
+        long startTime = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            if (statements.size() < searchSlowLogConfig.getMaxSqlStatements()) {
+                BoundSql boundSql = ((StatementHandler) invocation.getTarget()).getBoundSql();
+                // 通过ResultHandler流式处理的语句返回空列表，行数未知
+                int rows = result instanceof List && invocation.getArgs()[1] == null ? ((List<?>) result).size() : -1;
+                statements.add(new SlowSearchEntry.SqlStatement(boundSql.getSql().trim().replaceAll("\\s+", " "),
+                        parameters(boundSql), rows,
+                        Math.round((System.nanoTime() - startTime) / 1000.0) / 1000.0));
+            }
+        }
+    }
+
+    /**
+     * 按占位符顺序读取参数值（与 DefaultParameterHandler 的取值方式一致），过长的值截断
+     */
+    private List<String> parameters(BoundSql boundSql) {
+        Object parameterObject = boundSql.getParameterObject();
+        List<String> values = new ArrayList<>(boundSql.getParameterMappings().size());
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String property = mapping.getProperty();
+            Object value;
+            try {
+                if (boundSql.hasAdditionalParameter(property)) {
+                    value = boundSql.getAdditionalParameter(property);
+                } else if (parameterObject == null || parameterObject instanceof Number
+                        || parameterObject instanceof CharSequence || parameterObject instanceof Boolean) {
+                    value = parameterObject;
+                } else {
+                    value = SystemMetaObject.forObject(parameterObject).getValue(property);
+                }
+            } catch (RuntimeException e) {
+                value = "?";
+            }
+            String text = String.valueOf(value);
+            values.add(text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "…" : text);
+        }
+        return values;
+    }
+}
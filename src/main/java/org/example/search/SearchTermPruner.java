@@ -0,0 +1,138 @@
+package org.example.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.config.SearchPruningConfig;
+import org.example.service.LuceneSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索词裁剪：IK分词结果中的常见词（如“第”“季”）几乎匹配全部资源，
+ * 与原始搜索词OR之后会把选择性很高的查询变成近似全表匹配
+ * 按本地索引统计的文档频率丢弃占比过高的分词结果，并限制搜索词总数（保留文档频率最低的分词结果）；
+ * 原始搜索词始终保留。本地索引不可用时没有文档频率统计，只按数量上限裁剪（优先保留较长的分词结果）
+ */
+@Component
+public class SearchTermPruner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchTermPruner.class);
+
+    @Autowired
+    private SearchPruningConfig searchPruningConfig;
+
+    @Autowired
+    private LuceneSearchService luceneSearchService;
+
+    // 搜索词文档频率缓存，键为 搜索模式|搜索词
+    private Cache<String, Integer> documentFrequencyCache;
+
+    @PostConstruct
+    public void init() {
+        documentFrequencyCache = Caffeine.newBuilder()
+                .maximumSize(searchPruningConfig.getStatsMaximumSize())
+                .expireAfterWrite(searchPruningConfig.getStatsExpireSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 裁剪搜索词
+     * @param searchTerms 搜索词列表，第一个为原始搜索词，其余为分词结果
+     */
+    public PrunedTerms prune(List<String> searchTerms, String searchMode) {
+        if (!searchPruningConfig.isEnabled() || searchTerms.size() <= 1) {
+            return new PrunedTerms(searchTerms, Collections.<String>emptyList());
+        }
+
+        int numDocs = luceneSearchService.isIndexReady() ? luceneSearchService.getIndexedDocCount() : 0;
+        boolean useDocumentFrequency = numDocs > 0 && numDocs >= searchPruningConfig.getMinDocs();
+        double maxDocs = searchPruningConfig.getMaxDfRatio() * numDocs;
+
+        // 分词结果从下标1开始，-1表示没有文档频率统计
+        int[] documentFrequencies = new int[searchTerms.size()];
+        boolean[] pruned = new boolean[searchTerms.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 1; i < searchTerms.size(); i++) {
+            documentFrequencies[i] = useDocumentFrequency ? documentFrequency(searchTerms.get(i), searchMode) : -1;
+            if (documentFrequencies[i] > maxDocs) {
+                pruned[i] = true;
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // 超出数量上限时保留文档频率最低（选择性最高）的分词结果，其次是较长的分词结果
+        int maxTokens = Math.max(searchPruningConfig.getMaxTerms() - 1, 0);
+        if (candidates.size() > maxTokens) {
+            candidates.sort(Comparator
+                    .comparingLong((Integer i) -> documentFrequencies[i] >= 0 ? documentFrequencies[i] : Long.MAX_VALUE)
+                    .thenComparing(i -> -searchTerms.get(i).codePointCount(0, searchTerms.get(i).length()))
+                    .thenComparing(i -> i));
+            for (int i : candidates.subList(maxTokens, candidates.size())) {
+                pruned[i] = true;
+            }
+        }
+
+        List<String> kept = new ArrayList<>();
+        List<String> prunedTerms = new ArrayList<>();
+        kept.add(searchTerms.get(0));
+        for (int i = 1; i < searchTerms.size(); i++) {
+            (pruned[i] ? prunedTerms : kept).add(searchTerms.get(i));
+        }
+
+        if (!prunedTerms.isEmpty()) {
+            logger.debug("裁剪搜索词: {}，保留: {}，资源总数: {}", prunedTerms, kept, numDocs);
+        }
+        return new PrunedTerms(kept, prunedTerms);
+    }
+
+    /**
+     * 获取搜索词的文档频率（缓存），统计失败时返回-1
+     */
+    private int documentFrequency(String term, String searchMode) {
+        try {
+            return documentFrequencyCache.get(searchMode + "|" + term, k -> {
+                try {
+                    return luceneSearchService.documentFrequency(term, searchMode);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            logger.warn("统计搜索词文档频率失败: {}, {}", term, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 裁剪结果：保留的搜索词（原始搜索词在前）和被裁剪的分词结果
+     */
+    public static class PrunedTerms {
+        private final List<String> searchTerms;
+        private final List<String> prunedTerms;
+
+        public PrunedTerms(List<String> searchTerms, List<String> prunedTerms) {
+            this.searchTerms = searchTerms;
+            this.prunedTerms = prunedTerms;
+        }
+
+        public List<String> getSearchTerms() {
+            return searchTerms;
+        }
+
+        public List<String> getPrunedTerms() {
+            return prunedTerms;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.example.search;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.example.config.SearchBackendConfig;
+import org.example.dto.SearchCursor;
+import org.example.mapper.ResourceMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按搜索词并行查询的数据库搜索后端
+ * 不再把全部搜索词拼成一个 LIKE '%term%' 的OR条件（全表扫描），而是每个搜索词单独用ngram全文索引
+ * （MATCH ... AGAINST，需要先执行 sql/add_resource_fulltext_index.sql）查出匹配行的ID、名称和资源时间，不读取内容：
+ * 名称和内容按原词匹配，名称另按规范化搜索词匹配 name_norm，与 ik_tokenized 的名称匹配方式一致；
+ * 每个搜索词按匹配层级计分，在Java中按ID累加各搜索词的得分（覆盖的搜索词越多得分越高）并去重排序，
+ * 只返回当前页的ID，由调用方回表加载。各搜索词匹配ID的并集即为匹配总数。线程池有界，队列已满时由请求线程直接执行
+ * 与 ik_tokenized 的差异：ngram短语与 LIKE 子串匹配在停用词、空白处不完全相同，单字搜索词按前缀通配匹配；
+ * 内容匹配位于评分用内容片段之后时，ik_tokenized 不为该搜索词计分，这里按内容包含计分
+ */
+@Component
+public class TermFanoutSearchBackend implements SearchBackend {
+
+    public static final String NAME = "term_fanout";
+
+    private static final Logger logger = LoggerFactory.getLogger(TermFanoutSearchBackend.class);
+
+    @Autowired
+    private SearchBackendConfig searchBackendConfig;
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    @Autowired
+    private RelevanceScorer relevanceScorer;
+
+    @Autowired
+    private DatabaseSearchBackend databaseSearchBackend;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, searchBackendConfig.getFanoutThreads());
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, searchBackendConfig.getFanoutQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-fanout-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * 依赖ngram全文索引，需同时开启 fanout-enabled 和 fulltext-enabled
+     */
+    @Override
+    public boolean isAvailable() {
+        return searchBackendConfig.isFanoutEnabled() && searchBackendConfig.isFulltextEnabled();
+    }
+
+    @Override
+    public SearchHits search(SearchQuery query, int offset, int limit) {
+        if (query.getSearchTerms() == null || query.getSearchTerms().isEmpty()) {
+            // 没有搜索词时仅按层级/类型过滤，与数据库搜索相同
+            return databaseSearchBackend.search(query, offset, limit);
+        }
+
+        int k = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        FanoutResult result = fanOut(query);
+        List<RelevanceScorer.ScoredId> ranked = result.top(k, null);
+
+        List<Integer> ids = new ArrayList<>(Math.max(ranked.size() - offset, 0));
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getId());
+        }
+        return new SearchHits(ids, result.matchedIds.cardinality(), null,
+                              query.isCollectMatchedIds() ? result.matchedIds : null, result.termTimings);
+    }
+
+    @Override
+    public long count(SearchQuery query) {
+        if (query.getSearchTerms() == null || query.getSearchTerms().isEmpty()) {
+            return databaseSearchBackend.count(query);
+        }
+        return fanOut(query).matchedIds.cardinality();
+    }
+
+    @Override
+    public SearchHits searchAfter(SearchQuery query, SearchCursor after, int limit) {
+        if (query.getSearchTerms() == null || query.getSearchTerms().isEmpty()) {
+            SearchHits hits = databaseSearchBackend.searchAfter(query, after, limit);
+            SearchCursor nextCursor = hits.getNextCursor() != null ? hits.getNextCursor().withSource(NAME) : null;
+            return new SearchHits(hits.getIds(), hits.getTotal(), nextCursor);
+        }
+
+        // 多取一条判断是否存在下一页
+        FanoutResult result = fanOut(query);
+        List<RelevanceScorer.ScoredId> ranked = result.top(limit + 1, RelevanceScorer.afterKey(after));
+
+        List<Integer> ids = new ArrayList<>(limit);
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getId());
+        }
+        SearchCursor nextCursor = ranked.size() > limit ? ranked.get(limit - 1).toCursor(NAME) : null;
+        return new SearchHits(ids, -1, nextCursor, null, result.termTimings);
+    }
+
+    /**
+     * 每个搜索词提交一个查询任务，等待全部完成后按搜索词顺序合并；任一任务失败或超时时取消其余任务并抛出异常
+     */
+    private FanoutResult fanOut(SearchQuery query) {
+        List<MatchTerm> terms = MatchTerm.of(query.getSearchTerms());
+        List<Future<TermResult>> futures = new ArrayList<>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            MatchTerm term = terms.get(i);
+            boolean original = i == 0;
+            futures.add(executor.submit(() -> queryTerm(query, term, original)));
+        }
+
+        FanoutResult result = new FanoutResult();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchBackendConfig.getFanoutTimeoutMs());
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                TermResult termResult = futures.get(i).get(Math.max(0, deadline - System.nanoTime()),
+                                                          TimeUnit.NANOSECONDS);
+                result.merge(terms.get(i).getText(), termResult);
+            }
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("按搜索词并行查询超时: " + terms, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("按搜索词并行查询被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new IllegalStateException("按搜索词并行查询失败", cause);
+        } finally {
+            for (Future<TermResult> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        logger.debug("按搜索词并行查询完成，搜索词耗时(ms): {}，匹配 {} 条", result.termTimings,
+                     result.matchedIds.cardinality());
+        return result;
+    }
+
+    /**
+     * 单个搜索词的查询：全文索引按原词和规范化搜索词分别定位匹配行，同一行只计一次，按该搜索词的匹配层级计分
+     */
+    private TermResult queryTerm(SearchQuery query, MatchTerm term, boolean original) {
+        long startTime = System.nanoTime();
+        Map<Integer, RelevanceScorer.ScoredId> matches = new LinkedHashMap<>();
+        ResultHandler<ScoringCandidate> handler = context -> {
+            ScoringCandidate candidate = context.getResultObject();
+            if (!matches.containsKey(candidate.getId())) {
+                matches.put(candidate.getId(), new RelevanceScorer.ScoredId(candidate.getId(),
+                        relevanceScorer.scoreMatchedTerm(term, original, query.getSearchMode(), candidate),
+                        candidate.getResourceTime()));
+            }
+        };
+
+        String against = FulltextSearchBackend.toBooleanExpression(Collections.singletonList(term.getText()));
+        if (against != null) {
+            resourceMapper.selectTermCandidatesByFulltext(against, query.getLevel(), query.getType(),
+                    query.getSearchMode(), handler);
+        }
+        String normAgainst = FulltextSearchBackend.toBooleanExpression(Collections.singletonList(term.getNorm()));
+        if (normAgainst != null) {
+            resourceMapper.selectTermCandidatesByNameNorm(normAgainst, query.getLevel(), query.getType(), handler);
+        }
+        return new TermResult(new ArrayList<>(matches.values()), System.nanoTime() - startTime);
+    }
+
+    private static final class TermResult {
+        private final List<RelevanceScorer.ScoredId> matches;
+        private final long elapsedNanos;
+
+        private TermResult(List<RelevanceScorer.ScoredId> matches, long elapsedNanos) {
+            this.matches = matches;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    /**
+     * 合并结果：按ID累加各搜索词的得分，匹配ID取并集，记录每个搜索词的耗时
+     * 按搜索词顺序累加，浮点结果与数据库搜索逐行评分时相同
+     */
+    private static final class FanoutResult {
+        private final Map<Integer, RelevanceScorer.ScoredId> byId = new HashMap<>();
+        private final BitSet matchedIds = new BitSet();
+        private final Map<String, Double> termTimings = new LinkedHashMap<>();
+
+        private void merge(String term, TermResult termResult) {
+            for (RelevanceScorer.ScoredId match : termResult.matches) {
+                byId.merge(match.getId(), match, (a, b) ->
+                        new RelevanceScorer.ScoredId(a.getId(), a.getScore() + b.getScore(), a.getResourceTime()));
+                matchedIds.set(match.getId());
+            }
+            termTimings.put(term, Math.round(termResult.elapsedNanos / 1000.0) / 1000.0);
+        }
+
+        /**
+         * 排在游标之后的前K条结果
+         */
+        private List<RelevanceScorer.ScoredId> top(int k, RelevanceScorer.ScoredId after) {
+            List<RelevanceScorer.ScoredId> results = new ArrayList<>(byId.size());
+            for (RelevanceScorer.ScoredId scored : byId.values()) {
+                if (after == null || RelevanceScorer.RESULT_ORDER.compare(scored, after) > 0) {
+                    results.add(scored);
+                }
+            }
+            results.sort(RelevanceScorer.RESULT_ORDER);
+            return results.size() > k ? results.subList(0, k) : results;
+        }
+    }
+}
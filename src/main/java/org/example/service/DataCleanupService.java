@@ -1,16 +1,20 @@
 package org.example.service;
 
 import org.example.entity.Resource;
+import org.example.event.ResourceChangePublisher;
 import org.example.mapper.ResourceMapper;
 import org.example.util.StringCleanupUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 数据清理服务
@@ -23,6 +27,21 @@ public class DataCleanupService {
     
     @Autowired
     private ResourceMapper resourceMapper;
+
+    @Autowired
+    private ResourceChangePublisher resourceChangePublisher;
+
+    @Autowired
+    private SearchCacheService searchCacheService;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
+    @Autowired
+    private ResourceDeduplicationService resourceDeduplicationService;
+
+    // 回填规范化名称、SimHash 指纹、去重键时每批处理的资源数量
+    private static final int BACKFILL_BATCH_SIZE = 1000;
     
     /**
      * 清理数据库中所有包含反斜杠字符的资源
@@ -83,15 +102,18 @@ public class DataCleanupService {
             
             // 3. 循环更新数据库
             if (!cleanedResources.isEmpty()) {
-                int updatedCount = 0;
+                List<Resource> updatedResources = new ArrayList<>();
+                List<Integer> mergedIds = new ArrayList<>();
                 for (Resource resource : cleanedResources) {
-                    int result = resourceMapper.updateResourceFields(resource);
-                    if (result > 0) {
-                        updatedCount++;
+                    if (updateOrMerge(resource, mergedIds)) {
+                        updatedResources.add(resource);
                     }
                 }
+                int updatedCount = updatedResources.size();
+                resourceChangePublisher.publishDeleted(mergedIds);
+                resourceChangePublisher.publishUpserted(updatedResources);
 
-                logger.info("数据清理完成，共清理了 {} 条资源", updatedCount);
+                logger.info("数据清理完成，共清理了 {} 条资源，合并规范化URL重复的资源 {} 条", updatedCount, mergedIds.size());
             } else {
                 logger.info("虽然查询到包含反斜杠的资源，但清理后没有实际变化");
             }
@@ -102,6 +124,127 @@ public class DataCleanupService {
         }
     }
     
+    /**
+     * 更新清理后的字段；清理后的规范化URL与另一条资源相同（唯一索引冲突）时按resourceTime保留较新的一条：
+     * 清理的资源较旧时删除该资源，否则删除已有资源后重新更新
+     * @param mergedIds 被合并删除的资源ID
+     * @return 清理的资源是否更新成功
+     */
+    private boolean updateOrMerge(Resource resource, List<Integer> mergedIds) {
+        try {
+            return resourceMapper.updateResourceFields(resource) > 0;
+        } catch (DuplicateKeyException e) {
+            Resource existing = resourceMapper.selectByCanonicalUrlHash(resource.getCanonicalUrlHash());
+            if (existing == null || existing.getId().equals(resource.getId())) {
+                throw e;
+            }
+            Resource toDelete = resourceDeduplicationService.selectResourceToDelete(resource, existing);
+            resourceMapper.deleteById(toDelete.getId());
+            mergedIds.add(toDelete.getId());
+            logger.info("清理后规范化URL与资源 [{}] 相同，删除较旧的资源 [{}]", existing.getId(), toDelete.getId());
+            return toDelete != resource && resourceMapper.updateResourceFields(resource) > 0;
+        }
+    }
+
+    /**
+     * 按当前规则重新计算所有资源的 name_norm 列
+     * 用于添加 name_norm 列后回填历史数据，或规范化规则调整后重新生成
+     * 
+     * @return 实际更新的资源数量
+     */
+    public int backfillNameNorm() {
+        logger.info("开始回填资源规范化名称...");
+        long startTime = System.currentTimeMillis();
+
+        int updatedCount = 0;
+        int lastId = 0;
+        while (true) {
+            List<Resource> batch = resourceMapper.selectBatchAfterId(lastId, BACKFILL_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            updatedCount += resourceMapper.updateNameNormBatch(batch);
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        // 规范化名称影响数据库搜索的匹配结果
+        searchCacheService.invalidateAll();
+
+        logger.info("规范化名称回填完成，共更新 {} 条资源，耗时 {} ms",
+            updatedCount, System.currentTimeMillis() - startTime);
+        return updatedCount;
+    }
+    
+    /**
+     * 按当前规则重新计算所有资源的 simhash 列，完成后重建近似重复指纹索引
+     * 用于添加 simhash 列后回填历史数据，或指纹规则调整后重新生成
+     * 
+     * @return 实际更新的资源数量
+     */
+    public int backfillSimhash() {
+        logger.info("开始回填资源SimHash指纹...");
+        long startTime = System.currentTimeMillis();
+
+        int updatedCount = 0;
+        int lastId = 0;
+        while (true) {
+            List<Resource> batch = resourceMapper.selectBatchAfterId(lastId, BACKFILL_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            updatedCount += resourceMapper.updateSimhashBatch(batch);
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        nearDuplicateService.rebuild();
+
+        logger.info("SimHash指纹回填完成，共更新 {} 条资源，耗时 {} ms",
+            updatedCount, System.currentTimeMillis() - startTime);
+        return updatedCount;
+    }
+    
+    /**
+     * 按当前规则重新计算所有资源的 canonical_url、canonical_url_hash、name_hash 列，并删除规范化URL重复的资源
+     * （每组保留resourceTime最新的一条），之后才能执行 add_resource_dedup_keys_post_backfill.sql 创建唯一索引；
+     * 名称哈希相同的资源不在此删除，由去重任务作为候选处理
+     * 
+     * @return 回填和删除的资源数量
+     */
+    public Map<String, Integer> backfillDedupKeys() {
+        logger.info("开始回填资源去重键...");
+        long startTime = System.currentTimeMillis();
+
+        int updatedCount = 0;
+        int lastId = 0;
+        while (true) {
+            List<Resource> batch = resourceMapper.selectBatchAfterId(lastId, BACKFILL_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            updatedCount += resourceMapper.updateDedupKeysBatch(batch);
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        int deletedCount = deleteDuplicates(resourceMapper.findDuplicateIdsByCanonicalUrlHash());
+
+        logger.info("去重键回填完成，共更新 {} 条资源，删除重复资源 {} 条，耗时 {} ms",
+            updatedCount, deletedCount, System.currentTimeMillis() - startTime);
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        result.put("updatedCount", updatedCount);
+        result.put("deletedCount", deletedCount);
+        return result;
+    }
+
+    private int deleteDuplicates(List<Integer> duplicateIds) {
+        if (duplicateIds.isEmpty()) {
+            return 0;
+        }
+        int deletedCount = resourceMapper.deleteByIds(duplicateIds);
+        resourceChangePublisher.publishDeleted(duplicateIds);
+        return deletedCount;
+    }
+    
     /**
      * 统计数据库中包含反斜杠字符的资源数量
      */
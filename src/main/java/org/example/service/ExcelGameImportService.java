@@ -7,6 +7,7 @@ import com.alibaba.excel.read.builder.ExcelReaderBuilder;
 import com.alibaba.excel.read.builder.ExcelReaderSheetBuilder;
 import org.example.dto.GameExcelData;
 import org.example.entity.Resource;
+import org.example.event.ResourceChangePublisher;
 import org.example.mapper.ResourceMapper;
 import org.example.util.StringCleanupUtil;
 import org.slf4j.Logger;
@@ -19,8 +20,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Excel游戏数据导入服务
@@ -33,6 +37,12 @@ public class ExcelGameImportService {
     @Autowired
     private ResourceMapper resourceMapper;
 
+    @Autowired
+    private ResourceChangePublisher resourceChangePublisher;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
     /**
      * 处理files目录下的所有Excel文件
      */
@@ -44,6 +54,7 @@ public class ExcelGameImportService {
             // 1. 删除所有source=1的数据
             int deletedCount = resourceMapper.deleteBySource(1);
             logger.info("删除了 {} 条source=1的旧数据", deletedCount);
+            resourceChangePublisher.publishSourceDeleted(1);
 
             // 2. 读取resources/files目录下的所有Excel文件
             File filesDir = getFilesDirectory();
@@ -70,16 +81,27 @@ public class ExcelGameImportService {
                 allGameResources.addAll(gameResources);
             }
 
-            // 4. 批量插入数据
+            // 4. 与其他来源的已有资源或同批资源近似重复时保留resource_time较新的一条（本来源的旧数据已在第1步删除）
+            NearDuplicateService.IngestResult ingestResult = nearDuplicateService.filterBeforeInsert(allGameResources, 1);
+            allGameResources = ingestResult.getAccepted();
+
+            // 5. 分批写入数据（规范化URL与已有资源相同时合并，批量写入后按规范化URL哈希取回实际保存的资源ID）
             if (!allGameResources.isEmpty()) {
-                // 分批插入，每批1000条
+                // 每1000条批量写入一次并发布变更事件
                 int batchSize = 1000;
+                Set<Integer> allSavedIds = new HashSet<>();
                 for (int i = 0; i < allGameResources.size(); i += batchSize) {
                     int endIndex = Math.min(i + batchSize, allGameResources.size());
                     List<Resource> batch = allGameResources.subList(i, endIndex);
-                    resourceMapper.insertBatch(batch);
-                    logger.info("批量插入第 {} 批，共 {} 条数据", (i / batchSize) + 1, batch.size());
+                    Set<Integer> savedIds = insertBatch(batch);
+                    if (!savedIds.isEmpty()) {
+                        resourceChangePublisher.publishUpserted(resourceMapper.selectByIds(new ArrayList<>(savedIds)));
+                    }
+                    allSavedIds.addAll(savedIds);
+                    logger.info("写入第 {} 批，共 {} 条数据，保存为 {} 条资源", (i / batchSize) + 1, batch.size(), savedIds.size());
                 }
+                // 删除被较新的游戏数据替换的其他来源资源
+                nearDuplicateService.deleteSuperseded(ingestResult.getSupersededIds(), allSavedIds);
                 logger.info("成功导入 {} 条游戏数据", allGameResources.size());
             } else {
                 logger.info("没有有效的游戏数据需要导入");
@@ -91,6 +113,31 @@ public class ExcelGameImportService {
         }
     }
 
+    /**
+     * 批量写入一批资源，返回实际保存的资源ID
+     * 有规范化URL的资源批量写入后按规范化URL哈希取回ID（被合并的资源对应已有资源的ID）；
+     * 没有规范化URL的资源不会被合并，逐条写入以回填自增ID
+     */
+    private Set<Integer> insertBatch(List<Resource> batch) {
+        List<Resource> keyed = new ArrayList<>(batch.size());
+        Set<String> canonicalUrlHashes = new LinkedHashSet<>();
+        Set<Integer> savedIds = new LinkedHashSet<>();
+        for (Resource resource : batch) {
+            if (resource.getCanonicalUrlHash() != null) {
+                keyed.add(resource);
+                canonicalUrlHashes.add(resource.getCanonicalUrlHash());
+            } else {
+                resourceMapper.insert(resource);
+                savedIds.add(resource.getId());
+            }
+        }
+        if (!keyed.isEmpty()) {
+            resourceMapper.insertBatch(keyed);
+            savedIds.addAll(resourceMapper.selectIdsByCanonicalUrlHashes(new ArrayList<>(canonicalUrlHashes)));
+        }
+        return savedIds;
+    }
+
     /**
      * 处理单个Excel文件
      */
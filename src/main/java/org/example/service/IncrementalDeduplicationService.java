@@ -0,0 +1,259 @@
+package org.example.service;
+
+import org.example.config.DeduplicationConfig;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.event.ResourceChangePublisher;
+import org.example.mapper.DedupWatermarkMapper;
+import org.example.mapper.ResourceMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 增量资源去重服务
+ * 在 dedup_watermark 表中保存已处理到的最大资源ID（水位），每次只检查水位之后的新资源：
+ * 新资源的URL、名称按索引查找同URL、同名的已有资源，相似度通过 SimHash 指纹索引和名称哈希索引（规范化后同名）查找候选，
+ * 删除规则与全表去重相同（保留resourceTime最新的一条），每次的耗时与新资源数量成正比，与资源总数无关。
+ * 按ID分批处理，每批处理完成后保存水位，中途失败时下次从最后保存的水位继续。
+ * 只按ID水位会漏掉两类资源：合并到已有资源、保留原ID的更新（ID不超过水位），以及ID较小但提交较晚、
+ * 扫描时尚不可见的资源；因此同时监听资源新增/更新事件，把ID不超过水位的资源加入待检查集合，下次运行时一并检查
+ * （待检查集合只在内存中，重启后由全表去重兜底）
+ */
+@Service
+public class IncrementalDeduplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalDeduplicationService.class);
+
+    static final String WATERMARK_NAME = "resource_dedup";
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    @Autowired
+    private DedupWatermarkMapper dedupWatermarkMapper;
+
+    @Autowired
+    private ResourceChangePublisher resourceChangePublisher;
+
+    @Autowired
+    private DeduplicationConfig deduplicationConfig;
+
+    @Autowired
+    private ResourceDeduplicationService resourceDeduplicationService;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
+    // 事务提交后新增或更新、需要重新检查的资源ID
+    private final Set<Integer> pendingIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 监听资源变更事件：新增或更新的资源加入待检查集合，已删除的资源移出
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChange(ResourceChangeEvent event) {
+        switch (event.getType()) {
+            case UPSERTED:
+                for (Resource resource : event.getResources()) {
+                    if (resource.getId() != null) {
+                        pendingIds.add(resource.getId());
+                    }
+                }
+                break;
+            case DELETED:
+                pendingIds.removeAll(event.getIds());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 检查水位之后的新资源，以及水位之内新增或更新过的资源，并删除重复资源
+     * 需要检查相似度但指纹索引尚未构建完成时跳过本次运行，水位和待检查集合保持不变
+     * @return 各类重复资源的删除数量
+     */
+    public synchronized ResourceDeduplicationService.DeduplicationStats deduplicateNewResources() {
+        boolean checkSimilarity = deduplicationConfig.isSimilarityEnabled();
+        if (checkSimilarity && !nearDuplicateService.isReady()) {
+            logger.info("近似重复指纹索引尚未构建完成，跳过本次增量去重");
+            return new ResourceDeduplicationService.DeduplicationStats(0, 0, 0);
+        }
+
+        Integer watermark = dedupWatermarkMapper.selectLastId(WATERMARK_NAME);
+        int afterId = watermark != null ? watermark : 0;
+        int batchSize = Math.max(1, deduplicationConfig.getIncrementalBatchSize());
+        logger.info("开始增量去重，水位: {}，待重新检查: {} 条", afterId, pendingIds.size());
+        long startTime = System.currentTimeMillis();
+
+        // 先取出水位之内的待检查ID；水位之后的ID由本次按水位扫描覆盖
+        List<Integer> requeued = new ArrayList<>();
+        for (Integer id : new ArrayList<>(pendingIds)) {
+            pendingIds.remove(id);
+            if (id <= afterId) {
+                requeued.add(id);
+            }
+        }
+        Collections.sort(requeued);
+
+        Counts counts = new Counts();
+        int scannedCount = 0;
+        try {
+            for (int i = 0; i < requeued.size(); i += batchSize) {
+                List<Integer> ids = requeued.subList(i, Math.min(i + batchSize, requeued.size()));
+                List<Resource> batch = resourceMapper.selectByIds(new ArrayList<>(ids));
+                if (!batch.isEmpty()) {
+                    deduplicateBatch(batch, checkSimilarity, counts);
+                }
+                scannedCount += batch.size();
+            }
+        } catch (RuntimeException e) {
+            // 失败时放回待检查集合，下次重新检查
+            pendingIds.addAll(requeued);
+            throw e;
+        }
+
+        while (true) {
+            List<Resource> batch = resourceMapper.selectBatchAfterId(afterId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            deduplicateBatch(batch, checkSimilarity, counts);
+
+            afterId = batch.get(batch.size() - 1).getId();
+            scannedCount += batch.size();
+            dedupWatermarkMapper.upsertLastId(WATERMARK_NAME, afterId);
+        }
+
+        logger.info("增量去重完成，检查资源 {} 条（其中重新检查 {} 条），删除URL重复: {} 条，删除名称重复: {} 条，" +
+                   "删除相似度重复: {} 条，水位: {}，耗时 {} ms", scannedCount, requeued.size(), counts.url, counts.name,
+                   counts.similarity, afterId, System.currentTimeMillis() - startTime);
+        return new ResourceDeduplicationService.DeduplicationStats(counts.url, counts.name, counts.similarity);
+    }
+
+    /**
+     * 检查一批资源：按URL、名称查找重复资源，需要时按指纹索引查找近似重复资源，删除较旧的一条
+     */
+    private void deduplicateBatch(List<Resource> batch, boolean checkSimilarity, Counts counts) {
+        Set<Integer> removed = new HashSet<>();
+        List<String> urls = distinctKeys(batch, Resource::getUrl);
+        if (!urls.isEmpty()) {
+            counts.url += delete(resourceMapper.findDuplicateIdsByUrls(urls), removed);
+        }
+        List<String> names = distinctKeys(batch, Resource::getName);
+        if (!names.isEmpty()) {
+            counts.name += delete(resourceMapper.findDuplicateIdsByNames(names), removed);
+        }
+        if (checkSimilarity) {
+            counts.similarity += delete(findSimilarDuplicateIds(batch, removed), removed);
+        }
+    }
+
+    /**
+     * 按指纹索引查找新资源的近似重复资源，规范化后同名（名称哈希相同）的资源也作为候选，
+     * 按相似度阈值确认后每对相似的资源标记较旧的一条
+     * @param removed 本批已删除的资源ID（不再参与比较）
+     */
+    private List<Integer> findSimilarDuplicateIds(List<Resource> batch, Set<Integer> removed) {
+        Map<String, List<Resource>> sameName = findSameNameCandidates(batch);
+        Set<Integer> duplicateIds = new LinkedHashSet<>();
+        for (Resource resource : batch) {
+            if (removed.contains(resource.getId()) || duplicateIds.contains(resource.getId())) {
+                continue;
+            }
+            Map<Integer, Resource> candidates = new LinkedHashMap<>();
+            for (Resource existing : nearDuplicateService.findNearDuplicates(resource, null)) {
+                candidates.put(existing.getId(), existing);
+            }
+            for (Resource existing : sameName.getOrDefault(resource.getNameHash(), Collections.<Resource>emptyList())) {
+                if (!existing.getId().equals(resource.getId()) && !candidates.containsKey(existing.getId())
+                        && resourceDeduplicationService.isSimilarResource(resource, existing)) {
+                    candidates.put(existing.getId(), existing);
+                }
+            }
+            for (Resource existing : candidates.values()) {
+                if (removed.contains(existing.getId()) || duplicateIds.contains(existing.getId())) {
+                    continue;
+                }
+                Resource toDelete = resourceDeduplicationService.selectResourceToDelete(resource, existing);
+                duplicateIds.add(toDelete.getId());
+                logger.debug("发现相似资源: [{}] {} 与 [{}] {}",
+                           resource.getId(), resource.getName(), existing.getId(), existing.getName());
+                if (toDelete == resource) {
+                    break;
+                }
+            }
+        }
+        return new ArrayList<>(duplicateIds);
+    }
+
+    /**
+     * 按名称哈希索引查找与本批资源规范化后同名的资源，按名称哈希分组
+     */
+    private Map<String, List<Resource>> findSameNameCandidates(List<Resource> batch) {
+        List<String> nameHashes = distinctKeys(batch, Resource::getNameHash);
+        if (nameHashes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<Resource>> sameName = new HashMap<>();
+        for (Resource resource : resourceMapper.selectByNameHashes(nameHashes)) {
+            sameName.computeIfAbsent(resource.getNameHash(), key -> new ArrayList<>()).add(resource);
+        }
+        return sameName;
+    }
+
+    /**
+     * 删除重复资源并发布删除事件
+     * @return 删除的数量
+     */
+    private int delete(List<Integer> ids, Set<Integer> removed) {
+        List<Integer> toDelete = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            if (removed.add(id)) {
+                toDelete.add(id);
+            }
+        }
+        if (toDelete.isEmpty()) {
+            return 0;
+        }
+        int deletedCount = resourceMapper.deleteByIds(toDelete);
+        resourceChangePublisher.publishDeleted(toDelete);
+        return deletedCount;
+    }
+
+    /**
+     * 各类重复资源的删除数量
+     */
+    private static final class Counts {
+        private int url;
+        private int name;
+        private int similarity;
+    }
+
+    private static List<String> distinctKeys(List<Resource> batch, Function<Resource, String> key) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Resource resource : batch) {
+            String value = key.apply(resource);
+            if (value != null && !value.isEmpty()) {
+                keys.add(value);
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+}
@@ -1,53 +1,705 @@
 package org.example.service;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
 import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MultiCollector;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.example.config.SearchIndexConfig;
+import org.example.config.SearchScoringConfig;
+import org.example.dto.SearchCursor;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.mapper.ResourceMapper;
+import org.example.util.StringCleanupUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.wltea.analyzer.lucene.IKAnalyzer;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
- * IK Analyzer 分词服务
- * 提供中文分词功能
+ * IK Analyzer 分词服务 + 本地Lucene索引
+ * 提供中文分词功能，并维护resource表name/content的倒排索引，
+ * 搜索时直接从索引中取出命中的资源ID，避免数据库 LIKE '%term%' 全表扫描
+ * 索引通过 ResourceChangeEvent 增量更新，不需要定期全量重建
  */
 @Service
 public class LuceneSearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(LuceneSearchService.class);
 
+    // 索引结构版本，字段结构变化时递增，启动时版本不一致会自动重建索引
+    static final String INDEX_VERSION = "3";
+    private static final String COMMIT_KEY_VERSION = "indexVersion";
+    // 正常关闭时提交为true，运行期间的提交为false；打开时不为true说明上次异常退出，最后一次提交之后的变更已丢失
+    static final String COMMIT_KEY_CLEAN_SHUTDOWN = "cleanShutdown";
+
+    // 索引字段
+    static final String FIELD_ID = "id";
+    static final String FIELD_ID_SORT = "id_sort";
+    static final String FIELD_NAME = "name";
+    static final String FIELD_NAME_EXACT = "name_exact";
+    static final String FIELD_CONTENT = "content";
+    static final String FIELD_LEVEL = "level";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_SOURCE = "source";
+    static final String FIELD_RESOURCE_TIME = "resource_time";
+
+    // 排序：相关性 > resource_time 降序 > id 降序
+    private static final Sort RESULT_SORT = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(FIELD_RESOURCE_TIME, SortField.Type.LONG, true),
+            new SortField(FIELD_ID_SORT, SortField.Type.LONG, true));
+
+    @Autowired
+    private SearchIndexConfig searchIndexConfig;
+
+    // 相关性分层权重：完全匹配 > 前缀匹配 > 名称包含 > 内容包含
+    @Autowired
+    private SearchScoringConfig searchScoringConfig;
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    // 搜索器刷新后使搜索结果缓存失效
+    @Autowired
+    private SearchCacheService searchCacheService;
+
     private Analyzer analyzer;
 
+    // 索引使用1-2元字符切分，短语查询即可精确表达子串匹配，与原 LIKE '%term%' 语义一致
+    private Analyzer gramAnalyzer;
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    private volatile boolean indexReady = false;
+    private volatile boolean needsRebuild = false;
+    private volatile boolean rebuilding = false;
+
+    // 重建期间到达的资源变更事件，重建写完所有批次后按顺序补做，避免重建读到的旧数据覆盖更新的文档
+    private final Object changeLock = new Object();
+    private List<ResourceChangeEvent> pendingChanges;
+
     @PostConstruct
     public void init() {
         logger.info("初始化 IK Analyzer 分词服务...");
 
         // 使用 IK 分词器，智能分词模式
         analyzer = new IKAnalyzer(true);
+        gramAnalyzer = createGramAnalyzer();
 
         logger.info("IK Analyzer 分词服务初始化完成");
+
+        if (searchIndexConfig.isEnabled()) {
+            try {
+                openIndex(new MMapDirectory(Paths.get(searchIndexConfig.getPath())));
+            } catch (IOException e) {
+                logger.error("打开Lucene索引失败，搜索将回退到数据库查询: {}", e.getMessage(), e);
+            }
+        } else {
+            logger.info("Lucene索引已禁用，搜索使用数据库查询");
+        }
     }
 
     @PreDestroy
     public void destroy() throws IOException {
         logger.info("关闭 IK Analyzer 分词服务...");
 
+        indexReady = false;
+        if (reopenThread != null) {
+            reopenThread.close();
+        }
+        if (indexWriter != null && indexWriter.isOpen() && !rebuilding) {
+            // 仍需重建的索引不标记为正常关闭，下次启动继续重建
+            commit(!needsRebuild);
+        }
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+        if (indexWriter != null) {
+            indexWriter.close();
+        }
+        if (directory != null) {
+            directory.close();
+        }
+
         if (analyzer != null) {
             analyzer.close();
         }
+        if (gramAnalyzer != null) {
+            gramAnalyzer.close();
+        }
 
         logger.info("IK Analyzer 分词服务已关闭");
     }
 
+    /**
+     * 应用启动完成后，如果索引为空、版本不一致或上次未正常关闭，在后台线程中从数据库重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexWriter == null || !needsRebuild) {
+            return;
+        }
+
+        Thread rebuildThread = new Thread(() -> {
+            try {
+                rebuildIndex();
+            } catch (Exception e) {
+                logger.error("后台重建Lucene索引失败: {}", e.getMessage(), e);
+            }
+        }, "lucene-index-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    /**
+     * 打开索引目录
+     */
+    void openIndex(Directory dir) throws IOException {
+        this.directory = dir;
+
+        IndexWriterConfig writerConfig = new IndexWriterConfig(gramAnalyzer);
+        boolean cleanShutdown = false;
+        Map<String, String> userData = DirectoryReader.indexExists(dir)
+                ? SegmentInfos.readLatestCommit(dir).getUserData() : Collections.<String, String>emptyMap();
+        if (INDEX_VERSION.equals(userData.get(COMMIT_KEY_VERSION))) {
+            writerConfig.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            cleanShutdown = Boolean.parseBoolean(userData.get(COMMIT_KEY_CLEAN_SHUTDOWN));
+            if (!cleanShutdown) {
+                logger.warn("Lucene索引上次未正常关闭，最后一次提交之后的变更可能丢失，将从数据库重建");
+            }
+        } else {
+            logger.info("Lucene索引不存在或版本不一致，将重新创建");
+            writerConfig.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        }
+
+        indexWriter = new IndexWriter(dir, writerConfig);
+        searcherManager = new SearcherManager(indexWriter, null);
+        // 事务提交时缓存已失效，但刷新前的搜索仍读到旧结果并写入新版本的缓存；刷新出新的搜索器后再次使缓存失效
+        searcherManager.addListener(new ReferenceManager.RefreshListener() {
+            @Override
+            public void beforeRefresh() {
+            }
+
+            @Override
+            public void afterRefresh(boolean didRefresh) {
+                if (didRefresh) {
+                    searchCacheService.onIndexRefreshed();
+                }
+            }
+        });
+
+        // 后台线程定期刷新近实时搜索器，保证写入在有限延迟内可被搜索到
+        double maxStaleSec = Math.max(searchIndexConfig.getRefreshIntervalMs(), 1) / 1000.0;
+        reopenThread = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager, maxStaleSec, Math.min(0.1, maxStaleSec));
+        reopenThread.setName("lucene-nrt-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+
+        int numDocs = indexWriter.getDocStats().numDocs;
+        needsRebuild = numDocs == 0 || !cleanShutdown;
+        indexReady = !needsRebuild;
+        // 清除正常关闭标记，此后异常退出时下次启动可以发现
+        commit();
+
+        logger.info("Lucene索引已打开，目录: {}, 文档数: {}", searchIndexConfig.getPath(), numDocs);
+    }
+
+    /**
+     * 从数据库全量重建索引（按ID分批读取）
+     * 重建期间索引标记为不可用，搜索回退到数据库，不会看到清空后尚未写完的索引；
+     * 重建期间的资源变更事件暂存，所有批次写完后再按顺序应用
+     * @return 索引的资源数量
+     */
+    public synchronized int rebuildIndex() throws IOException {
+        if (indexWriter == null) {
+            throw new IllegalStateException("Lucene索引未启用");
+        }
+
+        logger.info("开始重建Lucene索引...");
+        long startTime = System.currentTimeMillis();
+        rebuilding = true;
+        indexReady = false;
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        boolean completed = false;
+        try {
+            indexWriter.deleteAll();
+
+            int batchSize = Math.max(1, searchIndexConfig.getRebuildBatchSize());
+            int afterId = 0;
+            int total = 0;
+            while (true) {
+                List<Resource> batch = resourceMapper.selectBatchAfterId(afterId, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Resource resource : batch) {
+                    indexWriter.updateDocument(new Term(FIELD_ID, String.valueOf(resource.getId())), toDocument(resource));
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                total += batch.size();
+            }
+
+            applyPendingChanges();
+            commit();
+            searcherManager.maybeRefreshBlocking();
+            needsRebuild = false;
+            indexReady = true;
+            completed = true;
+
+            logger.info("Lucene索引重建完成，共 {} 条资源，耗时 {} ms", total, System.currentTimeMillis() - startTime);
+            return total;
+        } finally {
+            if (!completed) {
+                // 重建失败时索引不完整，保持不可用，等待再次重建
+                applyPendingChanges();
+                needsRebuild = true;
+            }
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * 监听资源变更事件，增量更新索引
+     * 事务提交后执行；新文档由近实时刷新线程在 search.index.refresh-interval-ms 内变为可搜索
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChange(ResourceChangeEvent event) {
+        if (indexWriter == null) {
+            return;
+        }
+
+        synchronized (changeLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+                return;
+            }
+            applyChange(event);
+        }
+    }
+
+    /**
+     * 应用重建期间暂存的变更事件并结束暂存
+     */
+    private void applyPendingChanges() {
+        synchronized (changeLock) {
+            if (pendingChanges == null) {
+                return;
+            }
+            for (ResourceChangeEvent event : pendingChanges) {
+                applyChange(event);
+            }
+            logger.info("重建期间的 {} 个资源变更事件已应用到索引", pendingChanges.size());
+            pendingChanges = null;
+        }
+    }
+
+    private void applyChange(ResourceChangeEvent event) {
+        try {
+            switch (event.getType()) {
+                case UPSERTED:
+                    for (Resource resource : event.getResources()) {
+                        if (resource.getId() != null) {
+                            indexWriter.updateDocument(new Term(FIELD_ID, String.valueOf(resource.getId())), toDocument(resource));
+                        }
+                    }
+                    break;
+                case DELETED:
+                    for (Integer id : event.getIds()) {
+                        indexWriter.deleteDocuments(new Term(FIELD_ID, String.valueOf(id)));
+                    }
+                    break;
+                case SOURCE_DELETED:
+                    if (event.getSource() != null) {
+                        indexWriter.deleteDocuments(IntPoint.newExactQuery(FIELD_SOURCE, event.getSource()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            logger.debug("索引增量更新: {}", event);
+        } catch (IOException e) {
+            logger.error("索引增量更新失败: {}, {}", event, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 定期提交索引变更到磁盘
+     * 与重建索引互斥，避免提交重建过程中的中间状态；
+     * 进程异常退出时最多丢失一个提交间隔的变更，下次启动发现未正常关闭会从数据库重建索引
+     */
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:60000}")
+    public synchronized void commitPendingChanges() {
+        if (indexWriter == null || !indexWriter.isOpen() || !indexWriter.hasUncommittedChanges()) {
+            return;
+        }
+
+        try {
+            commit();
+        } catch (IOException e) {
+            logger.error("提交索引变更失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 索引是否可用于搜索
+     */
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+
+    /**
+     * 当前索引中的文档数量
+     */
+    public int getIndexedDocCount() {
+        return indexWriter != null ? indexWriter.getDocStats().numDocs : 0;
+    }
+
+    /**
+     * 在索引中搜索，返回按相关性排序的资源ID
+     * @param searchTerms 搜索词列表，第一个为原始搜索词，其余为分词结果；为空时仅按层级/类型过滤
+     * @param offset 结果偏移量
+     * @param limit 返回数量
+     */
+    public IndexSearchResult search(List<String> searchTerms, Integer level, String type, String searchMode,
+                                    int offset, int limit) throws IOException {
+        return search(searchTerms, level, type, searchMode, offset, limit, null);
+    }
+
+    /**
+     * 在索引中搜索，同时把全部匹配文档的资源ID记录到位图中（用于分面统计）
+     * @param matchedIds 收集匹配ID的位图，为null时不收集
+     */
+    public IndexSearchResult search(List<String> searchTerms, Integer level, String type, String searchMode,
+                                    int offset, int limit, BitSet matchedIds) throws IOException {
+        Query query = buildQuery(searchTerms, level, type, searchMode);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopFieldCollector collector = TopFieldCollector.create(RESULT_SORT, Math.max(1, offset + limit), Integer.MAX_VALUE);
+            searcher.search(query, matchedIds != null
+                    ? MultiCollector.wrap(collector, new MatchedIdCollector(matchedIds))
+                    : collector);
+            TopDocs topDocs = collector.topDocs(offset, limit);
+
+            List<Integer> ids = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Object[] sortValues = ((FieldDoc) scoreDoc).fields;
+                ids.add(((Long) sortValues[2]).intValue());
+            }
+            return new IndexSearchResult(ids, topDocs.totalHits.value);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 统计索引中匹配的文档数量
+     */
+    public int count(List<String> searchTerms, Integer level, String type, String searchMode) throws IOException {
+        Query query = buildQuery(searchTerms, level, type, searchMode);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(query);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 统计包含指定搜索词的文档数量（文档频率），与搜索时的子串匹配语义一致
+     * @param searchMode name 时只统计名称，否则统计名称或内容包含该词的文档
+     */
+    public int documentFrequency(String term, String searchMode) throws IOException {
+        String normalized = term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return 0;
+        }
+
+        Query query;
+        if ("name".equals(searchMode)) {
+            query = buildSubstringQuery(FIELD_NAME, normalized);
+        } else {
+            query = new BooleanQuery.Builder()
+                    .add(buildSubstringQuery(FIELD_NAME, normalized), BooleanClause.Occur.SHOULD)
+                    .add(buildSubstringQuery(FIELD_CONTENT, normalized), BooleanClause.Occur.SHOULD)
+                    .build();
+        }
 
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(query);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 游标分页搜索：从游标位置（得分, resource_time, id）之后返回下一页资源ID
+     * @param after 上一页最后一条结果的游标，为null时从第一页开始
+     * @param limit 返回数量
+     */
+    public IndexSearchResult searchAfter(List<String> searchTerms, Integer level, String type, String searchMode,
+                                         SearchCursor after, int limit) throws IOException {
+        Query query = buildQuery(searchTerms, level, type, searchMode);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            FieldDoc afterDoc = null;
+            if (after != null) {
+                // 排序键唯一（包含id），文档号只用于排除游标所在文档本身
+                Object[] fields = {
+                        Float.parseFloat(after.getBucket()),
+                        after.getResourceTime() != null ? after.getResourceTime() : 0L,
+                        (long) after.getId()};
+                afterDoc = new FieldDoc(searcher.getIndexReader().maxDoc() - 1, Float.NaN, fields);
+            }
+
+            // 多取一条判断是否存在下一页
+            TopFieldDocs topDocs = searcher.searchAfter(afterDoc, query, limit + 1, RESULT_SORT, true);
+
+            int count = Math.min(limit, topDocs.scoreDocs.length);
+            List<Integer> ids = new ArrayList<>(count);
+            SearchCursor nextCursor = null;
+            for (int i = 0; i < count; i++) {
+                Object[] sortValues = ((FieldDoc) topDocs.scoreDocs[i]).fields;
+                ids.add(((Long) sortValues[2]).intValue());
+                if (i == count - 1 && topDocs.scoreDocs.length > limit) {
+                    nextCursor = new SearchCursor(Float.toString((Float) sortValues[0]), (Long) sortValues[1],
+                                                  ((Long) sortValues[2]).intValue());
+                }
+            }
+            return new IndexSearchResult(ids, topDocs.totalHits.value, nextCursor);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 构建查询：每个搜索词取其最高的匹配层级，多个搜索词之间累加
+     */
+    Query buildQuery(List<String> searchTerms, Integer level, String type, String searchMode) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        BooleanQuery.Builder termsBuilder = new BooleanQuery.Builder();
+        boolean hasTerm = false;
+        if (searchTerms != null) {
+            for (int i = 0; i < searchTerms.size(); i++) {
+                String term = searchTerms.get(i) == null ? "" : searchTerms.get(i).trim().toLowerCase(Locale.ROOT);
+                if (term.isEmpty()) {
+                    continue;
+                }
+                float boost = i == 0 ? searchScoringConfig.getOriginalTermBoost() : 1f;
+
+                List<Query> tiers = new ArrayList<>();
+                // 完全匹配和前缀匹配按规范化名称比较，与数据库的 name_norm 列一致
+                String norm = StringCleanupUtil.normalizeName(term);
+                if (!norm.isEmpty()) {
+                    tiers.add(weighted(new TermQuery(new Term(FIELD_NAME_EXACT, norm)),
+                                       searchScoringConfig.getExactWeight() * boost));
+                    tiers.add(weighted(new PrefixQuery(new Term(FIELD_NAME_EXACT, norm)),
+                                       searchScoringConfig.getPrefixWeight() * boost));
+                }
+                tiers.add(weighted(buildSubstringQuery(FIELD_NAME, term),
+                                   searchScoringConfig.getNameContainsWeight() * boost));
+                if (!"name".equals(searchMode)) {
+                    tiers.add(weighted(buildSubstringQuery(FIELD_CONTENT, term),
+                                       searchScoringConfig.getContentContainsWeight() * boost));
+                }
+                termsBuilder.add(new DisjunctionMaxQuery(tiers, 0f), BooleanClause.Occur.SHOULD);
+                hasTerm = true;
+            }
+        }
+
+        if (hasTerm) {
+            builder.add(termsBuilder.build(), BooleanClause.Occur.MUST);
+        } else {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+
+        if (level != null) {
+            builder.add(IntPoint.newExactQuery(FIELD_LEVEL, level), BooleanClause.Occur.FILTER);
+        }
+        if (type != null && !type.isEmpty()) {
+            builder.add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * 子串查询：单字直接匹配一元切分，多字按二元切分构造短语
+     * 索引中每个起始位置依次输出一元、二元切分，因此相邻二元切分的位置差为2
+     */
+    private Query buildSubstringQuery(String field, String term) {
+        int[] codePoints = term.codePoints().toArray();
+        if (codePoints.length == 1) {
+            return new TermQuery(new Term(field, term));
+        }
+
+        PhraseQuery.Builder builder = new PhraseQuery.Builder();
+        for (int i = 0; i < codePoints.length - 1; i++) {
+            builder.add(new Term(field, new String(codePoints, i, 2)), i * 2);
+        }
+        return builder.build();
+    }
+
+    private Query weighted(Query query, float weight) {
+        return new BoostQuery(new ConstantScoreQuery(query), weight);
+    }
+
+    /**
+     * 收集匹配文档的资源ID（从列式存储的 id_sort 字段读取）
+     */
+    private static final class MatchedIdCollector extends SimpleCollector {
+        private final BitSet matchedIds;
+        private NumericDocValues ids;
+
+        private MatchedIdCollector(BitSet matchedIds) {
+            this.matchedIds = matchedIds;
+        }
+
+        @Override
+        protected void doSetNextReader(LeafReaderContext context) throws IOException {
+            ids = DocValues.getNumeric(context.reader(), FIELD_ID_SORT);
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            if (ids.advanceExact(doc)) {
+                matchedIds.set((int) ids.longValue());
+            }
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+    }
+
+    /**
+     * 将资源转换为索引文档
+     */
+    private Document toDocument(Resource resource) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(resource.getId()), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, resource.getId()));
+
+        if (resource.getName() != null) {
+            document.add(new StringField(FIELD_NAME_EXACT, StringCleanupUtil.normalizeName(resource.getName()),
+                                         Field.Store.NO));
+            document.add(new TextField(FIELD_NAME, resource.getName(), Field.Store.NO));
+        }
+        if (resource.getContent() != null) {
+            document.add(new TextField(FIELD_CONTENT, resource.getContent(), Field.Store.NO));
+        }
+        if (resource.getLevel() != null) {
+            document.add(new IntPoint(FIELD_LEVEL, resource.getLevel()));
+        }
+        if (resource.getType() != null) {
+            document.add(new StringField(FIELD_TYPE, resource.getType(), Field.Store.NO));
+        }
+        if (resource.getSource() != null) {
+            document.add(new IntPoint(FIELD_SOURCE, resource.getSource()));
+        }
+        if (resource.getResourceTime() != null) {
+            document.add(new NumericDocValuesField(FIELD_RESOURCE_TIME, resource.getResourceTime()));
+        }
+        return document;
+    }
+
+    private void commit() throws IOException {
+        commit(false);
+    }
+
+    /**
+     * 提交索引变更
+     * @param cleanShutdown 是否为正常关闭前的最后一次提交
+     */
+    private void commit(boolean cleanShutdown) throws IOException {
+        Map<String, String> commitData = new HashMap<>();
+        commitData.put(COMMIT_KEY_VERSION, INDEX_VERSION);
+        commitData.put(COMMIT_KEY_CLEAN_SHUTDOWN, String.valueOf(cleanShutdown));
+        indexWriter.setLiveCommitData(commitData.entrySet());
+        indexWriter.commit();
+    }
+
+    private Analyzer createGramAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(1, 2);
+                return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+            }
+        };
+    }
 
     /**
      * 分析文本，获取分词结果
@@ -75,4 +727,38 @@ public class LuceneSearchService {
 
         return terms;
     }
+
+    /**
+     * 索引搜索结果：当前页的资源ID（已排序）和命中总数
+     */
+    public static class IndexSearchResult {
+        private final List<Integer> ids;
+        private final long totalHits;
+        private final SearchCursor nextCursor;
+
+        public IndexSearchResult(List<Integer> ids, long totalHits) {
+            this(ids, totalHits, null);
+        }
+
+        public IndexSearchResult(List<Integer> ids, long totalHits, SearchCursor nextCursor) {
+            this.ids = ids != null ? ids : Collections.<Integer>emptyList();
+            this.totalHits = totalHits;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Integer> getIds() {
+            return ids;
+        }
+
+        public long getTotalHits() {
+            return totalHits;
+        }
+
+        /**
+         * 下一页的游标，没有下一页时为null（仅游标分页搜索返回）
+         */
+        public SearchCursor getNextCursor() {
+            return nextCursor;
+        }
+    }
 }
@@ -0,0 +1,418 @@
+package org.example.service;
+
+import org.example.config.DeduplicationConfig;
+import org.example.config.SearchIndexConfig;
+import org.example.dto.ResourceFingerprint;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.event.ResourceChangePublisher;
+import org.example.mapper.ResourceMapper;
+import org.example.util.SimHashIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 入库近似重复检查服务
+ * 在内存中维护所有资源 SimHash 指纹的汉明距离索引，爬虫和Excel导入写入前查找指纹相近的已有资源，
+ * 再按定时去重任务相同的相似度阈值确认，发现近似重复时与定时去重任务一样保留resource_time较新的一条
+ * （新资源不比已有资源新时跳过写入，否则写入后删除较旧的已有资源；或仅记录日志），不必等定时去重任务事后清理；
+ * 定时增量去重同样通过该索引查找新资源的近似重复；
+ * 启动后从数据库的 simhash 列构建，之后通过 ResourceChangeEvent 增量更新
+ */
+@Service
+public class NearDuplicateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearDuplicateService.class);
+
+    @Autowired
+    private DeduplicationConfig deduplicationConfig;
+
+    @Autowired
+    private SearchIndexConfig searchIndexConfig;
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    @Autowired
+    private ResourceDeduplicationService resourceDeduplicationService;
+
+    @Autowired
+    private ResourceChangePublisher resourceChangePublisher;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private SimHashIndex index;
+
+    // 数据来源 -> 资源ID（用于按来源删除，以及检查时忽略指定来源的资源）
+    private final Map<Integer, BitSet> sourceIds = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    @PostConstruct
+    public void init() {
+        index = new SimHashIndex(deduplicationConfig.getSimhashMaxDistance());
+    }
+
+    /**
+     * 应用启动完成后在后台线程中从数据库构建指纹索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!deduplicationConfig.isIngestCheckEnabled() && !deduplicationConfig.isSimilarityEnabled()) {
+            return;
+        }
+        Thread rebuildThread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("构建近似重复指纹索引失败: {}", e.getMessage(), e);
+            }
+        }, "near-duplicate-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    /**
+     * 从数据库的 simhash 列全量重建指纹索引（simhash 为空的旧数据不参与检查）
+     * @return 索引中的资源数量
+     */
+    public synchronized int rebuild() {
+        logger.info("开始构建近似重复指纹索引...");
+        long startTime = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            sourceIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int batchSize = Math.max(1, searchIndexConfig.getRebuildBatchSize());
+        int afterId = 0;
+        int missing = 0;
+        while (true) {
+            List<ResourceFingerprint> batch = resourceMapper.selectFingerprintsAfterId(afterId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lock.writeLock().lock();
+            try {
+                for (ResourceFingerprint fingerprint : batch) {
+                    if (fingerprint.getSimhash() == null) {
+                        missing++;
+                        continue;
+                    }
+                    put(fingerprint.getId(), fingerprint.getSource(), fingerprint.getSimhash());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+
+        ready = true;
+        int size = size();
+        logger.info("近似重复指纹索引构建完成，共 {} 条资源（{} 条尚未回填指纹），耗时 {} ms",
+                   size, missing, System.currentTimeMillis() - startTime);
+        return size;
+    }
+
+    /**
+     * 监听资源变更事件，增量更新指纹索引
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChange(ResourceChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case UPSERTED:
+                    for (Resource resource : event.getResources()) {
+                        if (resource.getId() == null) {
+                            continue;
+                        }
+                        Long simhash = resource.getSimhash();
+                        if (simhash == null) {
+                            remove(resource.getId());
+                        } else {
+                            put(resource.getId(), resource.getSource(), simhash);
+                        }
+                    }
+                    break;
+                case DELETED:
+                    for (Integer id : event.getIds()) {
+                        remove(id);
+                    }
+                    break;
+                case SOURCE_DELETED:
+                    BitSet ids = sourceIds.get(event.getSource());
+                    if (ids != null) {
+                        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                            index.remove(id);
+                        }
+                        sourceIds.remove(event.getSource());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 指纹索引是否可用
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 入库前检查单条资源，按resource_time保留较新的一条：
+     * 新资源不比近似重复的已有资源新时跳过写入，否则写入新资源，由调用方写入成功后删除较旧的已有资源
+     * @return 需要写入的资源（未写入时为空）和写入后需要删除的已有资源ID
+     */
+    public IngestResult checkBeforeInsert(Resource candidate) {
+        if (!deduplicationConfig.isIngestCheckEnabled()) {
+            return new IngestResult(Collections.singletonList(candidate), Collections.<Integer>emptyList());
+        }
+        List<Resource> older = new ArrayList<>();
+        if (!keepNewest(candidate, findNearDuplicates(candidate, null), older)) {
+            return new IngestResult(Collections.<Resource>emptyList(), Collections.<Integer>emptyList());
+        }
+        List<Integer> supersededIds = new ArrayList<>(older.size());
+        for (Resource resource : older) {
+            supersededIds.add(resource.getId());
+        }
+        return new IngestResult(Collections.singletonList(candidate), supersededIds);
+    }
+
+    /**
+     * 入库前检查一批资源：既与已有资源比较，也与同一批中排在前面的资源比较，按resource_time保留较新的一条
+     * （同一批中较旧的资源不再写入，较旧的已有资源由调用方写入成功后删除）
+     * @param ignoredSource 忽略该数据来源的已有资源（例如导入前已在同一事务中删除、但删除事件尚未生效的来源），可为null
+     * @return 需要写入的资源（保持原顺序）和写入后需要删除的已有资源ID
+     */
+    public IngestResult filterBeforeInsert(List<Resource> candidates, Integer ignoredSource) {
+        if (!deduplicationConfig.isIngestCheckEnabled() || candidates.isEmpty()) {
+            return new IngestResult(candidates, Collections.<Integer>emptyList());
+        }
+        long startTime = System.currentTimeMillis();
+        SimHashIndex batchIndex = new SimHashIndex(deduplicationConfig.getSimhashMaxDistance());
+        // 按写入顺序保存同批资源，被同批较新资源替换的位置置为null
+        List<Resource> accepted = new ArrayList<>(candidates.size());
+        Set<Integer> supersededIds = new LinkedHashSet<>();
+        int duplicates = 0;
+        for (Resource candidate : candidates) {
+            Long simhash = candidate.getSimhash();
+            List<Resource> nearDuplicates = new ArrayList<>();
+            Map<Resource, Integer> positions = new IdentityHashMap<>();
+            if (simhash != null) {
+                for (Integer position : batchIndex.findWithin(simhash)) {
+                    Resource earlier = accepted.get(position);
+                    if (resourceDeduplicationService.isSimilarResource(candidate, earlier)) {
+                        nearDuplicates.add(earlier);
+                        positions.put(earlier, position);
+                    }
+                }
+            }
+            nearDuplicates.addAll(findNearDuplicates(candidate, ignoredSource));
+            if (!nearDuplicates.isEmpty()) {
+                duplicates++;
+            }
+
+            List<Resource> older = new ArrayList<>();
+            if (!keepNewest(candidate, nearDuplicates, older)) {
+                continue;
+            }
+            for (Resource resource : older) {
+                Integer position = positions.get(resource);
+                if (position != null) {
+                    accepted.set(position, null);
+                    batchIndex.remove(position);
+                } else {
+                    supersededIds.add(resource.getId());
+                }
+            }
+            if (simhash != null) {
+                batchIndex.put(accepted.size(), simhash);
+            }
+            accepted.add(candidate);
+        }
+        accepted.removeIf(Objects::isNull);
+        logger.info("入库近似重复检查: {} 条资源，发现近似重复 {} 条，写入 {} 条，写入后删除较旧的已有资源 {} 条，耗时 {} ms",
+                   candidates.size(), duplicates, accepted.size(), supersededIds.size(),
+                   System.currentTimeMillis() - startTime);
+        return new IngestResult(accepted, new ArrayList<>(supersededIds));
+    }
+
+    /**
+     * 删除被较新资源替换的已有资源并发布删除事件，在新资源写入成功后调用
+     * @param savedIds 本次实际保存的资源ID（规范化URL相同时新资源合并到已有资源，该资源不删除）
+     * @return 删除的数量
+     */
+    public int deleteSuperseded(List<Integer> supersededIds, Collection<Integer> savedIds) {
+        List<Integer> toDelete = new ArrayList<>(supersededIds.size());
+        for (Integer id : supersededIds) {
+            if (!savedIds.contains(id)) {
+                toDelete.add(id);
+            }
+        }
+        if (toDelete.isEmpty()) {
+            return 0;
+        }
+        int deletedCount = resourceMapper.deleteByIds(toDelete);
+        resourceChangePublisher.publishDeleted(toDelete);
+        logger.info("删除被较新资源替换的近似重复资源 {} 条: {}", deletedCount, toDelete);
+        return deletedCount;
+    }
+
+    /**
+     * 查找与资源近似重复的已有资源：先按指纹取汉明距离不超过阈值的候选，再按相似度阈值确认
+     * 索引尚未构建完成时不做检查
+     * @param ignoredSource 忽略该数据来源的资源，可为null
+     * @return 与资源最接近的近似重复资源，没有时返回null
+     */
+    public Resource findNearDuplicate(Resource candidate, Integer ignoredSource) {
+        List<Resource> duplicates = findNearDuplicates(candidate, ignoredSource);
+        return duplicates.isEmpty() ? null : duplicates.get(0);
+    }
+
+    /**
+     * 查找与资源近似重复的所有已有资源（按指纹的汉明距离升序，不包括资源自身）
+     * 索引尚未构建完成时不做检查
+     * @param ignoredSource 忽略该数据来源的资源，可为null
+     */
+    public List<Resource> findNearDuplicates(Resource candidate, Integer ignoredSource) {
+        Long simhash = candidate.getSimhash();
+        if (!ready || simhash == null) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            BitSet ignored = ignoredSource != null ? sourceIds.get(ignoredSource) : null;
+            for (Integer id : index.findWithin(simhash)) {
+                if (!id.equals(candidate.getId()) && (ignored == null || !ignored.get(id))) {
+                    ids.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Resource> duplicates = new ArrayList<>();
+        for (Resource existing : resourceMapper.selectByIds(ids)) {
+            if (resourceDeduplicationService.isSimilarResource(candidate, existing)) {
+                duplicates.add(existing);
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * 按resource_time保留较新的一条（与定时去重相同）：新资源不比任一近似重复资源新时跳过写入，
+     * 否则写入并把较旧的近似重复资源加入 older；配置为仍写入时只记录日志
+     * @return 是否写入新资源
+     */
+    private boolean keepNewest(Resource candidate, List<Resource> duplicates, List<Resource> older) {
+        boolean rejectDuplicates = deduplicationConfig.isIngestRejectDuplicates();
+        for (Resource duplicate : duplicates) {
+            String target = duplicate.getId() != null ? "已有资源 [" + duplicate.getId() + "]" : "同批资源";
+            if (!rejectDuplicates) {
+                logger.info("发现近似重复资源: {} 与{} {}", candidate.getName(), target, duplicate.getName());
+            } else if (isNewer(candidate, duplicate)) {
+                logger.info("写入较新的近似重复资源: {}，替换{} {}", candidate.getName(), target, duplicate.getName());
+                older.add(duplicate);
+            } else {
+                logger.info("跳过不比{}新的近似重复资源: {}（{}）", target, candidate.getName(), duplicate.getName());
+                older.clear();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 新资源的resource_time是否比已有资源新（已有资源的resource_time为空时视为较旧）
+     */
+    private static boolean isNewer(Resource candidate, Resource existing) {
+        Integer candidateTime = candidate.getResourceTime();
+        Integer existingTime = existing.getResourceTime();
+        return candidateTime != null && (existingTime == null || candidateTime > existingTime);
+    }
+
+    /**
+     * 写入或更新一条资源的指纹，调用方持有写锁
+     */
+    private void put(int id, Integer source, long simhash) {
+        remove(id);
+        index.put(id, simhash);
+        sourceIds.computeIfAbsent(source, key -> new BitSet()).set(id);
+    }
+
+    /**
+     * 移除一条资源的指纹，调用方持有写锁
+     */
+    private void remove(int id) {
+        index.remove(id);
+        for (BitSet ids : sourceIds.values()) {
+            ids.clear(id);
+        }
+    }
+
+    /**
+     * 入库检查结果：需要写入的资源，以及写入成功后需要删除的较旧的已有资源ID
+     */
+    public static final class IngestResult {
+        private final List<Resource> accepted;
+        private final List<Integer> supersededIds;
+
+        public IngestResult(List<Resource> accepted, List<Integer> supersededIds) {
+            this.accepted = accepted;
+            this.supersededIds = supersededIds;
+        }
+
+        public List<Resource> getAccepted() {
+            return accepted;
+        }
+
+        public List<Integer> getSupersededIds() {
+            return supersededIds;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.example.config.CrawlerConfig;
 import org.example.dto.QQChannelResource;
 import org.example.entity.Resource;
 import org.example.enums.ResourceType;
+import org.example.event.ResourceChangePublisher;
 import org.example.mapper.ResourceMapper;
 import org.example.util.StringCleanupUtil;
 import org.slf4j.Logger;
@@ -18,6 +19,7 @@ import javax.net.ssl.*;
 import java.io.IOException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +52,12 @@ public class QQChannelCrawlerService {
     @Autowired
     private CrawlerConfig crawlerConfig;
 
+    @Autowired
+    private ResourceChangePublisher resourceChangePublisher;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
 
@@ -180,15 +188,10 @@ public class QQChannelCrawlerService {
                             break;
                         }
 
-                        // 检查URL是否已存在
-                        if (resourceMapper.existsByUrl(resource.getLink())) {
-                            logger.info("发现重复资源: {}, 跳过", resource.getLink());
-                            continue;
+                        // 保存到数据库（与已有资源近似重复时跳过；同一链接由写入语句按规范化URL合并）
+                        if (saveResourceToDatabase(resource, resourceType, resourceTime)) {
+                            logger.info("保存资源: {} (时间戳: {})", resource.getTitle(), resourceTime);
                         }
-
-                        // 保存到数据库
-                        saveResourceToDatabase(resource, resourceType, resourceTime);
-                        logger.info("保存资源: {} (时间戳: {})", resource.getTitle(), resourceTime);
                     }
                 }
 
@@ -268,8 +271,9 @@ public class QQChannelCrawlerService {
 
     /**
      * 从文本中提取资源信息（使用正则表达式）
+     * 包级可见，供 benchmarks 中的基准测试直接调用
      */
-    private QQChannelResource extractInfoFromText(String text, String url) {
+    QQChannelResource extractInfoFromText(String text, String url) {
         try {
             String name = "";
             String description = "";
@@ -316,8 +320,9 @@ public class QQChannelCrawlerService {
 
     /**
      * 保存资源到数据库
+     * @return 是否已保存（与已有资源近似重复而跳过、或保存失败时返回false）
      */
-    private void saveResourceToDatabase(QQChannelResource qqResource, ResourceType resourceType, Integer resourceTime) {
+    private boolean saveResourceToDatabase(QQChannelResource qqResource, ResourceType resourceType, Integer resourceTime) {
         try {
             // 清理字段中的反斜杠字符
             String[] cleanedFields = StringCleanupUtil.cleanResourceFields(
@@ -346,14 +351,29 @@ public class QQChannelCrawlerService {
             resource.setType(resourceType.getCode()); // 根据频道类型设置
             resource.setResourceTime(resourceTime); // 设置资源时间戳
 
+            // 按 SimHash 指纹检查是否与已有资源近似重复，只保留resource_time较新的一条
+            NearDuplicateService.IngestResult ingestResult = nearDuplicateService.checkBeforeInsert(resource);
+            if (ingestResult.getAccepted().isEmpty()) {
+                return false;
+            }
+
+            // 规范化URL与已有资源相同时合并为一条，保留resource_time较新的内容
             int result = resourceMapper.insert(resource);
             if (result > 0) {
                 logger.info("成功保存资源到数据库: {} (类型: {}, 时间戳: {})", resource.getName(), resourceType.getDescription(), resourceTime);
+                Resource saved = resourceMapper.selectById(resource.getId());
+                if (saved != null) {
+                    resourceChangePublisher.publishUpserted(saved);
+                }
+                nearDuplicateService.deleteSuperseded(ingestResult.getSupersededIds(),
+                                                      Collections.singleton(resource.getId()));
+                return true;
             } else {
                 logger.error("保存资源到数据库失败: {}", resource.getName());
             }
         } catch (Exception e) {
             logger.error("保存资源到数据库时发生错误: ", e);
         }
+        return false;
     }
 }
@@ -1,7 +1,10 @@
 package org.example.service;
 
+import org.example.config.DeduplicationConfig;
 import org.example.entity.Resource;
+import org.example.event.ResourceChangePublisher;
 import org.example.mapper.ResourceMapper;
+import org.example.util.MinHashLsh;
 import org.example.util.TextSimilarityUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,12 +28,30 @@ public class ResourceDeduplicationService {
     @Autowired
     private ResourceMapper resourceMapper;
 
+    @Autowired
+    private ResourceChangePublisher resourceChangePublisher;
+
+    @Autowired
+    private DeduplicationConfig deduplicationConfig;
+
+    private MinHashLsh nameLsh;
+
+    private MinHashLsh contentLsh;
+
+    @PostConstruct
+    public void init() {
+        nameLsh = new MinHashLsh(deduplicationConfig.getNameBands(), deduplicationConfig.getNameRows(), 0x5EED0001L);
+        contentLsh = new MinHashLsh(deduplicationConfig.getContentBands(), deduplicationConfig.getContentRows(),
+                                    0x5EED0002L);
+    }
+
     /**
-     * 执行资源去重操作
+     * 执行资源去重操作（检查全表，定时任务使用 IncrementalDeduplicationService 只检查新资源）
      * 删除URL相同、name相同、或相似度超过阈值的重复资源，保留resourceTime最新的一条
+     * @return 各类重复资源的删除数量
      */
     @Transactional
-    public void deduplicateResources() {
+    public DeduplicationStats deduplicateResources() {
         logger.info("开始执行资源去重操作...");
 
         try {
@@ -40,10 +62,11 @@ public class ResourceDeduplicationService {
             int nameDuplicatesRemoved = deduplicateByName();
 
             // 去重相似度超过阈值的资源
-            //int similarityDuplicatesRemoved = deduplicateBySimilarity();
+            int similarityDuplicatesRemoved = deduplicationConfig.isSimilarityEnabled() ? deduplicateBySimilarity() : 0;
 
             logger.info("资源去重操作完成，删除URL重复: {} 条，删除名称重复: {} 条，删除相似度重复: {} 条",
-                       urlDuplicatesRemoved, nameDuplicatesRemoved, 0);
+                       urlDuplicatesRemoved, nameDuplicatesRemoved, similarityDuplicatesRemoved);
+            return new DeduplicationStats(urlDuplicatesRemoved, nameDuplicatesRemoved, similarityDuplicatesRemoved);
 
         } catch (Exception e) {
             logger.error("资源去重操作失败: {}", e.getMessage(), e);
@@ -68,6 +91,7 @@ public class ResourceDeduplicationService {
         
         // 批量删除重复资源
         int deletedCount = resourceMapper.deleteByIds(duplicateIds);
+        resourceChangePublisher.publishDeleted(duplicateIds);
         
         logger.info("成功删除 {} 条URL重复的资源", deletedCount);
         return deletedCount;
@@ -90,6 +114,7 @@ public class ResourceDeduplicationService {
         
         // 批量删除重复资源
         int deletedCount = resourceMapper.deleteByIds(duplicateIds);
+        resourceChangePublisher.publishDeleted(duplicateIds);
         
         logger.info("成功删除 {} 条名称重复的资源", deletedCount);
         return deletedCount;
@@ -107,46 +132,18 @@ public class ResourceDeduplicationService {
     }
 
     /**
-     * 估算相似度重复资源数量（采样检测，避免全量计算）
+     * 估算相似度重复资源数量（只检测最近的1000条资源，避免每次统计都读取全部资源）
      */
     private int estimateSimilarityDuplicates() {
         try {
-            // 获取最近的1000条资源进行采样检测
-            List<Resource> sampleResources = resourceMapper.selectAllForSimilarityCheck();
-            if (sampleResources.size() > 1000) {
-                sampleResources = sampleResources.subList(0, 1000);
-            }
+            List<Resource> sampleResources = resourceMapper.selectRecentForSimilarityCheck(
+                    1000, deduplicationConfig.getSimilarityContentLength());
 
             if (sampleResources.size() < 2) {
                 return 0;
             }
 
-            Set<Integer> duplicateIds = new HashSet<>();
-
-            // 只检测前100个资源与其他资源的相似度
-            int checkLimit = Math.min(100, sampleResources.size());
-            for (int i = 0; i < checkLimit; i++) {
-                Resource resource1 = sampleResources.get(i);
-
-                if (duplicateIds.contains(resource1.getId())) {
-                    continue;
-                }
-
-                for (int j = i + 1; j < sampleResources.size(); j++) {
-                    Resource resource2 = sampleResources.get(j);
-
-                    if (duplicateIds.contains(resource2.getId())) {
-                        continue;
-                    }
-
-                    if (isSimilarResource(resource1, resource2)) {
-                        Resource toDelete = selectResourceToDelete(resource1, resource2);
-                        duplicateIds.add(toDelete.getId());
-                    }
-                }
-            }
-
-            return duplicateIds.size();
+            return findSimilarDuplicateIds(sampleResources).size();
 
         } catch (Exception e) {
             logger.warn("估算相似度重复资源数量失败: {}", e.getMessage());
@@ -160,95 +157,153 @@ public class ResourceDeduplicationService {
     private int deduplicateBySimilarity() {
         logger.info("开始去重相似度超过阈值的资源...");
 
-        // 获取所有资源进行相似度检测
-        List<Resource> allResources = resourceMapper.selectAllForSimilarityCheck();
+        // 按ID分批读取所有资源进行相似度检测（只读取名称、资源时间和内容前缀）
+        List<Resource> allResources = loadSimilarityCandidates();
 
         if (allResources.size() < 2) {
             logger.info("资源数量不足，跳过相似度去重");
             return 0;
         }
 
-        Set<Integer> duplicateIds = new HashSet<>();
-        int totalComparisons = 0;
+        long startTime = System.currentTimeMillis();
+        List<Integer> duplicateIds = findSimilarDuplicateIds(allResources);
+        logger.info("相似度检测完成，耗时 {} ms，发现重复资源: {} 条",
+                   System.currentTimeMillis() - startTime, duplicateIds.size());
 
-        // 使用双重循环进行相似度比较
-        for (int i = 0; i < allResources.size(); i++) {
-            Resource resource1 = allResources.get(i);
+        if (duplicateIds.isEmpty()) {
+            logger.info("未发现相似度重复的资源");
+            return 0;
+        }
 
-            // 如果当前资源已被标记为重复，跳过
-            if (duplicateIds.contains(resource1.getId())) {
-                continue;
+        // 批量删除重复资源
+        int deletedCount = resourceMapper.deleteByIds(duplicateIds);
+        resourceChangePublisher.publishDeleted(duplicateIds);
+
+        logger.info("成功删除 {} 条相似度重复的资源", deletedCount);
+        return deletedCount;
+    }
+
+    /**
+     * 按ID分批读取相似度检测所需的列，再按resource_time降序、ID降序排列（候选对的处理顺序）
+     */
+    private List<Resource> loadSimilarityCandidates() {
+        int batchSize = Math.max(1, deduplicationConfig.getSimilarityBatchSize());
+        int contentLength = Math.max(0, deduplicationConfig.getSimilarityContentLength());
+        List<Resource> resources = new ArrayList<>();
+        int afterId = 0;
+        List<Resource> batch;
+        do {
+            batch = resourceMapper.selectSimilarityCandidatesAfterId(afterId, batchSize, contentLength);
+            resources.addAll(batch);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
             }
+        } while (batch.size() == batchSize);
 
-            for (int j = i + 1; j < allResources.size(); j++) {
-                Resource resource2 = allResources.get(j);
-                totalComparisons++;
-
-                // 如果resource2已被标记为重复，跳过
-                if (duplicateIds.contains(resource2.getId())) {
-                    continue;
-                }
-
-                // 检查相似度
-                if (isSimilarResource(resource1, resource2)) {
-                    // 保留resourceTime更新的资源，删除较旧的
-                    Resource toDelete = selectResourceToDelete(resource1, resource2);
-                    duplicateIds.add(toDelete.getId());
-
-                    logger.debug("发现相似资源: [{}] {} 与 [{}] {}",
-                               resource1.getId(), resource1.getName(),
-                               resource2.getId(), resource2.getName());
-                }
+        // 与 ORDER BY resource_time DESC, id DESC 相同，resource_time 为空的排在最后
+        resources.sort(Comparator.comparing(Resource::getResourceTime,
+                                            Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                .thenComparing(Resource::getId).reversed());
+        return resources;
+    }
+
+    /**
+     * 找出相似度重复的资源ID
+     * 名称和内容分别用 MinHash + LSH 生成候选对，只对候选对计算综合相似度，不再两两比较。
+     * 候选对按资源在列表中的先后顺序处理（与原来的两两比较顺序相同）：已标记为重复的资源不再参与比较，
+     * 每对相似的资源标记较旧的一条
+     */
+    List<Integer> findSimilarDuplicateIds(List<Resource> resources) {
+        List<String> names = new ArrayList<>(resources.size());
+        List<String> contents = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            names.add(resource.getName());
+            contents.add(hasComparableContent(resource) ? resource.getContent() : null);
+        }
+
+        int maxBucketSize = deduplicationConfig.getMaxBucketSize();
+        long[] namePairs = nameLsh.candidatePairs(names, maxBucketSize);
+        long[] contentPairs = contentLsh.candidatePairs(contents, maxBucketSize);
+        long[] candidates = mergeSortedPairs(namePairs, contentPairs);
+
+        boolean[] duplicate = new boolean[resources.size()];
+        List<Integer> duplicateIds = new ArrayList<>();
+        for (long pair : candidates) {
+            int i = (int) (pair >>> 32);
+            int j = (int) pair;
+            if (duplicate[i] || duplicate[j]) {
+                continue;
             }
 
-            // 每处理1000个资源输出一次进度
-            if ((i + 1) % 1000 == 0) {
-                logger.info("相似度检测进度: {}/{}, 已发现重复: {} 条",
-                           i + 1, allResources.size(), duplicateIds.size());
+            Resource resource1 = resources.get(i);
+            Resource resource2 = resources.get(j);
+            if (isSimilarResource(resource1, resource2)) {
+                // 保留resourceTime更新的资源，删除较旧的
+                Resource toDelete = selectResourceToDelete(resource1, resource2);
+                duplicate[toDelete == resource1 ? i : j] = true;
+                duplicateIds.add(toDelete.getId());
+
+                logger.debug("发现相似资源: [{}] {} 与 [{}] {}",
+                           resource1.getId(), resource1.getName(),
+                           resource2.getId(), resource2.getName());
             }
         }
 
-        logger.info("相似度检测完成，总比较次数: {}, 发现重复资源: {} 条", totalComparisons, duplicateIds.size());
+        logger.info("相似度检测: {} 条资源，候选对 {} 个（名称 {} 个，内容 {} 个），发现重复 {} 条",
+                   resources.size(), candidates.length, namePairs.length, contentPairs.length, duplicateIds.size());
+        return duplicateIds;
+    }
 
-        if (duplicateIds.isEmpty()) {
-            logger.info("未发现相似度重复的资源");
-            return 0;
+    /**
+     * 合并两个升序且不重复的候选对数组
+     */
+    private static long[] mergeSortedPairs(long[] first, long[] second) {
+        long[] merged = new long[first.length + second.length];
+        int i = 0, j = 0, size = 0;
+        while (i < first.length || j < second.length) {
+            long next;
+            if (j >= second.length || (i < first.length && first[i] <= second[j])) {
+                next = first[i++];
+            } else {
+                next = second[j++];
+            }
+            if (size == 0 || merged[size - 1] != next) {
+                merged[size++] = next;
+            }
         }
+        return Arrays.copyOf(merged, size);
+    }
 
-        // 批量删除重复资源
-        List<Integer> duplicateIdList = new ArrayList<>(duplicateIds);
-        int deletedCount = resourceMapper.deleteByIds(duplicateIdList);
-
-        logger.info("成功删除 {} 条相似度重复的资源", deletedCount);
-        return deletedCount;
+    /**
+     * 内容足够长时才比较内容相似度
+     */
+    private boolean hasComparableContent(Resource resource) {
+        String content = resource.getContent();
+        return content != null && content.trim().length() > deduplicationConfig.getMinContentLength();
     }
 
     /**
      * 判断两个资源是否相似
-     * name相似度 > 90% 或 content相似度 > 50%
+     * name相似度 > 90% 或 content相似度 > 50%（阈值可配置）
      */
-    private boolean isSimilarResource(Resource resource1, Resource resource2) {
+    boolean isSimilarResource(Resource resource1, Resource resource2) {
+        // 阈值为严格大于：相似度 > t 等价于相似度 >= Math.nextUp(t)
         // 检查name相似度
         String name1 = resource1.getName();
         String name2 = resource2.getName();
 
         if (name1 != null && name2 != null) {
-            double nameSimilarity = TextSimilarityUtil.calculateComprehensiveSimilarity(name1, name2);
-            if (nameSimilarity > 0.9) {
-                logger.debug("名称相似度: {:.3f} ({})", nameSimilarity, "超过90%阈值");
+            if (TextSimilarityUtil.isSimilarAtLeast(name1, name2, Math.nextUp(deduplicationConfig.getNameThreshold()))) {
+                logger.debug("名称相似度超过阈值: {} / {}", name1, name2);
                 return true;
             }
         }
 
         // 检查content相似度
-        String content1 = resource1.getContent();
-        String content2 = resource2.getContent();
-
-        if (content1 != null && content2 != null &&
-            content1.trim().length() > 10 && content2.trim().length() > 10) {
-            double contentSimilarity = TextSimilarityUtil.calculateComprehensiveSimilarity(content1, content2);
-            if (contentSimilarity > 0.5) {
-                logger.debug("内容相似度: {:.3f} ({})", contentSimilarity, "超过50%阈值");
+        if (hasComparableContent(resource1) && hasComparableContent(resource2)) {
+            if (TextSimilarityUtil.isSimilarAtLeast(resource1.getContent(), resource2.getContent(),
+                    Math.nextUp(deduplicationConfig.getContentThreshold()))) {
+                logger.debug("内容相似度超过阈值: {} / {}", name1, name2);
                 return true;
             }
         }
@@ -259,7 +314,7 @@ public class ResourceDeduplicationService {
     /**
      * 选择要删除的资源（保留resourceTime更新的）
      */
-    private Resource selectResourceToDelete(Resource resource1, Resource resource2) {
+    Resource selectResourceToDelete(Resource resource1, Resource resource2) {
         Integer time1 = resource1.getResourceTime();
         Integer time2 = resource2.getResourceTime();
 
@@ -1,22 +1,54 @@
 package org.example.service;
 
-import com.github.pagehelper.PageHelper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.pagehelper.Page;
 import com.github.pagehelper.PageInfo;
+import org.apache.ibatis.cursor.Cursor;
+import org.example.config.SearchHighlightConfig;
+import org.example.config.SearchPaginationConfig;
 import org.example.dto.ResourceRequest;
 import org.example.dto.ResourceResponse;
+import org.example.dto.SearchCursor;
+import org.example.dto.SearchDebugInfo;
+import org.example.dto.SearchFacets;
 import org.example.dto.SearchRequest;
 import org.example.dto.SearchResponse;
+import org.example.dto.SlowSearchEntry;
 import org.example.entity.Resource;
+import org.example.event.ResourceChangePublisher;
 import org.example.mapper.ResourceMapper;
+import org.example.search.MatchTerm;
+import org.example.search.RankedIds;
+import org.example.search.SearchBackend;
+import org.example.search.SearchBackendRouter;
+import org.example.search.SearchHighlighter;
+import org.example.search.SearchHits;
+import org.example.search.SearchMetrics;
+import org.example.search.SearchPhaseTimings;
+import org.example.search.SearchQuery;
+import org.example.search.SearchShadowRunner;
+import org.example.search.SearchSqlRecorder;
+import org.example.search.SearchTermPruner;
 import org.example.util.StringCleanupUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,20 +62,56 @@ public class ResourceService {
     @Autowired
     private LuceneSearchService luceneSearchService;
 
+    @Autowired
+    private ResourceChangePublisher resourceChangePublisher;
+
+    @Autowired
+    private SearchCacheService searchCacheService;
+
+    @Autowired
+    private SearchBackendRouter searchBackendRouter;
+
+    @Autowired
+    private SearchShadowRunner searchShadowRunner;
+
+    @Autowired
+    private SearchTermPruner searchTermPruner;
+
+    @Autowired
+    private SearchHighlighter searchHighlighter;
+
+    @Autowired
+    private SearchHighlightConfig searchHighlightConfig;
+
+    @Autowired
+    private SearchPaginationConfig searchPaginationConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SearchFacetService searchFacetService;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    @Autowired
+    private SearchSqlRecorder searchSqlRecorder;
+
+    @Autowired
+    private SlowSearchLog slowSearchLog;
+
     /**
      * 内部类：搜索结果和实际搜索词的包装
      */
     private static class SearchResultWithTerms {
-        private List<Resource> results;
         private PageInfo<ResourceResponse> pageInfo;
         private List<String> actualSearchTerms;
+        private List<String> prunedSearchTerms;
+        private SearchFacets facets;
+        private Map<String, Double> termTimings;
         private String searchStrategy;
-
-        public SearchResultWithTerms(List<Resource> results, List<String> actualSearchTerms, String searchStrategy) {
-            this.results = results;
-            this.actualSearchTerms = actualSearchTerms;
-            this.searchStrategy = searchStrategy;
-        }
+        private String nextCursor;
 
         public SearchResultWithTerms(PageInfo<ResourceResponse> pageInfo, List<String> actualSearchTerms, String searchStrategy) {
             this.pageInfo = pageInfo;
@@ -51,10 +119,17 @@ public class ResourceService {
             this.searchStrategy = searchStrategy;
         }
 
-        public List<Resource> getResults() { return results; }
         public PageInfo<ResourceResponse> getPageInfo() { return pageInfo; }
         public List<String> getActualSearchTerms() { return actualSearchTerms; }
         public String getSearchStrategy() { return searchStrategy; }
+        public List<String> getPrunedSearchTerms() { return prunedSearchTerms; }
+        public void setPrunedSearchTerms(List<String> prunedSearchTerms) { this.prunedSearchTerms = prunedSearchTerms; }
+        public SearchFacets getFacets() { return facets; }
+        public void setFacets(SearchFacets facets) { this.facets = facets; }
+        public Map<String, Double> getTermTimings() { return termTimings; }
+        public void setTermTimings(Map<String, Double> termTimings) { this.termTimings = termTimings; }
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
     }
 
     /**
@@ -88,10 +163,13 @@ public class ResourceService {
         );
         resource.setResourceTime(request.getResourceTime());
 
+        // 规范化URL与已有资源相同时合并为一条，返回实际保存的资源
         int result = resourceMapper.insert(resource);
-        if (result > 0) {
-            logger.info("资源创建成功，ID: {}", resource.getId());
-            return convertToResponse(resource);
+        Resource saved = result > 0 ? resourceMapper.selectById(resource.getId()) : null;
+        if (saved != null) {
+            logger.info("资源创建成功，ID: {}", saved.getId());
+            resourceChangePublisher.publishUpserted(saved);
+            return convertToResponse(saved);
         } else {
             throw new RuntimeException("创建资源失败");
         }
@@ -109,6 +187,7 @@ public class ResourceService {
 
     /**
      * 更新资源
+     * 修改后的规范化URL与另一条资源相同时不更新，抛出 IllegalArgumentException
      */
     public Optional<ResourceResponse> updateResource(Integer id, ResourceRequest request) {
         logger.info("更新资源，ID: {}", id);
@@ -124,9 +203,18 @@ public class ResourceService {
             existingResource.setSource(request.getSource());
             existingResource.setResourceTime(request.getResourceTime());
 
-            int result = resourceMapper.updateById(existingResource);
+            int result;
+            try {
+                result = resourceMapper.updateById(existingResource);
+            } catch (DuplicateKeyException e) {
+                // 修改后的规范化URL与另一条资源相同，不自动合并，由调用方修改URL或删除其中一条
+                Resource conflicting = resourceMapper.selectByCanonicalUrlHash(existingResource.getCanonicalUrlHash());
+                throw new IllegalArgumentException("资源URL与已有资源重复"
+                        + (conflicting != null ? "，已有资源ID: " + conflicting.getId() : ""), e);
+            }
             if (result > 0) {
                 logger.info("资源更新成功，ID: {}", existingResource.getId());
+                resourceChangePublisher.publishUpserted(existingResource);
                 return Optional.of(convertToResponse(existingResource));
             }
         }
@@ -145,6 +233,7 @@ public class ResourceService {
             int result = resourceMapper.deleteById(id);
             if (result > 0) {
                 logger.info("资源删除成功，ID: {}", id);
+                resourceChangePublisher.publishDeleted(id);
                 return true;
             }
         }
@@ -158,37 +247,105 @@ public class ResourceService {
 
 
     /**
-     * 统一搜索功能：支持IK分词器+数据库查询、多字段搜索、模糊匹配、分词搜索和类型过滤（分页）
-     * 使用IK分词器进行分词，然后直接到数据库查询
+     * 统一搜索功能：支持IK分词器+索引查询、多字段搜索、模糊匹配、分词搜索和类型过滤（分页）
+     * 使用IK分词器进行分词，然后到本地Lucene索引查询（索引不可用时直接到数据库查询）
      * 支持按名称和内容搜索（分词搜索仅搜索名称字段）
      * 支持按层级和内容类型过滤（数据库层面实现）
      * 支持搜索模式：multi（名称+内容）或 name（仅名称）
      * 返回包含实际搜索词信息的SearchResponse
+     * 相同条件的搜索结果会被缓存，资源写入后自动失效
      */
     public SearchResponse searchResourcesWithSearchInfo(SearchRequest searchRequest) {
-        logger.info("执行分页统一搜索（IK分词+数据库），搜索词: {}, 页码: {}, 大小: {}, 层级: {}, 类型: {}, 搜索模式: {}",
+        logger.debug("执行分页统一搜索，搜索词: {}, 页码: {}, 大小: {}, 层级: {}, 类型: {}, 搜索模式: {}, 搜索后端: {}",
                    searchRequest.getSearchTerm(), searchRequest.getPage(), searchRequest.getSize(),
-                   searchRequest.getLevel(), searchRequest.getType(), searchRequest.getSearchMode());
+                   searchRequest.getLevel(), searchRequest.getType(), searchRequest.getSearchMode(),
+                   searchRequest.getBackend());
 
-        String searchTerm = searchRequest.getSearchTerm() != null ? searchRequest.getSearchTerm().trim() : "";
+        // 去除首尾空白并合并连续空白，使仅空白不同的搜索共享缓存
+        String searchTerm = searchRequest.getSearchTerm() != null
+                ? searchRequest.getSearchTerm().trim().replaceAll("\\s+", " ") : "";
         String searchMode = searchRequest.getSearchMode() != null ? searchRequest.getSearchMode() : "multi";
+        String cursor = searchRequest.getCursor() != null && !searchRequest.getCursor().trim().isEmpty()
+                ? searchRequest.getCursor().trim() : null;
+        // 携带游标的请求总是使用游标分页
+        String paginationMode = cursor != null ? "cursor" : parsePaginationMode(searchRequest.getPaginationMode());
         Integer level = parseLevel(searchRequest.getLevel());
         String type = searchRequest.getType();
-
-        // 执行搜索并收集实际使用的搜索词
-        SearchResultWithTerms searchResult = performAdvancedSearchWithTerms(searchTerm, level, type, searchMode,
-                                                                           searchRequest.getPage(), searchRequest.getSize());
-
-        // 构建SearchResponse
-        return new SearchResponse(
-            searchResult.getPageInfo(),
-            searchTerm, // 原始搜索词
-            searchResult.getActualSearchTerms(), // 实际使用的搜索词
-            searchResult.getSearchStrategy(), // 搜索策略
-            searchMode, // 搜索模式
-            level, // 层级过滤
-            type // 类型过滤
-        );
+        String backend = searchBackendRouter.resolveName(searchRequest.getBackend());
+        int size = Math.min(searchRequest.getSize(), searchPaginationConfig.getMaxPageSize());
+
+        // 分面统计随排序结果一起计算和缓存，游标分页不返回分面统计
+        boolean facets = searchRequest.isFacets() && !"cursor".equals(paginationMode);
+        SearchCacheService.QueryKey queryKey = searchCacheService.newQueryKey(searchTerm, level, type, searchMode,
+                                                                              backend, facets);
+
+        long startTime = System.nanoTime();
+        SearchPhaseTimings timings = new SearchPhaseTimings();
+        Supplier<SearchResponse> loader = () -> {
+            // 执行搜索并收集实际使用的搜索词
+            SearchResultWithTerms searchResult = "cursor".equals(paginationMode)
+                    ? performCursorSearch(searchTerm, level, type, searchMode, backend, cursor, size, timings)
+                    : performAdvancedSearchWithTerms(queryKey, searchTerm, level, type, searchMode, backend,
+                                                     paginationMode, searchRequest.getPage(), size, timings);
+
+            // 构建SearchResponse
+            SearchResponse searchResponse = new SearchResponse(
+                searchResult.getPageInfo(),
+                searchTerm, // 原始搜索词
+                searchResult.getActualSearchTerms(), // 实际使用的搜索词
+                searchResult.getSearchStrategy(), // 搜索策略（实际执行搜索的后端）
+                searchMode, // 搜索模式
+                level, // 层级过滤
+                type // 类型过滤
+            );
+            searchResponse.setPrunedSearchTerms(searchResult.getPrunedSearchTerms());
+            searchResponse.setFacets(searchResult.getFacets());
+            searchResponse.setTermTimings(searchResult.getTermTimings());
+            searchResponse.setPaginationMode(paginationMode);
+            searchResponse.setNextCursor(searchResult.getNextCursor());
+            return searchResponse;
+        };
+
+        // 优先从搜索结果缓存获取，未命中时执行搜索；调试请求总是重新执行，以得到各阶段的实际耗时
+        SearchResponse searchResponse;
+        List<SlowSearchEntry.SqlStatement> statements;
+        AtomicBoolean loaded = new AtomicBoolean(searchRequest.isDebug());
+        searchSqlRecorder.begin();
+        try {
+            searchResponse = searchRequest.isDebug()
+                    ? loader.get()
+                    : searchCacheService.getSearchResponse(queryKey, paginationMode, cursor,
+                                                           searchRequest.getPage(), size, loader, loaded);
+        } finally {
+            statements = searchSqlRecorder.end();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        // 以本次请求是否实际执行了搜索判断是否命中缓存
+        boolean cached = !loaded.get();
+
+        List<String> actualSearchTerms = searchResponse.getActualSearchTerms();
+        searchMetrics.record(timings, searchMode, actualSearchTerms != null ? actualSearchTerms.size() : 0,
+                             searchResponse.getSearchStrategy(), cached, elapsed);
+        double elapsedMs = Math.round(elapsed / 1000.0) / 1000.0;
+        long slowThreshold = slowSearchLog.getThresholdNanos();
+        if (slowThreshold >= 0 && elapsed >= slowThreshold) {
+            SlowSearchEntry entry = new SlowSearchEntry();
+            entry.setTimestamp(System.currentTimeMillis());
+            entry.setRequest(searchRequest);
+            entry.setActualSearchTerms(actualSearchTerms);
+            entry.setBackend(searchResponse.getSearchStrategy());
+            entry.setCached(cached);
+            entry.setPhases(timings.toMillis());
+            entry.setTotalMs(elapsedMs);
+            entry.setTotal(searchResponse.getPageInfo().getTotal());
+            entry.setRows(searchResponse.getPageInfo().getList().size());
+            entry.setSql(statements);
+            slowSearchLog.record(entry);
+        }
+        if (searchRequest.isDebug()) {
+            searchResponse.setDebug(new SearchDebugInfo(timings.toMillis(), elapsedMs));
+        }
+        return searchResponse;
     }
 
     /**
@@ -200,69 +357,300 @@ public class ResourceService {
     }
 
     /**
-     * 执行高级搜索的核心逻辑（使用IK分词器+数据库查询）
-     * 支持层级和类型过滤，支持搜索模式选择，支持分页
-     * 返回搜索结果和实际使用的搜索词
+     * 导出搜索结果（NDJSON，每行一个资源，包含URL和完整内容）
+     * 匹配条件与搜索相同（IK分词并裁剪后的搜索词，层级/类型过滤），但不做相关性排序，按ID降序输出全部匹配结果；
+     * 通过MyBatis Cursor逐行读取并直接写入输出流，内存占用与结果数量无关
+     * @param limit 最多导出的资源数量，为null时导出全部
+     * @return 导出的资源数量
      */
-    private SearchResultWithTerms performAdvancedSearchWithTerms(String searchTerm, Integer level, String type,
-                                                               String searchMode, int page, int size) {
-        // 使用PageHelper进行分页
-        PageHelper.startPage(page, size);
+    @Transactional(readOnly = true)
+    public long exportSearchResults(String searchTerm, String levelStr, String type, String searchMode, Integer limit,
+                                    OutputStream outputStream) throws IOException {
+        String term = searchTerm != null ? searchTerm.trim().replaceAll("\\s+", " ") : "";
+        String mode = searchMode != null ? searchMode : "multi";
+        Integer level = parseLevel(levelStr);
+        List<String> searchTerms = searchTermPruner.prune(resolveSearchTerms(term), mode).getSearchTerms();
+
+        long startTime = System.currentTimeMillis();
+        long count = 0;
+        // 逐行写入时不强制刷新，由输出流缓冲区决定何时发送
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        // 不关闭servlet输出流，每个资源之间以换行分隔
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        try (Cursor<Resource> cursor = resourceMapper.selectCursorByCombinedTermsSearch(
+                MatchTerm.of(searchTerms), level, type, mode)) {
+            for (Resource resource : cursor) {
+                if (limit != null && count >= limit) {
+                    break;
+                }
+                writer.writeValue(generator, convertToResponse(resource));
+                count++;
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        } finally {
+            generator.close();
+        }
 
-        // 执行IK分词+数据库搜索
-        SearchResultWithTerms searchResult = performTokenizedDatabaseSearch(searchTerm, level, type, searchMode);
+        logger.info("导出搜索结果完成，搜索词: {}, 层级: {}, 类型: {}, 导出 {} 条, 耗时 {} ms",
+                   searchTerms, level, type, count, System.currentTimeMillis() - startTime);
+        return count;
+    }
 
-        // 转换为分页信息
-        PageInfo<ResourceResponse> pageInfo = convertToPageInfo(searchResult.getResults());
+    /**
+     * 执行高级搜索的核心逻辑（IK分词后交给选定的搜索后端，后端不可用时回退到数据库查询）
+     * 同一查询首次请求时计算完整的排序ID列表（最多缓存上限条）并缓存，
+     * 后续翻页直接截取ID后回表加载当前页，不再重复执行搜索
+     * 匹配总数按分页模式获取：exact每次统计，cached按目录版本号缓存，none不统计
+     * 返回搜索结果和实际使用的搜索词
+     */
+    private SearchResultWithTerms performAdvancedSearchWithTerms(SearchCacheService.QueryKey queryKey,
+                                                               String searchTerm, Integer level, String type,
+                                                               String searchMode, String backend,
+                                                               String paginationMode, int page, int size,
+                                                               SearchPhaseTimings timings) {
+        RankedIds rankedIds = searchCacheService.getRankedIds(queryKey,
+                () -> computeRankedIds(searchTerm, level, type, searchMode, backend, queryKey.isFacets(), timings));
+        SearchQuery query = new SearchQuery(rankedIds.getSearchTerms(), level, type, searchMode);
+
+        int pageNum = Math.max(page, 1);
+        List<Integer> pageIds;
+        boolean hasNextPage = false;
+        long total;
+
+        if ("none".equals(paginationMode)) {
+            // 不统计总数：多取一条判断是否存在下一页
+            int offset = checkedOffset(pageNum, size);
+            pageIds = rankedIds.covers(offset, size + 1)
+                    ? rankedIds.slice(offset, size + 1)
+                    : timings.time(SearchPhaseTimings.QUERY,
+                                   () -> fetchRankedIdsBeyondLimit(rankedIds, query, offset, size + 1));
+            hasNextPage = pageIds.size() > size;
+            if (hasNextPage) {
+                pageIds = pageIds.subList(0, size);
+            }
+            total = -1;
+        } else {
+            total = timings.time(SearchPhaseTimings.COUNT,
+                                 () -> resolveTotal(queryKey, rankedIds, query, paginationMode));
+
+            // 与PageHelper的reasonable配置保持一致：页码从1开始，超出范围时返回最后一页
+            if (total > 0 && (long) (pageNum - 1) * size >= total) {
+                pageNum = (int) ((total + size - 1) / size);
+            }
+            int offset = checkedOffset(pageNum, size);
+            pageIds = rankedIds.covers(offset, size)
+                    ? rankedIds.slice(offset, size)
+                    : timings.time(SearchPhaseTimings.QUERY,
+                                   () -> fetchRankedIdsBeyondLimit(rankedIds, query, offset, size));
+        }
 
-        return new SearchResultWithTerms(pageInfo, searchResult.getActualSearchTerms(), searchResult.getSearchStrategy());
+        List<Resource> resources = loadSearchProjection(pageIds, timings);
+
+        Page<Resource> resultPage = new Page<>(pageNum, size);
+        resultPage.setTotal(total);
+        resultPage.addAll(resources);
+
+        boolean nextPage = hasNextPage;
+        SearchResultWithTerms result = new SearchResultWithTerms(
+                timings.time(SearchPhaseTimings.CONVERT,
+                             () -> convertToPageInfo(resultPage, rankedIds.getSearchTerms(), paginationMode, nextPage)),
+                rankedIds.getSearchTerms(), rankedIds.getSearchStrategy());
+        result.setPrunedSearchTerms(rankedIds.getPrunedTerms());
+        result.setFacets(rankedIds.getFacets());
+        result.setTermTimings(rankedIds.getTermTimings());
+        return result;
     }
 
     /**
-     * 使用IK分词器+数据库查询进行搜索
+     * 页码对应的偏移量（按long计算，不会溢出），超过允许的最大偏移量时请求无效
      */
-    private SearchResultWithTerms performTokenizedDatabaseSearch(String searchTerm, Integer level, String type, String searchMode) {
-        List<String> allSearchTerms = new ArrayList<>();
+    private int checkedOffset(int pageNum, int size) {
+        long offset = (long) (pageNum - 1) * size;
+        long maxOffset = Math.min(searchPaginationConfig.getMaxOffset(), Integer.MAX_VALUE - (long) size - 1);
+        if (offset > maxOffset) {
+            throw new IllegalArgumentException("页码超出范围，偏移量 " + offset + " 超过上限 " + maxOffset + "，深度翻页请使用游标分页");
+        }
+        return (int) offset;
+    }
 
-        // 添加原始搜索词
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            allSearchTerms.add(searchTerm.trim());
+    /**
+     * 游标分页搜索：以上一页最后一条结果的排序键（相关性分档, resource_time, id）为起点查询下一页
+     * 不使用 LIMIT offset，深度翻页不需要扫描前面的结果，翻页期间新写入的资源也不会导致结果错位
+     * 游标只能由产生它的搜索后端解析，该后端不可用时旧游标失效
+     */
+    private SearchResultWithTerms performCursorSearch(String searchTerm, Integer level, String type,
+                                                      String searchMode, String backendName, String cursor, int size,
+                                                      SearchPhaseTimings timings) {
+        SearchTermPruner.PrunedTerms terms = timings.time(SearchPhaseTimings.ANALYZE,
+                () -> searchTermPruner.prune(resolveSearchTerms(searchTerm), searchMode));
+        SearchQuery query = new SearchQuery(terms.getSearchTerms(), level, type, searchMode);
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+
+        SearchBackend backend;
+        if (after != null) {
+            backend = searchBackendRouter.get(after.getSource());
+            if (backend == null || !backend.isAvailable()) {
+                throw new IllegalArgumentException("搜索后端不可用，分页游标已失效: " + after.getSource());
+            }
+        } else {
+            backend = searchBackendRouter.select(backendName);
         }
 
-        // 使用IK分词器获取分词结果
+        long queryStartTime = System.nanoTime();
+        SearchHits hits;
         try {
-            List<String> tokens = luceneSearchService.analyzeText(searchTerm);
-            for (String token : tokens) {
-                if (!token.equals(searchTerm) && !allSearchTerms.contains(token)) {
-                    allSearchTerms.add(token);
-                }
+            hits = backend.searchAfter(query, after, size);
+        } catch (RuntimeException e) {
+            // 第一页可以换用数据库搜索，后续页的游标只能由原后端解析
+            if (after != null || backend == searchBackendRouter.getFallback()) {
+                throw e;
             }
-            logger.info("IK分词结果: {}", tokens);
-        } catch (Exception e) {
-            logger.warn("IK分词失败: {}", e.getMessage());
+            logger.warn("{} 搜索失败，回退到数据库查询: {}", backend.getName(), e.getMessage());
+            backend = searchBackendRouter.getFallback();
+            hits = backend.searchAfter(query, null, size);
+        } finally {
+            timings.record(SearchPhaseTimings.QUERY, System.nanoTime() - queryStartTime);
         }
 
-        // 一次性查询所有搜索词的结果
-        List<Resource> results = resourceMapper.selectByCombinedTermsSearch(allSearchTerms, level, type, searchMode);
-
-        logger.info("组合搜索完成，搜索词: {}, 找到 {} 个结果", allSearchTerms, results.size());
-
-        return new SearchResultWithTerms(results, allSearchTerms, "ik_tokenized");
+        List<Resource> resources = loadSearchProjection(hits.getIds(), timings);
+
+        Page<Resource> resultPage = new Page<>(1, size);
+        resultPage.setTotal(-1);
+        resultPage.addAll(resources);
+
+        SearchCursor nextCursor = hits.getNextCursor();
+        SearchResultWithTerms result = new SearchResultWithTerms(
+                timings.time(SearchPhaseTimings.CONVERT,
+                             () -> convertToPageInfo(resultPage, query.getSearchTerms(), "cursor", nextCursor != null)),
+                query.getSearchTerms(), backend.getName());
+        result.setPrunedSearchTerms(terms.getPrunedTerms());
+        result.setTermTimings(hits.getTermTimings());
+        result.setNextCursor(nextCursor != null ? nextCursor.encode() : null);
+        return result;
     }
 
+    /**
+     * 按分页模式获取匹配总数
+     * 排序结果已包含总数（结果未被截断或后端顺带给出总数）时直接使用，否则由搜索后端统计
+     */
+    private long resolveTotal(SearchCacheService.QueryKey queryKey, RankedIds rankedIds, SearchQuery query,
+                              String paginationMode) {
+        if (rankedIds.hasTotal()) {
+            return rankedIds.getTotal();
+        }
 
+        SearchBackend backend = searchBackendRouter.select(rankedIds.getSearchStrategy());
+        if ("cached".equals(paginationMode)) {
+            return searchCacheService.getTotal(queryKey, () -> backend.count(query));
+        }
+        return backend.count(query);
+    }
 
+    /**
+     * 使用选定的搜索后端计算查询的排序ID列表（最多缓存上限条）
+     * 后端不可用或执行失败时回退到数据库搜索；采样的查询会交给影子对比
+     * 请求分面统计时，带搜索词的查询由后端在同一次遍历中收集全部匹配ID
+     */
+    private RankedIds computeRankedIds(String searchTerm, Integer level, String type, String searchMode,
+                                       String backendName, boolean facets, SearchPhaseTimings timings) {
+        SearchTermPruner.PrunedTerms terms = timings.time(SearchPhaseTimings.ANALYZE,
+                () -> searchTermPruner.prune(resolveSearchTerms(searchTerm), searchMode));
+        boolean hasTerms = !terms.getSearchTerms().isEmpty();
+        SearchQuery query = new SearchQuery(terms.getSearchTerms(), level, type, searchMode, facets && hasTerms);
+        int limit = searchCacheService.getRankedIdsLimit();
+
+        SearchBackend backend = searchBackendRouter.select(backendName);
+        long startTime = System.nanoTime();
+        SearchHits hits;
+        try {
+            hits = backend.search(query, 0, limit);
+        } catch (RuntimeException e) {
+            if (backend == searchBackendRouter.getFallback()) {
+                throw e;
+            }
+            logger.warn("{} 搜索失败，回退到数据库查询: {}", backend.getName(), e.getMessage());
+            backend = searchBackendRouter.getFallback();
+            startTime = System.nanoTime();
+            hits = backend.search(query, 0, limit);
+        }
+        long elapsed = System.nanoTime() - startTime;
+        timings.record(SearchPhaseTimings.QUERY, elapsed);
 
+        searchShadowRunner.maybeCompare(query, backend, hits.getIds(), elapsed);
 
+        logger.debug("搜索完成，后端: {}, 搜索词: {}, 找到 {} 个结果, 耗时 {} ms",
+                   backend.getName(), query.getSearchTerms(), hits.getTotal() >= 0 ? hits.getTotal() : hits.getIds().size(),
+                   elapsed / 1000000);
 
+        SearchFacets searchFacets = null;
+        if (facets) {
+            // 仅按层级/类型过滤时直接由分面计数汇总；后端未返回匹配ID（如全文检索后端）时不返回分面统计
+            BitSet matchedIds = hits.getMatchedIds();
+            searchFacets = timings.time(SearchPhaseTimings.FACETS,
+                    () -> hasTerms ? searchFacetService.count(matchedIds) : searchFacetService.count(level, type));
+        }
 
+        return new RankedIds(hits.getIds(), hits.getTotal(), query.getSearchTerms(), terms.getPrunedTerms(),
+                             backend.getName(), searchFacets, hits.getTermTimings());
+    }
 
+    /**
+     * 回表加载当前页的搜索结果投影（内容只读取摘要窗口）
+     */
+    private List<Resource> loadSearchProjection(List<Integer> ids, SearchPhaseTimings timings) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return timings.time(SearchPhaseTimings.HYDRATE,
+                () -> resourceMapper.selectSearchProjectionByIds(ids, searchHighlightConfig.getContentWindow()));
+    }
 
+    /**
+     * 超出缓存上限的深度翻页：直接按偏移量查询当前页的ID
+     */
+    private List<Integer> fetchRankedIdsBeyondLimit(RankedIds rankedIds, SearchQuery query, int offset, int size) {
+        SearchBackend backend = searchBackendRouter.select(rankedIds.getSearchStrategy());
+        try {
+            return backend.search(query, offset, size).getIds();
+        } catch (RuntimeException e) {
+            if (backend == searchBackendRouter.getFallback()) {
+                throw e;
+            }
+            logger.warn("{} 搜索失败，回退到数据库查询: {}", backend.getName(), e.getMessage());
+            return searchBackendRouter.getFallback().search(query, offset, size).getIds();
+        }
+    }
 
+    /**
+     * 获取候选搜索词：原始搜索词 + IK分词结果（之后由SearchTermPruner按文档频率和数量上限裁剪）
+     */
+    private List<String> resolveSearchTerms(String searchTerm) {
+        List<String> allSearchTerms = new ArrayList<>();
 
+        // 添加原始搜索词
+        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+            allSearchTerms.add(searchTerm.trim());
+        }
 
+        // 使用IK分词器获取分词结果
+        try {
+            List<String> tokens = luceneSearchService.analyzeText(searchTerm);
+            for (String token : tokens) {
+                if (!token.equals(searchTerm) && !allSearchTerms.contains(token)) {
+                    allSearchTerms.add(token);
+                }
+            }
+            logger.debug("IK分词结果: {}", tokens);
+        } catch (Exception e) {
+            logger.warn("IK分词失败: {}", e.getMessage());
+        }
 
-
+        return allSearchTerms;
+    }
 
     /**
      * 解析层级字符串为整数
@@ -285,15 +673,33 @@ public class ResourceService {
 
 
 
+    /**
+     * 解析分页模式：exact（默认）、cached、none 或 cursor
+     */
+    private String parsePaginationMode(String paginationMode) {
+        if (paginationMode == null || paginationMode.trim().isEmpty()) {
+            return "exact";
+        }
+        String mode = paginationMode.trim().toLowerCase();
+        if ("exact".equals(mode) || "cached".equals(mode) || "none".equals(mode) || "cursor".equals(mode)) {
+            return mode;
+        }
+        logger.warn("无效的分页模式: {}，使用exact", paginationMode);
+        return "exact";
+    }
+
     /**
      * 转换为分页信息对象
+     * none/cursor模式下不统计总数：total为-1、pages为0，是否有下一页由hasNextPage给出
+     * 包级可见，供 benchmarks 中的基准测试直接调用
      */
-    private PageInfo<ResourceResponse> convertToPageInfo(List<Resource> resources) {
+    PageInfo<ResourceResponse> convertToPageInfo(List<Resource> resources, List<String> searchTerms,
+                                                 String paginationMode, boolean hasNextPage) {
         PageInfo<Resource> pageInfo = new PageInfo<>(resources);
 
-        // 转换为响应对象（搜索结果不包含URL）
+        // 转换为响应对象（搜索结果不包含URL，内容替换为高亮摘要）
         List<ResourceResponse> responseList = resources.stream()
-                .map(this::convertToSearchResponse)
+                .map(resource -> convertToSearchResponse(resource, searchTerms))
                 .collect(Collectors.toList());
 
         PageInfo<ResourceResponse> responsePageInfo = new PageInfo<>();
@@ -311,6 +717,17 @@ public class ResourceService {
         responsePageInfo.setNavigateFirstPage(pageInfo.getNavigateFirstPage());
         responsePageInfo.setNavigateLastPage(pageInfo.getNavigateLastPage());
 
+        if ("none".equals(paginationMode) || "cursor".equals(paginationMode)) {
+            responsePageInfo.setTotal(-1);
+            responsePageInfo.setPages(0);
+            responsePageInfo.setHasNextPage(hasNextPage);
+            responsePageInfo.setIsLastPage(!hasNextPage);
+            responsePageInfo.setNavigatePages(0);
+            responsePageInfo.setNavigatepageNums(new int[0]);
+            responsePageInfo.setNavigateFirstPage(0);
+            responsePageInfo.setNavigateLastPage(0);
+        }
+
         return responsePageInfo;
     }
 
@@ -323,9 +740,15 @@ public class ResourceService {
 
     /**
      * 转换为响应对象（用于搜索，不包含URL）
+     * 内容为命中词附近的摘要，另附带标记了命中词的名称和摘要；完整内容通过资源详情接口获取
      */
-    private ResourceResponse convertToSearchResponse(Resource resource) {
-        return convertToResponse(resource, false);
+    private ResourceResponse convertToSearchResponse(Resource resource, List<String> searchTerms) {
+        ResourceResponse response = convertToResponse(resource, false);
+        String snippet = searchHighlighter.snippet(resource.getContent(), searchTerms);
+        response.setContent(snippet);
+        response.setHighlightedName(searchHighlighter.highlight(resource.getName(), searchTerms));
+        response.setHighlightedSnippet(searchHighlighter.highlight(snippet, searchTerms));
+        return response;
     }
 
     /**
@@ -0,0 +1,293 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.config.SearchCacheConfig;
+import org.example.dto.SearchResponse;
+import org.example.event.ResourceChangeEvent;
+import org.example.search.RankedIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 搜索结果缓存服务
+ * 以规范化后的搜索条件为键缓存完整的SearchResponse，
+ * 并按查询（不含分页参数）缓存完整的排序ID列表和匹配总数，翻页时无需重新执行搜索和统计；
+ * 资源写入时、以及Lucene搜索器刷新出新写入时递增目录版本号，旧版本的缓存条目不再命中，随容量/过期策略淘汰
+ */
+@Service
+public class SearchCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchCacheService.class);
+
+    @Autowired
+    private SearchCacheConfig searchCacheConfig;
+
+    // 资源目录版本号，每次资源写入后递增
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private Cache<SearchKey, SearchResponse> responseCache;
+
+    private Cache<QueryKey, RankedIds> rankedIdsCache;
+
+    private Cache<QueryKey, Long> totalCache;
+
+    @PostConstruct
+    public void init() {
+        responseCache = Caffeine.newBuilder()
+                .maximumSize(searchCacheConfig.getMaximumSize())
+                .expireAfterWrite(searchCacheConfig.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        rankedIdsCache = Caffeine.newBuilder()
+                .maximumSize(searchCacheConfig.getRankedIdsMaximumSize())
+                .expireAfterWrite(searchCacheConfig.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        totalCache = Caffeine.newBuilder()
+                .maximumSize(searchCacheConfig.getMaximumSize())
+                .expireAfterWrite(searchCacheConfig.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        logger.info("搜索结果缓存初始化完成，启用: {}, 最大条目数: {}, 过期时间: {} 秒, 排序ID缓存上限: {} 条/查询",
+                   searchCacheConfig.isEnabled(), searchCacheConfig.getMaximumSize(),
+                   searchCacheConfig.getExpireAfterWriteSeconds(), searchCacheConfig.getRankedIdsLimit());
+    }
+
+    /**
+     * 以当前目录版本号创建查询键，同一请求内的各级缓存使用同一个查询键
+     */
+    public QueryKey newQueryKey(String searchTerm, Integer level, String type, String searchMode, String backend) {
+        return newQueryKey(searchTerm, level, type, searchMode, backend, false);
+    }
+
+    /**
+     * 以当前目录版本号创建查询键，请求分面统计的查询单独缓存
+     */
+    public QueryKey newQueryKey(String searchTerm, Integer level, String type, String searchMode, String backend,
+                                boolean facets) {
+        return new QueryKey(catalogVersion.get(), searchTerm, level, type, searchMode, backend, facets);
+    }
+
+    /**
+     * 获取缓存的搜索结果，未命中时执行搜索并写入缓存
+     * 相同条件的并发请求只会执行一次搜索
+     * @param loaded 本次调用实际执行了搜索时置为true；并发请求等待其他线程加载的结果时保持false
+     */
+    public SearchResponse getSearchResponse(QueryKey query, String paginationMode, String cursor, int page, int size,
+                                            Supplier<SearchResponse> loader, AtomicBoolean loaded) {
+        Supplier<SearchResponse> flagged = () -> {
+            loaded.set(true);
+            return loader.get();
+        };
+        if (!searchCacheConfig.isEnabled()) {
+            return flagged.get();
+        }
+
+        SearchKey key = new SearchKey(query, paginationMode, cursor, page, size);
+        return responseCache.get(key, k -> flagged.get());
+    }
+
+    /**
+     * 获取查询的完整排序ID列表，未命中时执行搜索并写入缓存
+     * 同一查询的所有分页请求共享同一份排序结果
+     */
+    public RankedIds getRankedIds(QueryKey query, Supplier<RankedIds> loader) {
+        if (!searchCacheConfig.isEnabled()) {
+            return loader.get();
+        }
+
+        return rankedIdsCache.get(query, k -> loader.get());
+    }
+
+    /**
+     * 获取查询的匹配总数（按目录版本号缓存），未命中时执行统计并写入缓存
+     * 用于cached分页模式，避免每次翻页都执行COUNT查询
+     */
+    public long getTotal(QueryKey query, LongSupplier counter) {
+        if (!searchCacheConfig.isEnabled()) {
+            return counter.getAsLong();
+        }
+
+        return totalCache.get(query, k -> counter.getAsLong());
+    }
+
+    /**
+     * 每个查询缓存的排序ID数量上限
+     */
+    public int getRankedIdsLimit() {
+        return searchCacheConfig.getRankedIdsLimit();
+    }
+
+    /**
+     * 资源变更后递增目录版本号，使之前的搜索结果失效
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChange(ResourceChangeEvent event) {
+        long version = catalogVersion.incrementAndGet();
+        logger.debug("资源目录版本号更新为 {}: {}", version, event);
+    }
+
+    /**
+     * Lucene近实时搜索器刷新后递增目录版本号
+     * 写入在刷新前对索引搜索不可见，这段时间内的搜索结果可能已按新版本号缓存，刷新后使其失效
+     */
+    public void onIndexRefreshed() {
+        long version = catalogVersion.incrementAndGet();
+        logger.debug("索引搜索器已刷新，资源目录版本号更新为 {}", version);
+    }
+
+    /**
+     * 当前资源目录版本号
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * 清空所有缓存
+     */
+    public void invalidateAll() {
+        responseCache.invalidateAll();
+        rankedIdsCache.invalidateAll();
+        totalCache.invalidateAll();
+        logger.info("搜索结果缓存已清空");
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = responseCache.stats();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", searchCacheConfig.isEnabled());
+        statistics.put("catalogVersion", catalogVersion.get());
+        statistics.put("size", responseCache.estimatedSize());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("evictionCount", stats.evictionCount());
+        statistics.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1000000.0);
+        statistics.put("rankedIds", toMap(rankedIdsCache));
+        statistics.put("totals", toMap(totalCache));
+        return statistics;
+    }
+
+    private Map<String, Object> toMap(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", cache.estimatedSize());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("evictionCount", stats.evictionCount());
+        return statistics;
+    }
+
+    /**
+     * 查询键：目录版本号 + 规范化后的(searchTerm, level, type, searchMode, backend)
+     */
+    public static final class QueryKey {
+        private final long version;
+        private final String searchTerm;
+        private final Integer level;
+        private final String type;
+        private final String searchMode;
+        private final String backend;
+        private final boolean facets;
+
+        QueryKey(long version, String searchTerm, Integer level, String type, String searchMode, String backend,
+                 boolean facets) {
+            this.version = version;
+            // 搜索词去除首尾空白并合并连续空白
+            this.searchTerm = searchTerm == null ? "" : searchTerm.trim().replaceAll("\\s+", " ");
+            this.level = level;
+            this.type = type == null || type.trim().isEmpty() ? null : type.trim();
+            this.searchMode = searchMode == null ? "multi" : searchMode;
+            this.backend = backend;
+            this.facets = facets;
+        }
+
+        /**
+         * 是否请求分面统计
+         */
+        public boolean isFacets() {
+            return facets;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            QueryKey that = (QueryKey) o;
+            return version == that.version &&
+                    searchTerm.equals(that.searchTerm) &&
+                    Objects.equals(level, that.level) &&
+                    Objects.equals(type, that.type) &&
+                    searchMode.equals(that.searchMode) &&
+                    Objects.equals(backend, that.backend) &&
+                    facets == that.facets;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, searchTerm, level, type, searchMode, backend, facets);
+        }
+    }
+
+    /**
+     * 缓存键：查询键 + 分页模式 + 分页参数（页码或游标）
+     */
+    static final class SearchKey {
+        private final QueryKey query;
+        private final String paginationMode;
+        private final String cursor;
+        private final int page;
+        private final int size;
+
+        SearchKey(QueryKey query, String paginationMode, String cursor, int page, int size) {
+            this.query = query;
+            this.paginationMode = paginationMode == null ? "exact" : paginationMode;
+            this.cursor = cursor;
+            // 与PageHelper的reasonable配置一致，页码0和1等价
+            this.page = Math.max(page, 1);
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SearchKey that = (SearchKey) o;
+            return page == that.page &&
+                    size == that.size &&
+                    query.equals(that.query) &&
+                    paginationMode.equals(that.paginationMode) &&
+                    Objects.equals(cursor, that.cursor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, paginationMode, cursor, page, size);
+        }
+    }
+}
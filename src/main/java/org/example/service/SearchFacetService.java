@@ -0,0 +1,297 @@
+package org.example.service;
+
+import org.example.config.SearchIndexConfig;
+import org.example.dto.SearchFacets;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.mapper.ResourceMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 搜索分面统计服务
+ * 在内存中按资源ID维护每个类型、层级（及数据来源，用于按来源删除）的位图倒排，以及类型×层级的资源数量；
+ * 仅按层级/类型过滤时直接由计数汇总，带搜索词时与搜索后端在同一次遍历中收集的匹配ID位图求交集；
+ * 启动后从数据库构建，之后通过 ResourceChangeEvent 增量更新
+ */
+@Service
+public class SearchFacetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchFacetService.class);
+
+    @Autowired
+    private SearchIndexConfig searchIndexConfig;
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final BitSet allIds = new BitSet();
+    private final Map<String, BitSet> typePostings = new HashMap<>();
+    private final Map<Integer, BitSet> levelPostings = new HashMap<>();
+    private final Map<Integer, BitSet> sourcePostings = new HashMap<>();
+    // 类型 -> 层级 -> 资源数量（类型或层级为空的资源记在null键下）
+    private final Map<String, Map<Integer, Long>> cellCounts = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 应用启动完成后在后台线程中从数据库构建位图倒排
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread rebuildThread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("构建搜索分面统计失败: {}", e.getMessage(), e);
+            }
+        }, "search-facet-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    /**
+     * 从数据库全量重建位图倒排（按ID分批只读取类型、层级和数据来源列）
+     * @return 统计的资源数量
+     */
+    public synchronized int rebuild() {
+        logger.info("开始构建搜索分面统计...");
+        long startTime = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            allIds.clear();
+            typePostings.clear();
+            levelPostings.clear();
+            sourcePostings.clear();
+            cellCounts.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int batchSize = Math.max(1, searchIndexConfig.getRebuildBatchSize());
+        int afterId = 0;
+        int total = 0;
+        while (true) {
+            List<Resource> batch = resourceMapper.selectFacetKeysAfterId(afterId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lock.writeLock().lock();
+            try {
+                for (Resource resource : batch) {
+                    upsert(resource);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            total += batch.size();
+        }
+
+        ready = true;
+        logger.info("搜索分面统计构建完成，共 {} 条资源，耗时 {} ms", total, System.currentTimeMillis() - startTime);
+        return total;
+    }
+
+    /**
+     * 监听资源变更事件，增量更新位图倒排
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChange(ResourceChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case UPSERTED:
+                    for (Resource resource : event.getResources()) {
+                        upsert(resource);
+                    }
+                    break;
+                case DELETED:
+                    for (Integer id : event.getIds()) {
+                        remove(id);
+                    }
+                    break;
+                case SOURCE_DELETED:
+                    BitSet ids = sourcePostings.get(event.getSource());
+                    if (ids != null) {
+                        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                            remove(id);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 分面统计是否可用
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 仅按层级/类型过滤时的分面统计：直接汇总类型×层级的资源数量，与资源总数无关
+     */
+    public SearchFacets count(Integer level, String type) {
+        if (!ready) {
+            return null;
+        }
+        Map<String, Long> typeCounts = new HashMap<>();
+        Map<Integer, Long> levelCounts = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Map<Integer, Long>> typeEntry : cellCounts.entrySet()) {
+                if (!matches(type, typeEntry.getKey())) {
+                    continue;
+                }
+                for (Map.Entry<Integer, Long> levelEntry : typeEntry.getValue().entrySet()) {
+                    if (level != null && !level.equals(levelEntry.getKey())) {
+                        continue;
+                    }
+                    if (typeEntry.getKey() != null) {
+                        typeCounts.merge(typeEntry.getKey(), levelEntry.getValue(), Long::sum);
+                    }
+                    if (levelEntry.getKey() != null) {
+                        levelCounts.merge(levelEntry.getKey(), levelEntry.getValue(), Long::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new SearchFacets(sortByCount(typeCounts), sortByCount(levelCounts));
+    }
+
+    /**
+     * 带搜索词时的分面统计：匹配ID位图（已按层级/类型过滤）与每个类型、层级的位图求交集
+     */
+    public SearchFacets count(BitSet matchedIds) {
+        if (!ready || matchedIds == null) {
+            return null;
+        }
+        Map<String, Long> typeCounts = new HashMap<>();
+        Map<Integer, Long> levelCounts = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, BitSet> entry : typePostings.entrySet()) {
+                long count = intersectionCount(matchedIds, entry.getValue());
+                if (count > 0) {
+                    typeCounts.put(entry.getKey(), count);
+                }
+            }
+            for (Map.Entry<Integer, BitSet> entry : levelPostings.entrySet()) {
+                long count = intersectionCount(matchedIds, entry.getValue());
+                if (count > 0) {
+                    levelCounts.put(entry.getKey(), count);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new SearchFacets(sortByCount(typeCounts), sortByCount(levelCounts));
+    }
+
+    /**
+     * 写入或更新一条资源，调用方持有写锁
+     */
+    private void upsert(Resource resource) {
+        if (resource.getId() == null) {
+            return;
+        }
+        int id = resource.getId();
+        remove(id);
+
+        String type = resource.getType() == null || resource.getType().isEmpty() ? null : resource.getType();
+        allIds.set(id);
+        if (type != null) {
+            typePostings.computeIfAbsent(type, k -> new BitSet()).set(id);
+        }
+        if (resource.getLevel() != null) {
+            levelPostings.computeIfAbsent(resource.getLevel(), k -> new BitSet()).set(id);
+        }
+        if (resource.getSource() != null) {
+            sourcePostings.computeIfAbsent(resource.getSource(), k -> new BitSet()).set(id);
+        }
+        cellCounts.computeIfAbsent(type, k -> new HashMap<>()).merge(resource.getLevel(), 1L, Long::sum);
+    }
+
+    /**
+     * 移除一条资源，调用方持有写锁
+     */
+    private void remove(int id) {
+        if (!allIds.get(id)) {
+            return;
+        }
+        allIds.clear(id);
+        String type = clearPosting(typePostings, id);
+        Integer level = clearPosting(levelPostings, id);
+        clearPosting(sourcePostings, id);
+
+        Map<Integer, Long> levelCounts = cellCounts.get(type);
+        if (levelCounts != null) {
+            levelCounts.computeIfPresent(level, (k, count) -> count > 1 ? count - 1 : null);
+            if (levelCounts.isEmpty()) {
+                cellCounts.remove(type);
+            }
+        }
+    }
+
+    /**
+     * 从包含该ID的位图中清除，返回该位图的键（不存在时为null）
+     */
+    private <K> K clearPosting(Map<K, BitSet> postings, int id) {
+        for (Map.Entry<K, BitSet> entry : postings.entrySet()) {
+            if (entry.getValue().get(id)) {
+                entry.getValue().clear(id);
+                K key = entry.getKey();
+                if (entry.getValue().isEmpty()) {
+                    postings.remove(key);
+                }
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private long intersectionCount(BitSet a, BitSet b) {
+        BitSet intersection = (BitSet) a.clone();
+        intersection.and(b);
+        return intersection.cardinality();
+    }
+
+    private boolean matches(String filter, String value) {
+        return filter == null || filter.trim().isEmpty() || Objects.equals(filter.trim(), value);
+    }
+
+    private <K> Map<K, Long> sortByCount(Map<K, Long> counts) {
+        Map<K, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Long>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.SearchSlowLogConfig;
+import org.example.dto.SlowSearchEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 慢搜索记录服务
+ * 在内存环形缓冲区中保留最近的慢搜索（超出容量时覆盖最早的记录），通过管理接口查询；
+ * 开启文件输出时，定时把新增记录追加写入本地文件（每行一条JSON），文件超过大小上限时滚动
+ */
+@Service
+public class SlowSearchLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowSearchLog.class);
+
+    @Autowired
+    private SearchSlowLogConfig searchSlowLogConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SlowSearchEntry[] buffer;
+    // 已写入的记录总数，下一条记录写入 buffer[written % capacity]
+    private long written;
+    // 已写入文件的记录总数
+    private long flushed;
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        buffer = new SlowSearchEntry[Math.max(1, searchSlowLogConfig.getCapacity())];
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    /**
+     * 慢搜索阈值（纳秒），未启用时为-1
+     */
+    public long getThresholdNanos() {
+        return searchSlowLogConfig.isEnabled() ? searchSlowLogConfig.getThresholdMs() * 1_000_000L : -1;
+    }
+
+    /**
+     * 记录一次慢搜索
+     */
+    public synchronized void record(SlowSearchEntry entry) {
+        buffer[(int) (written % buffer.length)] = entry;
+        written++;
+        recorded.incrementAndGet();
+        logger.warn("慢搜索，后端: {}, 搜索词: {}, 耗时 {} ms, 各阶段: {}",
+                   entry.getBackend(), entry.getActualSearchTerms(), entry.getTotalMs(), entry.getPhases());
+    }
+
+    /**
+     * 最近的慢搜索，按时间倒序
+     */
+    public synchronized List<SlowSearchEntry> getEntries(int limit) {
+        int size = (int) Math.min(written, buffer.length);
+        List<SlowSearchEntry> entries = new ArrayList<>(Math.min(size, Math.max(limit, 0)));
+        for (int i = 1; i <= size && entries.size() < limit; i++) {
+            entries.add(buffer[(int) ((written - i) % buffer.length)]);
+        }
+        return entries;
+    }
+
+    /**
+     * 清空内存中的慢搜索记录（未写入文件的记录一并丢弃）
+     */
+    public synchronized void clear() {
+        buffer = new SlowSearchEntry[buffer.length];
+        written = 0;
+        flushed = 0;
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", searchSlowLogConfig.isEnabled());
+        stats.put("thresholdMs", searchSlowLogConfig.getThresholdMs());
+        stats.put("capacity", buffer.length);
+        stats.put("recorded", recorded.get());
+        stats.put("fileEnabled", searchSlowLogConfig.isFileEnabled());
+        return stats;
+    }
+
+    /**
+     * 定时把新增的慢搜索追加写入文件；写入前已被覆盖的记录不再写入
+     */
+    @Scheduled(fixedDelayString = "${search.slow-log.flush-interval-ms:5000}")
+    public void flush() {
+        if (!searchSlowLogConfig.isFileEnabled()) {
+            return;
+        }
+        List<SlowSearchEntry> pending = new ArrayList<>();
+        synchronized (this) {
+            for (long i = Math.max(flushed, written - buffer.length); i < written; i++) {
+                pending.add(buffer[(int) (i % buffer.length)]);
+            }
+            flushed = written;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Path path = Paths.get(searchSlowLogConfig.getFilePath());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            rollIfNeeded(path);
+            try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (SlowSearchEntry entry : pending) {
+                    out.write(objectMapper.writeValueAsBytes(entry));
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            logger.error("写入慢搜索文件失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 文件超过大小上限时滚动：file.(n-1) -> file.n，...，file -> file.1，超出保留数量的文件被删除
+     */
+    private void rollIfNeeded(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < searchSlowLogConfig.getFileMaxBytes()) {
+            return;
+        }
+        int history = Math.max(1, searchSlowLogConfig.getFileMaxHistory());
+        Files.deleteIfExists(Paths.get(path + "." + history));
+        for (int i = history - 1; i >= 1; i--) {
+            Path source = Paths.get(path + "." + i);
+            if (Files.exists(source)) {
+                Files.move(source, Paths.get(path + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, Paths.get(path + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
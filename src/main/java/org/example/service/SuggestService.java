@@ -0,0 +1,444 @@
+package org.example.service;
+
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.BinaryDocValuesField;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.example.config.SearchIndexConfig;
+import org.example.config.SearchSuggestConfig;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.mapper.ResourceMapper;
+import org.example.util.StringCleanupUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 搜索联想服务
+ * 在内存中维护资源名称的前缀索引：每个资源一个文档，预先切分规范化名称的前几个字符作为词项，
+ * 索引按 resource_time 降序排序，查询时按前缀词项定位后只需收集前几条即可提前结束；
+ * 与本地搜索索引一样通过 ResourceChangeEvent 按资源ID增量更新
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestService.class);
+
+    // 索引字段
+    static final String FIELD_ID = "id";
+    static final String FIELD_SOURCE = "source";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_NAME = "name";
+    static final String FIELD_NAME_NORM = "name_norm";
+    static final String FIELD_PREFIX = "prefix";
+    static final String FIELD_WEIGHT = "weight";
+
+    // 索引和查询都按资源时间降序，查询时可在收集到足够结果后提前结束
+    private static final Sort WEIGHT_SORT = new Sort(new SortField(FIELD_WEIGHT, SortField.Type.LONG, true));
+
+    // 名称重复的资源只返回一次，多取几条用于去重
+    private static final int DEDUPLICATION_FACTOR = 3;
+
+    @Autowired
+    private SearchSuggestConfig searchSuggestConfig;
+
+    @Autowired
+    private SearchIndexConfig searchIndexConfig;
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    // 重建时在新目录中构建完成后整体替换，查询始终看到完整的索引
+    private volatile Directory directory;
+    private volatile IndexWriter indexWriter;
+    private volatile SearcherManager searcherManager;
+
+    private volatile boolean ready = false;
+
+    // 增量更新与重建替换索引互斥；重建期间的变更事件同时暂存，新索引写完批次后再按顺序应用
+    private final Object changeLock = new Object();
+    private List<ResourceChangeEvent> pendingChanges;
+
+    // 最近查询的耗时（纳秒），环形缓冲区
+    private AtomicLongArray latencySamples;
+    private final AtomicLong lookupCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (!searchSuggestConfig.isEnabled()) {
+            logger.info("搜索联想已禁用");
+            return;
+        }
+
+        try {
+            openIndex(new ByteBuffersDirectory());
+        } catch (IOException e) {
+            logger.error("初始化搜索联想索引失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 打开内存索引目录
+     */
+    void openIndex(Directory dir) throws IOException {
+        this.directory = dir;
+        indexWriter = createWriter(dir);
+        searcherManager = new SearcherManager(indexWriter, null);
+        latencySamples = new AtomicLongArray(Math.max(1, searchSuggestConfig.getLatencySampleSize()));
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        ready = false;
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+        if (indexWriter != null) {
+            indexWriter.close();
+        }
+        if (directory != null) {
+            directory.close();
+        }
+    }
+
+    /**
+     * 应用启动完成后在后台线程中从数据库构建联想索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexWriter == null) {
+            return;
+        }
+
+        Thread rebuildThread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                logger.error("构建搜索联想索引失败: {}", e.getMessage(), e);
+            }
+        }, "suggest-index-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
+    }
+
+    /**
+     * 从数据库全量重建联想索引
+     * 在新的内存目录中构建，完成后替换当前索引；构建期间查询和增量更新仍使用当前索引
+     * @return 索引的资源数量
+     */
+    public synchronized int rebuild() throws IOException {
+        if (indexWriter == null) {
+            throw new IllegalStateException("搜索联想未启用");
+        }
+
+        logger.info("开始构建搜索联想索引...");
+        long startTime = System.currentTimeMillis();
+
+        Directory newDirectory = new ByteBuffersDirectory();
+        IndexWriter newWriter = createWriter(newDirectory);
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        boolean swapped = false;
+        try {
+            int batchSize = Math.max(1, searchIndexConfig.getRebuildBatchSize());
+            int afterId = 0;
+            int total = 0;
+            while (true) {
+                List<Resource> batch = resourceMapper.selectBatchAfterId(afterId, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Resource resource : batch) {
+                    upsert(newWriter, resource);
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                total += batch.size();
+            }
+
+            SearcherManager newSearcherManager = new SearcherManager(newWriter, null);
+            Directory oldDirectory;
+            IndexWriter oldWriter;
+            SearcherManager oldSearcherManager;
+            synchronized (changeLock) {
+                // 批次可能读到比暂存事件更旧的数据，事件最后应用
+                for (ResourceChangeEvent event : pendingChanges) {
+                    apply(newWriter, event);
+                }
+                pendingChanges = null;
+                newSearcherManager.maybeRefreshBlocking();
+
+                oldDirectory = directory;
+                oldWriter = indexWriter;
+                oldSearcherManager = searcherManager;
+                directory = newDirectory;
+                indexWriter = newWriter;
+                searcherManager = newSearcherManager;
+                swapped = true;
+            }
+            ready = true;
+
+            // 正在进行的查询仍持有旧搜索器，释放时按引用计数关闭
+            oldSearcherManager.close();
+            oldWriter.close();
+            oldDirectory.close();
+
+            logger.info("搜索联想索引构建完成，共 {} 条资源，耗时 {} ms", total, System.currentTimeMillis() - startTime);
+            return total;
+        } finally {
+            if (!swapped) {
+                synchronized (changeLock) {
+                    pendingChanges = null;
+                }
+                newWriter.close();
+                newDirectory.close();
+            }
+        }
+    }
+
+    /**
+     * 监听资源变更事件，增量更新联想索引，事务提交后立即可见
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChange(ResourceChangeEvent event) {
+        if (indexWriter == null) {
+            return;
+        }
+
+        synchronized (changeLock) {
+            try {
+                apply(indexWriter, event);
+                searcherManager.maybeRefreshBlocking();
+                if (pendingChanges != null) {
+                    pendingChanges.add(event);
+                }
+                logger.debug("搜索联想索引增量更新: {}", event);
+            } catch (IOException e) {
+                logger.error("搜索联想索引增量更新失败: {}, {}", event, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void apply(IndexWriter writer, ResourceChangeEvent event) throws IOException {
+        switch (event.getType()) {
+            case UPSERTED:
+                for (Resource resource : event.getResources()) {
+                    upsert(writer, resource);
+                }
+                break;
+            case DELETED:
+                for (Integer id : event.getIds()) {
+                    writer.deleteDocuments(new Term(FIELD_ID, String.valueOf(id)));
+                }
+                break;
+            case SOURCE_DELETED:
+                if (event.getSource() != null) {
+                    writer.deleteDocuments(new Term(FIELD_SOURCE, String.valueOf(event.getSource())));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 按前缀查询联想的资源名称，按资源时间降序，名称相同的只返回一次
+     * @param prefix 用户输入的前缀，按规范化名称匹配
+     * @param type 类型过滤，为空时不过滤
+     * @param size 返回数量，超出范围时使用默认值/上限
+     */
+    public List<String> suggest(String prefix, String type, Integer size) {
+        String norm = StringCleanupUtil.normalizeName(prefix);
+        if (!ready || norm == null || norm.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int limit = size == null || size <= 0 ? searchSuggestConfig.getDefaultSize() : size;
+        limit = Math.min(limit, searchSuggestConfig.getMaxSize());
+
+        long startTime = System.nanoTime();
+        Set<String> suggestions = new LinkedHashSet<>();
+        try {
+            SearcherManager manager = searcherManager;
+            IndexSearcher searcher = manager.acquire();
+            try {
+                int numHits = limit * DEDUPLICATION_FACTOR;
+                TopFieldCollector collector = TopFieldCollector.create(WEIGHT_SORT, numHits, numHits);
+                searcher.search(buildQuery(norm, type), collector);
+
+                // 名称存放在列式存储中，按文档读取时不需要解压整块存储字段
+                List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+                for (ScoreDoc scoreDoc : collector.topDocs().scoreDocs) {
+                    LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(scoreDoc.doc, leaves));
+                    BinaryDocValues names = DocValues.getBinary(leaf.reader(), FIELD_NAME);
+                    if (names.advanceExact(scoreDoc.doc - leaf.docBase)) {
+                        suggestions.add(names.binaryValue().utf8ToString());
+                    }
+                    if (suggestions.size() >= limit) {
+                        break;
+                    }
+                }
+            } finally {
+                manager.release(searcher);
+            }
+        } catch (IOException e) {
+            logger.error("搜索联想查询失败，前缀: {}, 错误: {}", prefix, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+
+        recordLatency(System.nanoTime() - startTime);
+        return new ArrayList<>(suggestions);
+    }
+
+    /**
+     * 构建前缀查询：短前缀直接命中预先切分的前缀词项，长前缀在规范化名称上做前缀查询
+     */
+    private Query buildQuery(String norm, String type) {
+        Query query = norm.codePointCount(0, norm.length()) <= searchSuggestConfig.getMaxGramLength()
+                ? new TermQuery(new Term(FIELD_PREFIX, norm))
+                : new PrefixQuery(new Term(FIELD_NAME_NORM, norm));
+
+        if (type == null || type.trim().isEmpty()) {
+            return query;
+        }
+        return new BooleanQuery.Builder()
+                .add(query, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_TYPE, type.trim())), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private IndexWriter createWriter(Directory dir) throws IOException {
+        IndexWriterConfig writerConfig = new IndexWriterConfig(new KeywordAnalyzer());
+        writerConfig.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        writerConfig.setIndexSort(WEIGHT_SORT);
+        return new IndexWriter(dir, writerConfig);
+    }
+
+    private void upsert(IndexWriter writer, Resource resource) throws IOException {
+        if (resource.getId() == null) {
+            return;
+        }
+        Term idTerm = new Term(FIELD_ID, String.valueOf(resource.getId()));
+        String norm = StringCleanupUtil.normalizeName(resource.getName());
+        if (norm == null || norm.isEmpty()) {
+            writer.deleteDocuments(idTerm);
+            return;
+        }
+        writer.updateDocument(idTerm, toDocument(resource, norm));
+    }
+
+    /**
+     * 将资源转换为联想文档
+     */
+    private Document toDocument(Resource resource, String norm) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(resource.getId()), Field.Store.NO));
+        document.add(new BinaryDocValuesField(FIELD_NAME, new BytesRef(resource.getName())));
+        document.add(new StringField(FIELD_NAME_NORM, norm, Field.Store.NO));
+
+        // 预先切分前几个字符的前缀（按码点切分）
+        int[] codePoints = norm.codePoints().toArray();
+        int maxGram = Math.min(codePoints.length, Math.max(1, searchSuggestConfig.getMaxGramLength()));
+        for (int length = 1; length <= maxGram; length++) {
+            document.add(new StringField(FIELD_PREFIX, new String(codePoints, 0, length), Field.Store.NO));
+        }
+
+        if (resource.getType() != null) {
+            document.add(new StringField(FIELD_TYPE, resource.getType(), Field.Store.NO));
+        }
+        if (resource.getSource() != null) {
+            document.add(new StringField(FIELD_SOURCE, String.valueOf(resource.getSource()), Field.Store.NO));
+        }
+        long weight = resource.getResourceTime() != null ? resource.getResourceTime() : 0L;
+        document.add(new NumericDocValuesField(FIELD_WEIGHT, weight));
+        return document;
+    }
+
+    private void recordLatency(long nanos) {
+        long index = lookupCount.getAndIncrement();
+        latencySamples.set((int) (index % latencySamples.length()), nanos);
+    }
+
+    /**
+     * 联想索引是否已构建完成
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 获取联想统计信息：索引文档数、查询次数以及最近查询的耗时分位数
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", searchSuggestConfig.isEnabled());
+        statistics.put("ready", ready);
+        statistics.put("docCount", indexWriter != null ? indexWriter.getDocStats().numDocs : 0);
+
+        long count = lookupCount.get();
+        statistics.put("lookups", count);
+        if (latencySamples == null || count == 0) {
+            return statistics;
+        }
+
+        int sampleCount = (int) Math.min(count, latencySamples.length());
+        long[] samples = new long[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            samples[i] = latencySamples.get(i);
+        }
+        Arrays.sort(samples);
+        statistics.put("sampleCount", sampleCount);
+        statistics.put("p50Ms", percentile(samples, 0.50) / 1000000.0);
+        statistics.put("p99Ms", percentile(samples, 0.99) / 1000000.0);
+        statistics.put("maxMs", samples[sampleCount - 1] / 1000000.0);
+        return statistics;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
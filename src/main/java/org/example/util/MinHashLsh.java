@@ -0,0 +1,163 @@
+package org.example.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * MinHash + 分段局部敏感哈希（LSH），用于在大量文本中快速找出可能相似的文本对
+ * 文本按 TextSimilarityUtil 相同的方式清理后取字符二元组（与Jaccard相似度使用的集合相同），
+ * 计算 bands × rows 个最小哈希值，每 rows 个值合成一个分段键；任一分段键相同的两个文本即为候选对。
+ * Jaccard相似度为 J 的两个文本成为候选对的概率为 1 - (1 - J^rows)^bands，候选对仍需精确计算相似度确认。
+ * 每个分段按键排序后扫描相同键的连续区间，总耗时约为 O(n log n × bands)，不再两两比较
+ */
+public class MinHashLsh {
+
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private final int bands;
+    private final int rows;
+    private final long[] multipliers;
+    private final long[] increments;
+
+    public MinHashLsh(int bands, int rows, long seed) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("bands 和 rows 必须大于0: " + bands + ", " + rows);
+        }
+        this.bands = bands;
+        this.rows = rows;
+        // 乘法-移位哈希族：h(x) = (a × x + b) 的高32位，a 为奇数
+        Random random = new Random(seed);
+        this.multipliers = new long[bands * rows];
+        this.increments = new long[bands * rows];
+        for (int i = 0; i < multipliers.length; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * 文本的字符二元组（两个字符打包为一个int），去重并升序排列
+     * 与 TextSimilarityUtil 一致：清理后不足两个字符时整个文本作为一个元素
+     */
+    public static int[] shingles(String text) {
+        String clean = TextSimilarityUtil.cleanText(text);
+        if (clean.length() < 2) {
+            return new int[]{clean.isEmpty() ? 0 : clean.charAt(0)};
+        }
+        int[] shingles = new int[clean.length() - 1];
+        for (int i = 0; i < shingles.length; i++) {
+            shingles[i] = (clean.charAt(i) << 16) | clean.charAt(i + 1);
+        }
+        Arrays.sort(shingles);
+        int size = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[i - 1]) {
+                shingles[size++] = shingles[i];
+            }
+        }
+        return size == shingles.length ? shingles : Arrays.copyOf(shingles, size);
+    }
+
+    /**
+     * 计算文本的分段键（每个分段一个）
+     */
+    public int[] bandKeys(String text) {
+        int[] shingles = shingles(text);
+        int[] keys = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int row = 0; row < rows; row++) {
+                int hash = band * rows + row;
+                long min = Long.MAX_VALUE;
+                for (int shingle : shingles) {
+                    long value = (multipliers[hash] * (shingle & 0xffffffffL) + increments[hash]) >>> 32;
+                    if (value < min) {
+                        min = value;
+                    }
+                }
+                key = (key ^ min) * MIX;
+            }
+            keys[band] = (int) (key ^ (key >>> 32));
+        }
+        return keys;
+    }
+
+    /**
+     * 找出候选对：返回按 (i, j) 升序排列且不重复的下标对，编码为 ((long) i << 32) | j，其中 i &lt; j
+     * texts 中为null的元素不参与；同一分段键下的文本数超过 maxBucketSize 时跳过该分段键
+     * （通常是大量模板化的短文本，两两比较的代价与原来的全量比较相当）
+     */
+    public long[] candidatePairs(List<String> texts, int maxBucketSize) {
+        int n = texts.size();
+        int[][] keys = new int[n][];
+        for (int i = 0; i < n; i++) {
+            String text = texts.get(i);
+            keys[i] = text != null ? bandKeys(text) : null;
+        }
+
+        LongList pairs = new LongList();
+        long[] entries = new long[n];
+        for (int band = 0; band < bands; band++) {
+            int size = 0;
+            for (int i = 0; i < n; i++) {
+                if (keys[i] != null) {
+                    entries[size++] = ((long) keys[i][band] << 32) | i;
+                }
+            }
+            Arrays.sort(entries, 0, size);
+
+            for (int start = 0; start < size; ) {
+                int key = (int) (entries[start] >> 32);
+                int end = start + 1;
+                while (end < size && (int) (entries[end] >> 32) == key) {
+                    end++;
+                }
+                if (end - start > 1 && end - start <= maxBucketSize) {
+                    // 同一分段键内按下标升序，(a, b) 满足 a < b
+                    for (int a = start; a < end; a++) {
+                        for (int b = a + 1; b < end; b++) {
+                            pairs.add(((entries[a] & 0xffffffffL) << 32) | (entries[b] & 0xffffffffL));
+                        }
+                    }
+                }
+                start = end;
+            }
+        }
+        return pairs.sortedDistinct();
+    }
+
+    /**
+     * 可增长的long数组
+     */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] sortedDistinct() {
+            Arrays.sort(values, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || values[i] != values[i - 1]) {
+                    values[distinct++] = values[i];
+                }
+            }
+            return Arrays.copyOf(values, distinct);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.util;
+
+/**
+ * 64位 SimHash 指纹：相似的文本指纹只有少数二进制位不同，可用汉明距离判断近似重复
+ * 名称和内容分别按 StringCleanupUtil.normalizeName 规范化后取字符二元组作为特征，名称特征的权重更高；
+ * 每个特征哈希为64位，按位累加权重（该位为1加、为0减），最终为正的位取1
+ */
+public final class SimHash {
+
+    /**
+     * 名称特征的权重（内容特征权重为1）：名称较短，加权后名称改动对指纹的影响与内容大致相当
+     */
+    static final int NAME_WEIGHT = 4;
+
+    private SimHash() {
+    }
+
+    /**
+     * 计算资源的 SimHash 指纹
+     *
+     * @param name 资源名称
+     * @param content 资源内容
+     * @return 64位指纹，名称和内容规范化后都为空时返回null
+     */
+    public static Long fingerprint(String name, String content) {
+        int[] weights = new int[64];
+        boolean hasFeature = accumulate(weights, StringCleanupUtil.normalizeName(name), NAME_WEIGHT);
+        hasFeature |= accumulate(weights, StringCleanupUtil.normalizeName(content), 1);
+        if (!hasFeature) {
+            return null;
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 两个指纹的汉明距离（不同的二进制位数）
+     */
+    public static int hammingDistance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /**
+     * 累加文本中每个字符二元组的位权重；不足两个字符时整个文本作为一个特征
+     *
+     * @return 是否有特征
+     */
+    private static boolean accumulate(int[] weights, String text, int weight) {
+        if (text == null || text.isEmpty()) {
+            return false;
+        }
+        if (text.length() == 1) {
+            add(weights, hash(text.charAt(0)), weight);
+            return true;
+        }
+        for (int i = 0; i + 1 < text.length(); i++) {
+            add(weights, hash((text.charAt(i) << 16) | text.charAt(i + 1)), weight);
+        }
+        return true;
+    }
+
+    private static void add(int[] weights, long hash, int weight) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((hash >>> bit) & 1L) != 0 ? weight : -weight;
+        }
+    }
+
+    /**
+     * 特征哈希（SplitMix64 的混合函数，输入相近时输出的各位也近似独立）
+     */
+    private static long hash(int feature) {
+        long z = (feature & 0xffffffffL) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
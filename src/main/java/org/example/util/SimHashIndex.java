@@ -0,0 +1,161 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SimHash 指纹的汉明距离索引：查询与给定指纹相差不超过 maxDistance 位的所有指纹
+ * 按抽屉原理，把64位分成 maxDistance + 1 段，汉明距离不超过 maxDistance 的两个指纹至少有一段完全相同；
+ * 每段一张表（相当于把该段置换到最高位后按前缀查找的置换表），查询时逐表按段值取出候选，再核对完整的汉明距离。
+ * 非线程安全，由调用方加锁
+ */
+public class SimHashIndex {
+
+    private final int maxDistance;
+    private final int[] blockShifts;
+    private final long[] blockMasks;
+    private final List<Map<Long, int[]>> tables;
+    private final Map<Integer, Long> fingerprints = new HashMap<>();
+
+    public SimHashIndex(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > 15) {
+            throw new IllegalArgumentException("maxDistance 必须在0到15之间: " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        int blocks = maxDistance + 1;
+        this.blockShifts = new int[blocks];
+        this.blockMasks = new long[blocks];
+        this.tables = new ArrayList<>(blocks);
+        int shift = 0;
+        for (int block = 0; block < blocks; block++) {
+            // 64位尽量平均分配，前 64 % blocks 段各多一位
+            int width = 64 / blocks + (block < 64 % blocks ? 1 : 0);
+            blockShifts[block] = shift;
+            blockMasks[block] = width == 64 ? -1L : (1L << width) - 1;
+            tables.add(new HashMap<>());
+            shift += width;
+        }
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * 添加或替换资源的指纹
+     */
+    public void put(int id, long fingerprint) {
+        Long previous = fingerprints.put(id, fingerprint);
+        if (previous != null) {
+            if (previous == fingerprint) {
+                return;
+            }
+            removeFromTables(id, previous);
+        }
+        for (int block = 0; block < tables.size(); block++) {
+            tables.get(block).merge(blockKey(fingerprint, block), new int[]{id}, SimHashIndex::append);
+        }
+    }
+
+    /**
+     * 移除资源的指纹
+     */
+    public void remove(int id) {
+        Long previous = fingerprints.remove(id);
+        if (previous != null) {
+            removeFromTables(id, previous);
+        }
+    }
+
+    public void clear() {
+        fingerprints.clear();
+        for (Map<Long, int[]> table : tables) {
+            table.clear();
+        }
+    }
+
+    /**
+     * 查询与给定指纹的汉明距离不超过 maxDistance 的资源ID（按汉明距离升序，距离相同时按ID升序）
+     */
+    public List<Integer> findWithin(long fingerprint) {
+        List<long[]> matches = new ArrayList<>();
+        for (int block = 0; block < tables.size(); block++) {
+            int[] ids = tables.get(block).get(blockKey(fingerprint, block));
+            if (ids == null) {
+                continue;
+            }
+            for (int id : ids) {
+                long candidate = fingerprints.get(id);
+                // 同一指纹可能在多段上都与查询相同，只在第一个相同的段上计入
+                if (firstEqualBlock(fingerprint, candidate) != block) {
+                    continue;
+                }
+                int distance = SimHash.hammingDistance(fingerprint, candidate);
+                if (distance <= maxDistance) {
+                    matches.add(new long[]{distance, id});
+                }
+            }
+        }
+        matches.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        List<Integer> ids = new ArrayList<>(matches.size());
+        for (long[] match : matches) {
+            ids.add((int) match[1]);
+        }
+        return ids;
+    }
+
+    private long blockKey(long fingerprint, int block) {
+        return (fingerprint >>> blockShifts[block]) & blockMasks[block];
+    }
+
+    private int firstEqualBlock(long first, long second) {
+        for (int block = 0; block < tables.size(); block++) {
+            if (blockKey(first, block) == blockKey(second, block)) {
+                return block;
+            }
+        }
+        return -1;
+    }
+
+    private void removeFromTables(int id, long fingerprint) {
+        for (int block = 0; block < tables.size(); block++) {
+            Map<Long, int[]> table = tables.get(block);
+            long key = blockKey(fingerprint, block);
+            int[] ids = table.get(key);
+            if (ids == null) {
+                continue;
+            }
+            int[] remaining = without(ids, id);
+            if (remaining.length == 0) {
+                table.remove(key);
+            } else {
+                table.put(key, remaining);
+            }
+        }
+    }
+
+    private static int[] append(int[] ids, int[] added) {
+        int[] merged = Arrays.copyOf(ids, ids.length + added.length);
+        System.arraycopy(added, 0, merged, ids.length, added.length);
+        return merged;
+    }
+
+    private static int[] without(int[] ids, int id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                int[] remaining = new int[ids.length - 1];
+                System.arraycopy(ids, 0, remaining, 0, i);
+                System.arraycopy(ids, i + 1, remaining, i, ids.length - i - 1);
+                return remaining;
+            }
+        }
+        return ids;
+    }
+}
@@ -2,6 +2,13 @@ package org.example.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * 字符串清理工具类
@@ -10,6 +17,11 @@ import org.slf4j.LoggerFactory;
 public class StringCleanupUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(StringCleanupUtil.class);
+
+    // 夸克网盘分享链接中的 pwd_id
+    private static final Pattern QUARK_SHARE_PATTERN = Pattern.compile("pan\\.quark\\.cn/s/([a-zA-Z0-9]+)");
+
+    private static final Pattern URL_SCHEME_HOST_PATTERN = Pattern.compile("^([a-zA-Z][a-zA-Z0-9+.-]*://)?([^/]*)(.*)$");
     
     /**
      * 清理字符串中的反斜杠字符
@@ -146,6 +158,107 @@ public class StringCleanupUtil {
         };
     }
     
+    /**
+     * 规范化资源名称（写入 name_norm 列，用于完全匹配和前缀匹配）
+     * 全角转半角（NFKC）、转小写，并移除反斜杠、空白、标点等非字母数字字符
+     * 
+     * @param name 资源名称或搜索词
+     * @return 规范化后的名称，输入为null时返回null
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        folded.codePoints()
+            .filter(Character::isLetterOrDigit)
+            .forEach(normalized::appendCodePoint);
+
+        // 与 cleanResourceName 一致限制长度
+        if (normalized.length() > 255) {
+            normalized.setLength(255);
+        }
+        return normalized.toString();
+    }
+    
+    /**
+     * 规范化资源URL（写入 canonical_url 列，按其哈希建唯一索引，同一链接的不同写法只保存一条资源）
+     * 夸克网盘分享链接只保留 pwd_id（https://pan.quark.cn/s/{pwd_id}），提取码等参数不影响唯一性；
+     * 其他链接去除空白、查询参数和锚点，协议和域名转小写，去掉末尾的斜杠
+     * 
+     * @param url 资源URL
+     * @return 规范化后的URL，输入为null或空白时返回null
+     */
+    public static String canonicalizeUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        String compact = url.replaceAll("\\s+", "");
+        if (compact.isEmpty()) {
+            return null;
+        }
+
+        Matcher quark = QUARK_SHARE_PATTERN.matcher(compact);
+        if (quark.find()) {
+            return "https://pan.quark.cn/s/" + quark.group(1);
+        }
+
+        int end = compact.length();
+        int query = compact.indexOf('?');
+        int fragment = compact.indexOf('#');
+        if (query >= 0) {
+            end = query;
+        }
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        String stripped = compact.substring(0, end);
+        while (stripped.endsWith("/")) {
+            stripped = stripped.substring(0, stripped.length() - 1);
+        }
+
+        Matcher parts = URL_SCHEME_HOST_PATTERN.matcher(stripped);
+        String canonical = parts.matches()
+            ? (parts.group(1) != null ? parts.group(1).toLowerCase(Locale.ROOT) : "")
+                + parts.group(2).toLowerCase(Locale.ROOT) + parts.group(3)
+            : stripped;
+        return canonical.isEmpty() ? null : canonical;
+    }
+
+    /**
+     * 规范化URL的哈希（写入 canonical_url_hash 列，唯一索引）
+     * 对完整的规范化URL取UTF-8编码的MD5十六进制串，与 MySQL 的 MD5(canonical_url) 相同；
+     * 不截断URL，较长的不同链接不会因为前缀相同而被合并
+     *
+     * @param url 资源URL
+     * @return 32位十六进制哈希，URL为null或空白时返回null
+     */
+    public static String canonicalUrlHash(String url) {
+        String canonical = canonicalizeUrl(url);
+        if (canonical == null) {
+            return null;
+        }
+        return DigestUtils.md5DigestAsHex(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 规范化名称的哈希（写入 name_hash 列，普通索引：规范化后同名的资源作为去重候选，由去重任务按资源时间保留较新的一条）
+     * 取规范化名称UTF-8编码的MD5十六进制串，与 MySQL 的 MD5(name_norm) 相同，历史数据可直接用SQL回填
+     * 
+     * @param name 资源名称
+     * @return 32位十六进制哈希，名称规范化后为空时返回null
+     */
+    public static String nameHash(String name) {
+        String normalized = normalizeName(name);
+        if (normalized == null || normalized.isEmpty()) {
+            return null;
+        }
+        return DigestUtils.md5DigestAsHex(normalized.getBytes(StandardCharsets.UTF_8));
+    }
+    
     /**
      * 检查字符串是否包含反斜杠
      * 
@@ -1,13 +1,20 @@
 package org.example.util;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * 文本相似度计算工具类
+ * 字符二元组打包为int（高16位为前一个字符）后排序去重，两个有序数组归并求交集，不再创建字符串集合；
+ * 编辑距离只保留两行，判断是否达到阈值时只计算对角线附近的带状区域并提前结束（Ukkonen）；
+ * 计算用的数组按线程复用，结果与逐字符串集合、完整矩阵的算法完全一致
  */
 public class TextSimilarityUtil {
 
+    private static final double JACCARD_WEIGHT = 0.7;
+    private static final double EDIT_DISTANCE_WEIGHT = 0.3;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     /**
      * 计算两个字符串的Jaccard相似度
      * @param str1 字符串1
@@ -18,25 +25,36 @@ public class TextSimilarityUtil {
         if (str1 == null || str2 == null) {
             return 0.0;
         }
-        
+
         if (str1.equals(str2)) {
             return 1.0;
         }
-        
-        Set<String> set1 = getCharacterBigrams(str1);
-        Set<String> set2 = getCharacterBigrams(str2);
-        
-        if (set1.isEmpty() && set2.isEmpty()) {
-            return 1.0;
+
+        // 不足两个字符时整个字符串作为一个元素，与另一个不同的字符串不可能有交集
+        if (str1.length() < 2 || str2.length() < 2) {
+            return 0.0;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        int[] bigrams1 = scratch.bigrams1 = ensureCapacity(scratch.bigrams1, str1.length() - 1);
+        int[] bigrams2 = scratch.bigrams2 = ensureCapacity(scratch.bigrams2, str2.length() - 1);
+        int size1 = sortedBigrams(str1, bigrams1);
+        int size2 = sortedBigrams(str2, bigrams2);
+
+        int intersection = 0;
+        for (int i = 0, j = 0; i < size1 && j < size2; ) {
+            if (bigrams1[i] < bigrams2[j]) {
+                i++;
+            } else if (bigrams1[i] > bigrams2[j]) {
+                j++;
+            } else {
+                intersection++;
+                i++;
+                j++;
+            }
         }
-        
-        Set<String> intersection = new HashSet<>(set1);
-        intersection.retainAll(set2);
-        
-        Set<String> union = new HashSet<>(set1);
-        union.addAll(set2);
-        
-        return (double) intersection.size() / union.size();
+
+        return (double) intersection / (size1 + size2 - intersection);
     }
 
     /**
@@ -49,19 +67,13 @@ public class TextSimilarityUtil {
         if (str1 == null || str2 == null) {
             return 0.0;
         }
-        
+
         if (str1.equals(str2)) {
             return 1.0;
         }
-        
-        int editDistance = calculateEditDistance(str1, str2);
+
         int maxLength = Math.max(str1.length(), str2.length());
-        
-        if (maxLength == 0) {
-            return 1.0;
-        }
-        
-        return 1.0 - (double) editDistance / maxLength;
+        return editDistanceSimilarity(boundedEditDistance(str1, str2, maxLength), maxLength);
     }
 
     /**
@@ -75,80 +87,147 @@ public class TextSimilarityUtil {
         if (str1 == null || str2 == null) {
             return 0.0;
         }
-        
+
         // 预处理：去除空格和标点符号，转为小写
         String cleanStr1 = cleanText(str1);
         String cleanStr2 = cleanText(str2);
-        
+
         double jaccardSim = calculateJaccardSimilarity(cleanStr1, cleanStr2);
         double editSim = calculateEditDistanceSimilarity(cleanStr1, cleanStr2);
-        
+
         // 加权平均，Jaccard相似度权重更高
-        return 0.7 * jaccardSim + 0.3 * editSim;
+        return combine(jaccardSim, editSim);
     }
 
     /**
-     * 获取字符串的字符二元组集合
+     * 判断综合相似度是否达到阈值，结果与 calculateComprehensiveSimilarity(str1, str2) &gt;= threshold 相同
+     * 先算Jaccard相似度：编辑距离相似度取1仍达不到阈值、或取0也已达到阈值时直接返回；
+     * 否则换算出达到阈值允许的最大编辑距离 k，只在 k 以内计算编辑距离，超过 k 即提前结束
+     * @param str1 字符串1
+     * @param str2 字符串2
+     * @param threshold 相似度阈值
+     * @return 是否达到阈值
      */
-    private static Set<String> getCharacterBigrams(String str) {
-        Set<String> bigrams = new HashSet<>();
-        
-        if (str.length() < 2) {
-            bigrams.add(str);
-            return bigrams;
-        }
-        
-        for (int i = 0; i < str.length() - 1; i++) {
-            bigrams.add(str.substring(i, i + 2));
-        }
-        
-        return bigrams;
+    public static boolean isSimilarAtLeast(String str1, String str2, double threshold) {
+        if (str1 == null || str2 == null) {
+            return 0.0 >= threshold;
+        }
+
+        String cleanStr1 = cleanText(str1);
+        String cleanStr2 = cleanText(str2);
+        if (cleanStr1.equals(cleanStr2)) {
+            return combine(1.0, 1.0) >= threshold;
+        }
+
+        double jaccardSim = calculateJaccardSimilarity(cleanStr1, cleanStr2);
+        if (!(combine(jaccardSim, 1.0) >= threshold)) {
+            return false;
+        }
+        if (combine(jaccardSim, 0.0) >= threshold) {
+            return true;
+        }
+
+        // 综合相似度随编辑距离单调不增：按公式估算允许的最大编辑距离，再逐个核对修正浮点误差
+        int maxLength = Math.max(cleanStr1.length(), cleanStr2.length());
+        double requiredEditSim = (threshold - JACCARD_WEIGHT * jaccardSim) / EDIT_DISTANCE_WEIGHT;
+        int maxDistance = (int) Math.min(maxLength, Math.max(0.0, Math.floor(maxLength * (1.0 - requiredEditSim))));
+        while (maxDistance < maxLength && similarity(jaccardSim, maxDistance + 1, maxLength) >= threshold) {
+            maxDistance++;
+        }
+        while (maxDistance > 0 && similarity(jaccardSim, maxDistance, maxLength) < threshold) {
+            maxDistance--;
+        }
+
+        return boundedEditDistance(cleanStr1, cleanStr2, maxDistance) <= maxDistance;
     }
 
     /**
-     * 计算编辑距离（Levenshtein距离）
+     * 计算不超过上限的编辑距离（Levenshtein距离）
+     * 只计算 |i - j| &lt;= limit 的带状区域，一行中的最小值超过上限时提前结束
+     * @param limit 距离上限，不小于0
+     * @return 编辑距离，超过上限时返回 limit + 1
      */
-    private static int calculateEditDistance(String str1, String str2) {
+    static int boundedEditDistance(String str1, String str2, int limit) {
         int len1 = str1.length();
         int len2 = str2.length();
-        
-        int[][] dp = new int[len1 + 1][len2 + 1];
-        
-        for (int i = 0; i <= len1; i++) {
-            dp[i][0] = i;
+        if (Math.abs(len1 - len2) > limit) {
+            return limit + 1;
         }
-        
-        for (int j = 0; j <= len2; j++) {
-            dp[0][j] = j;
+
+        Scratch scratch = SCRATCH.get();
+        int[] previous = scratch.row1 = ensureCapacity(scratch.row1, len2 + 2);
+        int[] current = scratch.row2 = ensureCapacity(scratch.row2, len2 + 2);
+        // 带外的格子记为 limit + 1，计算中的值也截断到 limit + 1
+        int outside = limit + 1;
+
+        int end = Math.min(len2, limit);
+        for (int j = 0; j <= end; j++) {
+            previous[j] = j;
         }
-        
+        previous[end + 1] = outside;
+
         for (int i = 1; i <= len1; i++) {
-            for (int j = 1; j <= len2; j++) {
-                if (str1.charAt(i - 1) == str2.charAt(j - 1)) {
-                    dp[i][j] = dp[i - 1][j - 1];
-                } else {
-                    dp[i][j] = Math.min(
-                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + 1
-                    );
-                }
+            int from = Math.max(1, i - limit);
+            int to = Math.min(len2, i + limit);
+            current[from - 1] = from == 1 ? Math.min(i, outside) : outside;
+            int rowMin = current[from - 1];
+            char c = str1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int value = previous[j - 1] + (c == str2.charAt(j - 1) ? 0 : 1);
+                value = Math.min(value, previous[j] + 1);
+                value = Math.min(value, current[j - 1] + 1);
+                value = Math.min(value, outside);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return outside;
             }
+            current[to + 1] = outside;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
         }
-        
-        return dp[len1][len2];
+
+        return previous[len2];
     }
 
     /**
-     * 清理文本：去除标点符号、多余空格，转为小写
+     * 清理文本：去除标点符号、多余空格，转为小写（综合相似度比较的是清理后的文本）
+     * 连续的ASCII标点和空白字符（即正则 [\p{Punct}\s]+）替换为一个空格，去掉首尾空格
      */
-    private static String cleanText(String text) {
+    public static String cleanText(String text) {
         if (text == null) {
             return "";
         }
-        
-        return text.toLowerCase()
-                   .replaceAll("[\\p{Punct}\\s]+", " ")
-                   .trim();
+
+        String lower = text.toLowerCase();
+        int length = lower.length();
+        int i = 0;
+        while (i < length && !isSeparator(lower.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return lower.trim();
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        builder.append(lower, 0, i);
+        boolean pendingSpace = false;
+        for (; i < length; i++) {
+            char c = lower.charAt(i);
+            if (isSeparator(c)) {
+                pendingSpace = builder.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    builder.append(' ');
+                    pendingSpace = false;
+                }
+                builder.append(c);
+            }
+        }
+        return builder.toString().trim();
     }
 
     /**
@@ -159,6 +238,62 @@ public class TextSimilarityUtil {
      * @return 是否相似
      */
     public static boolean isSimilar(String str1, String str2, double threshold) {
-        return calculateComprehensiveSimilarity(str1, str2) >= threshold;
+        return isSimilarAtLeast(str1, str2, threshold);
+    }
+
+    private static double combine(double jaccardSim, double editSim) {
+        return JACCARD_WEIGHT * jaccardSim + EDIT_DISTANCE_WEIGHT * editSim;
+    }
+
+    private static double similarity(double jaccardSim, int editDistance, int maxLength) {
+        return combine(jaccardSim, editDistanceSimilarity(editDistance, maxLength));
+    }
+
+    private static double editDistanceSimilarity(int editDistance, int maxLength) {
+        return 1.0 - (double) editDistance / maxLength;
+    }
+
+    /**
+     * 正则 [\p{Punct}\s] 匹配的字符：ASCII标点，以及空格、\t、\n、\u000B、\f、\r
+     */
+    private static boolean isSeparator(char c) {
+        if (c <= ' ') {
+            return c == ' ' || (c >= '\t' && c <= '\r');
+        }
+        return (c >= '!' && c <= '/') || (c >= ':' && c <= '@')
+                || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+    }
+
+    /**
+     * 字符二元组打包为int写入 bigrams，排序去重
+     * @return 不重复的二元组数量
+     */
+    private static int sortedBigrams(String str, int[] bigrams) {
+        int count = str.length() - 1;
+        for (int i = 0; i < count; i++) {
+            bigrams[i] = (str.charAt(i) << 16) | str.charAt(i + 1);
+        }
+        Arrays.sort(bigrams, 0, count);
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || bigrams[i] != bigrams[i - 1]) {
+                bigrams[size++] = bigrams[i];
+            }
+        }
+        return size;
+    }
+
+    private static int[] ensureCapacity(int[] array, int capacity) {
+        return array.length >= capacity ? array : new int[Math.max(capacity, array.length * 2)];
+    }
+
+    /**
+     * 每个线程复用的计算数组
+     */
+    private static final class Scratch {
+        int[] bigrams1 = new int[64];
+        int[] bigrams2 = new int[64];
+        int[] row1 = new int[64];
+        int[] row2 = new int[64];
     }
 }
@@ -0,0 +1,18 @@
+-- 增量去重：水位表及URL、名称索引
+-- 执行此脚本前请备份数据库
+
+-- 去重任务的水位：已处理到的最大资源ID，定时任务每次只检查ID更大的新资源
+CREATE TABLE IF NOT EXISTS dedup_watermark (
+  name VARCHAR(64) PRIMARY KEY COMMENT '任务名称',
+  last_id INT NOT NULL COMMENT '已处理到的最大资源ID',
+  update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='去重水位表';
+
+-- 新资源的URL、名称按索引查找已有的同URL、同名资源，不再扫描全表
+CREATE INDEX idx_resource_url ON resource(url);
+CREATE INDEX idx_resource_name ON resource(name);
+
+-- 水位为空时，第一次运行会按ID分批检查全部资源，之后每次只检查新资源
+
+-- 查看索引确认
+SHOW INDEX FROM resource;
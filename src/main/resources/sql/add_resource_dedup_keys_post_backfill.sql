@@ -0,0 +1,19 @@
+-- 为resource表的规范化URL哈希创建唯一索引（回填后执行）
+-- 执行此脚本前请备份数据库；脚本可重复执行
+-- 前提：已执行 add_resource_dedup_keys_pre_backfill.sql，并已通过 POST /api/admin/cleanup/dedup-keys 回填去重键、
+-- 删除规范化URL重复的资源；仍有重复时创建唯一索引会失败，重新回填后再执行即可
+-- 此后写入时按规范化URL哈希合并重复资源（INSERT ... ON DUPLICATE KEY UPDATE，保留resource_time较新的一条）
+
+SET @stmt = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND INDEX_NAME = 'uk_resource_canonical_url_hash') > 0,
+               'SELECT 1', 'CREATE UNIQUE INDEX uk_resource_canonical_url_hash ON resource(canonical_url_hash)');
+PREPARE stmt FROM @stmt; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- 唯一索引创建成功后删除回填期间使用的普通索引
+SET @stmt = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND INDEX_NAME = 'idx_resource_canonical_url_hash') > 0,
+               'DROP INDEX idx_resource_canonical_url_hash ON resource', 'SELECT 1');
+PREPARE stmt FROM @stmt; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- 查看索引确认
+SHOW INDEX FROM resource;
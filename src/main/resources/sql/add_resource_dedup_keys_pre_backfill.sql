@@ -0,0 +1,44 @@
+-- 为resource表添加去重键列（回填前执行）
+-- 执行此脚本前请备份数据库；脚本可重复执行
+-- 执行顺序：
+--   1. 本脚本：添加列和普通索引
+--   2. POST /api/admin/cleanup/dedup-keys：由应用按Java规则回填三列，并删除规范化URL重复的资源（每组保留resource_time最新的一条）
+--   3. add_resource_dedup_keys_post_backfill.sql：创建规范化URL哈希的唯一索引
+
+-- 规范化URL：夸克网盘分享链接只保留 pwd_id，其他链接去除空白、查询参数和锚点（规则见 StringCleanupUtil.canonicalizeUrl）
+-- 不截断，使用二进制排序规则（pwd_id 区分大小写）
+SET @stmt = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND COLUMN_NAME = 'canonical_url') > 0,
+               'SELECT 1',
+               'ALTER TABLE resource ADD COLUMN canonical_url VARCHAR(2048) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin COMMENT ''规范化URL'' AFTER url');
+PREPARE stmt FROM @stmt; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- 规范化URL哈希：完整规范化URL的MD5十六进制串（规则见 StringCleanupUtil.canonicalUrlHash，与 MD5(canonical_url) 相同）
+SET @stmt = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND COLUMN_NAME = 'canonical_url_hash') > 0,
+               'SELECT 1',
+               'ALTER TABLE resource ADD COLUMN canonical_url_hash CHAR(32) CHARACTER SET ascii COMMENT ''规范化URL的MD5（唯一）'' AFTER canonical_url');
+PREPARE stmt FROM @stmt; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- 名称哈希：规范化名称的MD5十六进制串（规则见 StringCleanupUtil.nameHash，与 MD5(name_norm) 相同），需先执行 add_resource_name_norm.sql
+SET @stmt = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND COLUMN_NAME = 'name_hash') > 0,
+               'SELECT 1',
+               'ALTER TABLE resource ADD COLUMN name_hash CHAR(32) CHARACTER SET ascii COMMENT ''规范化名称的MD5（去重候选）'' AFTER name_norm');
+PREPARE stmt FROM @stmt; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- 回填期间先建普通索引，查找重复资源时按索引比较；名称哈希一直保持普通索引
+SET @stmt = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND INDEX_NAME = 'idx_resource_canonical_url_hash') > 0
+               OR (SELECT COUNT(*) FROM information_schema.STATISTICS
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND INDEX_NAME = 'uk_resource_canonical_url_hash') > 0,
+               'SELECT 1', 'CREATE INDEX idx_resource_canonical_url_hash ON resource(canonical_url_hash)');
+PREPARE stmt FROM @stmt; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @stmt = IF((SELECT COUNT(*) FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'resource' AND INDEX_NAME = 'idx_resource_name_hash') > 0,
+               'SELECT 1', 'CREATE INDEX idx_resource_name_hash ON resource(name_hash)');
+PREPARE stmt FROM @stmt; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- 查看索引确认，然后执行回填：POST /api/admin/cleanup/dedup-keys
+SHOW INDEX FROM resource;
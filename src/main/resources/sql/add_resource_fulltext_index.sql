@@ -0,0 +1,15 @@
+-- 为resource表添加ngram全文索引（供 mysql_fulltext 搜索后端使用）
+-- 需要 MySQL 5.7.6+，ngram_token_size 使用默认值 2
+-- 执行此脚本前请备份数据库
+
+-- 名称+内容搜索（searchMode = multi）
+ALTER TABLE resource ADD FULLTEXT INDEX ft_resource_name_content (name, content) WITH PARSER ngram;
+
+-- 仅名称搜索（searchMode = name），MATCH 的列必须与全文索引的列完全一致
+ALTER TABLE resource ADD FULLTEXT INDEX ft_resource_name (name) WITH PARSER ngram;
+
+-- 规范化名称搜索（term_fanout 后端按 name_norm 匹配名称，与 ik_tokenized 一致），需要先添加 name_norm 列
+ALTER TABLE resource ADD FULLTEXT INDEX ft_resource_name_norm (name_norm) WITH PARSER ngram;
+
+-- 查看索引确认
+SHOW INDEX FROM resource;
@@ -0,0 +1,8 @@
+-- 为resource表添加游标分页使用的复合索引
+-- 执行此脚本前请备份数据库
+
+-- 按层级/类型过滤并按 resource_time、id 降序翻页时，可直接从游标位置开始扫描索引
+CREATE INDEX idx_resource_type_level_time_id ON resource(type, level, resource_time, id);
+
+-- 查看索引确认
+SHOW INDEX FROM resource;
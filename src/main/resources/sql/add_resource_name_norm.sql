@@ -0,0 +1,17 @@
+-- 为resource表添加规范化名称列及索引
+-- 执行此脚本前请备份数据库
+
+-- 规范化名称：小写、全角转半角、去除标点和空白（规则见 StringCleanupUtil.normalizeName）
+-- 使用二进制排序规则，使 LIKE 'xxx%' 的前缀范围与Java中的前缀判断完全一致
+ALTER TABLE resource
+  ADD COLUMN name_norm VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin COMMENT '规范化名称（小写、全角转半角、去除标点）' AFTER name;
+
+-- 完全匹配和前缀匹配通过该索引的范围扫描完成
+CREATE INDEX idx_resource_name_norm ON resource(name_norm);
+
+-- 历史数据的规范化名称由应用按Java规则回填：
+-- POST /api/admin/cleanup/name-norm
+-- 回填前 name_norm 为空的资源仍按小写名称参与包含匹配，但不参与前缀快速路径
+
+-- 查看索引确认
+SHOW INDEX FROM resource;
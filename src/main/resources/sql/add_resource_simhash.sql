@@ -0,0 +1,16 @@
+-- 为resource表添加 SimHash 指纹列及索引
+-- 执行此脚本前请备份数据库
+
+-- 名称和内容的64位 SimHash 指纹（规则见 SimHash.fingerprint），写入资源时由应用计算
+ALTER TABLE resource
+  ADD COLUMN simhash BIGINT COMMENT '名称和内容的SimHash指纹（近似重复检查）' AFTER content;
+
+-- 完全相同的指纹可直接按索引查找；汉明距离查询由应用内存中的分段索引完成
+CREATE INDEX idx_resource_simhash ON resource(simhash);
+
+-- 历史数据的指纹由应用按Java规则回填：
+-- POST /api/admin/cleanup/simhash
+-- 回填前 simhash 为空的资源不参与入库时的近似重复检查，仍由定时去重任务处理
+
+-- 查看索引确认
+SHOW INDEX FROM resource;
@@ -0,0 +1,39 @@
+package org.example.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MySQL全文检索后端测试类
+ */
+public class FulltextSearchBackendTest {
+
+    @Test
+    void testBooleanExpressionBoostsOriginalTerm() {
+        assertEquals(">\"斗罗大陆\" \"斗罗\" \"大陆\"",
+                FulltextSearchBackend.toBooleanExpression(Arrays.asList("斗罗大陆", "斗罗", "大陆")));
+        assertEquals("\"斗罗大陆\"",
+                FulltextSearchBackend.toBooleanExpression(Collections.singletonList("斗罗大陆")));
+    }
+
+    @Test
+    void testShortTermsUsePrefixWildcard() {
+        // 单个字符短于 ngram_token_size，作为短语不会匹配任何行
+        assertEquals("斗*", FulltextSearchBackend.toBooleanExpression(Collections.singletonList("斗")));
+        assertEquals(">\"斗罗\" 斗* 罗*",
+                FulltextSearchBackend.toBooleanExpression(Arrays.asList("斗罗", "斗", "罗")));
+        // 操作符字符仍作为短语，不拼接通配符
+        assertEquals("\"+\"", FulltextSearchBackend.toBooleanExpression(Collections.singletonList("+")));
+    }
+
+    @Test
+    void testBooleanExpressionStripsQuotes() {
+        assertEquals(">\"a b\" \"cd\"",
+                FulltextSearchBackend.toBooleanExpression(Arrays.asList("a\"b", "\"cd\"", "\"")));
+        assertNull(FulltextSearchBackend.toBooleanExpression(Collections.<String>emptyList()));
+    }
+}
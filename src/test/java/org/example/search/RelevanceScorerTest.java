@@ -0,0 +1,88 @@
+package org.example.search;
+
+import org.example.config.SearchScoringConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 相关性评分测试类
+ */
+public class RelevanceScorerTest {
+
+    private RelevanceScorer relevanceScorer;
+
+    @BeforeEach
+    void setUp() {
+        relevanceScorer = new RelevanceScorer();
+        ReflectionTestUtils.setField(relevanceScorer, "searchScoringConfig", new SearchScoringConfig());
+    }
+
+    @Test
+    void testTopKKeepsBestResultsInOrder() {
+        RelevanceScorer.TopK topK = relevanceScorer.newTopK(MatchTerm.of(Arrays.asList("斗罗大陆", "斗罗")), "multi", 3, null);
+        topK.offer(new ScoringCandidate(1, "完美世界", "与斗罗大陆齐名", 500L));
+        topK.offer(new ScoringCandidate(2, "斗罗大陆", "", 100L));
+        topK.offer(new ScoringCandidate(3, "斗罗大陆2绝世唐门", "", 300L));
+        topK.offer(new ScoringCandidate(4, "绝世斗罗", "", 400L));
+        topK.offer(new ScoringCandidate(5, "斗罗大陆", "", null));
+
+        // 完全匹配（时间为空的排在后面） > 前缀匹配 > 仅分词结果名称包含，内容匹配被挤出前3条
+        assertEquals(Arrays.asList(2, 5, 3), ids(topK.getResults()));
+        assertEquals(5, topK.getMatched());
+    }
+
+    @Test
+    void testNameModeIgnoresContentAndCursorSkipsEarlierResults() {
+        RelevanceScorer.TopK first = relevanceScorer.newTopK(MatchTerm.of(Arrays.asList("Doupo")), "name", 2, null);
+        first.offer(new ScoringCandidate(1, "doupo cangqiong", "", 100L));
+        first.offer(new ScoringCandidate(2, "DOUPO", "", 100L));
+        first.offer(new ScoringCandidate(3, "其他", "doupo", 100L));
+        List<RelevanceScorer.ScoredId> results = first.getResults();
+        assertEquals(Arrays.asList(2, 1), ids(results));
+
+        RelevanceScorer.TopK second = relevanceScorer.newTopK(MatchTerm.of(Arrays.asList("Doupo")), "name", 2,
+                                                              results.get(1).toCursor(DatabaseSearchBackend.NAME));
+        second.offer(new ScoringCandidate(1, "doupo cangqiong", "", 100L));
+        second.offer(new ScoringCandidate(2, "DOUPO", "", 100L));
+        second.offer(new ScoringCandidate(3, "其他", "doupo", 100L));
+        assertEquals(Arrays.asList(3), ids(second.getResults()));
+    }
+
+    @Test
+    void testNameTiersUseNormalizedName() {
+        RelevanceScorer.TopK topK = relevanceScorer.newTopK(MatchTerm.of(Arrays.asList("斗罗·大陆")), "multi", 3, null);
+        topK.offer(new ScoringCandidate(1, "斗罗大陆外传", "", 300L));
+        topK.offer(new ScoringCandidate(2, "《斗罗大陆》", "", 100L));
+        topK.offer(new ScoringCandidate(3, "完美世界", "斗罗·大陆", 200L));
+
+        // 名称去除标点后完全匹配 > 前缀匹配 > 内容按原词匹配
+        assertEquals(Arrays.asList(2, 1, 3), ids(topK.getResults()));
+    }
+
+    @Test
+    void testPrefixDominates() {
+        // 单个搜索词：前缀匹配（16）高于名称包含（8）
+        assertTrue(relevanceScorer.prefixDominates(MatchTerm.of(Arrays.asList("斗罗")), "multi"));
+        // IK分词结果包含在原始搜索词中：前缀匹配至少 16+4+2，其他结果最多 4+8+8
+        assertTrue(relevanceScorer.prefixDominates(MatchTerm.of(Arrays.asList("斗罗大陆", "斗罗", "大陆")), "multi"));
+        // 与原始搜索词无关的分词结果可能使其他结果反超
+        assertFalse(relevanceScorer.prefixDominates(MatchTerm.of(Arrays.asList("斗罗", "唐门", "绝世")), "multi"));
+        // 原始搜索词规范化后为空
+        assertFalse(relevanceScorer.prefixDominates(MatchTerm.of(Arrays.asList("《》")), "multi"));
+    }
+
+    private List<Integer> ids(List<RelevanceScorer.ScoredId> results) {
+        List<Integer> ids = new ArrayList<>();
+        for (RelevanceScorer.ScoredId result : results) {
+            ids.add(result.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.search;
+
+import org.example.config.SearchHighlightConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 搜索结果高亮测试类
+ */
+public class SearchHighlighterTest {
+
+    @Spy
+    private SearchHighlightConfig searchHighlightConfig = new SearchHighlightConfig();
+
+    @InjectMocks
+    private SearchHighlighter searchHighlighter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        searchHighlightConfig.setSnippetLength(10);
+        searchHighlightConfig.setSnippetLeadLength(2);
+    }
+
+    @Test
+    void testHighlightMergesOverlappingMatchesAndEscapes() {
+        assertEquals("<em>斗罗大陆</em>&lt;第二部&gt;",
+                     searchHighlighter.highlight("斗罗大陆<第二部>", Arrays.asList("斗罗大陆", "大陆")));
+        assertEquals("<em>Naruto</em> 火影", searchHighlighter.highlight("Naruto 火影", Collections.singletonList("naruto")));
+        assertEquals("无匹配", searchHighlighter.highlight("无匹配", Collections.singletonList("斗罗")));
+        assertNull(searchHighlighter.highlight(null, Collections.singletonList("斗罗")));
+    }
+
+    @Test
+    void testSnippetStartsNearFirstMatch() {
+        String content = "这是一段很长的介绍文字，\n\n讲述了斗罗大陆的故事以及后续的发展";
+
+        assertEquals("…述了斗罗大陆的故事以…", searchHighlighter.snippet(content, Collections.singletonList("斗罗")));
+        // 没有命中词时从开头截取，连续空白合并
+        assertEquals("这是一段很长的介绍文…", searchHighlighter.snippet(content, Collections.singletonList("唐门")));
+        // 命中词靠近末尾时摘要向前补足长度
+        assertEquals("…的故事以及后续的发展", searchHighlighter.snippet(content, Collections.singletonList("发展")));
+        assertEquals("短内容", searchHighlighter.snippet("短内容", Collections.singletonList("斗罗")));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.search;
+
+import org.example.config.SearchBackendConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 搜索后端影子对比测试类
+ */
+public class SearchShadowRunnerTest {
+
+    @Mock
+    private SearchBackendConfig searchBackendConfig;
+
+    @Mock
+    private SearchBackendRouter searchBackendRouter;
+
+    @InjectMocks
+    private SearchShadowRunner searchShadowRunner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(searchBackendConfig.isShadowEnabled()).thenReturn(true);
+        when(searchBackendConfig.getShadowCandidate()).thenReturn("candidate");
+        when(searchBackendConfig.getShadowSampleRate()).thenReturn(1.0);
+        when(searchBackendConfig.getShadowTopK()).thenReturn(4);
+        when(searchBackendConfig.getShadowThreads()).thenReturn(1);
+        when(searchBackendConfig.getShadowQueueCapacity()).thenReturn(10);
+
+        searchShadowRunner.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchShadowRunner.destroy();
+    }
+
+    @Test
+    void testOverlap() {
+        assertEquals(1.0, SearchShadowRunner.overlap(Collections.<Integer>emptyList(), Collections.<Integer>emptyList()));
+        assertEquals(0.5, SearchShadowRunner.overlap(Arrays.asList(1, 2, 3, 4), Arrays.asList(4, 3, 9, 8)));
+        assertEquals(0.0, SearchShadowRunner.overlap(Collections.singletonList(1), Collections.<Integer>emptyList()));
+    }
+
+    @Test
+    void testSampledQueryIsComparedAsynchronously() throws Exception {
+        SearchBackend primary = mock(SearchBackend.class);
+        SearchBackend candidate = mock(SearchBackend.class);
+        when(candidate.getName()).thenReturn("candidate");
+        when(candidate.isAvailable()).thenReturn(true);
+        when(candidate.search(any(SearchQuery.class), anyInt(), anyInt()))
+                .thenReturn(new SearchHits(Arrays.asList(1, 2, 5, 6), 4));
+        when(primary.getName()).thenReturn("primary");
+        when(searchBackendRouter.get("candidate")).thenReturn(candidate);
+
+        SearchQuery query = new SearchQuery(Collections.singletonList("斗罗大陆"), null, null, "multi");
+        searchShadowRunner.maybeCompare(query, primary, Arrays.asList(1, 2, 3, 4, 7), 1000000L);
+
+        Map<String, Object> statistics = searchShadowRunner.getStatistics();
+        for (int i = 0; i < 100 && !Long.valueOf(1).equals(statistics.get("comparisons")); i++) {
+            Thread.sleep(10);
+            statistics = searchShadowRunner.getStatistics();
+        }
+        assertEquals(1L, statistics.get("comparisons"));
+        assertEquals(0.5, statistics.get("averageOverlap"));
+        assertEquals(1.0, statistics.get("averagePrimaryMs"));
+    }
+}
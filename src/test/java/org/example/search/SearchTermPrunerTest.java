@@ -0,0 +1,93 @@
+package org.example.search;
+
+import org.example.config.SearchPruningConfig;
+import org.example.service.LuceneSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 搜索词裁剪测试类
+ */
+public class SearchTermPrunerTest {
+
+    @Spy
+    private SearchPruningConfig searchPruningConfig = new SearchPruningConfig();
+
+    @Mock
+    private LuceneSearchService luceneSearchService;
+
+    @InjectMocks
+    private SearchTermPruner searchTermPruner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        searchTermPruner.init();
+
+        // 共10000条资源，常见单字几乎匹配全部资源
+        when(luceneSearchService.isIndexReady()).thenReturn(true);
+        when(luceneSearchService.getIndexedDocCount()).thenReturn(10000);
+        when(luceneSearchService.documentFrequency(eq("斗罗"), anyString())).thenReturn(120);
+        when(luceneSearchService.documentFrequency(eq("大陆"), anyString())).thenReturn(900);
+        when(luceneSearchService.documentFrequency(eq("第二季"), anyString())).thenReturn(1500);
+        when(luceneSearchService.documentFrequency(eq("第"), anyString())).thenReturn(6000);
+        when(luceneSearchService.documentFrequency(eq("二"), anyString())).thenReturn(2500);
+        when(luceneSearchService.documentFrequency(eq("季"), anyString())).thenReturn(4000);
+    }
+
+    @Test
+    void testCommonTokensArePruned() {
+        SearchTermPruner.PrunedTerms result = searchTermPruner.prune(terms(), "multi");
+
+        assertEquals(Arrays.asList("斗罗大陆第二季", "斗罗", "大陆", "第二季"), result.getSearchTerms());
+        assertEquals(Arrays.asList("第", "二", "季"), result.getPrunedTerms());
+    }
+
+    @Test
+    void testTermCountIsCappedByDocumentFrequency() {
+        searchPruningConfig.setMaxTerms(3);
+
+        SearchTermPruner.PrunedTerms result = searchTermPruner.prune(terms(), "multi");
+
+        // 保留文档频率最低的两个分词结果，原始搜索词始终保留
+        assertEquals(Arrays.asList("斗罗大陆第二季", "斗罗", "大陆"), result.getSearchTerms());
+        assertEquals(Arrays.asList("第二季", "第", "二", "季"), result.getPrunedTerms());
+    }
+
+    @Test
+    void testSmallCatalogSkipsDocumentFrequency() throws IOException {
+        when(luceneSearchService.getIndexedDocCount()).thenReturn(500);
+
+        SearchTermPruner.PrunedTerms result = searchTermPruner.prune(terms(), "multi");
+
+        assertEquals(6, result.getSearchTerms().size());
+        assertEquals(Collections.singletonList("季"), result.getPrunedTerms());
+        verify(luceneSearchService, never()).documentFrequency(anyString(), anyString());
+    }
+
+    @Test
+    void testDocumentFrequencyIsCached() throws IOException {
+        searchTermPruner.prune(terms(), "multi");
+        searchTermPruner.prune(terms(), "multi");
+
+        verify(luceneSearchService, times(1)).documentFrequency("第", "multi");
+    }
+
+    private List<String> terms() {
+        return Arrays.asList("斗罗大陆第二季", "斗罗", "大陆", "第二季", "第", "二", "季");
+    }
+}
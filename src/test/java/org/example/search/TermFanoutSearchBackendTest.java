@@ -0,0 +1,210 @@
+package org.example.search;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.config.SearchBackendConfig;
+import org.example.config.SearchScoringConfig;
+import org.example.dto.SearchCursor;
+import org.example.mapper.ResourceMapper;
+import org.example.util.StringCleanupUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 按搜索词并行查询的搜索后端测试类
+ */
+public class TermFanoutSearchBackendTest {
+
+    private static final List<ScoringCandidate> CORPUS = Arrays.asList(
+            new ScoringCandidate(1, "斗罗大陆", "唐家三少玄幻小说改编动画", 100L),
+            new ScoringCandidate(2, "斗罗大陆2绝世唐门", "斗罗大陆第二部", 200L),
+            new ScoringCandidate(3, "完美世界", "与斗罗大陆齐名", 300L),
+            new ScoringCandidate(4, "大陆漂移纪录片", "地理科普", 400L),
+            new ScoringCandidate(5, "绝世唐门", "斗罗大陆第二部", 500L),
+            new ScoringCandidate(6, "凡人修仙传", "修仙", 600L),
+            new ScoringCandidate(7, "斗罗·大陆 外传", "番外", 700L));
+
+    @Mock
+    private ResourceMapper resourceMapper;
+
+    @Spy
+    private SearchBackendConfig searchBackendConfig = new SearchBackendConfig();
+
+    @Spy
+    private SearchScoringConfig searchScoringConfig = new SearchScoringConfig();
+
+    @Spy
+    private RelevanceScorer relevanceScorer = new RelevanceScorer();
+
+    @Spy
+    private DatabaseSearchBackend databaseSearchBackend = new DatabaseSearchBackend();
+
+    @InjectMocks
+    private TermFanoutSearchBackend termFanoutSearchBackend;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(relevanceScorer, "searchScoringConfig", searchScoringConfig);
+        ReflectionTestUtils.setField(databaseSearchBackend, "resourceMapper", resourceMapper);
+        ReflectionTestUtils.setField(databaseSearchBackend, "relevanceScorer", relevanceScorer);
+        ReflectionTestUtils.setField(databaseSearchBackend, "searchScoringConfig", searchScoringConfig);
+
+        // 数据库搜索后端：模拟 LIKE '%term%' 的候选行筛选，任一搜索词匹配规范化名称（multi模式下还包括内容）
+        doAnswer(invocation -> {
+            List<MatchTerm> terms = invocation.getArgument(0);
+            String searchMode = invocation.getArgument(3);
+            RelevanceScorer.TopK topK = invocation.getArgument(5);
+            for (ScoringCandidate candidate : CORPUS) {
+                for (MatchTerm term : terms) {
+                    if (normalizedName(candidate).contains(term.getNorm())
+                            || matches(candidate, term.getText(), searchMode)) {
+                        topK.offer(candidate);
+                        break;
+                    }
+                }
+            }
+            return null;
+        }).when(resourceMapper).selectScoringCandidates(anyList(), any(), any(), anyString(), anyInt(), any());
+
+        // 按搜索词查询：模拟单个短语（或单字前缀通配）的全文检索，不返回内容
+        doAnswer(invocation -> {
+            String term = termOf(invocation.getArgument(0));
+            String searchMode = invocation.getArgument(3);
+            ResultHandler<ScoringCandidate> handler = invocation.getArgument(4);
+            for (ScoringCandidate candidate : CORPUS) {
+                if (matches(candidate, term, searchMode)) {
+                    handle(handler, candidate);
+                }
+            }
+            return null;
+        }).when(resourceMapper).selectTermCandidatesByFulltext(anyString(), any(), any(), anyString(), any());
+
+        // 按规范化搜索词查询 name_norm 的全文检索
+        doAnswer(invocation -> {
+            String term = termOf(invocation.getArgument(0));
+            ResultHandler<ScoringCandidate> handler = invocation.getArgument(3);
+            for (ScoringCandidate candidate : CORPUS) {
+                if (normalizedName(candidate).contains(term)) {
+                    handle(handler, candidate);
+                }
+            }
+            return null;
+        }).when(resourceMapper).selectTermCandidatesByNameNorm(anyString(), any(), any(), any());
+
+        termFanoutSearchBackend.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        termFanoutSearchBackend.destroy();
+    }
+
+    @Test
+    void testMergedResultsMatchDatabaseBackend() {
+        SearchQuery query = new SearchQuery(Arrays.asList("斗罗大陆", "斗罗", "大陆", "唐门"), null, null, "multi", true);
+
+        for (int offset = 0; offset < 6; offset += 2) {
+            SearchHits expected = databaseSearchBackend.search(query, offset, 2);
+            SearchHits hits = termFanoutSearchBackend.search(query, offset, 2);
+
+            assertEquals(expected.getIds(), hits.getIds());
+            assertEquals(expected.getTotal(), hits.getTotal());
+            assertEquals(expected.getMatchedIds(), hits.getMatchedIds());
+        }
+
+        SearchHits hits = termFanoutSearchBackend.search(query, 0, 10);
+        assertEquals(6, hits.getTotal());
+        assertEquals(Arrays.asList("斗罗大陆", "斗罗", "大陆", "唐门"), new ArrayList<>(hits.getTermTimings().keySet()));
+    }
+
+    @Test
+    void testSearchAfterWalksSamePagesAsDatabaseBackend() {
+        SearchQuery query = new SearchQuery(Arrays.asList("斗罗大陆", "唐门"), null, null, "name");
+
+        List<Integer> ids = new ArrayList<>();
+        SearchCursor cursor = null;
+        do {
+            SearchHits page = termFanoutSearchBackend.searchAfter(query, cursor, 1);
+            ids.addAll(page.getIds());
+            cursor = page.getNextCursor();
+            if (cursor != null) {
+                assertEquals(TermFanoutSearchBackend.NAME, cursor.getSource());
+            }
+        } while (cursor != null);
+
+        assertEquals(databaseSearchBackend.search(query, 0, 10).getIds(), ids);
+    }
+
+    @Test
+    void testFindsNameNormAndSingleCharacterMatches() {
+        // "斗罗·大陆 外传" 的原名称不包含 "斗罗大陆"，只能按 name_norm 找到
+        SearchQuery query = new SearchQuery(Arrays.asList("斗罗大陆", "斗"), null, null, "name");
+
+        SearchHits expected = databaseSearchBackend.search(query, 0, 10);
+        SearchHits hits = termFanoutSearchBackend.search(query, 0, 10);
+        assertEquals(expected.getIds(), hits.getIds());
+        assertTrue(hits.getIds().contains(7));
+    }
+
+    @Test
+    void testRequiresFulltextIndex() {
+        assertFalse(termFanoutSearchBackend.isAvailable());
+        searchBackendConfig.setFulltextEnabled(true);
+        assertTrue(termFanoutSearchBackend.isAvailable());
+    }
+
+    @Test
+    void testTermFailurePropagates() {
+        doThrow(new IllegalStateException("连接失败")).when(resourceMapper)
+                .selectTermCandidatesByFulltext(anyString(), any(), any(), anyString(), any());
+
+        SearchQuery query = new SearchQuery(Arrays.asList("斗罗", "唐门"), null, null, "multi");
+        assertThrows(IllegalStateException.class, () -> termFanoutSearchBackend.search(query, 0, 10));
+    }
+
+    /**
+     * 从单个搜索词的 BOOLEAN MODE 表达式中取出搜索词
+     */
+    private static String termOf(String against) {
+        return against.endsWith("*") ? against.substring(0, against.length() - 1)
+                : against.substring(1, against.length() - 1);
+    }
+
+    private static String normalizedName(ScoringCandidate candidate) {
+        return StringCleanupUtil.normalizeName(candidate.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void handle(ResultHandler<ScoringCandidate> handler, ScoringCandidate candidate) {
+        ResultContext<ScoringCandidate> context = mock(ResultContext.class);
+        when(context.getResultObject()).thenReturn(new ScoringCandidate(candidate.getId(),
+                candidate.getName(), null, candidate.getResourceTime()));
+        handler.handleResult(context);
+    }
+
+    private static boolean matches(ScoringCandidate candidate, String term, String searchMode) {
+        return candidate.getName().contains(term)
+                || ("multi".equals(searchMode) && candidate.getContent().contains(term));
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.service;
+
+import org.example.entity.Resource;
+import org.example.event.ResourceChangePublisher;
+import org.example.mapper.ResourceMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 数据清理测试类
+ */
+public class DataCleanupServiceTest {
+
+    private ResourceMapper resourceMapper;
+
+    private ResourceChangePublisher resourceChangePublisher;
+
+    private DataCleanupService dataCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        resourceMapper = mock(ResourceMapper.class);
+        resourceChangePublisher = mock(ResourceChangePublisher.class);
+
+        dataCleanupService = new DataCleanupService();
+        ReflectionTestUtils.setField(dataCleanupService, "resourceMapper", resourceMapper);
+        ReflectionTestUtils.setField(dataCleanupService, "resourceChangePublisher", resourceChangePublisher);
+        ReflectionTestUtils.setField(dataCleanupService, "resourceDeduplicationService",
+                                     new ResourceDeduplicationService());
+    }
+
+    @Test
+    void testCleanedUrlClashKeepsNewerResource() {
+        Resource cleaned = resource(1, "凡人修仙传", "https://pan.quark.cn/s/abc\\\\", 300);
+        Resource older = resource(2, "凡人修仙传 4K", "https://pan.quark.cn/s/abc", 100);
+        when(resourceMapper.selectResourcesWithBackslashes()).thenReturn(Collections.singletonList(cleaned));
+        // 清理后的规范化URL与资源2相同：第一次更新违反唯一索引，删除较旧的资源2后重新更新
+        when(resourceMapper.updateResourceFields(any(Resource.class)))
+                .thenThrow(new DuplicateKeyException("uk_resource_canonical_url_hash"))
+                .thenReturn(1);
+        when(resourceMapper.selectByCanonicalUrlHash(older.getCanonicalUrlHash())).thenReturn(older);
+
+        dataCleanupService.cleanupBackslashesInDatabase();
+
+        verify(resourceMapper).deleteById(2);
+        verify(resourceMapper, times(2)).updateResourceFields(cleaned);
+        verify(resourceChangePublisher).publishDeleted(Collections.singletonList(2));
+        verify(resourceChangePublisher).publishUpserted(Collections.singletonList(cleaned));
+    }
+
+    @Test
+    void testCleanedUrlClashDeletesOlderCleanedResource() {
+        Resource cleaned = resource(1, "凡人修仙传", "https://pan.quark.cn/s/abc\\\\", 100);
+        Resource newer = resource(2, "凡人修仙传 4K", "https://pan.quark.cn/s/abc", 300);
+        when(resourceMapper.selectResourcesWithBackslashes()).thenReturn(Collections.singletonList(cleaned));
+        when(resourceMapper.updateResourceFields(any(Resource.class)))
+                .thenThrow(new DuplicateKeyException("uk_resource_canonical_url_hash"));
+        when(resourceMapper.selectByCanonicalUrlHash(newer.getCanonicalUrlHash())).thenReturn(newer);
+
+        dataCleanupService.cleanupBackslashesInDatabase();
+
+        // 清理的资源较旧：删除该资源，不再更新
+        verify(resourceMapper).deleteById(1);
+        verify(resourceMapper, times(1)).updateResourceFields(cleaned);
+        verify(resourceChangePublisher).publishDeleted(Collections.singletonList(1));
+        verify(resourceChangePublisher).publishUpserted(Collections.<Resource>emptyList());
+    }
+
+    private static Resource resource(int id, String name, String url, int resourceTime) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setName(name);
+        resource.setUrl(url);
+        resource.setResourceTime(resourceTime);
+        return resource;
+    }
+}
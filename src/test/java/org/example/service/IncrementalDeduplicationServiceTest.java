@@ -0,0 +1,174 @@
+package org.example.service;
+
+import org.example.config.DeduplicationConfig;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.event.ResourceChangePublisher;
+import org.example.mapper.DedupWatermarkMapper;
+import org.example.mapper.ResourceMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 增量资源去重测试类
+ */
+public class IncrementalDeduplicationServiceTest {
+
+    private ResourceMapper resourceMapper;
+
+    private DedupWatermarkMapper dedupWatermarkMapper;
+
+    private NearDuplicateService nearDuplicateService;
+
+    private DeduplicationConfig deduplicationConfig;
+
+    private IncrementalDeduplicationService incrementalDeduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        resourceMapper = mock(ResourceMapper.class);
+        dedupWatermarkMapper = mock(DedupWatermarkMapper.class);
+        nearDuplicateService = mock(NearDuplicateService.class);
+        deduplicationConfig = new DeduplicationConfig();
+        deduplicationConfig.setSimilarityEnabled(true);
+        deduplicationConfig.setIncrementalBatchSize(2);
+
+        incrementalDeduplicationService = new IncrementalDeduplicationService();
+        ReflectionTestUtils.setField(incrementalDeduplicationService, "resourceMapper", resourceMapper);
+        ReflectionTestUtils.setField(incrementalDeduplicationService, "dedupWatermarkMapper", dedupWatermarkMapper);
+        ReflectionTestUtils.setField(incrementalDeduplicationService, "resourceChangePublisher",
+                                     mock(ResourceChangePublisher.class));
+        ReflectionTestUtils.setField(incrementalDeduplicationService, "deduplicationConfig", deduplicationConfig);
+        ResourceDeduplicationService resourceDeduplicationService = new ResourceDeduplicationService();
+        ReflectionTestUtils.setField(resourceDeduplicationService, "deduplicationConfig", deduplicationConfig);
+        ReflectionTestUtils.setField(incrementalDeduplicationService, "resourceDeduplicationService",
+                                     resourceDeduplicationService);
+        ReflectionTestUtils.setField(incrementalDeduplicationService, "nearDuplicateService", nearDuplicateService);
+
+        when(nearDuplicateService.isReady()).thenReturn(true);
+        when(nearDuplicateService.findNearDuplicates(any(Resource.class), isNull()))
+                .thenReturn(Collections.<Resource>emptyList());
+        when(resourceMapper.findDuplicateIdsByUrls(anyList())).thenReturn(Collections.<Integer>emptyList());
+        when(resourceMapper.findDuplicateIdsByNames(anyList())).thenReturn(Collections.<Integer>emptyList());
+        when(resourceMapper.deleteByIds(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+    }
+
+    @Test
+    void testOnlyResourcesAfterWatermarkAreChecked() {
+        Resource r11 = resource(11, "凡人修仙传", "https://pan.quark.cn/s/a", 200);
+        Resource r12 = resource(12, "三体", "", 200);
+        Resource r13 = resource(13, "庆余年", "https://pan.quark.cn/s/c", 300);
+        Resource old = resource(3, "凡人修仙传 4K", "https://pan.quark.cn/s/old", 100);
+        when(dedupWatermarkMapper.selectLastId(IncrementalDeduplicationService.WATERMARK_NAME)).thenReturn(10);
+        when(resourceMapper.selectBatchAfterId(eq(10), eq(2))).thenReturn(Arrays.asList(r11, r12));
+        when(resourceMapper.selectBatchAfterId(eq(12), eq(2))).thenReturn(Collections.singletonList(r13));
+        when(resourceMapper.selectBatchAfterId(eq(13), eq(2))).thenReturn(Collections.<Resource>emptyList());
+        // 新资源11与旧资源1同URL（旧资源较旧），与旧资源3近似重复（旧资源较旧）
+        when(resourceMapper.findDuplicateIdsByUrls(Collections.singletonList("https://pan.quark.cn/s/a")))
+                .thenReturn(Collections.singletonList(1));
+        when(nearDuplicateService.findNearDuplicates(same(r11), isNull())).thenReturn(Collections.singletonList(old));
+
+        ResourceDeduplicationService.DeduplicationStats removed =
+                incrementalDeduplicationService.deduplicateNewResources();
+
+        assertEquals(1, removed.getUrlDuplicateCount());
+        assertEquals(0, removed.getNameDuplicateCount());
+        assertEquals(1, removed.getSimilarityDuplicateCount());
+        // 空URL不参与查找，名称按批查找
+        verify(resourceMapper).findDuplicateIdsByNames(Arrays.asList("凡人修仙传", "三体"));
+        verify(resourceMapper).deleteByIds(Collections.singletonList(1));
+        verify(resourceMapper).deleteByIds(Collections.singletonList(3));
+        verify(resourceMapper, never()).findDuplicateIdsByUrl();
+        verify(dedupWatermarkMapper).upsertLastId(IncrementalDeduplicationService.WATERMARK_NAME, 12);
+        verify(dedupWatermarkMapper).upsertLastId(IncrementalDeduplicationService.WATERMARK_NAME, 13);
+    }
+
+    @Test
+    void testNewerDuplicateRemovedOnceAndIndexNotReady() {
+        Resource r21 = resource(21, "凡人修仙传", "", 100);
+        Resource r22 = resource(22, "凡人修仙传【4K】", "", 300);
+        when(dedupWatermarkMapper.selectLastId(IncrementalDeduplicationService.WATERMARK_NAME)).thenReturn(null);
+        when(resourceMapper.selectBatchAfterId(eq(0), eq(2))).thenReturn(Arrays.asList(r21, r22));
+        when(resourceMapper.selectBatchAfterId(eq(22), eq(2))).thenReturn(Collections.<Resource>emptyList());
+        // 两条新资源互为近似重复，只删除较旧的一条
+        when(nearDuplicateService.findNearDuplicates(same(r21), isNull())).thenReturn(Collections.singletonList(r22));
+        when(nearDuplicateService.findNearDuplicates(same(r22), isNull())).thenReturn(Collections.singletonList(r21));
+
+        assertEquals(1, incrementalDeduplicationService.deduplicateNewResources().getSimilarityDuplicateCount());
+        verify(resourceMapper).deleteByIds(Collections.singletonList(21));
+        verify(dedupWatermarkMapper).upsertLastId(IncrementalDeduplicationService.WATERMARK_NAME, 22);
+
+        // 指纹索引尚未构建完成时不运行，水位不变
+        when(nearDuplicateService.isReady()).thenReturn(false);
+        assertEquals(0, incrementalDeduplicationService.deduplicateNewResources().getTotalDuplicateCount());
+        verify(dedupWatermarkMapper, times(1)).upsertLastId(anyString(), anyInt());
+    }
+
+    @Test
+    void testSameNormalizedNameIsCandidateNotAutomaticDuplicate() {
+        Resource r31 = resource(31, "凡人修仙传 第一季", "", 300);
+        Resource sameTitle = resource(7, "凡人修仙传.第一季", "", 100);
+        when(dedupWatermarkMapper.selectLastId(IncrementalDeduplicationService.WATERMARK_NAME)).thenReturn(30);
+        when(resourceMapper.selectBatchAfterId(eq(30), eq(2))).thenReturn(Collections.singletonList(r31));
+        when(resourceMapper.selectBatchAfterId(eq(31), eq(2))).thenReturn(Collections.<Resource>emptyList());
+        // 名称哈希相同的资源作为候选，相似度确认后删除较旧的一条
+        when(resourceMapper.selectByNameHashes(Collections.singletonList(r31.getNameHash())))
+                .thenReturn(Arrays.asList(r31, sameTitle));
+
+        assertEquals(1, incrementalDeduplicationService.deduplicateNewResources().getSimilarityDuplicateCount());
+        verify(resourceMapper).deleteByIds(Collections.singletonList(7));
+
+        // 关闭相似度去重时名称哈希相同的资源不会被删除
+        deduplicationConfig.setSimilarityEnabled(false);
+        when(dedupWatermarkMapper.selectLastId(IncrementalDeduplicationService.WATERMARK_NAME)).thenReturn(30);
+        incrementalDeduplicationService.deduplicateNewResources();
+        verify(resourceMapper, times(1)).selectByNameHashes(anyList());
+    }
+
+    @Test
+    void testUpsertedResourcesBelowWatermarkAreRechecked() {
+        // 合并到已有资源5（保留原ID）的更新和提交较晚的资源8都不超过水位；资源12超过水位，由按水位扫描覆盖
+        Resource r5 = resource(5, "凡人修仙传", "https://pan.quark.cn/s/a", 300);
+        Resource r8 = resource(8, "三体", "https://pan.quark.cn/s/b", 200);
+        Resource r12 = resource(12, "庆余年", "https://pan.quark.cn/s/c", 100);
+        incrementalDeduplicationService.onResourceChange(ResourceChangeEvent.upserted(Arrays.asList(r8, r5, r12)));
+        incrementalDeduplicationService.onResourceChange(ResourceChangeEvent.upserted(
+                Collections.singletonList(resource(9, "仙逆", "", 100))));
+        incrementalDeduplicationService.onResourceChange(ResourceChangeEvent.deleted(Collections.singletonList(9)));
+
+        when(dedupWatermarkMapper.selectLastId(IncrementalDeduplicationService.WATERMARK_NAME)).thenReturn(10);
+        when(resourceMapper.selectByIds(Arrays.asList(5, 8))).thenReturn(Arrays.asList(r5, r8));
+        when(resourceMapper.selectBatchAfterId(eq(10), eq(2))).thenReturn(Collections.singletonList(r12));
+        when(resourceMapper.selectBatchAfterId(eq(12), eq(2))).thenReturn(Collections.<Resource>emptyList());
+        when(resourceMapper.findDuplicateIdsByNames(Arrays.asList("凡人修仙传", "三体")))
+                .thenReturn(Collections.singletonList(2));
+
+        assertEquals(1, incrementalDeduplicationService.deduplicateNewResources().getNameDuplicateCount());
+        verify(resourceMapper).deleteByIds(Collections.singletonList(2));
+        verify(resourceMapper).findDuplicateIdsByUrls(Collections.singletonList("https://pan.quark.cn/s/c"));
+        verify(dedupWatermarkMapper).upsertLastId(IncrementalDeduplicationService.WATERMARK_NAME, 12);
+
+        // 已检查过的资源不再重复检查
+        when(dedupWatermarkMapper.selectLastId(IncrementalDeduplicationService.WATERMARK_NAME)).thenReturn(12);
+        incrementalDeduplicationService.deduplicateNewResources();
+        verify(resourceMapper, times(1)).selectByIds(anyList());
+    }
+
+    private static Resource resource(int id, String name, String url, int resourceTime) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setName(name);
+        resource.setUrl(url);
+        resource.setResourceTime(resourceTime);
+        return resource;
+    }
+}
@@ -0,0 +1,272 @@
+package org.example.service;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.example.config.SearchIndexConfig;
+import org.example.config.SearchScoringConfig;
+import org.example.dto.SearchCursor;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.mapper.ResourceMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lucene索引搜索测试类
+ */
+public class LuceneSearchServiceTest {
+
+    @Mock
+    private SearchIndexConfig searchIndexConfig;
+
+    @Mock
+    private ResourceMapper resourceMapper;
+
+    @Mock
+    private SearchCacheService searchCacheService;
+
+    @Spy
+    private SearchScoringConfig searchScoringConfig = new SearchScoringConfig();
+
+    @InjectMocks
+    private LuceneSearchService luceneSearchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        when(searchIndexConfig.isEnabled()).thenReturn(false);
+        when(searchIndexConfig.getRebuildBatchSize()).thenReturn(2);
+
+        List<Resource> resources = new ArrayList<>();
+        resources.add(resource(1, "斗罗大陆", "唐家三少玄幻小说改编动画", 1, "anime", 100));
+        resources.add(resource(2, "斗罗大陆2绝世唐门", "斗罗大陆第二部", 1, "anime", 200));
+        resources.add(resource(3, "完美世界", "辰东作品，讲述石昊的故事，与斗罗大陆齐名", 1, "anime", 300));
+        resources.add(resource(4, "大陆漂移纪录片", "地理科普", 2, "movie", 400));
+
+        when(resourceMapper.selectBatchAfterId(eq(0), anyInt())).thenReturn(resources.subList(0, 2));
+        when(resourceMapper.selectBatchAfterId(eq(2), anyInt())).thenReturn(resources.subList(2, 4));
+        when(resourceMapper.selectBatchAfterId(eq(4), anyInt())).thenReturn(Collections.<Resource>emptyList());
+
+        luceneSearchService.init();
+        luceneSearchService.openIndex(new ByteBuffersDirectory());
+        luceneSearchService.rebuildIndex();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        luceneSearchService.destroy();
+    }
+
+    @Test
+    void testRebuildIndex() {
+        assertTrue(luceneSearchService.isIndexReady());
+        assertEquals(4, luceneSearchService.getIndexedDocCount());
+    }
+
+    @Test
+    void testSearchRanksExactThenPrefixThenContent() throws Exception {
+        LuceneSearchService.IndexSearchResult result = luceneSearchService.search(
+                Collections.singletonList("斗罗大陆"), null, null, "multi", 0, 10);
+
+        assertEquals(3, result.getTotalHits());
+        assertEquals(Arrays.asList(1, 2, 3), result.getIds());
+    }
+
+    @Test
+    void testSearchMatchesSubstringLikeDatabase() throws Exception {
+        // "罗大" 不是IK分词结果，但 LIKE '%罗大%' 可以匹配
+        LuceneSearchService.IndexSearchResult result = luceneSearchService.search(
+                Collections.singletonList("罗大"), null, null, "name", 0, 10);
+
+        assertEquals(Arrays.asList(2, 1), result.getIds());
+    }
+
+    @Test
+    void testSearchNameModeIgnoresContent() throws Exception {
+        LuceneSearchService.IndexSearchResult result = luceneSearchService.search(
+                Collections.singletonList("斗罗大陆"), null, null, "name", 0, 10);
+
+        assertEquals(Arrays.asList(1, 2), result.getIds());
+    }
+
+    @Test
+    void testSearchWithFiltersAndPaging() throws Exception {
+        LuceneSearchService.IndexSearchResult filtered = luceneSearchService.search(
+                Collections.singletonList("大陆"), 2, "movie", "multi", 0, 10);
+        assertEquals(Collections.singletonList(4), filtered.getIds());
+
+        // 空搜索词时按resource_time降序返回
+        LuceneSearchService.IndexSearchResult secondPage = luceneSearchService.search(
+                Collections.<String>emptyList(), null, null, "multi", 2, 2);
+        assertEquals(4, secondPage.getTotalHits());
+        assertEquals(Arrays.asList(2, 1), secondPage.getIds());
+    }
+
+    @Test
+    void testSearchCollectsAllMatchedIds() throws Exception {
+        BitSet matchedIds = new BitSet();
+        LuceneSearchService.IndexSearchResult result = luceneSearchService.search(
+                Collections.singletonList("斗罗大陆"), null, null, "multi", 0, 1, matchedIds);
+
+        assertEquals(Collections.singletonList(1), result.getIds());
+        assertEquals(3, matchedIds.cardinality());
+        assertTrue(matchedIds.get(1) && matchedIds.get(2) && matchedIds.get(3));
+    }
+
+    @Test
+    void testDocumentFrequency() throws Exception {
+        assertEquals(4, luceneSearchService.documentFrequency("大陆", "multi"));
+        assertEquals(3, luceneSearchService.documentFrequency("大陆", "name"));
+        assertEquals(2, luceneSearchService.documentFrequency("斗罗大陆", "name"));
+        assertEquals(0, luceneSearchService.documentFrequency(" ", "multi"));
+    }
+
+    @Test
+    void testSearchAfterWalksPagesWithCursor() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        SearchCursor cursor = null;
+        do {
+            LuceneSearchService.IndexSearchResult page = luceneSearchService.searchAfter(
+                    Collections.singletonList("大陆"), null, null, "multi", cursor, 1);
+            ids.addAll(page.getIds());
+            // 游标经过编码后仍可还原
+            cursor = page.getNextCursor() != null ? SearchCursor.decode(page.getNextCursor().encode()) : null;
+        } while (cursor != null);
+
+        assertEquals(luceneSearchService.search(Collections.singletonList("大陆"), null, null, "multi", 0, 10).getIds(), ids);
+    }
+
+    @Test
+    void testIncrementalUpdatesBecomeSearchable() throws Exception {
+        clearInvocations(searchCacheService);
+        Resource created = resource(5, "斗罗大陆3龙王传说", "第三部", 1, "anime", 500);
+        created.setSource(2);
+        luceneSearchService.onResourceChange(ResourceChangeEvent.upserted(Collections.singletonList(created)));
+        luceneSearchService.onResourceChange(ResourceChangeEvent.deleted(Collections.singletonList(1)));
+
+        List<Integer> ids = waitForIds("斗罗", Arrays.asList(5, 2));
+        assertEquals(Arrays.asList(5, 2), ids);
+        // 新写入刷新到搜索器后搜索结果缓存失效
+        verify(searchCacheService, atLeastOnce()).onIndexRefreshed();
+
+        luceneSearchService.onResourceChange(ResourceChangeEvent.sourceDeleted(2));
+        assertEquals(Collections.singletonList(2), waitForIds("斗罗", Collections.singletonList(2)));
+    }
+
+    @Test
+    void testRebuildHidesIndexAndAppliesConcurrentChangesLast() throws Exception {
+        List<Resource> staleBatch = Arrays.asList(
+                resource(3, "完美世界", "辰东作品", 1, "anime", 300),
+                resource(4, "大陆漂移纪录片", "地理科普", 2, "movie", 400));
+        boolean[] readyDuringRebuild = {true};
+        when(resourceMapper.selectBatchAfterId(eq(2), anyInt())).thenAnswer(invocation -> {
+            readyDuringRebuild[0] = luceneSearchService.isIndexReady();
+            // 批次读出之后才提交的改名，事件先于批次写入索引
+            Resource renamed = resource(3, "遮天", "辰东作品", 1, "anime", 301);
+            luceneSearchService.onResourceChange(ResourceChangeEvent.upserted(Collections.singletonList(renamed)));
+            return staleBatch;
+        });
+
+        luceneSearchService.rebuildIndex();
+
+        assertFalse(readyDuringRebuild[0]);
+        assertTrue(luceneSearchService.isIndexReady());
+        assertEquals(Collections.singletonList(3), luceneSearchService.search(
+                Collections.singletonList("遮天"), null, null, "name", 0, 10).getIds());
+        assertEquals(0, luceneSearchService.search(
+                Collections.singletonList("完美世界"), null, null, "name", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void testRebuildsAfterUncleanShutdown() throws Exception {
+        ByteBuffersDirectory crashed = indexWithCommitData("false");
+        assertFalse(openAndClose(crashed));
+        // 仍需重建的索引关闭时不标记为正常关闭
+        assertEquals("false", commitData(crashed).get(LuceneSearchService.COMMIT_KEY_CLEAN_SHUTDOWN));
+
+        ByteBuffersDirectory clean = indexWithCommitData("true");
+        assertTrue(openAndClose(clean));
+        assertEquals("true", commitData(clean).get(LuceneSearchService.COMMIT_KEY_CLEAN_SHUTDOWN));
+    }
+
+    /**
+     * 创建只有一个文档、带指定关闭标记的索引
+     */
+    private ByteBuffersDirectory indexWithCommitData(String cleanShutdown) throws Exception {
+        ByteBuffersDirectory directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            writer.addDocument(new Document());
+            Map<String, String> commitData = new HashMap<>();
+            commitData.put("indexVersion", LuceneSearchService.INDEX_VERSION);
+            commitData.put(LuceneSearchService.COMMIT_KEY_CLEAN_SHUTDOWN, cleanShutdown);
+            writer.setLiveCommitData(commitData.entrySet());
+            writer.commit();
+        }
+        return directory;
+    }
+
+    /**
+     * 用新的索引服务打开索引后正常关闭（不关闭目录）
+     * @return 打开后索引是否可直接用于搜索
+     */
+    private boolean openAndClose(ByteBuffersDirectory directory) throws Exception {
+        LuceneSearchService service = new LuceneSearchService();
+        ReflectionTestUtils.setField(service, "searchIndexConfig", searchIndexConfig);
+        ReflectionTestUtils.setField(service, "searchCacheService", searchCacheService);
+        service.init();
+        service.openIndex(directory);
+        boolean ready = service.isIndexReady();
+        ReflectionTestUtils.setField(service, "directory", null);
+        service.destroy();
+        return ready;
+    }
+
+    private static Map<String, String> commitData(ByteBuffersDirectory directory) throws Exception {
+        return SegmentInfos.readLatestCommit(directory).getUserData();
+    }
+
+    /**
+     * 等待近实时刷新线程刷新搜索器
+     */
+    private List<Integer> waitForIds(String term, List<Integer> expected) throws Exception {
+        List<Integer> ids = Collections.emptyList();
+        for (int i = 0; i < 100 && !expected.equals(ids); i++) {
+            Thread.sleep(20);
+            ids = luceneSearchService.search(Collections.singletonList(term), null, null, "name", 0, 10).getIds();
+        }
+        return ids;
+    }
+
+    private Resource resource(int id, String name, String content, int level, String type, int resourceTime) {
+        Resource resource = new Resource(name, content, "https://pan.quark.cn/s/" + id, null, level, type);
+        resource.setId(id);
+        resource.setResourceTime(resourceTime);
+        return resource;
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.service;
+
+import org.example.config.DeduplicationConfig;
+import org.example.config.SearchIndexConfig;
+import org.example.dto.ResourceFingerprint;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.event.ResourceChangePublisher;
+import org.example.mapper.ResourceMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 入库近似重复检查测试类
+ */
+public class NearDuplicateServiceTest {
+
+    private static final String FANREN_CONTENT =
+            "剧情简介：韩立自幼体弱，却在天南中得到奇遇，踏上了一条前所未有的修行之路。本资源为4K版本，国语音轨，内嵌简体中文字幕。";
+
+    private ResourceMapper resourceMapper;
+
+    private ResourceChangePublisher resourceChangePublisher;
+
+    private DeduplicationConfig deduplicationConfig;
+
+    private NearDuplicateService nearDuplicateService;
+
+    private final List<Resource> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        resourceMapper = mock(ResourceMapper.class);
+        resourceChangePublisher = mock(ResourceChangePublisher.class);
+        deduplicationConfig = new DeduplicationConfig();
+
+        ResourceDeduplicationService deduplicationService = new ResourceDeduplicationService();
+        ReflectionTestUtils.setField(deduplicationService, "deduplicationConfig", deduplicationConfig);
+
+        nearDuplicateService = new NearDuplicateService();
+        ReflectionTestUtils.setField(nearDuplicateService, "deduplicationConfig", deduplicationConfig);
+        ReflectionTestUtils.setField(nearDuplicateService, "searchIndexConfig", new SearchIndexConfig());
+        ReflectionTestUtils.setField(nearDuplicateService, "resourceMapper", resourceMapper);
+        ReflectionTestUtils.setField(nearDuplicateService, "resourceDeduplicationService", deduplicationService);
+        ReflectionTestUtils.setField(nearDuplicateService, "resourceChangePublisher", resourceChangePublisher);
+        nearDuplicateService.init();
+
+        stored.add(resource(1, "凡人修仙传 4K", FANREN_CONTENT, 2));
+        stored.add(resource(2, "三体 1080P", "汪淼发现身边的科学家接连离奇死亡，一场跨越四百年的对抗就此展开。", 2));
+        stored.add(resource(3, "（密码：amuyouxi）仙剑奇侠传", "", 1));
+
+        List<ResourceFingerprint> fingerprints = new ArrayList<>();
+        for (Resource resource : stored) {
+            fingerprints.add(new ResourceFingerprint(resource.getId(), resource.getSource(), resource.getSimhash()));
+        }
+        fingerprints.add(new ResourceFingerprint(4, 2, null));
+        when(resourceMapper.selectFingerprintsAfterId(eq(0), anyInt())).thenReturn(fingerprints);
+        when(resourceMapper.selectFingerprintsAfterId(eq(4), anyInt()))
+                .thenReturn(Collections.<ResourceFingerprint>emptyList());
+        when(resourceMapper.selectByIds(anyList())).thenAnswer(invocation -> {
+            List<Integer> ids = invocation.getArgument(0);
+            List<Resource> result = new ArrayList<>();
+            for (Integer id : ids) {
+                stored.stream().filter(resource -> resource.getId().equals(id)).forEach(result::add);
+            }
+            return result;
+        });
+
+        assertFalse(nearDuplicateService.isReady());
+        assertEquals(3, nearDuplicateService.rebuild());
+    }
+
+    @Test
+    void testCheckBeforeInsert() {
+        // 名称写法不同、内容相同：近似重复，资源时间不比已有资源新时跳过写入
+        assertTrue(nearDuplicateService.checkBeforeInsert(resource(null, "凡人修仙传【4K】", FANREN_CONTENT, 2))
+                .getAccepted().isEmpty());
+        Resource unrelated = resource(null, "庆余年 第二季", "范闲为查明家族旧案来到京都。", 2);
+        assertEquals(Collections.singletonList(unrelated),
+                     nearDuplicateService.checkBeforeInsert(unrelated).getAccepted());
+
+        // 配置为仍写入时只记录日志，不删除已有资源
+        deduplicationConfig.setIngestRejectDuplicates(false);
+        NearDuplicateService.IngestResult logged = nearDuplicateService.checkBeforeInsert(
+                resource(null, "凡人修仙传【4K】", FANREN_CONTENT, 2));
+        assertEquals(1, logged.getAccepted().size());
+        assertTrue(logged.getSupersededIds().isEmpty());
+        deduplicationConfig.setIngestRejectDuplicates(true);
+        deduplicationConfig.setIngestCheckEnabled(false);
+        assertEquals(1, nearDuplicateService.checkBeforeInsert(resource(null, "凡人修仙传【4K】", FANREN_CONTENT, 2))
+                .getAccepted().size());
+    }
+
+    @Test
+    void testNewerDuplicateIsWrittenAndOlderDeleted() {
+        Resource newer = resource(null, "凡人修仙传【4K】", FANREN_CONTENT, 2);
+        newer.setResourceTime(1700000001);
+
+        NearDuplicateService.IngestResult result = nearDuplicateService.checkBeforeInsert(newer);
+        assertEquals(Collections.singletonList(newer), result.getAccepted());
+        assertEquals(Collections.singletonList(1), result.getSupersededIds());
+
+        // 写入后删除较旧的已有资源；新资源合并到同一条资源时不删除
+        when(resourceMapper.deleteByIds(anyList())).thenReturn(1);
+        assertEquals(0, nearDuplicateService.deleteSuperseded(result.getSupersededIds(), Collections.singleton(1)));
+        assertEquals(1, nearDuplicateService.deleteSuperseded(result.getSupersededIds(), Collections.singleton(9)));
+        verify(resourceMapper).deleteByIds(Collections.singletonList(1));
+        verify(resourceChangePublisher).publishDeleted(Collections.singletonList(1));
+    }
+
+    @Test
+    void testFilterBeforeInsertChecksBatchAndIgnoresSource() {
+        List<Resource> batch = Arrays.asList(
+                resource(null, "（密码：amuyouxi）仙剑奇侠传", "", 1),
+                resource(null, "（密码：amuyouxi）古剑奇谭", "", 1),
+                resource(null, "（密码：amuyouxi）古剑奇谭 ", "", 1),
+                resource(null, "凡人修仙传 4K", FANREN_CONTENT, 1));
+
+        // 来源1的旧数据（ID 3）被忽略；同批重复的第3条和与其他来源重复的第4条不比已有资源新，被跳过
+        NearDuplicateService.IngestResult result = nearDuplicateService.filterBeforeInsert(batch, 1);
+        assertEquals(Arrays.asList(batch.get(0), batch.get(1)), result.getAccepted());
+        assertTrue(result.getSupersededIds().isEmpty());
+    }
+
+    @Test
+    void testFilterBeforeInsertKeepsNewestInBatch() {
+        List<Resource> batch = Arrays.asList(
+                resource(null, "（密码：amuyouxi）古剑奇谭", "", 1),
+                resource(null, "（密码：amuyouxi）古剑奇谭 ", "", 1),
+                resource(null, "凡人修仙传 4K", FANREN_CONTENT, 1));
+        batch.get(1).setResourceTime(1700000001);
+        batch.get(2).setResourceTime(1700000001);
+
+        // 同批较新的第2条替换第1条；较新的第3条写入后删除其他来源的已有资源1
+        NearDuplicateService.IngestResult result = nearDuplicateService.filterBeforeInsert(batch, 1);
+        assertEquals(Arrays.asList(batch.get(1), batch.get(2)), result.getAccepted());
+        assertEquals(Collections.singletonList(1), result.getSupersededIds());
+    }
+
+    @Test
+    void testIndexFollowsChangeEvents() {
+        Resource duplicate = resource(null, "凡人修仙传【4K】", FANREN_CONTENT, 2);
+        assertNotNull(nearDuplicateService.findNearDuplicate(duplicate, null));
+
+        nearDuplicateService.onResourceChange(ResourceChangeEvent.deleted(Collections.singletonList(1)));
+        assertNull(nearDuplicateService.findNearDuplicate(duplicate, null));
+
+        Resource added = resource(5, "庆余年 第二季", "范闲为查明家族旧案来到京都。", 3);
+        stored.add(added);
+        nearDuplicateService.onResourceChange(ResourceChangeEvent.upserted(Collections.singletonList(added)));
+        assertEquals(added, nearDuplicateService.findNearDuplicate(resource(null, "庆余年第二季", added.getContent(), 2), null));
+
+        nearDuplicateService.onResourceChange(ResourceChangeEvent.sourceDeleted(3));
+        assertNull(nearDuplicateService.findNearDuplicate(resource(null, "庆余年第二季", added.getContent(), 2), null));
+        assertEquals(2, nearDuplicateService.size());
+    }
+
+    private static Resource resource(Integer id, String name, String content, Integer source) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setName(name);
+        resource.setContent(content);
+        resource.setSource(source);
+        resource.setResourceTime(1700000000);
+        return resource;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.service;
+
+import org.example.config.DeduplicationConfig;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangePublisher;
+import org.example.mapper.ResourceMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 资源相似度去重测试类
+ */
+public class ResourceDeduplicationServiceTest {
+
+    private ResourceMapper resourceMapper;
+
+    private ResourceChangePublisher resourceChangePublisher;
+
+    private ResourceDeduplicationService deduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        resourceMapper = mock(ResourceMapper.class);
+        resourceChangePublisher = mock(ResourceChangePublisher.class);
+
+        deduplicationService = new ResourceDeduplicationService();
+        ReflectionTestUtils.setField(deduplicationService, "resourceMapper", resourceMapper);
+        ReflectionTestUtils.setField(deduplicationService, "resourceChangePublisher", resourceChangePublisher);
+        ReflectionTestUtils.setField(deduplicationService, "deduplicationConfig", new DeduplicationConfig());
+        deduplicationService.init();
+    }
+
+    @Test
+    void testSimilarResourcesKeepNewest() {
+        // 按 resource_time 降序（与相似度去重读取后的顺序相同）
+        List<Resource> resources = Arrays.asList(
+                resource(1, "斗罗大陆 (2018) 4K【更至261集】", "唐门外门弟子唐三，因偷学内门绝学为唐门所不容", 300),
+                resource(2, "完美世界 (2021) 4K 高码率【更至190集】", "石村少年石昊自幼体弱，却天生至尊骨", 200),
+                resource(3, "斗罗大陆 (2018) 4K【更至260集】", "唐门外门弟子唐三，因偷学内门绝学为唐门所不容", 100),
+                resource(4, "凡人修仙传 年番", "看机智的凡人小子韩立如何稳健发展、步步为营", 50));
+
+        assertEquals(Collections.singletonList(3), deduplicationService.findSimilarDuplicateIds(resources));
+    }
+
+    @Test
+    void testMatchesPairwiseComparison() {
+        List<Resource> resources = randomCatalog(200, new Random(42));
+
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < resources.size(); i++) {
+            if (expected.contains(resources.get(i).getId())) {
+                continue;
+            }
+            for (int j = i + 1; j < resources.size(); j++) {
+                if (expected.contains(resources.get(j).getId())) {
+                    continue;
+                }
+                Boolean similar = ReflectionTestUtils.invokeMethod(deduplicationService, "isSimilarResource",
+                                                                  resources.get(i), resources.get(j));
+                if (Boolean.TRUE.equals(similar)) {
+                    expected.add(resources.get(j).getId());
+                }
+            }
+        }
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, new HashSet<>(deduplicationService.findSimilarDuplicateIds(resources)));
+    }
+
+    @Test
+    void testDeduplicateDeletesSimilarResources() {
+        when(resourceMapper.findDuplicateIdsByUrl()).thenReturn(Collections.emptyList());
+        when(resourceMapper.findDuplicateIdsByName()).thenReturn(Collections.emptyList());
+        DeduplicationConfig config = new DeduplicationConfig();
+        config.setSimilarityEnabled(true);
+        config.setSimilarityBatchSize(2);
+        ReflectionTestUtils.setField(deduplicationService, "deduplicationConfig", config);
+        // 按ID分批读取：第二批不足一批时结束；较新的资源ID较小
+        when(resourceMapper.selectSimilarityCandidatesAfterId(0, 2, 500)).thenReturn(Arrays.asList(
+                resource(1, "繁花 (2023) 4K 沪语版+普通话版 全30集", null, 20),
+                resource(2, "繁花 (2023) 4K 沪语版+普通话版 全30集 ", null, 10)));
+        when(resourceMapper.selectSimilarityCandidatesAfterId(2, 2, 500)).thenReturn(Collections.singletonList(
+                resource(3, "繁花 (2023) 4K 沪语版+普通话版 全30集  ", null, 30)));
+        when(resourceMapper.deleteByIds(anyList())).thenReturn(2);
+
+        deduplicationService.deduplicateResources();
+
+        verify(resourceMapper, never()).selectSimilarityCandidatesAfterId(eq(3), anyInt(), anyInt());
+        verify(resourceMapper).deleteByIds(Arrays.asList(1, 2));
+        verify(resourceChangePublisher).publishDeleted(Arrays.asList(1, 2));
+    }
+
+    @Test
+    void testSimilarityDeduplicationDisabledByDefault() {
+        when(resourceMapper.findDuplicateIdsByUrl()).thenReturn(Collections.emptyList());
+        when(resourceMapper.findDuplicateIdsByName()).thenReturn(Collections.emptyList());
+
+        assertEquals(0, deduplicationService.deduplicateResources().getSimilarityDuplicateCount());
+        verify(resourceMapper, never()).selectSimilarityCandidatesAfterId(anyInt(), anyInt(), anyInt());
+    }
+
+    /**
+     * 由少量作品名和描述加上随机后缀组成的资源列表，包含大量近似重复
+     */
+    private static List<Resource> randomCatalog(int count, Random random) {
+        String[] names = {"斗罗大陆", "完美世界", "凡人修仙传", "仙逆", "吞噬星空", "庆余年 第二季", "漫长的季节", "三体"};
+        String[] contents = {
+                "唐门外门弟子唐三，因偷学内门绝学为唐门所不容，跳崖明志时却发现没有死",
+                "一粒尘可填海，一根草斩尽日月星辰，弹指间天翻地覆。群雄并起，万族林立",
+                "看机智的凡人小子韩立如何稳健发展、步步为营，战魔道、夺至宝、驰骋星海",
+                "2023年国产悬疑剧，讲述了一个发生在东北小城桦林的故事"};
+        List<Resource> resources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = names[random.nextInt(names.length)] + " (" + (2015 + random.nextInt(10)) + ") "
+                    + (random.nextBoolean() ? "4K" : "1080P") + " 更新至" + random.nextInt(300) + "集";
+            String content = random.nextInt(3) == 0 ? contents[random.nextInt(contents.length)] + random.nextInt(1000)
+                    : "资源编号" + random.nextInt(1_000_000) + "，" + Integer.toHexString(random.nextInt());
+            resources.add(resource(i + 1, name, content, count - i));
+        }
+        return resources;
+    }
+
+    private static Resource resource(int id, String name, String content, int resourceTime) {
+        Resource resource = new Resource(name, content, null, null, 1, "anime");
+        resource.setId(id);
+        resource.setResourceTime(resourceTime);
+        return resource;
+    }
+}
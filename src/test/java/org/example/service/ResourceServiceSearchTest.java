@@ -0,0 +1,409 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.example.config.SearchBackendConfig;
+import org.example.config.SearchCacheConfig;
+import org.example.config.SearchHighlightConfig;
+import org.example.config.SearchMetricsConfig;
+import org.example.config.SearchPaginationConfig;
+import org.example.config.SearchPruningConfig;
+import org.example.config.SearchSlowLogConfig;
+import org.example.config.SearchScoringConfig;
+import org.example.dto.ResourceResponse;
+import org.example.dto.SearchFacets;
+import org.example.dto.SearchRequest;
+import org.example.dto.SearchResponse;
+import org.example.dto.SlowSearchEntry;
+import org.example.entity.Resource;
+import org.example.mapper.ResourceMapper;
+import org.example.search.DatabaseSearchBackend;
+import org.example.search.RelevanceScorer;
+import org.example.search.ScoringCandidate;
+import org.example.search.SearchBackend;
+import org.example.search.SearchBackendRouter;
+import org.example.search.SearchHighlighter;
+import org.example.search.SearchMetrics;
+import org.example.search.SearchPhaseTimings;
+import org.example.search.SearchShadowRunner;
+import org.example.search.SearchSqlRecorder;
+import org.example.search.SearchTermPruner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 资源搜索分页测试类（数据库搜索路径）
+ */
+public class ResourceServiceSearchTest {
+
+    @Mock
+    private ResourceMapper resourceMapper;
+
+    @Mock
+    private LuceneSearchService luceneSearchService;
+
+    @Mock
+    private SearchCacheConfig searchCacheConfig;
+
+    @Mock
+    private SearchShadowRunner searchShadowRunner;
+
+    @Mock
+    private SearchFacetService searchFacetService;
+
+    @InjectMocks
+    private ResourceService resourceService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SlowSearchLog slowSearchLog;
+
+    private SearchPaginationConfig searchPaginationConfig;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        when(searchCacheConfig.isEnabled()).thenReturn(true);
+        when(searchCacheConfig.getMaximumSize()).thenReturn(100L);
+        when(searchCacheConfig.getExpireAfterWriteSeconds()).thenReturn(60L);
+        when(searchCacheConfig.getRankedIdsMaximumSize()).thenReturn(100L);
+        when(searchCacheConfig.getRankedIdsLimit()).thenReturn(3);
+
+        SearchCacheService searchCacheService = new SearchCacheService();
+        ReflectionTestUtils.setField(searchCacheService, "searchCacheConfig", searchCacheConfig);
+        searchCacheService.init();
+        ReflectionTestUtils.setField(resourceService, "searchCacheService", searchCacheService);
+
+        // 只注册数据库搜索后端
+        DatabaseSearchBackend databaseSearchBackend = new DatabaseSearchBackend();
+        SearchScoringConfig searchScoringConfig = new SearchScoringConfig();
+        RelevanceScorer relevanceScorer = new RelevanceScorer();
+        ReflectionTestUtils.setField(relevanceScorer, "searchScoringConfig", searchScoringConfig);
+        ReflectionTestUtils.setField(databaseSearchBackend, "resourceMapper", resourceMapper);
+        ReflectionTestUtils.setField(databaseSearchBackend, "relevanceScorer", relevanceScorer);
+        ReflectionTestUtils.setField(databaseSearchBackend, "searchScoringConfig", searchScoringConfig);
+        SearchBackendRouter searchBackendRouter = new SearchBackendRouter();
+        ReflectionTestUtils.setField(searchBackendRouter, "searchBackendConfig", new SearchBackendConfig());
+        ReflectionTestUtils.setField(searchBackendRouter, "searchBackends",
+                                     Collections.<SearchBackend>singletonList(databaseSearchBackend));
+        ReflectionTestUtils.setField(searchBackendRouter, "databaseSearchBackend", databaseSearchBackend);
+        searchBackendRouter.init();
+        ReflectionTestUtils.setField(resourceService, "searchBackendRouter", searchBackendRouter);
+
+        // 本地索引不可用（没有文档频率统计），只按数量上限裁剪搜索词
+        SearchPruningConfig searchPruningConfig = new SearchPruningConfig();
+        searchPruningConfig.setMaxTerms(3);
+        SearchTermPruner searchTermPruner = new SearchTermPruner();
+        ReflectionTestUtils.setField(searchTermPruner, "searchPruningConfig", searchPruningConfig);
+        ReflectionTestUtils.setField(searchTermPruner, "luceneSearchService", luceneSearchService);
+        searchTermPruner.init();
+        ReflectionTestUtils.setField(resourceService, "searchTermPruner", searchTermPruner);
+
+        SearchHighlightConfig searchHighlightConfig = new SearchHighlightConfig();
+        SearchHighlighter searchHighlighter = new SearchHighlighter();
+        ReflectionTestUtils.setField(searchHighlighter, "searchHighlightConfig", searchHighlightConfig);
+        ReflectionTestUtils.setField(resourceService, "searchHighlighter", searchHighlighter);
+        ReflectionTestUtils.setField(resourceService, "searchHighlightConfig", searchHighlightConfig);
+
+        searchPaginationConfig = new SearchPaginationConfig();
+        ReflectionTestUtils.setField(resourceService, "searchPaginationConfig", searchPaginationConfig);
+
+        meterRegistry = new SimpleMeterRegistry();
+        SearchMetrics searchMetrics = new SearchMetrics();
+        ReflectionTestUtils.setField(searchMetrics, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(searchMetrics, "searchMetricsConfig", new SearchMetricsConfig());
+        ReflectionTestUtils.setField(resourceService, "searchMetrics", searchMetrics);
+
+        // 阈值为0时每次搜索都会被记录
+        SearchSlowLogConfig searchSlowLogConfig = new SearchSlowLogConfig();
+        searchSlowLogConfig.setThresholdMs(0);
+        SearchSqlRecorder searchSqlRecorder = new SearchSqlRecorder();
+        ReflectionTestUtils.setField(searchSqlRecorder, "searchSlowLogConfig", searchSlowLogConfig);
+        ReflectionTestUtils.setField(resourceService, "searchSqlRecorder", searchSqlRecorder);
+        slowSearchLog = new SlowSearchLog();
+        ReflectionTestUtils.setField(slowSearchLog, "searchSlowLogConfig", searchSlowLogConfig);
+        slowSearchLog.init();
+        ReflectionTestUtils.setField(resourceService, "slowSearchLog", slowSearchLog);
+
+        when(luceneSearchService.analyzeText(anyString())).thenReturn(Collections.<String>emptyList());
+
+        // 仅按层级/类型过滤时共5条结果，排序ID缓存上限为3条
+        when(resourceMapper.selectRankedIdsByFilter(any(), any(), eq(0), eq(3))).thenReturn(Arrays.asList(5, 4, 3));
+        when(resourceMapper.selectRankedIdsByFilter(any(), any(), eq(2), eq(3))).thenReturn(Arrays.asList(3, 2, 1));
+        when(resourceMapper.selectRankedIdsByFilter(any(), any(), eq(2), eq(2))).thenReturn(Arrays.asList(3, 2));
+        when(resourceMapper.selectRankedIdsByFilter(any(), any(), eq(4), eq(3))).thenReturn(Collections.singletonList(1));
+        when(resourceMapper.countByCombinedTermsSearch(anyList(), any(), any(), anyString())).thenReturn(5L);
+
+        // 搜索词"斗罗"共4条候选行：名称完全匹配、前缀匹配和两条内容匹配（按资源时间区分先后）
+        doAnswer(invocation -> {
+            ResultHandler<ScoringCandidate> handler = invocation.getArgument(5);
+            offer(handler, new ScoringCandidate(1, "斗罗", "", 100L));
+            offer(handler, new ScoringCandidate(2, "大陆", "斗罗大陆第一部", 300L));
+            offer(handler, new ScoringCandidate(3, "斗罗大陆", "", 200L));
+            offer(handler, new ScoringCandidate(4, "唐门", "斗罗续作", 400L));
+            return null;
+        }).when(resourceMapper).selectScoringCandidates(anyList(), any(), any(), anyString(), anyInt(), any());
+        when(resourceMapper.selectSearchProjectionByIds(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<Resource> resources = new ArrayList<>();
+            for (Integer id : invocation.<List<Integer>>getArgument(0)) {
+                Resource resource = new Resource("资源" + id, "", "https://pan.quark.cn/s/" + id, null, 1, "anime");
+                resource.setId(id);
+                resources.add(resource);
+            }
+            return resources;
+        });
+    }
+
+    @Test
+    void testNoneModeReportsHasNextPageWithoutCount() {
+        SearchResponse first = search("", "none", 1);
+        assertEquals("none", first.getPaginationMode());
+        assertEquals(-1, first.getPageInfo().getTotal());
+        assertTrue(first.getPageInfo().isHasNextPage());
+        assertEquals(2, first.getPageInfo().getList().size());
+
+        SearchResponse third = search("", "none", 3);
+        assertFalse(third.getPageInfo().isHasNextPage());
+        assertEquals(1, third.getPageInfo().getList().size());
+
+        verify(resourceMapper, never()).countByCombinedTermsSearch(anyList(), any(), any(), anyString());
+    }
+
+    @Test
+    void testCachedModeCountsOncePerQuery() {
+        SearchResponse first = search("", "cached", 1);
+        SearchResponse second = search("", "cached", 2);
+
+        assertEquals(5, first.getPageInfo().getTotal());
+        assertEquals(3, second.getPageInfo().getPages());
+        assertEquals("cached", second.getPaginationMode());
+        verify(resourceMapper, times(1)).countByCombinedTermsSearch(anyList(), any(), any(), anyString());
+    }
+
+    @Test
+    void testExactModeCountsEveryPage() {
+        search("", "exact", 1);
+        SearchResponse second = search("", "exact", 2);
+
+        assertEquals(5, second.getPageInfo().getTotal());
+        assertEquals(Arrays.asList(3, 2), ids(second));
+        verify(resourceMapper, times(2)).countByCombinedTermsSearch(anyList(), any(), any(), anyString());
+    }
+
+    @Test
+    void testPageOffsetAndSizeAreBounded() {
+        // 偏移量按long计算：超大页码不再溢出为负数，超过上限时请求无效
+        assertThrows(IllegalArgumentException.class, () -> search("", "none", Integer.MAX_VALUE));
+
+        // 统计总数时超出范围的页码返回最后一页
+        SearchResponse last = search("", "exact", Integer.MAX_VALUE);
+        assertEquals(3, last.getPageInfo().getPageNum());
+        verify(resourceMapper).selectRankedIdsByFilter(any(), any(), eq(4), eq(2));
+
+        searchPaginationConfig.setMaxPageSize(3);
+        SearchRequest request = new SearchRequest("", 1, 1000, null, null, "multi");
+        request.setPaginationMode("none");
+        SearchResponse capped = resourceService.searchResourcesWithSearchInfo(request);
+        assertEquals(3, capped.getPageInfo().getPageSize());
+        verify(resourceMapper).selectRankedIdsByFilter(any(), any(), eq(0), eq(4));
+    }
+
+    @Test
+    void testTermsAreRankedInJavaWithoutCount() {
+        SearchResponse first = search("斗罗", "exact", 1);
+        SearchResponse second = search("斗罗", "exact", 2);
+
+        // 完全匹配 > 前缀匹配 > 内容匹配（资源时间降序）
+        assertEquals(Arrays.asList(1, 3), ids(first));
+        assertEquals(Arrays.asList(4, 2), ids(second));
+        assertEquals(4, second.getPageInfo().getTotal());
+        verify(resourceMapper, never()).countByCombinedTermsSearch(anyList(), any(), any(), anyString());
+    }
+
+    @Test
+    void testCursorModeSeeksFromLastKey() {
+        SearchResponse first = search("斗罗", "cursor", 1);
+        assertEquals("cursor", first.getPaginationMode());
+        assertEquals(-1, first.getPageInfo().getTotal());
+        assertTrue(first.getPageInfo().isHasNextPage());
+        assertEquals(Arrays.asList(1, 3), ids(first));
+        assertNotNull(first.getNextCursor());
+
+        SearchRequest request = new SearchRequest("斗罗", 0, 3, null, null, "multi");
+        request.setCursor(first.getNextCursor());
+        SearchResponse second = resourceService.searchResourcesWithSearchInfo(request);
+        assertEquals(Arrays.asList(4, 2), ids(second));
+        assertFalse(second.getPageInfo().isHasNextPage());
+        assertNull(second.getNextCursor());
+
+        verify(resourceMapper, never()).countByCombinedTermsSearch(anyList(), any(), any(), anyString());
+    }
+
+    @Test
+    void testPrefixFastPathSkipsFullScan() {
+        doAnswer(invocation -> {
+            ResultHandler<ScoringCandidate> handler = invocation.getArgument(6);
+            offer(handler, new ScoringCandidate(1, "斗罗", "", 100L));
+            offer(handler, new ScoringCandidate(3, "斗罗大陆", "", 200L));
+            offer(handler, new ScoringCandidate(5, "斗罗大陆外传", "", 50L));
+            return null;
+        }).when(resourceMapper).selectNamePrefixCandidates(eq("斗罗"), any(), any(), anyString(), anyInt(), anyInt(), any());
+
+        SearchResponse first = search("斗罗", "cursor", 1);
+        assertEquals(Arrays.asList(1, 3), ids(first));
+        assertTrue(first.getPageInfo().isHasNextPage());
+        verify(resourceMapper, never()).selectScoringCandidates(anyList(), any(), any(), anyString(), anyInt(), any());
+    }
+
+    @Test
+    void testSearchTermsAreCappedAndPrunedTermsReported() throws Exception {
+        when(luceneSearchService.analyzeText("斗罗大陆第二季")).thenReturn(
+                Arrays.asList("斗罗", "大陆", "第二季", "第", "二", "季"));
+
+        SearchResponse response = search("斗罗大陆第二季", "exact", 1);
+
+        assertEquals(Arrays.asList("斗罗大陆第二季", "斗罗", "第二季"), response.getActualSearchTerms());
+        assertEquals(Arrays.asList("大陆", "第", "二", "季"), response.getPrunedSearchTerms());
+    }
+
+    @Test
+    void testSearchResultsCarryHighlightedSnippet() {
+        Resource resource = new Resource("斗罗大陆", "唐家三少作品，斗罗大陆动画版", null, null, 1, "anime");
+        resource.setId(1);
+        when(resourceMapper.selectSearchProjectionByIds(anyList(), anyInt()))
+                .thenReturn(Collections.singletonList(resource));
+
+        ResourceResponse first = search("斗罗", "exact", 1).getPageInfo().getList().get(0);
+
+        assertNull(first.getUrl());
+        assertEquals("<em>斗罗</em>大陆", first.getHighlightedName());
+        assertEquals("唐家三少作品，<em>斗罗</em>大陆动画版", first.getHighlightedSnippet());
+        verify(resourceMapper, never()).selectByIds(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportStreamsNdjsonFromCursor() throws Exception {
+        ReflectionTestUtils.setField(resourceService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        List<Resource> resources = new ArrayList<>();
+        for (int id = 3; id >= 1; id--) {
+            Resource resource = new Resource("斗罗" + id, "内容" + id, "https://pan.quark.cn/s/" + id, null, 1, "anime");
+            resource.setId(id);
+            resources.add(resource);
+        }
+        Cursor<Resource> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(resources.iterator());
+        when(resourceMapper.selectCursorByCombinedTermsSearch(anyList(), any(), any(), anyString())).thenReturn(cursor);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = resourceService.exportSearchResults(" 斗罗 ", null, null, null, 2, output);
+
+        String[] lines = output.toString("UTF-8").split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(output.toString("UTF-8").endsWith("\n"));
+        assertEquals(3, new ObjectMapper().readTree(lines[0]).get("id").asInt());
+        assertEquals("https://pan.quark.cn/s/2", new ObjectMapper().readTree(lines[1]).get("url").asText());
+        verify(cursor).close();
+    }
+
+    @Test
+    void testFacetsUseIdsCollectedWhileScoring() {
+        SearchFacets facets = new SearchFacets(Collections.singletonMap("anime", 4L), Collections.singletonMap(1, 4L));
+        when(searchFacetService.count(any(BitSet.class))).thenReturn(facets);
+
+        SearchRequest request = new SearchRequest("斗罗", 1, 2, null, null, "multi");
+        request.setFacets(true);
+        SearchResponse response = resourceService.searchResourcesWithSearchInfo(request);
+
+        assertSame(facets, response.getFacets());
+        BitSet expected = new BitSet();
+        expected.set(1, 5);
+        verify(searchFacetService).count(expected);
+        // 不请求分面统计时不收集匹配ID
+        assertNull(search("斗罗", "exact", 1).getFacets());
+        verify(searchFacetService, times(1)).count(any(BitSet.class));
+    }
+
+    @Test
+    void testDebugReportsPhasesAndTimersAreTagged() {
+        SearchRequest request = new SearchRequest("斗罗", 1, 2, null, null, "multi");
+        request.setDebug(true);
+        SearchResponse debug = resourceService.searchResourcesWithSearchInfo(request);
+
+        assertEquals(Arrays.asList(SearchPhaseTimings.ANALYZE, SearchPhaseTimings.QUERY, SearchPhaseTimings.COUNT,
+                                   SearchPhaseTimings.HYDRATE, SearchPhaseTimings.CONVERT),
+                     new ArrayList<>(debug.getDebug().getPhases().keySet()));
+        assertTrue(debug.getDebug().getTotalMs() >= 0);
+
+        // 普通请求不返回调试信息，命中缓存的请求只记录总耗时
+        SearchResponse first = search("斗罗", "exact", 1);
+        SearchResponse cached = search("斗罗", "exact", 1);
+        assertNull(first.getDebug());
+        assertNull(cached.getDebug());
+
+        assertEquals(2, meterRegistry.get(SearchMetrics.REQUEST_TIMER).tag("backend", DatabaseSearchBackend.NAME)
+                .tag("searchMode", "multi").tag("terms", "1").tag("cached", "false").timer().count());
+        assertEquals(1, meterRegistry.get(SearchMetrics.REQUEST_TIMER).tag("cached", "true").timer().count());
+        // 调试请求跳过了搜索结果缓存，但排序结果已缓存，第一次普通请求不再执行查询阶段
+        assertEquals(1, meterRegistry.get(SearchMetrics.PHASE_TIMER).tag("phase", SearchPhaseTimings.QUERY).timer().count());
+        assertEquals(2, meterRegistry.get(SearchMetrics.PHASE_TIMER).tag("phase", SearchPhaseTimings.CONVERT).timer().count());
+    }
+
+    @Test
+    void testSlowSearchesAreRecorded() {
+        search("斗罗", "exact", 1);
+        search("斗罗", "exact", 1);
+
+        List<SlowSearchEntry> entries = slowSearchLog.getEntries(10);
+        assertEquals(2, entries.size());
+        // 按时间倒序：后一次命中搜索结果缓存
+        assertTrue(entries.get(0).isCached());
+        assertFalse(entries.get(1).isCached());
+        assertEquals(Collections.singletonList("斗罗"), entries.get(1).getActualSearchTerms());
+        assertEquals(DatabaseSearchBackend.NAME, entries.get(1).getBackend());
+        assertEquals(4, entries.get(1).getTotal());
+        assertEquals(2, entries.get(1).getRows());
+        assertTrue(entries.get(1).getPhases().containsKey(SearchPhaseTimings.QUERY));
+    }
+
+    private SearchResponse search(String searchTerm, String paginationMode, int page) {
+        SearchRequest request = new SearchRequest(searchTerm, page, 2, null, null, "multi");
+        request.setPaginationMode(paginationMode);
+        return resourceService.searchResourcesWithSearchInfo(request);
+    }
+
+    private List<Integer> ids(SearchResponse response) {
+        List<Integer> ids = new ArrayList<>();
+        for (ResourceResponse resource : response.getPageInfo().getList()) {
+            ids.add(resource.getId());
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void offer(ResultHandler<ScoringCandidate> handler, ScoringCandidate candidate) {
+        ResultContext<ScoringCandidate> context = mock(ResultContext.class);
+        when(context.getResultObject()).thenReturn(candidate);
+        handler.handleResult(context);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.service;
+
+import org.example.config.SearchCacheConfig;
+import org.example.dto.SearchResponse;
+import org.example.event.ResourceChangeEvent;
+import org.example.search.RankedIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * 搜索结果缓存测试类
+ */
+public class SearchCacheServiceTest {
+
+    @Mock
+    private SearchCacheConfig searchCacheConfig;
+
+    @InjectMocks
+    private SearchCacheService searchCacheService;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(searchCacheConfig.isEnabled()).thenReturn(true);
+        when(searchCacheConfig.getMaximumSize()).thenReturn(100L);
+        when(searchCacheConfig.getExpireAfterWriteSeconds()).thenReturn(60L);
+        when(searchCacheConfig.getRankedIdsMaximumSize()).thenReturn(100L);
+
+        searchCacheService.init();
+    }
+
+    @Test
+    void testNormalizedRequestsShareEntry() {
+        SearchResponse first = search(" 斗罗  大陆 ", "", 0);
+        SearchResponse second = search("斗罗 大陆", null, 1);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1L, searchCacheService.getStatistics().get("hitCount"));
+    }
+
+    @Test
+    void testResourceChangeInvalidatesEntries() {
+        search("斗罗大陆", null, 1);
+        searchCacheService.onResourceChange(ResourceChangeEvent.deleted(Collections.singletonList(1)));
+        search("斗罗大陆", null, 1);
+
+        assertEquals(2, loads.get());
+        assertEquals(1L, searchCacheService.getCatalogVersion());
+    }
+
+    @Test
+    void testLoadedFlagReportsWhetherSearchRan() {
+        AtomicBoolean firstLoaded = new AtomicBoolean();
+        AtomicBoolean secondLoaded = new AtomicBoolean();
+        search("斗罗大陆", null, 1, firstLoaded);
+        search("斗罗大陆", null, 1, secondLoaded);
+
+        assertTrue(firstLoaded.get());
+        assertFalse(secondLoaded.get());
+
+        // 关闭缓存时每次都执行搜索
+        when(searchCacheConfig.isEnabled()).thenReturn(false);
+        AtomicBoolean uncachedLoaded = new AtomicBoolean();
+        search("斗罗大陆", null, 1, uncachedLoaded);
+        assertTrue(uncachedLoaded.get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testRankedIdsSharedAcrossPages() {
+        RankedIds first = searchCacheService.getRankedIds(
+                searchCacheService.newQueryKey("斗罗大陆", null, null, "multi", "lucene_index"), this::rankedIds);
+        RankedIds second = searchCacheService.getRankedIds(
+                searchCacheService.newQueryKey(" 斗罗大陆 ", null, "", null, "lucene_index"), this::rankedIds);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        // 缓存上限内的页直接截取，超出上限的页需要单独查询
+        assertEquals(Arrays.asList(3, 4), first.slice(2, 2));
+        assertTrue(first.covers(3, 2));
+        assertFalse(first.covers(4, 2));
+    }
+
+    private RankedIds rankedIds() {
+        loads.incrementAndGet();
+        return new RankedIds(Arrays.asList(1, 2, 3, 4, 5), 8, Collections.singletonList("斗罗大陆"), "lucene_index");
+    }
+
+    private SearchResponse search(String term, String type, int page) {
+        return search(term, type, page, new AtomicBoolean());
+    }
+
+    private SearchResponse search(String term, String type, int page, AtomicBoolean loaded) {
+        return searchCacheService.getSearchResponse(
+                searchCacheService.newQueryKey(term, null, type, "multi", "lucene_index"), "exact", null, page, 10, () -> {
+            loads.incrementAndGet();
+            return new SearchResponse();
+        }, loaded);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.service;
+
+import org.example.config.SearchIndexConfig;
+import org.example.dto.SearchFacets;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.mapper.ResourceMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * 搜索分面统计测试类
+ */
+public class SearchFacetServiceTest {
+
+    @Spy
+    private SearchIndexConfig searchIndexConfig = new SearchIndexConfig();
+
+    @Mock
+    private ResourceMapper resourceMapper;
+
+    @InjectMocks
+    private SearchFacetService searchFacetService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        List<Resource> resources = new ArrayList<>();
+        resources.add(resource(1, 1, "anime", 1));
+        resources.add(resource(2, 1, "anime", 1));
+        resources.add(resource(3, 2, "movie", 1));
+        resources.add(resource(4, 2, "anime", 2));
+        resources.add(resource(5, 3, "novel", 2));
+        when(resourceMapper.selectFacetKeysAfterId(eq(0), anyInt())).thenReturn(resources);
+        when(resourceMapper.selectFacetKeysAfterId(eq(5), anyInt())).thenReturn(Collections.<Resource>emptyList());
+
+        assertFalse(searchFacetService.isReady());
+        assertEquals(5, searchFacetService.rebuild());
+    }
+
+    @Test
+    void testFilterOnlyCounts() {
+        SearchFacets all = searchFacetService.count(null, null);
+        assertEquals(Arrays.asList("anime", "movie", "novel"), new ArrayList<>(all.getType().keySet()));
+        assertEquals(Long.valueOf(3), all.getType().get("anime"));
+        assertEquals(Long.valueOf(2), all.getLevel().get(1));
+
+        SearchFacets level2 = searchFacetService.count(2, null);
+        assertEquals(Long.valueOf(1), level2.getType().get("movie"));
+        assertEquals(Long.valueOf(1), level2.getType().get("anime"));
+        assertEquals(Collections.singleton(2), level2.getLevel().keySet());
+
+        SearchFacets anime = searchFacetService.count(null, "anime");
+        assertEquals(Collections.singleton("anime"), anime.getType().keySet());
+        assertEquals(Long.valueOf(2), anime.getLevel().get(1));
+    }
+
+    @Test
+    void testMatchedIdCounts() {
+        BitSet matched = new BitSet();
+        matched.set(1);
+        matched.set(3);
+        matched.set(4);
+
+        SearchFacets facets = searchFacetService.count(matched);
+        assertEquals(Long.valueOf(2), facets.getType().get("anime"));
+        assertEquals(Long.valueOf(1), facets.getType().get("movie"));
+        assertFalse(facets.getType().containsKey("novel"));
+        assertEquals(Long.valueOf(2), facets.getLevel().get(2));
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        // 类型变更、删除和按来源删除后计数随之变化
+        searchFacetService.onResourceChange(ResourceChangeEvent.upserted(
+                Collections.singletonList(resource(1, 3, "novel", 1))));
+        searchFacetService.onResourceChange(ResourceChangeEvent.deleted(Collections.singletonList(3)));
+
+        SearchFacets facets = searchFacetService.count(null, null);
+        assertEquals(Long.valueOf(2), facets.getType().get("anime"));
+        assertEquals(Long.valueOf(2), facets.getType().get("novel"));
+        assertFalse(facets.getType().containsKey("movie"));
+
+        searchFacetService.onResourceChange(ResourceChangeEvent.sourceDeleted(2));
+        facets = searchFacetService.count(null, null);
+        assertEquals(Long.valueOf(1), facets.getType().get("anime"));
+        assertEquals(Long.valueOf(1), facets.getType().get("novel"));
+        assertEquals(Long.valueOf(1), facets.getLevel().get(3));
+    }
+
+    private Resource resource(int id, int level, String type, int source) {
+        Resource resource = new Resource("资源" + id, "", "https://pan.quark.cn/s/" + id, null, level, type);
+        resource.setId(id);
+        resource.setSource(source);
+        return resource;
+    }
+}
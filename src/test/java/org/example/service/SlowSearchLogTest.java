@@ -0,0 +1,94 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.SearchSlowLogConfig;
+import org.example.dto.SlowSearchEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 慢搜索记录测试类
+ */
+public class SlowSearchLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SearchSlowLogConfig searchSlowLogConfig;
+
+    private SlowSearchLog slowSearchLog;
+
+    @BeforeEach
+    void setUp() {
+        searchSlowLogConfig = new SearchSlowLogConfig();
+        searchSlowLogConfig.setCapacity(3);
+        searchSlowLogConfig.setFilePath(tempDir.resolve("slow.ndjson").toString());
+
+        slowSearchLog = new SlowSearchLog();
+        ReflectionTestUtils.setField(slowSearchLog, "searchSlowLogConfig", searchSlowLogConfig);
+        ReflectionTestUtils.setField(slowSearchLog, "objectMapper", new ObjectMapper());
+        slowSearchLog.init();
+    }
+
+    @Test
+    void testRingBufferKeepsNewestEntries() {
+        for (int i = 1; i <= 5; i++) {
+            slowSearchLog.record(entry(i));
+        }
+
+        assertEquals(Arrays.asList(5L, 4L, 3L), timestamps(slowSearchLog.getEntries(10)));
+        assertEquals(Arrays.asList(5L, 4L), timestamps(slowSearchLog.getEntries(2)));
+
+        slowSearchLog.clear();
+        assertTrue(slowSearchLog.getEntries(10).isEmpty());
+    }
+
+    @Test
+    void testFlushAppendsNewEntriesAndRolls() throws Exception {
+        searchSlowLogConfig.setFileEnabled(true);
+        Path file = tempDir.resolve("slow.ndjson");
+
+        slowSearchLog.record(entry(1));
+        slowSearchLog.record(entry(2));
+        slowSearchLog.flush();
+        // 已写入的记录不重复写入
+        slowSearchLog.flush();
+        assertEquals(2, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+
+        // 超过大小上限后滚动到 slow.ndjson.1
+        searchSlowLogConfig.setFileMaxBytes(1);
+        slowSearchLog.record(entry(3));
+        slowSearchLog.flush();
+        assertEquals(2, Files.readAllLines(tempDir.resolve("slow.ndjson.1"), StandardCharsets.UTF_8).size());
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertEquals(3L, new ObjectMapper().readValue(lines.get(0), SlowSearchEntry.class).getTimestamp());
+    }
+
+    private SlowSearchEntry entry(long timestamp) {
+        SlowSearchEntry entry = new SlowSearchEntry();
+        entry.setTimestamp(timestamp);
+        entry.setBackend("ik_tokenized");
+        entry.setTotalMs(600);
+        return entry;
+    }
+
+    private List<Long> timestamps(List<SlowSearchEntry> entries) {
+        List<Long> timestamps = new ArrayList<>();
+        for (SlowSearchEntry entry : entries) {
+            timestamps.add(entry.getTimestamp());
+        }
+        return timestamps;
+    }
+}
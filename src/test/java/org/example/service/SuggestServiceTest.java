@@ -0,0 +1,124 @@
+package org.example.service;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.example.config.SearchIndexConfig;
+import org.example.config.SearchSuggestConfig;
+import org.example.entity.Resource;
+import org.example.event.ResourceChangeEvent;
+import org.example.mapper.ResourceMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * 搜索联想测试类
+ */
+public class SuggestServiceTest {
+
+    @Spy
+    private SearchSuggestConfig searchSuggestConfig = new SearchSuggestConfig();
+
+    @Spy
+    private SearchIndexConfig searchIndexConfig = new SearchIndexConfig();
+
+    @Mock
+    private ResourceMapper resourceMapper;
+
+    @InjectMocks
+    private SuggestService suggestService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        List<Resource> resources = new ArrayList<>();
+        resources.add(resource(1, "斗罗大陆", "anime", 100));
+        resources.add(resource(2, "斗罗大陆2绝世唐门", "anime", 300));
+        resources.add(resource(3, "《斗罗大陆》真人版", "tv", 200));
+        resources.add(resource(4, "斗罗大陆", "anime", 400));
+        resources.add(resource(5, "完美世界", "anime", 500));
+
+        when(resourceMapper.selectBatchAfterId(eq(0), anyInt())).thenReturn(resources);
+        when(resourceMapper.selectBatchAfterId(eq(5), anyInt())).thenReturn(Collections.<Resource>emptyList());
+
+        suggestService.openIndex(new ByteBuffersDirectory());
+        suggestService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        suggestService.destroy();
+    }
+
+    @Test
+    void testSuggestOrdersByResourceTimeAndDeduplicatesNames() {
+        // 短前缀命中预先切分的前缀词项，长前缀走规范化名称前缀查询
+        assertEquals(Arrays.asList("斗罗大陆", "斗罗大陆2绝世唐门", "《斗罗大陆》真人版"),
+                     suggestService.suggest("斗罗", null, 10));
+        assertEquals(Arrays.asList("斗罗大陆2绝世唐门"), suggestService.suggest("斗罗大陆2绝", null, 10));
+        assertEquals(Arrays.asList("斗罗大陆"), suggestService.suggest("斗", null, 1));
+        assertTrue(suggestService.suggest("  ", null, 10).isEmpty());
+    }
+
+    @Test
+    void testSuggestFiltersByType() {
+        assertEquals(Collections.singletonList("《斗罗大陆》真人版"), suggestService.suggest("斗罗大陆", "tv", 10));
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        Resource renamed = resource(5, "斗罗大陆动画版", "anime", 600);
+        suggestService.onResourceChange(ResourceChangeEvent.upserted(Collections.singletonList(renamed)));
+        suggestService.onResourceChange(ResourceChangeEvent.deleted(Arrays.asList(2, 3)));
+
+        assertEquals(Arrays.asList("斗罗大陆动画版", "斗罗大陆"), suggestService.suggest("斗罗", null, 10));
+        assertTrue(suggestService.suggest("完美", null, 10).isEmpty());
+
+        Map<String, Object> statistics = suggestService.getStatistics();
+        assertEquals(3, statistics.get("docCount"));
+        assertEquals(2L, statistics.get("lookups"));
+        assertNotNull(statistics.get("p99Ms"));
+    }
+
+    @Test
+    void testRebuildKeepsServingOldIndexAndAppliesConcurrentChanges() throws Exception {
+        List<Resource> staleBatch = Arrays.asList(resource(5, "完美世界", "anime", 500), resource(6, "遮天", "anime", 700));
+        List<List<String>> suggestionsDuringRebuild = new ArrayList<>();
+        when(resourceMapper.selectBatchAfterId(eq(6), anyInt())).thenReturn(Collections.<Resource>emptyList());
+        when(resourceMapper.selectBatchAfterId(eq(0), anyInt())).thenAnswer(invocation -> {
+            suggestionsDuringRebuild.add(suggestService.suggest("完美", null, 10));
+            // 批次读出之后才提交的删除
+            suggestService.onResourceChange(ResourceChangeEvent.deleted(Collections.singletonList(5)));
+            return staleBatch;
+        });
+
+        suggestService.rebuild();
+
+        assertEquals(Collections.singletonList(Collections.singletonList("完美世界")), suggestionsDuringRebuild);
+        assertTrue(suggestService.suggest("完美", null, 10).isEmpty());
+        assertEquals(Collections.singletonList("遮天"), suggestService.suggest("遮", null, 10));
+        assertTrue(suggestService.suggest("斗罗", null, 10).isEmpty());
+    }
+
+    private Resource resource(int id, String name, String type, int resourceTime) {
+        Resource resource = new Resource(name, "", "https://pan.quark.cn/s/" + id, null, 1, type, 1);
+        resource.setId(id);
+        resource.setResourceTime(resourceTime);
+        return resource;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinHash + LSH 候选对测试
+ */
+public class MinHashLshTest {
+
+    @Test
+    void testShinglesMatchCleanedBigrams() {
+        // 清理后为 "ab ab"：二元组 ab、"b "、" a" 去重
+        assertEquals(3, MinHashLsh.shingles("AB, ab").length);
+        assertArrayEquals(MinHashLsh.shingles("斗罗大陆"), MinHashLsh.shingles("斗罗大陆 "));
+        assertEquals(1, MinHashLsh.shingles("a").length);
+        assertEquals(1, MinHashLsh.shingles("").length);
+    }
+
+    @Test
+    void testNearDuplicatesBecomeCandidates() {
+        MinHashLsh lsh = new MinHashLsh(20, 5, 1L);
+        List<String> texts = Arrays.asList(
+                "斗罗大陆 (2018) 4K【更至260集】",
+                "完美世界 (2021) 4K 高码率【更至190集】",
+                "斗罗大陆 (2018) 4K【更至261集】",
+                null,
+                "Python编程：从入门到实践（第3版）PDF+源码");
+
+        long[] pairs = lsh.candidatePairs(texts, 100);
+
+        assertTrue(contains(pairs, 0, 2));
+        assertFalse(contains(pairs, 0, 4));
+        assertFalse(contains(pairs, 1, 4));
+        for (long pair : pairs) {
+            assertNotEquals(3, (int) (pair >>> 32));
+            assertNotEquals(3, (int) pair);
+        }
+    }
+
+    @Test
+    void testPairsAreSortedAndDistinct() {
+        MinHashLsh lsh = new MinHashLsh(8, 1, 7L);
+        List<String> texts = Arrays.asList("凡人修仙传", "凡人修仙传", "凡人修仙传 年番", "凡人修仙传");
+
+        long[] pairs = lsh.candidatePairs(texts, 100);
+
+        for (int k = 0; k < pairs.length; k++) {
+            assertTrue((int) (pairs[k] >>> 32) < (int) pairs[k]);
+            if (k > 0) {
+                assertTrue(pairs[k - 1] < pairs[k]);
+            }
+        }
+        assertTrue(contains(pairs, 0, 1));
+        assertTrue(contains(pairs, 1, 3));
+    }
+
+    @Test
+    void testOversizedBucketsAreSkipped() {
+        MinHashLsh lsh = new MinHashLsh(4, 2, 3L);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            texts.add("完全相同的模板文本");
+        }
+
+        assertEquals(45, lsh.candidatePairs(texts, 10).length);
+        assertEquals(0, lsh.candidatePairs(texts, 9).length);
+    }
+
+    private static boolean contains(long[] pairs, int i, int j) {
+        return Arrays.binarySearch(pairs, ((long) i << 32) | j) >= 0;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SimHash 指纹及汉明距离索引测试类
+ */
+public class SimHashIndexTest {
+
+    @Test
+    void testSimilarTextsHaveCloseFingerprints() {
+        String content = "剧情简介：韩立自幼体弱，却在天南中得到奇遇，踏上了一条前所未有的修行之路。本资源为4K版本，国语音轨。";
+        long original = SimHash.fingerprint("凡人修仙传 4K", content);
+        long reformatted = SimHash.fingerprint("凡人修仙传【4K】", content + " ");
+        long edited = SimHash.fingerprint("凡人修仙传 4K", content.replace("国语音轨", "国语"));
+        long unrelated = SimHash.fingerprint("三体 1080P", "汪淼发现身边的科学家接连离奇死亡，一场跨越四百年的对抗就此展开。");
+
+        // 规范化后相同的名称和内容指纹完全相同
+        assertEquals(original, reformatted);
+        assertTrue(SimHash.hammingDistance(original, edited) <= 6);
+        assertTrue(SimHash.hammingDistance(original, unrelated) > 10);
+        assertNull(SimHash.fingerprint("【】", null));
+    }
+
+    @Test
+    void testFindWithinMatchesBruteForce() {
+        Random random = new Random(42);
+        SimHashIndex index = new SimHashIndex(3);
+        long[] fingerprints = new long[2000];
+        for (int id = 0; id < fingerprints.length; id++) {
+            // 一半为随机指纹，一半为前面某个指纹翻转若干位
+            long fingerprint = id % 2 == 0 || id < 2 ? random.nextLong()
+                    : flip(fingerprints[random.nextInt(id)], random.nextInt(6), random);
+            fingerprints[id] = fingerprint;
+            index.put(id, fingerprint);
+        }
+        assertEquals(fingerprints.length, index.size());
+
+        for (int query = 0; query < 200; query++) {
+            long probe = flip(fingerprints[random.nextInt(fingerprints.length)], random.nextInt(5), random);
+            List<Integer> expected = new ArrayList<>();
+            for (int distance = 0; distance <= 3; distance++) {
+                for (int id = 0; id < fingerprints.length; id++) {
+                    if (SimHash.hammingDistance(probe, fingerprints[id]) == distance) {
+                        expected.add(id);
+                    }
+                }
+            }
+            assertEquals(expected, index.findWithin(probe));
+        }
+    }
+
+    @Test
+    void testPutReplacesAndRemove() {
+        SimHashIndex index = new SimHashIndex(2);
+        index.put(1, 0L);
+        index.put(2, 0b1111L);
+        assertEquals(Collections.singletonList(1), index.findWithin(0b1L));
+
+        index.put(1, -1L);
+        assertEquals(Collections.<Integer>emptyList(), index.findWithin(0b1L));
+        assertEquals(Arrays.asList(1), index.findWithin(-1L ^ 0b11L));
+
+        index.remove(1);
+        assertEquals(1, index.size());
+        assertEquals(Collections.<Integer>emptyList(), index.findWithin(-1L));
+        assertEquals(Collections.singletonList(2), index.findWithin(0b11L));
+    }
+
+    private static long flip(long fingerprint, int bits, Random random) {
+        long result = fingerprint;
+        while (SimHash.hammingDistance(result, fingerprint) < bits) {
+            result ^= 1L << random.nextInt(64);
+        }
+        return result;
+    }
+}
@@ -135,4 +135,57 @@ public class StringCleanupUtilTest {
         assertEquals("", StringCleanupUtil.cleanSpecialCharacters("   "));
         assertEquals("", StringCleanupUtil.cleanResourceName("   "));
     }
+
+    @Test
+    void testNormalizeName() {
+        // 测试名称规范化：全角转半角、转小写、移除标点和空白
+        assertEquals("斗罗大陆2", StringCleanupUtil.normalizeName("《斗罗大陆》 ２"));
+        assertEquals("doupocangqiong", StringCleanupUtil.normalizeName("ＤｏｕＰｏ-Cang\\Qiong!"));
+        assertEquals("", StringCleanupUtil.normalizeName("【】 ..."));
+        assertNull(StringCleanupUtil.normalizeName(null));
+    }
+
+    @Test
+    void testCanonicalizeUrl() {
+        // 夸克网盘分享链接只保留 pwd_id，pwd_id 区分大小写
+        assertEquals("https://pan.quark.cn/s/a1B2c3", StringCleanupUtil.canonicalizeUrl(" https://pan.quark.cn/s/a1B2c3?pwd=xyz "));
+        assertEquals("https://pan.quark.cn/s/a1B2c3", StringCleanupUtil.canonicalizeUrl("http://pan.quark.cn/s/a1B2c3#/list/share"));
+        assertEquals("https://pan.quark.cn/s/a1B2c3", StringCleanupUtil.canonicalizeUrl("链接：https://pan.quark.cn/s/a1B2c3"));
+        assertNotEquals(StringCleanupUtil.canonicalizeUrl("https://pan.quark.cn/s/abc"),
+                        StringCleanupUtil.canonicalizeUrl("https://pan.quark.cn/s/ABC"));
+
+        // 其他链接去除空白、查询参数、锚点和末尾斜杠，协议和域名转小写
+        assertEquals("https://example.com/Path",
+                     StringCleanupUtil.canonicalizeUrl("HTTPS://EXAMPLE.com/Path/?from=qq#top"));
+        assertEquals("https://pan.baidu.com/s/1abc", StringCleanupUtil.canonicalizeUrl("https://pan.baidu.com/s/1abc \t"));
+        assertNull(StringCleanupUtil.canonicalizeUrl("   "));
+        assertNull(StringCleanupUtil.canonicalizeUrl(null));
+    }
+
+    @Test
+    void testCanonicalUrlHash() {
+        // 对完整的规范化URL取哈希，与 MySQL 的 MD5(canonical_url) 一致
+        assertEquals(StringCleanupUtil.canonicalUrlHash("https://pan.quark.cn/s/a1B2c3?pwd=xyz"),
+                     StringCleanupUtil.canonicalUrlHash("链接：https://pan.quark.cn/s/a1B2c3"));
+        assertEquals("e10adc3949ba59abbe56e057f20f883e", StringCleanupUtil.canonicalUrlHash("123456"));
+
+        // 超过255个字符、只有末尾不同的链接不会合并
+        StringBuilder prefix = new StringBuilder("https://example.com/");
+        while (prefix.length() < 300) {
+            prefix.append("segment/");
+        }
+        assertEquals(prefix.length() + 1, StringCleanupUtil.canonicalizeUrl(prefix + "a").length());
+        assertNotEquals(StringCleanupUtil.canonicalUrlHash(prefix + "a"), StringCleanupUtil.canonicalUrlHash(prefix + "b"));
+        assertNull(StringCleanupUtil.canonicalUrlHash(" "));
+    }
+
+    @Test
+    void testNameHash() {
+        // 规范化后相同的名称哈希相同，与 MySQL 的 MD5(name_norm) 一致
+        assertEquals(StringCleanupUtil.nameHash("《斗罗大陆》 ２"), StringCleanupUtil.nameHash("斗罗大陆2"));
+        assertEquals("e10adc3949ba59abbe56e057f20f883e", StringCleanupUtil.nameHash("123456"));
+        assertNotEquals(StringCleanupUtil.nameHash("斗罗大陆"), StringCleanupUtil.nameHash("斗罗大陆2"));
+        assertNull(StringCleanupUtil.nameHash("【】 ..."));
+        assertNull(StringCleanupUtil.nameHash(null));
+    }
 }
@@ -0,0 +1,135 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文本相似度测试：与按字符串集合、完整编辑距离矩阵计算的参考实现逐一比较
+ */
+public class TextSimilarityUtilTest {
+
+    private static final String ALPHABET = "abAB斗罗大陆 ,.-【】\t\n\u0001";
+
+    @Test
+    void testCleanTextMatchesRegex() {
+        Random random = new Random(1L);
+        for (int n = 0; n < 2000; n++) {
+            String text = randomText(random, 12);
+            assertEquals(text.toLowerCase().replaceAll("[\\p{Punct}\\s]+", " ").trim(),
+                    TextSimilarityUtil.cleanText(text), text);
+        }
+        assertEquals("", TextSimilarityUtil.cleanText(null));
+    }
+
+    @Test
+    void testSimilarityMatchesReference() {
+        Random random = new Random(2L);
+        double[] thresholds = {0.0, 0.3, 0.5, Math.nextUp(0.5), 0.7, 0.8, 0.9, Math.nextUp(0.9), 1.0};
+        for (int n = 0; n < 5000; n++) {
+            String str1 = randomText(random, 16);
+            String str2 = random.nextBoolean() ? mutate(random, str1) : randomText(random, 16);
+
+            double expected = referenceComprehensiveSimilarity(str1, str2);
+            assertEquals(expected, TextSimilarityUtil.calculateComprehensiveSimilarity(str1, str2), 0.0);
+            for (double threshold : thresholds) {
+                assertEquals(expected >= threshold, TextSimilarityUtil.isSimilarAtLeast(str1, str2, threshold),
+                        str1 + " / " + str2 + " @ " + threshold);
+            }
+        }
+    }
+
+    @Test
+    void testBoundedEditDistance() {
+        assertEquals(3, TextSimilarityUtil.boundedEditDistance("kitten", "sitting", 3));
+        assertEquals(3, TextSimilarityUtil.boundedEditDistance("kitten", "sitting", 2));
+        assertEquals(2, TextSimilarityUtil.boundedEditDistance("", "abcdef", 1));
+        assertEquals(0, TextSimilarityUtil.boundedEditDistance("abc", "abc", 0));
+        assertEquals(6, TextSimilarityUtil.boundedEditDistance("", "abcdef", 6));
+    }
+
+    @Test
+    void testNullInput() {
+        assertEquals(0.0, TextSimilarityUtil.calculateComprehensiveSimilarity(null, "a"), 0.0);
+        assertTrue(TextSimilarityUtil.isSimilarAtLeast(null, "a", 0.0));
+        assertFalse(TextSimilarityUtil.isSimilarAtLeast("a", null, 0.1));
+    }
+
+    private static String randomText(Random random, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(Random random, String text) {
+        StringBuilder builder = new StringBuilder(text);
+        int edits = random.nextInt(4);
+        for (int i = 0; i < edits; i++) {
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            int position = random.nextInt(builder.length() + 1);
+            if (builder.length() == 0 || random.nextBoolean()) {
+                builder.insert(position, c);
+            } else {
+                builder.deleteCharAt(Math.min(position, builder.length() - 1));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static double referenceComprehensiveSimilarity(String str1, String str2) {
+        String clean1 = str1.toLowerCase().replaceAll("[\\p{Punct}\\s]+", " ").trim();
+        String clean2 = str2.toLowerCase().replaceAll("[\\p{Punct}\\s]+", " ").trim();
+        double jaccard;
+        double edit;
+        if (clean1.equals(clean2)) {
+            jaccard = 1.0;
+            edit = 1.0;
+        } else {
+            Set<String> set1 = bigrams(clean1);
+            Set<String> set2 = bigrams(clean2);
+            Set<String> intersection = new HashSet<>(set1);
+            intersection.retainAll(set2);
+            Set<String> union = new HashSet<>(set1);
+            union.addAll(set2);
+            jaccard = (double) intersection.size() / union.size();
+            edit = 1.0 - (double) editDistance(clean1, clean2) / Math.max(clean1.length(), clean2.length());
+        }
+        return 0.7 * jaccard + 0.3 * edit;
+    }
+
+    private static Set<String> bigrams(String str) {
+        Set<String> bigrams = new HashSet<>();
+        if (str.length() < 2) {
+            bigrams.add(str);
+            return bigrams;
+        }
+        for (int i = 0; i < str.length() - 1; i++) {
+            bigrams.add(str.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    private static int editDistance(String str1, String str2) {
+        int[][] dp = new int[str1.length() + 1][str2.length() + 1];
+        for (int i = 0; i <= str1.length(); i++) {
+            dp[i][0] = i;
+        }
+        for (int j = 0; j <= str2.length(); j++) {
+            dp[0][j] = j;
+        }
+        for (int i = 1; i <= str1.length(); i++) {
+            for (int j = 1; j <= str2.length(); j++) {
+                int cost = str1.charAt(i - 1) == str2.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+            }
+        }
+        return dp[str1.length()][str2.length()];
+    }
+}